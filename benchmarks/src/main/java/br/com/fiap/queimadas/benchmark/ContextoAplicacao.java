@@ -0,0 +1,34 @@
+package br.com.fiap.queimadas.benchmark;
+
+import br.com.fiap.queimadas.QueimadasApiApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Inicializa o contexto da aplicação para os benchmarks que dependem de Spring e do banco H2.
+ * Cada benchmark usa um banco em memória próprio, desliga o servidor web e o log de SQL e adia os
+ * jobs agendados para depois de um dia, para que só o código medido concorra pela CPU. A
+ * deduplicação de detecções também é desligada, para que o volume de dados seja exatamente o
+ * configurado.
+ */
+final class ContextoAplicacao {
+
+    private ContextoAplicacao() {
+    }
+
+    static ConfigurableApplicationContext iniciar(String nomeBanco) {
+        return new SpringApplicationBuilder(QueimadasApiApplication.class)
+                .web(WebApplicationType.NONE)
+                // Passadas como argumentos, e não como propriedades padrão, para prevalecer sobre o application.properties
+                .run("--spring.datasource.url=jdbc:h2:mem:" + nomeBanco + ";DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--spring.h2.console.enabled=false",
+                        "--queimadas.sql.monitorar-comandos=false",
+                        "--queimadas.deduplicacao.habilitada=false",
+                        "--queimadas.recalculo-risco.intervalo-ms=86400000",
+                        "--queimadas.arquivamento.intervalo-ms=86400000",
+                        "--logging.level.root=WARN");
+    }
+}
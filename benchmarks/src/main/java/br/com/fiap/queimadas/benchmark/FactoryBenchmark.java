@@ -0,0 +1,49 @@
+package br.com.fiap.queimadas.benchmark;
+
+import br.com.fiap.queimadas.domain.entity.AcaoCombate;
+import br.com.fiap.queimadas.domain.entity.PontoFoco;
+import br.com.fiap.queimadas.service.factory.AcaoCombateFactory;
+import br.com.fiap.queimadas.service.factory.PontoFocoFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Criação de objetos pelas factories de ponto de foco e de ação de combate
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FactoryBenchmark {
+
+    private PontoFoco pontoFoco;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        pontoFoco = PontoFocoFactory.criarPontoFocoCompleto(-10.0, -55.0, 65.3, 5000.0, "Foco de benchmark");
+    }
+
+    @Benchmark
+    public PontoFoco criarPontoFoco() {
+        return PontoFocoFactory.criarPontoFoco(-10.0, -55.0);
+    }
+
+    @Benchmark
+    public PontoFoco criarPontoFocoCompleto() {
+        return PontoFocoFactory.criarPontoFocoCompleto(-10.0, -55.0, 65.3, 5000.0, "Foco de benchmark");
+    }
+
+    @Benchmark
+    public AcaoCombate criarAcaoCombateTerrestre() {
+        return AcaoCombateFactory.criarAcaoCombateTerrestre(pontoFoco, "Brigada terrestre", "Corpo de Bombeiros");
+    }
+
+    @Benchmark
+    public AcaoCombate criarAcaoPersonalizada() {
+        return AcaoCombateFactory.criarAcaoPersonalizada(pontoFoco, "Contenção", "Aceiro", "Defesa Civil",
+                "Trator, 10 brigadistas");
+    }
+}
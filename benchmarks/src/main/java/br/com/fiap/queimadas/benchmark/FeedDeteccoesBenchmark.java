@@ -0,0 +1,84 @@
+package br.com.fiap.queimadas.benchmark;
+
+import br.com.fiap.queimadas.domain.enums.StatusPontoFoco;
+import br.com.fiap.queimadas.domain.event.PontoFocoResumo;
+import br.com.fiap.queimadas.dto.FeedDeteccoesDTO;
+import br.com.fiap.queimadas.service.feed.BufferCircularDeteccoes;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publicação e leitura concorrentes no {@link BufferCircularDeteccoes} do feed de detecções
+ * recentes: em cada grupo, 4 threads publicam detecções (a ingestão) enquanto 4 threads consultam
+ * o feed a partir da última sequência que leram (a sala de operações). Os leitores que ficam mais
+ * de uma volta atrás perdem as detecções sobrescritas e seguem da mais antiga ainda no buffer.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FeedDeteccoesBenchmark {
+
+    private static final int TOTAL_RESUMOS = 4096;
+    private static final long JANELA_MILLIS = TimeUnit.HOURS.toMillis(24);
+
+    @Param({"16384"})
+    private int capacidade;
+
+    @Param({"100", "500"})
+    private int limite;
+
+    private BufferCircularDeteccoes buffer;
+    private PontoFocoResumo[] resumos;
+
+    @State(Scope.Thread)
+    public static class Escritor {
+        private int proximo;
+    }
+
+    @State(Scope.Thread)
+    public static class Leitor {
+        private long desde;
+    }
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        buffer = new BufferCircularDeteccoes(capacidade);
+        // Semente fixa para que execuções diferentes usem o mesmo conjunto de dados
+        Random random = new Random(42);
+        LocalDateTime agora = LocalDateTime.now();
+        StatusPontoFoco[] status = StatusPontoFoco.values();
+        resumos = new PontoFocoResumo[TOTAL_RESUMOS];
+        for (int i = 0; i < TOTAL_RESUMOS; i++) {
+            resumos[i] = new PontoFocoResumo((long) i + 1, -33 + random.nextDouble() * 38, -74 + random.nextDouble() * 40,
+                    status[random.nextInt(status.length)], random.nextDouble() * 100, random.nextDouble() * 50_000,
+                    agora.minusMinutes(random.nextInt(60)), (long) random.nextInt(50) + 1);
+        }
+        for (int i = 0; i < capacidade; i++) {
+            buffer.publicar(resumos[i % TOTAL_RESUMOS]);
+        }
+    }
+
+    @Benchmark
+    @Group("feed")
+    @GroupThreads(4)
+    public long publicar(Escritor escritor) {
+        PontoFocoResumo resumo = resumos[escritor.proximo];
+        escritor.proximo = (escritor.proximo + 1) % TOTAL_RESUMOS;
+        return buffer.publicar(resumo);
+    }
+
+    @Benchmark
+    @Group("feed")
+    @GroupThreads(4)
+    public FeedDeteccoesDTO ler(Leitor leitor) {
+        FeedDeteccoesDTO resultado = buffer.ler(leitor.desde, limite, System.currentTimeMillis() - JANELA_MILLIS);
+        leitor.desde = resultado.getUltimaSequencia();
+        return resultado;
+    }
+}
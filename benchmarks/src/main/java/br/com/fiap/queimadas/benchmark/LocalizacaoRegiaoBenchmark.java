@@ -0,0 +1,200 @@
+package br.com.fiap.queimadas.benchmark;
+
+import br.com.fiap.queimadas.domain.entity.Regiao;
+import br.com.fiap.queimadas.dto.DeteccaoDTO;
+import br.com.fiap.queimadas.dto.ResultadoLoteDTO;
+import br.com.fiap.queimadas.service.PontoFocoService;
+import br.com.fiap.queimadas.service.RegiaoService;
+import br.com.fiap.queimadas.service.indice.GeometriaRegiao;
+import br.com.fiap.queimadas.service.indice.IndiceRegioes;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Localização automática da região de detecções sem {@code regiaoId}, com contornos parecidos
+ * com os dos biomas brasileiros (irregulares, com milhares de vértices, e um deles com buraco)
+ * e, opcionalmente, centenas de regiões menores aninhadas neles, na escala de municípios.
+ * Compara o índice de regiões com a varredura linear dos polígonos e mede a ingestão em lote
+ * completa. Os resultados são em detecções por segundo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocalizacaoRegiaoBenchmark {
+
+    // Área aproximada do território brasileiro
+    private static final double LATITUDE_MINIMA = -33.0;
+    private static final double LATITUDE_MAXIMA = 5.0;
+    private static final double LONGITUDE_MINIMA = -74.0;
+    private static final double LONGITUDE_MAXIMA = -35.0;
+
+    private static final int TOTAL_PONTOS = 10_000;
+    private static final int TAMANHO_LOTE = 1000;
+
+    /**
+     * Centro (latitude, longitude) e raios médios (graus de latitude e de longitude) de cada bioma
+     */
+    private static final double[][] BIOMAS = {
+            {-4.0, -61.0, 8.5, 11.0},   // Amazônia
+            {-14.0, -48.0, 7.5, 6.0},   // Cerrado
+            {-8.0, -40.5, 4.5, 3.5},    // Caatinga
+            {-20.0, -44.0, 9.0, 3.0},   // Mata Atlântica
+            {-30.5, -54.0, 2.5, 3.0},   // Pampa
+            {-18.5, -56.5, 3.0, 1.7}    // Pantanal
+    };
+
+    @Param({"1000", "5000"})
+    private int verticesPorRegiao;
+
+    @Param({"0", "500"})
+    private int regioesMunicipais;
+
+    private ConfigurableApplicationContext contexto;
+    private PontoFocoService pontoFocoService;
+    private IndiceRegioes indiceRegioes;
+    private final List<GeometriaRegiao> geometrias = new ArrayList<>();
+    private final List<Long> idsRegioes = new ArrayList<>();
+    private double[] latitudes;
+    private double[] longitudes;
+    private List<DeteccaoDTO> lote;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        contexto = ContextoAplicacao.iniciar("localizacao" + verticesPorRegiao + "_" + regioesMunicipais);
+        pontoFocoService = contexto.getBean(PontoFocoService.class);
+        indiceRegioes = contexto.getBean(IndiceRegioes.class);
+        RegiaoService regiaoService = contexto.getBean(RegiaoService.class);
+
+        // Semente fixa para que execuções diferentes usem os mesmos contornos e pontos
+        Random random = new Random(42);
+        for (int i = 0; i < BIOMAS.length; i++) {
+            registrar(regiaoService, "Bioma", gerarContorno(BIOMAS[i], verticesPorRegiao, i == 0, random));
+        }
+        for (int i = 0; i < regioesMunicipais; i++) {
+            double[] municipio = {
+                    LATITUDE_MINIMA + random.nextDouble() * (LATITUDE_MAXIMA - LATITUDE_MINIMA),
+                    LONGITUDE_MINIMA + random.nextDouble() * (LONGITUDE_MAXIMA - LONGITUDE_MINIMA),
+                    0.1 + random.nextDouble() * 0.4,
+                    0.1 + random.nextDouble() * 0.4};
+            registrar(regiaoService, "Município", gerarContorno(municipio, 200, false, random));
+        }
+        // A varredura linear testa as regiões na mesma ordem de preferência do índice (as menores primeiro)
+        List<Integer> ordem = new ArrayList<>();
+        for (int i = 0; i < geometrias.size(); i++) {
+            ordem.add(i);
+        }
+        ordem.sort(Comparator.comparingDouble(i -> geometrias.get(i).getAreaCaixa()));
+        List<GeometriaRegiao> geometriasOrdenadas = ordem.stream().map(geometrias::get).toList();
+        List<Long> idsOrdenados = ordem.stream().map(idsRegioes::get).toList();
+        geometrias.clear();
+        geometrias.addAll(geometriasOrdenadas);
+        idsRegioes.clear();
+        idsRegioes.addAll(idsOrdenados);
+
+        latitudes = new double[TOTAL_PONTOS];
+        longitudes = new double[TOTAL_PONTOS];
+        lote = new ArrayList<>(TAMANHO_LOTE);
+        for (int i = 0; i < TOTAL_PONTOS; i++) {
+            latitudes[i] = LATITUDE_MINIMA + random.nextDouble() * (LATITUDE_MAXIMA - LATITUDE_MINIMA);
+            longitudes[i] = LONGITUDE_MINIMA + random.nextDouble() * (LONGITUDE_MAXIMA - LONGITUDE_MINIMA);
+            if (i < TAMANHO_LOTE) {
+                lote.add(DeteccaoDTO.builder()
+                        .latitude(latitudes[i])
+                        .longitude(longitudes[i])
+                        .intensidade(random.nextDouble() * 100)
+                        .build());
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TOTAL_PONTOS)
+    public void indiceRegioesLocalizar(Blackhole blackhole) {
+        for (int i = 0; i < TOTAL_PONTOS; i++) {
+            blackhole.consume(indiceRegioes.localizar(latitudes[i], longitudes[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TOTAL_PONTOS)
+    public void varreduraLinearPoligonos(Blackhole blackhole) {
+        for (int i = 0; i < TOTAL_PONTOS; i++) {
+            Long encontrada = null;
+            for (int r = 0; r < geometrias.size() && encontrada == null; r++) {
+                if (geometrias.get(r).contem(latitudes[i], longitudes[i])) {
+                    encontrada = idsRegioes.get(r);
+                }
+            }
+            blackhole.consume(encontrada);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TAMANHO_LOTE)
+    public ResultadoLoteDTO registrarLoteSemRegiao() {
+        return pontoFocoService.registrarPontosFocoEmLote(lote);
+    }
+
+    private void registrar(RegiaoService regiaoService, String tipo, String limite) {
+        Regiao regiao = regiaoService.registrarRegiao(Regiao.builder()
+                .nome(tipo + " de benchmark " + idsRegioes.size())
+                .tipo(tipo)
+                .limite(limite)
+                .build());
+        geometrias.add(GeometriaRegiao.lerWkt(limite));
+        idsRegioes.add(regiao.getId());
+    }
+
+    /**
+     * Gera um contorno irregular em torno do centro da região: o raio varia com ondulações de
+     * baixa frequência (a forma geral) e um ruído acumulado de alta frequência (o recorte da borda)
+     */
+    private static String gerarContorno(double[] centroERaios, int vertices, boolean comBuraco, Random random) {
+        double fase1 = random.nextDouble() * 2 * Math.PI;
+        double fase2 = random.nextDouble() * 2 * Math.PI;
+        StringBuilder wkt = new StringBuilder("POLYGON((");
+        double ruido = 0.0;
+        String primeiro = null;
+        for (int v = 0; v < vertices; v++) {
+            double angulo = 2 * Math.PI * v / vertices;
+            ruido = 0.9 * ruido + 0.02 * random.nextGaussian();
+            double fator = 1.0 + 0.2 * Math.sin(3 * angulo + fase1) + 0.1 * Math.sin(7 * angulo + fase2) + ruido;
+            String vertice = formatar(centroERaios[1] + centroERaios[3] * fator * Math.cos(angulo),
+                    centroERaios[0] + centroERaios[2] * fator * Math.sin(angulo));
+            primeiro = primeiro == null ? vertice : primeiro;
+            wkt.append(vertice).append(", ");
+        }
+        wkt.append(primeiro).append(')');
+        if (comBuraco) {
+            // Área excluída no interior do bioma, com o mesmo nível de detalhe de um quarto do contorno
+            int verticesBuraco = vertices / 4;
+            wkt.append(", (");
+            for (int v = 0; v <= verticesBuraco; v++) {
+                double angulo = 2 * Math.PI * (v % verticesBuraco) / verticesBuraco;
+                wkt.append(formatar(centroERaios[1] + 1.5 * Math.cos(angulo), centroERaios[0] + 1.0 * Math.sin(angulo)));
+                wkt.append(v < verticesBuraco ? ", " : ")");
+            }
+        }
+        return wkt.append(')').toString();
+    }
+
+    private static String formatar(double longitude, double latitude) {
+        return String.format(Locale.ROOT, "%.5f %.5f", longitude, latitude);
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.fiap.queimadas.benchmark;
+
+import br.com.fiap.queimadas.service.risco.MotorRisco;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Avaliação do risco de todas as regiões pelo {@link MotorRisco}, sobre arrays já carregados
+ * (sem o banco). Os pontos se concentram em parte das regiões, como nas temporadas de queimadas,
+ * e têm até 30 dias de idade. O paralelismo é o do pool comum do ForkJoin (número de CPUs).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MotorRiscoBenchmark {
+
+    private static final long AGORA_SEGUNDOS = 1_700_000_000L;
+    private static final long TRINTA_DIAS_SEGUNDOS = 30L * 24 * 3600;
+
+    @Param({"5000"})
+    private int totalRegioes;
+
+    @Param({"1000000", "5000000"})
+    private int totalPontos;
+
+    private MotorRisco motorRisco;
+    private MotorRisco.Regioes regioes;
+    private MotorRisco.Pontos pontos;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        motorRisco = new MotorRisco(new MotorRisco.Pesos(0.5, 0.5, 0.01, 1.0, 0.25, 72,
+                new double[]{0.1, 3, 5, 10}));
+
+        // Semente fixa para que execuções diferentes usem o mesmo conjunto de dados
+        Random random = new Random(42);
+        double[] areas = new double[totalRegioes];
+        int[] acoes = new int[totalRegioes];
+        for (int r = 0; r < totalRegioes; r++) {
+            areas[r] = 1e7 + random.nextDouble() * 1e11;
+            acoes[r] = random.nextInt(4);
+        }
+        regioes = new MotorRisco.Regioes(totalRegioes, areas, acoes);
+
+        int[] regiao = new int[totalPontos];
+        double[] intensidade = new double[totalPontos];
+        double[] area = new double[totalPontos];
+        long[] dataDeteccao = new long[totalPontos];
+        for (int i = 0; i < totalPontos; i++) {
+            // Metade dos pontos nos primeiros 10% das regiões
+            regiao[i] = random.nextBoolean()
+                    ? random.nextInt(Math.max(1, totalRegioes / 10))
+                    : random.nextInt(totalRegioes);
+            intensidade[i] = random.nextInt(10) == 0 ? Double.NaN : random.nextDouble() * 100;
+            area[i] = random.nextInt(10) == 0 ? Double.NaN : random.nextDouble() * 50_000;
+            dataDeteccao[i] = AGORA_SEGUNDOS - (long) (random.nextDouble() * TRINTA_DIAS_SEGUNDOS);
+        }
+        pontos = new MotorRisco.Pontos(totalPontos, regiao, intensidade, area, dataDeteccao);
+    }
+
+    @Benchmark
+    public MotorRisco.Resultado avaliar() {
+        return motorRisco.avaliar(regioes, pontos, AGORA_SEGUNDOS);
+    }
+}
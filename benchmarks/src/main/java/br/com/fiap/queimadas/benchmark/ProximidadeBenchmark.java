@@ -0,0 +1,127 @@
+package br.com.fiap.queimadas.benchmark;
+
+import br.com.fiap.queimadas.domain.entity.PontoFoco;
+import br.com.fiap.queimadas.domain.entity.Regiao;
+import br.com.fiap.queimadas.dto.DeteccaoDTO;
+import br.com.fiap.queimadas.repository.PontoFocoRepository;
+import br.com.fiap.queimadas.service.Paginacao;
+import br.com.fiap.queimadas.service.PontoFocoService;
+import br.com.fiap.queimadas.service.RegiaoService;
+import br.com.fiap.queimadas.service.indice.GeoUtils;
+import br.com.fiap.queimadas.service.indice.IndiceEspacialPontoFoco;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busca por proximidade contra um banco H2 com um volume configurável de pontos de foco,
+ * comparando a consulta do repositório com o índice espacial em memória (busca por raio e
+ * pelos k mais próximos).
+ * O volume é definido pelo parâmetro {@code tamanhoDataset} (ex.: -p tamanhoDataset=500000).
+ * Cada invocação consulta uma posição diferente: com a mesma consulta repetida, o H2 devolve o
+ * resultado anterior sem executá-la.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProximidadeBenchmark {
+
+    // Área aproximada do território brasileiro
+    private static final double LATITUDE_MINIMA = -33.0;
+    private static final double LATITUDE_MAXIMA = 5.0;
+    private static final double LONGITUDE_MINIMA = -74.0;
+    private static final double LONGITUDE_MAXIMA = -35.0;
+
+    private static final int TOTAL_CONSULTAS = 1024;
+    private static final int TAMANHO_LOTE = 1000;
+
+    @Param({"1000", "10000", "100000"})
+    private int tamanhoDataset;
+
+    @Param({"50"})
+    private double raioKm;
+
+    @Param({"20"})
+    private int k;
+
+    private ConfigurableApplicationContext contexto;
+    private PontoFocoRepository pontoFocoRepository;
+    private IndiceEspacialPontoFoco indiceEspacial;
+
+    private final double[][] consultas = new double[TOTAL_CONSULTAS][];
+    private int proximaConsulta;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        contexto = ContextoAplicacao.iniciar("proximidade" + tamanhoDataset);
+        pontoFocoRepository = contexto.getBean(PontoFocoRepository.class);
+        indiceEspacial = contexto.getBean(IndiceEspacialPontoFoco.class);
+
+        RegiaoService regiaoService = contexto.getBean(RegiaoService.class);
+        PontoFocoService pontoFocoService = contexto.getBean(PontoFocoService.class);
+
+        Regiao regiao = regiaoService.registrarRegiao(Regiao.builder()
+                .nome("Região de benchmark")
+                .tipo("Floresta")
+                .build());
+
+        // Semente fixa para que execuções diferentes usem o mesmo conjunto de dados
+        Random random = new Random(42);
+        List<DeteccaoDTO> lote = new ArrayList<>(TAMANHO_LOTE);
+        for (int i = 0; i < tamanhoDataset; i++) {
+            lote.add(DeteccaoDTO.builder()
+                    .latitude(LATITUDE_MINIMA + random.nextDouble() * (LATITUDE_MAXIMA - LATITUDE_MINIMA))
+                    .longitude(LONGITUDE_MINIMA + random.nextDouble() * (LONGITUDE_MAXIMA - LONGITUDE_MINIMA))
+                    .intensidade(random.nextDouble() * 100)
+                    .regiaoId(regiao.getId())
+                    .build());
+            if (lote.size() == TAMANHO_LOTE) {
+                pontoFocoService.registrarPontosFocoEmLote(lote);
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            pontoFocoService.registrarPontosFocoEmLote(lote);
+        }
+        for (int i = 0; i < TOTAL_CONSULTAS; i++) {
+            consultas[i] = new double[]{
+                    LATITUDE_MINIMA + random.nextDouble() * (LATITUDE_MAXIMA - LATITUDE_MINIMA),
+                    LONGITUDE_MINIMA + random.nextDouble() * (LONGITUDE_MAXIMA - LONGITUDE_MINIMA)};
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public List<PontoFoco> findByProximidade() {
+        double[] consulta = proximaConsulta();
+        return pontoFocoRepository.findByProximidade(consulta[0], consulta[1], GeoUtils.raioEmGrausLatitude(raioKm));
+    }
+
+    @Benchmark
+    public List<IndiceEspacialPontoFoco.Resultado> indiceEspacialBuscarPorRaio() {
+        double[] consulta = proximaConsulta();
+        return indiceEspacial.buscarPorRaio(consulta[0], consulta[1], raioKm, Paginacao.TAMANHO_PADRAO);
+    }
+
+    @Benchmark
+    public List<IndiceEspacialPontoFoco.Resultado> indiceEspacialBuscarMaisProximos() {
+        double[] consulta = proximaConsulta();
+        return indiceEspacial.buscarMaisProximos(consulta[0], consulta[1], k, null);
+    }
+
+    private double[] proximaConsulta() {
+        proximaConsulta = (proximaConsulta + 1) % TOTAL_CONSULTAS;
+        return consultas[proximaConsulta];
+    }
+}
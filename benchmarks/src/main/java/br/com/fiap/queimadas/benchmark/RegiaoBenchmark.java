@@ -0,0 +1,88 @@
+package br.com.fiap.queimadas.benchmark;
+
+import br.com.fiap.queimadas.domain.entity.PontoFoco;
+import br.com.fiap.queimadas.domain.entity.Regiao;
+import br.com.fiap.queimadas.domain.enums.StatusPontoFoco;
+import br.com.fiap.queimadas.service.factory.PontoFocoFactory;
+import br.com.fiap.queimadas.service.risco.MotorRisco;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cálculo do nível de risco de uma região pelo {@link MotorRisco}, com coleções de pontos de foco
+ * de tamanhos crescentes. {@code avaliarColecao} extrai os atributos percorrendo a coleção da
+ * entidade, como referência para a avaliação sobre os arrays já carregados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegiaoBenchmark {
+
+    private static final long AGORA_SEGUNDOS = 1_700_000_000L;
+
+    @Param({"10", "1000", "100000"})
+    private int tamanhoColecao;
+
+    private MotorRisco motorRisco;
+    private Regiao regiao;
+    private MotorRisco.Regioes regioes;
+    private MotorRisco.Pontos pontos;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        motorRisco = new MotorRisco(new MotorRisco.Pesos(0.5, 0.5, 0.01, 1.0, 0.25, 72,
+                new double[]{0.1, 3, 5, 10}));
+        regiao = Regiao.builder()
+                .id(1L)
+                .nome("Região de benchmark")
+                .tipo("Floresta")
+                .areaMetrosQuadrados(1e9)
+                .nivelRisco(1)
+                .build();
+
+        for (int i = 0; i < tamanhoColecao; i++) {
+            PontoFoco pontoFoco = PontoFocoFactory.criarPontoFocoComIntensidade(-10.0 + i * 1e-4, -55.0, (double) (i % 100));
+            pontoFoco.setAreaEstimadaMetrosQuadrados(1000.0 + i % 5000);
+            // Um em cada quatro pontos já foi resolvido
+            if (i % 4 == 0) {
+                pontoFoco.setStatus(StatusPontoFoco.RESOLVIDO);
+            }
+            regiao.adicionarPontoFoco(pontoFoco);
+        }
+        regioes = new MotorRisco.Regioes(1, new double[]{regiao.getAreaMetrosQuadrados()}, new int[]{0});
+        pontos = extrairAtivos(regiao.getPontosFoco());
+    }
+
+    @Benchmark
+    public int avaliarArrays() {
+        return motorRisco.avaliar(regioes, pontos, AGORA_SEGUNDOS).nivel()[0];
+    }
+
+    @Benchmark
+    public int avaliarColecao() {
+        return motorRisco.avaliar(regioes, extrairAtivos(regiao.getPontosFoco()), AGORA_SEGUNDOS).nivel()[0];
+    }
+
+    private static MotorRisco.Pontos extrairAtivos(List<PontoFoco> pontosFoco) {
+        int quantidade = 0;
+        double[] intensidade = new double[pontosFoco.size()];
+        double[] area = new double[pontosFoco.size()];
+        long[] dataDeteccao = new long[pontosFoco.size()];
+        for (PontoFoco pontoFoco : pontosFoco) {
+            if (pontoFoco.isAtivo()) {
+                intensidade[quantidade] = pontoFoco.getIntensidade() != null ? pontoFoco.getIntensidade() : Double.NaN;
+                area[quantidade] = pontoFoco.getAreaEstimadaMetrosQuadrados() != null
+                        ? pontoFoco.getAreaEstimadaMetrosQuadrados() : Double.NaN;
+                dataDeteccao[quantidade] = pontoFoco.getDataDeteccao().toEpochSecond(ZoneOffset.UTC);
+                quantidade++;
+            }
+        }
+        return new MotorRisco.Pontos(quantidade, new int[pontosFoco.size()], intensidade, area, dataDeteccao);
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.fiap.queimadas.benchmark;
+
+import br.com.fiap.queimadas.domain.entity.AcaoCombate;
+import br.com.fiap.queimadas.domain.entity.PontoFoco;
+import br.com.fiap.queimadas.domain.entity.Regiao;
+import br.com.fiap.queimadas.service.factory.AcaoCombateFactory;
+import br.com.fiap.queimadas.service.factory.PontoFocoFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização JSON das entidades devolvidas pelos controllers, com o mesmo ObjectMapper
+ * (módulos e opções padrão) configurado pelo Spring Boot
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacaoJsonBenchmark {
+
+    private ObjectMapper objectMapper;
+    private PontoFoco pontoFoco;
+    private AcaoCombate acaoCombate;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        Regiao regiao = Regiao.builder()
+                .id(1L)
+                .nome("Amazônia Legal")
+                .tipo("Floresta")
+                .areaMetrosQuadrados(5016136.0 * 1000000)
+                .descricao("Área que engloba nove estados brasileiros pertencentes à Bacia Amazônica")
+                .nivelRisco(3)
+                .totalPontosFocoAtivos(4L)
+                .build();
+
+        pontoFoco = PontoFocoFactory.criarPontoFocoCompleto(-3.4653, -62.2159, 75.5, 15000.0,
+                "Incêndio de grandes proporções em área de floresta densa");
+        pontoFoco.setId(1L);
+        pontoFoco.setRegiao(regiao);
+
+        acaoCombate = AcaoCombateFactory.criarAcaoCombateAereo(pontoFoco,
+                "Aeronave lançando água sobre o foco", "IBAMA - Prevfogo");
+        acaoCombate.setId(1L);
+    }
+
+    @Benchmark
+    public byte[] serializarPontoFoco() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pontoFoco);
+    }
+
+    @Benchmark
+    public byte[] serializarAcaoCombate() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(acaoCombate);
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.fiap.queimadas.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * StatementInspector do Hibernate que conta os comandos SQL emitidos na thread atual.
+ * Usado pelo {@link ContadorSqlInterceptor} para detectar requisições com consultas N+1.
+ */
+public class ContadorSqlInspector implements StatementInspector {
+
+    private static final ThreadLocal<int[]> CONTADOR = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] contador = CONTADOR.get();
+        if (contador != null) {
+            contador[0]++;
+        }
+        return sql;
+    }
+
+    /**
+     * Inicia a contagem de comandos SQL na thread atual
+     */
+    public static void iniciar() {
+        CONTADOR.set(new int[1]);
+    }
+
+    /**
+     * Encerra a contagem na thread atual
+     * @return Total de comandos SQL emitidos desde {@link #iniciar()}, ou -1 se a contagem não foi iniciada
+     */
+    public static int encerrar() {
+        int[] contador = CONTADOR.get();
+        CONTADOR.remove();
+        return contador != null ? contador[0] : -1;
+    }
+}
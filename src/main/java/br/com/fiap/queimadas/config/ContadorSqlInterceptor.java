@@ -0,0 +1,37 @@
+package br.com.fiap.queimadas.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Interceptor que conta os comandos SQL de cada requisição da API e registra um alerta
+ * quando o limite configurado é ultrapassado (indício de consultas N+1)
+ */
+@Component
+@Slf4j
+public class ContadorSqlInterceptor implements HandlerInterceptor {
+
+    @Value("${queimadas.sql.limite-comandos-por-requisicao:10}")
+    private int limiteComandos;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ContadorSqlInspector.iniciar();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        int total = ContadorSqlInspector.encerrar();
+        if (total > limiteComandos) {
+            log.warn("{} {} emitiu {} comandos SQL (limite {}): possível consulta N+1",
+                    request.getMethod(), request.getRequestURI(), total, limiteComandos);
+        } else {
+            log.debug("{} {} emitiu {} comandos SQL", request.getMethod(), request.getRequestURI(), total);
+        }
+    }
+}
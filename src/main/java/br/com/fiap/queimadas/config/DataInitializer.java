@@ -39,6 +39,10 @@ public class DataInitializer {
                     .tipo("Floresta")
                     .areaMetrosQuadrados(5016136.0 * 1000000) // Aproximadamente 5 milhões de km²
                     .descricao("Área que engloba nove estados brasileiros pertencentes à Bacia Amazônica")
+                    // Contornos simplificados, apenas para exemplo da localização automática de regiões
+                    .limite("POLYGON((-73.9 -9.5, -70.5 -11.0, -65.3 -9.8, -60.1 -13.7, -58.2 -17.3, -50.2 -13.0, " +
+                            "-46.0 -13.2, -44.0 -5.5, -48.0 -1.0, -51.0 4.4, -60.0 5.2, -67.0 2.0, -70.0 4.0, -73.9 -4.2, " +
+                            "-73.9 -9.5))")
                     .nivelRisco(3)
                     .build();
             
@@ -47,6 +51,8 @@ public class DataInitializer {
                     .tipo("Savana")
                     .areaMetrosQuadrados(2000000.0 * 1000000) // Aproximadamente 2 milhões de km²
                     .descricao("Região de cerrado no Brasil central")
+                    .limite("POLYGON((-52.0 -19.0, -50.0 -12.0, -47.5 -10.0, -45.0 -11.0, -44.0 -15.0, -46.5 -19.5, " +
+                            "-52.0 -19.0))")
                     .nivelRisco(4)
                     .build();
             
@@ -55,6 +61,8 @@ public class DataInitializer {
                     .tipo("Área Úmida")
                     .areaMetrosQuadrados(150000.0 * 1000000) // Aproximadamente 150 mil km²
                     .descricao("Maior planície alagável do mundo")
+                    .limite("POLYGON((-58.0 -22.0, -58.2 -17.5, -57.5 -16.0, -56.0 -16.2, -55.0 -18.5, -55.6 -21.5, " +
+                            "-58.0 -22.0))")
                     .nivelRisco(2)
                     .build();
             
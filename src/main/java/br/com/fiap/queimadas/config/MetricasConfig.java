@@ -0,0 +1,26 @@
+package br.com.fiap.queimadas.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuração das métricas da aplicação: habilita o {@code @Timed} usado nos serviços.
+ * Pool de conexões (hikaricp.*), transações (hibernate.transactions), consultas dos
+ * repositórios (spring.data.repository.invocations) e requisições HTTP são instrumentados
+ * pelo próprio Spring Boot; os percentis ficam em application.properties.
+ */
+@Configuration
+public class MetricasConfig {
+
+    /**
+     * Nome do timer dos métodos públicos dos serviços
+     */
+    public static final String TIMER_SERVICOS = "queimadas.servico";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
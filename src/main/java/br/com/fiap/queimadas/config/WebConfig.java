@@ -0,0 +1,30 @@
+package br.com.fiap.queimadas.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuração do Spring MVC: registra o monitoramento de comandos SQL por requisição, um auxílio
+ * do perfil dev; as regressões N+1 são barradas no build pelo ComandosSqlListagensTest
+ */
+@Configuration
+@Profile("dev")
+@ConditionalOnProperty(name = "queimadas.sql.monitorar-comandos", havingValue = "true")
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ContadorSqlInterceptor contadorSqlInterceptor;
+
+    @Autowired
+    public WebConfig(ContadorSqlInterceptor contadorSqlInterceptor) {
+        this.contadorSqlInterceptor = contadorSqlInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(contadorSqlInterceptor).addPathPatterns("/api/**");
+    }
+}
@@ -2,12 +2,15 @@ package br.com.fiap.queimadas.controller;
 
 import br.com.fiap.queimadas.domain.entity.AcaoCombate;
 import br.com.fiap.queimadas.domain.enums.StatusPontoFoco;
+import br.com.fiap.queimadas.dto.AcaoCombateListagemDTO;
+import br.com.fiap.queimadas.dto.PaginaDTO;
+import br.com.fiap.queimadas.dto.ResultadoBuscaDTO;
 import br.com.fiap.queimadas.service.AcaoCombateService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
-import io.swagger.v3.oas.annotations.tagsw.Tag;
+import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
@@ -37,16 +40,44 @@ public class AcaoCombateController {
      * Lista todas as ações de combate
      */
     @GetMapping
-    public ResponseEntity<List<AcaoCombate>> listarTodas() {
-        return ResponseEntity.ok(acaoCombateService.listarTodas());
+    public ResponseEntity<PaginaDTO<AcaoCombate>> listarTodas(
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máximo 500)") @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(acaoCombateService.listarTodas(cursor, tamanho));
+    }
+
+    /**
+     * Lista a projeção resumida de todas as ações de combate
+     */
+    @Operation(
+        summary = "Lista ações de combate (resumo)",
+        description = "Retorna apenas as colunas usadas nas listagens, sem carregar ponto de foco e região"
+    )
+    @GetMapping("/resumo")
+    public ResponseEntity<PaginaDTO<AcaoCombateListagemDTO>> listarResumo(
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máximo 500)") @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(acaoCombateService.listarResumo(cursor, tamanho));
+    }
+
+    /**
+     * Lista a projeção resumida das ações de combate em andamento
+     */
+    @GetMapping("/em-andamento/resumo")
+    public ResponseEntity<PaginaDTO<AcaoCombateListagemDTO>> listarEmAndamentoResumo(
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máximo 500)") @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(acaoCombateService.listarEmAndamentoResumo(cursor, tamanho));
     }
 
     /**
      * Busca uma ação de combate pelo ID
      */
     @GetMapping("/{id}")
-    public ResponseEntity<AcaoCombate> buscarPorId(@PathVariable Long id) {
-        Optional<AcaoCombate> acaoOpt = acaoCombateService.buscarPorId(id);
+    public ResponseEntity<AcaoCombate> buscarPorId(
+            @PathVariable Long id,
+            @Parameter(description = "Inclui as ações de combate arquivadas") @RequestParam(defaultValue = "false") boolean incluirArquivadas) {
+        Optional<AcaoCombate> acaoOpt = acaoCombateService.buscarPorId(id, incluirArquivadas);
         return acaoOpt.map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -55,32 +86,70 @@ public class AcaoCombateController {
      * Lista ações de combate por ponto de foco
      */
     @GetMapping("/ponto-foco/{pontoFocoId}")
-    public ResponseEntity<List<AcaoCombate>> listarPorPontoFoco(@PathVariable Long pontoFocoId) {
-        return ResponseEntity.ok(acaoCombateService.listarPorPontoFoco(pontoFocoId));
+    public ResponseEntity<PaginaDTO<AcaoCombate>> listarPorPontoFoco(
+            @PathVariable Long pontoFocoId,
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máximo 500)") @RequestParam(required = false) Integer tamanho,
+            @Parameter(description = "Inclui as ações de combate arquivadas") @RequestParam(defaultValue = "false") boolean incluirArquivadas) {
+        return ResponseEntity.ok(acaoCombateService.listarPorPontoFoco(pontoFocoId, cursor, tamanho, incluirArquivadas));
     }
 
     /**
      * Lista ações de combate em andamento
      */
     @GetMapping("/em-andamento")
-    public ResponseEntity<List<AcaoCombate>> listarEmAndamento() {
-        return ResponseEntity.ok(acaoCombateService.listarEmAndamento());
+    public ResponseEntity<PaginaDTO<AcaoCombate>> listarEmAndamento(
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máximo 500)") @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(acaoCombateService.listarEmAndamento(cursor, tamanho));
     }
 
     /**
      * Lista ações de combate por tipo
      */
     @GetMapping("/tipo")
-    public ResponseEntity<List<AcaoCombate>> listarPorTipo(@RequestParam String tipoAcao) {
-        return ResponseEntity.ok(acaoCombateService.listarPorTipo(tipoAcao));
+    public ResponseEntity<PaginaDTO<AcaoCombate>> listarPorTipo(
+            @RequestParam String tipoAcao,
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máximo 500)") @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(acaoCombateService.listarPorTipo(tipoAcao, cursor, tamanho));
+    }
+
+    /**
+     * Busca ações de combate por texto
+     */
+    @Operation(
+        summary = "Busca textual de ações de combate",
+        description = "Busca as palavras no tipo e na descrição das ações de combate, sem diferenciar maiúsculas nem " +
+                "acentos, e retorna as mais relevantes primeiro; a última palavra também casa com as que começam com ela"
+    )
+    @GetMapping("/busca")
+    public ResponseEntity<List<ResultadoBuscaDTO<AcaoCombate>>> buscarPorTexto(
+            @Parameter(description = "Texto da busca") @RequestParam String q,
+            @Parameter(description = "Quantidade máxima de resultados (máximo 500)") @RequestParam(defaultValue = "20") Integer k) {
+        return ResponseEntity.ok(acaoCombateService.buscarPorTexto(q, k));
     }
 
     /**
      * Lista ações de combate por região
      */
     @GetMapping("/regiao/{regiaoId}")
-    public ResponseEntity<List<AcaoCombate>> listarPorRegiao(@PathVariable Long regiaoId) {
-        return ResponseEntity.ok(acaoCombateService.listarPorRegiao(regiaoId));
+    public ResponseEntity<PaginaDTO<AcaoCombate>> listarPorRegiao(
+            @PathVariable Long regiaoId,
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máximo 500)") @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(acaoCombateService.listarPorRegiao(regiaoId, cursor, tamanho));
+    }
+
+    /**
+     * Lista ações de combate iniciadas após uma data
+     */
+    @GetMapping("/iniciadas-apos")
+    public ResponseEntity<PaginaDTO<AcaoCombate>> listarIniciadasApos(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime data,
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máximo 500)") @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(acaoCombateService.listarIniciadasApos(data, cursor, tamanho));
     }
 
     /**
@@ -185,10 +254,12 @@ public class AcaoCombateController {
      * Lista ações concluídas em um período
      */
     @GetMapping("/concluidas")
-    public ResponseEntity<List<AcaoCombate>> listarConcluidasNoPeriodo(
+    public ResponseEntity<PaginaDTO<AcaoCombate>> listarConcluidasNoPeriodo(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim,
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máximo 500)") @RequestParam(required = false) Integer tamanho) {
         
-        return ResponseEntity.ok(acaoCombateService.listarConcluidasNoPeriodo(inicio, fim));
+        return ResponseEntity.ok(acaoCombateService.listarConcluidasNoPeriodo(inicio, fim, cursor, tamanho));
     }
 }
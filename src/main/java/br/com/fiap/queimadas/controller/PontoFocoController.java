@@ -2,19 +2,49 @@ package br.com.fiap.queimadas.controller;
 
 import br.com.fiap.queimadas.domain.entity.PontoFoco;
 import br.com.fiap.queimadas.domain.enums.StatusPontoFoco;
+import br.com.fiap.queimadas.dto.DeteccaoDTO;
+import br.com.fiap.queimadas.dto.FeedDeteccoesDTO;
+import br.com.fiap.queimadas.dto.FiltroPontoFocoDTO;
+import br.com.fiap.queimadas.dto.FrenteFogoDTO;
+import br.com.fiap.queimadas.dto.MapaCalorDTO;
+import br.com.fiap.queimadas.dto.PaginaDTO;
+import br.com.fiap.queimadas.dto.PontoFocoListagemDTO;
+import br.com.fiap.queimadas.dto.PontoFocoProximoDTO;
+import br.com.fiap.queimadas.dto.ReciboIngestaoDTO;
+import br.com.fiap.queimadas.dto.ResultadoArquivamentoDTO;
+import br.com.fiap.queimadas.dto.ResultadoBuscaDTO;
+import br.com.fiap.queimadas.dto.ResultadoImportacaoDTO;
+import br.com.fiap.queimadas.dto.ResultadoLoteDTO;
+import br.com.fiap.queimadas.dto.ResultadoReconstrucaoSerieDTO;
+import br.com.fiap.queimadas.dto.SerieDeteccoesDTO;
+import br.com.fiap.queimadas.dto.SituacaoEnvioDTO;
+import br.com.fiap.queimadas.dto.StatusIngestaoDTO;
+import br.com.fiap.queimadas.service.ArquivamentoService;
+import br.com.fiap.queimadas.service.ImportacaoPontoFocoService;
+import br.com.fiap.queimadas.service.IngestaoAssincronaService;
+import br.com.fiap.queimadas.service.MapaCalorService;
 import br.com.fiap.queimadas.service.PontoFocoService;
+import br.com.fiap.queimadas.service.SerieDeteccoesService;
+import br.com.fiap.queimadas.service.serie.SerieTemporalDeteccoes;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Controlador REST para gerenciar pontos de foco de incêndio
@@ -25,26 +55,69 @@ import java.util.Optional;
 public class PontoFocoController {
 
     private final PontoFocoService pontoFocoService;
+    private final ImportacaoPontoFocoService importacaoPontoFocoService;
+    private final IngestaoAssincronaService ingestaoAssincronaService;
+    private final MapaCalorService mapaCalorService;
+    private final SerieDeteccoesService serieDeteccoesService;
+    private final ArquivamentoService arquivamentoService;
 
     @Autowired
-    public PontoFocoController(PontoFocoService pontoFocoService) {
+    public PontoFocoController(PontoFocoService pontoFocoService,
+                               ImportacaoPontoFocoService importacaoPontoFocoService,
+                               IngestaoAssincronaService ingestaoAssincronaService,
+                               MapaCalorService mapaCalorService,
+                               SerieDeteccoesService serieDeteccoesService,
+                               ArquivamentoService arquivamentoService) {
         this.pontoFocoService = pontoFocoService;
+        this.importacaoPontoFocoService = importacaoPontoFocoService;
+        this.ingestaoAssincronaService = ingestaoAssincronaService;
+        this.mapaCalorService = mapaCalorService;
+        this.serieDeteccoesService = serieDeteccoesService;
+        this.arquivamentoService = arquivamentoService;
     }
 
     /**
      * Lista todos os pontos de foco
      */
     @GetMapping
-    public ResponseEntity<List<PontoFoco>> listarTodos() {
-        return ResponseEntity.ok(pontoFocoService.listarTodos());
+    public ResponseEntity<PaginaDTO<PontoFoco>> listarTodos(
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máximo 500)") @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(pontoFocoService.listarTodos(cursor, tamanho));
+    }
+
+    /**
+     * Lista a projeção resumida de todos os pontos de foco
+     */
+    @Operation(
+        summary = "Lista pontos de foco (resumo)",
+        description = "Retorna apenas id, coordenadas, status, intensidade e nome da região, sem carregar as entidades"
+    )
+    @GetMapping("/resumo")
+    public ResponseEntity<PaginaDTO<PontoFocoListagemDTO>> listarResumo(
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máximo 500)") @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(pontoFocoService.listarResumo(cursor, tamanho));
+    }
+
+    /**
+     * Lista a projeção resumida dos pontos de foco ativos
+     */
+    @GetMapping("/ativos/resumo")
+    public ResponseEntity<PaginaDTO<PontoFocoListagemDTO>> listarAtivosResumo(
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máximo 500)") @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(pontoFocoService.listarAtivosResumo(cursor, tamanho));
     }
 
     /**
      * Busca um ponto de foco pelo ID
      */
     @GetMapping("/{id}")
-    public ResponseEntity<PontoFoco> buscarPorId(@PathVariable Long id) {
-        Optional<PontoFoco> pontoFocoOpt = pontoFocoService.buscarPorId(id);
+    public ResponseEntity<PontoFoco> buscarPorId(
+            @PathVariable Long id,
+            @Parameter(description = "Inclui os pontos de foco arquivados") @RequestParam(defaultValue = "false") boolean incluirArquivados) {
+        Optional<PontoFoco> pontoFocoOpt = pontoFocoService.buscarPorId(id, incluirArquivados);
         return pontoFocoOpt.map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -53,24 +126,60 @@ public class PontoFocoController {
      * Lista pontos de foco por status
      */
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<PontoFoco>> listarPorStatus(@PathVariable StatusPontoFoco status) {
-        return ResponseEntity.ok(pontoFocoService.listarPorStatus(status));
+    public ResponseEntity<PaginaDTO<PontoFoco>> listarPorStatus(
+            @PathVariable StatusPontoFoco status,
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máximo 500)") @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(pontoFocoService.listarPorStatus(status, cursor, tamanho));
     }
 
     /**
      * Lista pontos de foco ativos
      */
     @GetMapping("/ativos")
-    public ResponseEntity<List<PontoFoco>> listarAtivos() {
-        return ResponseEntity.ok(pontoFocoService.listarAtivos());
+    public ResponseEntity<PaginaDTO<PontoFoco>> listarAtivos(
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máximo 500)") @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(pontoFocoService.listarAtivos(cursor, tamanho));
+    }
+
+    /**
+     * Lista pontos de foco detectados após uma data
+     */
+    @GetMapping("/detectados-apos")
+    public ResponseEntity<PaginaDTO<PontoFoco>> listarDetectadosApos(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime data,
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máximo 500)") @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(pontoFocoService.listarDetectadosApos(data, cursor, tamanho));
+    }
+
+    /**
+     * Lê o feed de detecções recentes
+     */
+    @Operation(
+        summary = "Feed de detecções recentes",
+        description = "Retorna, na ordem de registro, as detecções publicadas depois da sequência informada, lidas de " +
+                "um buffer em memória com as últimas queimadas.feed-deteccoes.capacidade detecções das últimas " +
+                "queimadas.feed-deteccoes.horas horas. Envie o ultimaSequencia retornado na consulta seguinte"
+    )
+    @GetMapping("/feed")
+    public ResponseEntity<FeedDeteccoesDTO> lerFeedDeteccoes(
+            @Parameter(description = "Última sequência já lida (0 na primeira consulta)") @RequestParam(defaultValue = "0") long desde,
+            @Parameter(description = "Quantidade máxima de detecções (máximo 500)") @RequestParam(required = false) Integer limite) {
+        return ResponseEntity.ok(pontoFocoService.lerFeedDeteccoes(desde, limite));
     }
 
     /**
      * Lista pontos de foco por região
      */
     @GetMapping("/regiao/{regiaoId}")
-    public ResponseEntity<List<PontoFoco>> listarPorRegiao(@PathVariable Long regiaoId) {
-        return ResponseEntity.ok(pontoFocoService.listarPorRegiao(regiaoId));
+    public ResponseEntity<PaginaDTO<PontoFoco>> listarPorRegiao(
+            @PathVariable Long regiaoId,
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máximo 500)") @RequestParam(required = false) Integer tamanho,
+            @Parameter(description = "Inclui os pontos de foco arquivados") @RequestParam(defaultValue = "false") boolean incluirArquivados) {
+        return ResponseEntity.ok(pontoFocoService.listarPorRegiao(regiaoId, cursor, tamanho, incluirArquivados));
     }
 
     /**
@@ -112,6 +221,78 @@ public class PontoFocoController {
         return ResponseEntity.status(HttpStatus.CREATED).body(pontoFoco);
     }
 
+    /**
+     * Registra um lote de detecções de satélite
+     */
+    @Operation(
+        summary = "Registra um lote de pontos de foco",
+        description = "Recebe uma lista de detecções e as persiste em lote; detecções sem coordenadas são rejeitadas"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Lote processado com sucesso")
+    })
+    @PostMapping("/lote")
+    public ResponseEntity<ResultadoLoteDTO> registrarPontosFocoEmLote(@RequestBody List<DeteccaoDTO> deteccoes) {
+        ResultadoLoteDTO resultado = pontoFocoService.registrarPontosFocoEmLote(deteccoes);
+        return ResponseEntity.status(HttpStatus.CREATED).body(resultado);
+    }
+
+    /**
+     * Enfileira um lote de detecções para gravação assíncrona
+     */
+    @Operation(
+        summary = "Enfileira um lote de pontos de foco",
+        description = "Aceita as detecções em uma fila em memória e responde imediatamente com um id de rastreamento; " +
+                "a gravação é feita em lotes por workers em segundo plano"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Detecções aceitas na fila"),
+        @ApiResponse(responseCode = "400", description = "Detecção sem coordenadas ou fora dos limites geográficos"),
+        @ApiResponse(responseCode = "429", description = "Fila cheia; tente novamente após o tempo indicado em Retry-After")
+    })
+    @PostMapping("/assincrono")
+    public ResponseEntity<ReciboIngestaoDTO> enfileirarPontosFoco(@RequestBody List<DeteccaoDTO> deteccoes) {
+        return ingestaoAssincronaService.enfileirar(deteccoes)
+                .map(recibo -> ResponseEntity.status(HttpStatus.ACCEPTED).body(recibo))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, "5")
+                        .build());
+    }
+
+    /**
+     * Estado da fila de ingestão assíncrona
+     */
+    @GetMapping("/assincrono/status")
+    public ResponseEntity<StatusIngestaoDTO> obterStatusIngestao() {
+        return ResponseEntity.ok(ingestaoAssincronaService.obterStatus());
+    }
+
+    /**
+     * Situação de um envio feito pela ingestão assíncrona
+     */
+    @GetMapping("/assincrono/{idRastreamento}")
+    public ResponseEntity<SituacaoEnvioDTO> buscarSituacaoEnvio(@PathVariable String idRastreamento) {
+        return ingestaoAssincronaService.buscarSituacao(idRastreamento)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Importa um arquivo de detecções em streaming
+     */
+    @Operation(
+        summary = "Importa um arquivo de detecções",
+        description = "Lê o corpo da requisição linha a linha (NDJSON ou CSV com cabeçalho) e persiste as detecções em chunks; " +
+                "linhas inválidas são ignoradas e registradas no log"
+    )
+    @PostMapping(value = "/importacao", consumes = {"application/x-ndjson", "text/csv", "application/octet-stream"})
+    public ResponseEntity<ResultadoImportacaoDTO> importarArquivo(
+            @Parameter(description = "Formato do arquivo") @RequestParam ImportacaoPontoFocoService.Formato formato,
+            InputStream arquivo) throws IOException {
+
+        return ResponseEntity.ok(importacaoPontoFocoService.importar(arquivo, formato));
+    }
+
     /**
      * Atualiza o status de um ponto de foco
      */
@@ -154,21 +335,253 @@ public class PontoFocoController {
      * Lista pontos de foco por proximidade geográfica
      */
     @GetMapping("/proximidade")
-    public ResponseEntity<List<PontoFoco>> listarPorProximidade(
+    public ResponseEntity<PaginaDTO<PontoFoco>> listarPorProximidade(
             @RequestParam Double latitude,
             @RequestParam Double longitude,
-            @RequestParam Double raioGraus) {
+            @RequestParam Double raioGraus,
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máximo 500)") @RequestParam(required = false) Integer tamanho) {
         
-        return ResponseEntity.ok(pontoFocoService.listarPorProximidade(latitude, longitude, raioGraus));
+        return ResponseEntity.ok(pontoFocoService.listarPorProximidade(latitude, longitude, raioGraus, cursor, tamanho));
+    }
+
+    /**
+     * Lista pontos de foco ativos e recentes dentro de um raio em quilômetros
+     */
+    @Operation(
+        summary = "Lista pontos de foco por raio",
+        description = "Busca no índice espacial em memória os pontos de foco ativos e recentes dentro do raio informado, " +
+                "ordenados pela distância de grande círculo"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Pontos de foco encontrados"),
+        @ApiResponse(responseCode = "400", description = "Raio menor ou igual a zero")
+    })
+    @GetMapping("/proximidade/raio")
+    public ResponseEntity<List<PontoFocoProximoDTO>> listarPorRaio(
+            @Parameter(description = "Latitude do centro") @RequestParam Double latitude,
+            @Parameter(description = "Longitude do centro") @RequestParam Double longitude,
+            @Parameter(description = "Raio em quilômetros") @RequestParam Double raioKm,
+            @Parameter(description = "Quantidade máxima de resultados (máximo 500)") @RequestParam(required = false) Integer tamanho) {
+
+        return ResponseEntity.ok(pontoFocoService.listarPorRaio(latitude, longitude, raioKm, tamanho));
+    }
+
+    /**
+     * Lista os pontos de foco ativos mais próximos de uma posição
+     */
+    @Operation(
+        summary = "Lista os k pontos de foco ativos mais próximos",
+        description = "Busca no índice espacial em memória os k pontos de foco ativos (exceto resolvidos e falsos alarmes) " +
+                "mais próximos da posição, ordenados pela distância de grande círculo, sem precisar estimar um raio"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Pontos de foco encontrados"),
+        @ApiResponse(responseCode = "400", description = "Quantidade ou distância máxima menor ou igual a zero")
+    })
+    @GetMapping("/proximidade/mais-proximos")
+    public ResponseEntity<List<PontoFocoProximoDTO>> listarMaisProximos(
+            @Parameter(description = "Latitude da posição") @RequestParam Double latitude,
+            @Parameter(description = "Longitude da posição") @RequestParam Double longitude,
+            @Parameter(description = "Quantidade de pontos de foco (máximo 500)") @RequestParam(defaultValue = "20") Integer k,
+            @Parameter(description = "Distância máxima em quilômetros") @RequestParam(required = false) Double raioMaximoKm) {
+
+        return ResponseEntity.ok(pontoFocoService.listarMaisProximos(latitude, longitude, k, raioMaximoKm));
+    }
+
+    /**
+     * Busca pontos de foco por texto
+     */
+    @Operation(
+        summary = "Busca textual de pontos de foco",
+        description = "Busca as palavras na descrição dos pontos de foco, sem diferenciar maiúsculas nem acentos, e " +
+                "retorna os mais relevantes primeiro; a última palavra também casa com as que começam com ela"
+    )
+    @GetMapping("/busca")
+    public ResponseEntity<List<ResultadoBuscaDTO<PontoFoco>>> buscarPorTexto(
+            @Parameter(description = "Texto da busca") @RequestParam String q,
+            @Parameter(description = "Quantidade máxima de resultados (máximo 500)") @RequestParam(defaultValue = "20") Integer k) {
+        return ResponseEntity.ok(pontoFocoService.buscarPorTexto(q, k));
+    }
+
+    /**
+     * Consulta o mapa de calor dos pontos de foco ativos
+     */
+    @Operation(
+        summary = "Mapa de calor dos pontos de foco ativos",
+        description = "Retorna, para o zoom e o retângulo informados, as células não vazias da grade com quantidade de " +
+                "pontos de foco ativos, intensidade máxima e área estimada total. No zoom z a célula tem 45 / 2^z graus; " +
+                "com Accept: application/octet-stream a resposta usa o formato binário compacto (20 bytes por célula)"
+    )
+    @GetMapping(value = "/mapa-calor", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<MapaCalorDTO> consultarMapaCalor(
+            @Parameter(description = "Zoom (a partir de 0)") @RequestParam int zoom,
+            @RequestParam Double latitudeMinima,
+            @Parameter(description = "Borda oeste; maior que a borda leste quando o retângulo cruza o antimeridiano") @RequestParam Double longitudeMinima,
+            @RequestParam Double latitudeMaxima,
+            @RequestParam Double longitudeMaxima) {
+
+        return ResponseEntity.ok(mapaCalorService.consultar(zoom, latitudeMinima, longitudeMinima, latitudeMaxima, longitudeMaxima));
+    }
+
+    /**
+     * Consulta o mapa de calor dos pontos de foco ativos no formato binário compacto
+     */
+    @GetMapping(value = "/mapa-calor", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<byte[]> consultarMapaCalorBinario(
+            @RequestParam int zoom,
+            @RequestParam Double latitudeMinima,
+            @RequestParam Double longitudeMinima,
+            @RequestParam Double latitudeMaxima,
+            @RequestParam Double longitudeMaxima) {
+
+        return ResponseEntity.ok(mapaCalorService.consultarBinario(zoom, latitudeMinima, longitudeMinima, latitudeMaxima, longitudeMaxima));
+    }
+
+    /**
+     * Consulta a série de detecções por hora ou por dia
+     */
+    @Operation(
+        summary = "Série de detecções por hora ou por dia",
+        description = "Quantidade de pontos de foco detectados em cada hora ou dia da janela, pelo status atual, " +
+                "de uma região ou de todas; lida das contagens por período mantidas em memória a cada registro ou " +
+                "mudança de status, dentro da retenção configurada"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Um período por hora ou dia da janela, inclusive os sem detecções"),
+        @ApiResponse(responseCode = "400", description = "Janela invertida ou anterior à retenção")
+    })
+    @GetMapping("/serie-deteccoes")
+    public ResponseEntity<SerieDeteccoesDTO> consultarSerieDeteccoes(
+            @Parameter(description = "HORA ou DIA") @RequestParam(defaultValue = "DIA") SerieTemporalDeteccoes.Granularidade granularidade,
+            @Parameter(description = "Início da janela (padrão: início da retenção)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime de,
+            @Parameter(description = "Fim da janela (padrão: agora)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime ate,
+            @Parameter(description = "ID da região (padrão: todas)") @RequestParam(required = false) Long regiaoId,
+            @Parameter(description = "Status contados (padrão: todos)") @RequestParam(required = false) Set<StatusPontoFoco> status) {
+
+        return ResponseEntity.ok(serieDeteccoesService.consultar(granularidade, de, ate, regiaoId, status));
+    }
+
+    /**
+     * Reconstrói a série de detecções a partir dos pontos de foco gravados
+     */
+    @Operation(
+        summary = "Reconstrói a série de detecções",
+        description = "Recalcula as contagens por hora e por dia a partir dos pontos de foco da janela de retenção, " +
+                "contados à medida que são lidos, sem bloquear as consultas; as alterações recebidas durante a " +
+                "reconstrução são reaplicadas sobre o resultado"
+    )
+    @PostMapping("/serie-deteccoes/reconstruir")
+    public ResponseEntity<ResultadoReconstrucaoSerieDTO> reconstruirSerieDeteccoes() {
+        return ResponseEntity.ok(serieDeteccoesService.reconstruir());
+    }
+
+    /**
+     * Arquiva os pontos de foco encerrados há mais tempo que a idade configurada
+     */
+    @Operation(
+        summary = "Arquiva os pontos de foco encerrados",
+        description = "Move os pontos de foco resolvidos ou falsos alarmes sem alteração há mais que " +
+                "queimadas.arquivamento.idade-dias, com as suas ações de combate, para as tabelas de arquivo, em lotes; " +
+                "também executado periodicamente. Os arquivados continuam disponíveis com incluirArquivados=true"
+    )
+    @PostMapping("/arquivamento")
+    public ResponseEntity<ResultadoArquivamentoDTO> arquivar() {
+        return ResponseEntity.ok(arquivamentoService.arquivar());
+    }
+
+    /**
+     * Lista as frentes de fogo
+     */
+    @Operation(
+        summary = "Lista frentes de fogo",
+        description = "Agrupa os pontos de foco ativos próximos entre si em frentes de fogo, com centroide, área estimada " +
+                "total, intensidade máxima e IDs dos pontos, ordenadas pela área estimada total"
+    )
+    @GetMapping("/frentes")
+    public ResponseEntity<List<FrenteFogoDTO>> listarFrentesFogo(
+            @Parameter(description = "Quantidade máxima de frentes (máximo 500)") @RequestParam(required = false) Integer tamanho) {
+
+        return ResponseEntity.ok(pontoFocoService.listarFrentesFogo(tamanho));
+    }
+
+    /**
+     * Busca uma frente de fogo pelo ID
+     */
+    @GetMapping("/frentes/{id}")
+    public ResponseEntity<FrenteFogoDTO> buscarFrenteFogo(@PathVariable Long id) {
+        return pontoFocoService.buscarFrenteFogo(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Busca a frente de fogo de um ponto de foco
+     */
+    @GetMapping("/{id}/frente")
+    public ResponseEntity<FrenteFogoDTO> buscarFrenteFogoDoPontoFoco(@PathVariable Long id) {
+        return pontoFocoService.buscarFrenteFogoDoPontoFoco(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Lista pontos de foco por critérios combinados
+     */
+    @Operation(
+        summary = "Busca de pontos de foco por critérios combinados",
+        description = "Combina, em uma única consulta, conjunto de status, faixa de intensidade, período de detecção, " +
+                "regiões e retângulo (os quatro limites juntos); critérios não informados não filtram. " +
+                "Status e regiões aceitam vários valores (ex.: status=NOVO&status=EM_COMBATE)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de pontos de foco ordenada por ID"),
+        @ApiResponse(responseCode = "400", description = "Faixa, período ou retângulo inválido")
+    })
+    @GetMapping("/filtro")
+    public ResponseEntity<PaginaDTO<PontoFoco>> filtrar(
+            @Parameter(description = "Status aceitos") @RequestParam(required = false) Set<StatusPontoFoco> status,
+            @RequestParam(required = false) Double intensidadeMinima,
+            @RequestParam(required = false) Double intensidadeMaxima,
+            @Parameter(description = "Início do período de detecção (inclusivo)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime detectadoDe,
+            @Parameter(description = "Fim do período de detecção (inclusivo)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime detectadoAte,
+            @Parameter(description = "IDs das regiões aceitas") @RequestParam(required = false) Set<Long> regiaoId,
+            @RequestParam(required = false) Double latitudeMinima,
+            @RequestParam(required = false) Double longitudeMinima,
+            @RequestParam(required = false) Double latitudeMaxima,
+            @RequestParam(required = false) Double longitudeMaxima,
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máximo 500)") @RequestParam(required = false) Integer tamanho,
+            @Parameter(description = "Inclui os pontos de foco arquivados") @RequestParam(defaultValue = "false") boolean incluirArquivados) {
+
+        FiltroPontoFocoDTO filtro = FiltroPontoFocoDTO.builder()
+                .status(status)
+                .intensidadeMinima(intensidadeMinima)
+                .intensidadeMaxima(intensidadeMaxima)
+                .detectadoDe(detectadoDe)
+                .detectadoAte(detectadoAte)
+                .regiaoIds(regiaoId)
+                .latitudeMinima(latitudeMinima)
+                .longitudeMinima(longitudeMinima)
+                .latitudeMaxima(latitudeMaxima)
+                .longitudeMaxima(longitudeMaxima)
+                .build();
+        return ResponseEntity.ok(pontoFocoService.filtrar(filtro, cursor, tamanho, incluirArquivados));
     }
 
     /**
      * Lista pontos de foco por intensidade mínima
      */
     @GetMapping("/intensidade")
-    public ResponseEntity<List<PontoFoco>> listarPorIntensidade(
-            @RequestParam Double intensidadeMinima) {
+    public ResponseEntity<PaginaDTO<PontoFoco>> listarPorIntensidade(
+            @RequestParam Double intensidadeMinima,
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máximo 500)") @RequestParam(required = false) Integer tamanho) {
         
-        return ResponseEntity.ok(pontoFocoService.listarPorIntensidade(intensidadeMinima));
+        return ResponseEntity.ok(pontoFocoService.listarPorIntensidade(intensidadeMinima, cursor, tamanho));
     }
 }
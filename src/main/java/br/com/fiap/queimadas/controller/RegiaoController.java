@@ -1,6 +1,10 @@
 package br.com.fiap.queimadas.controller;
 
 import br.com.fiap.queimadas.domain.entity.Regiao;
+import br.com.fiap.queimadas.dto.PaginaDTO;
+import br.com.fiap.queimadas.dto.RegiaoRankingDTO;
+import br.com.fiap.queimadas.dto.RegiaoSugestaoDTO;
+import br.com.fiap.queimadas.dto.ResultadoRecalculoRiscoDTO;
 import br.com.fiap.queimadas.service.RegiaoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -35,8 +39,10 @@ public class RegiaoController {
      * Lista todas as regiões
      */
     @GetMapping
-    public ResponseEntity<List<Regiao>> listarTodas() {
-        return ResponseEntity.ok(regiaoService.listarTodas());
+    public ResponseEntity<PaginaDTO<Regiao>> listarTodas(
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máximo 500)") @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(regiaoService.listarTodas(cursor, tamanho));
     }
 
     /**
@@ -49,44 +55,97 @@ public class RegiaoController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Busca a região que contém as coordenadas
+     */
+    @Operation(
+        summary = "Localiza a região de um ponto",
+        description = "Retorna a região cujo limite (polígono em WKT) contém as coordenadas; " +
+                "com regiões aninhadas, retorna a mais específica"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Região encontrada"),
+        @ApiResponse(responseCode = "404", description = "Nenhuma região com limite contém o ponto")
+    })
+    @GetMapping("/localizacao")
+    public ResponseEntity<Regiao> localizar(
+            @Parameter(description = "Latitude") @RequestParam Double latitude,
+            @Parameter(description = "Longitude") @RequestParam Double longitude) {
+        return regiaoService.localizar(latitude, longitude)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     /**
      * Lista regiões por nome
      */
     @GetMapping("/nome/{nome}")
-    public ResponseEntity<List<Regiao>> buscarPorNome(@PathVariable String nome) {
-        return ResponseEntity.ok(regiaoService.buscarPorNome(nome));
+    public ResponseEntity<PaginaDTO<Regiao>> buscarPorNome(
+            @PathVariable String nome,
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máximo 500)") @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(regiaoService.buscarPorNome(nome, cursor, tamanho));
     }
 
     /**
      * Lista regiões por tipo
      */
     @GetMapping("/tipo/{tipo}")
-    public ResponseEntity<List<Regiao>> buscarPorTipo(@PathVariable String tipo) {
-        return ResponseEntity.ok(regiaoService.buscarPorTipo(tipo));
+    public ResponseEntity<PaginaDTO<Regiao>> buscarPorTipo(
+            @PathVariable String tipo,
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máximo 500)") @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(regiaoService.buscarPorTipo(tipo, cursor, tamanho));
     }
 
     /**
      * Lista regiões por nível de risco
      */
     @GetMapping("/risco/{nivelMinimo}")
-    public ResponseEntity<List<Regiao>> listarPorNivelRisco(@PathVariable Integer nivelMinimo) {
-        return ResponseEntity.ok(regiaoService.listarPorNivelRiscoMinimo(nivelMinimo));
+    public ResponseEntity<PaginaDTO<Regiao>> listarPorNivelRisco(
+            @PathVariable Integer nivelMinimo,
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máximo 500)") @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(regiaoService.listarPorNivelRiscoMinimo(nivelMinimo, cursor, tamanho));
     }
 
     /**
      * Lista regiões ordenadas por pontos de foco ativos
      */
+    @Operation(
+        summary = "Classificação das regiões por pontos de foco ativos",
+        description = "Lista as regiões em ordem decrescente de pontos de foco ativos (empates pelo ID), incluindo " +
+                "as regiões sem pontos ativos, a partir da classificação mantida em memória"
+    )
     @GetMapping("/com-focos")
-    public ResponseEntity<List<Regiao>> listarPorPontosFocoAtivos() {
-        return ResponseEntity.ok(regiaoService.listarPorPontosFocoAtivos());
+    public ResponseEntity<List<RegiaoRankingDTO>> listarPorPontosFocoAtivos(
+            @Parameter(description = "Quantidade máxima de regiões (padrão: todas)") @RequestParam(required = false) Integer k) {
+        return ResponseEntity.ok(regiaoService.listarPorPontosFocoAtivos(k));
+    }
+
+    /**
+     * Sugere regiões pelo começo do nome
+     */
+    @Operation(
+        summary = "Preenchimento automático do nome da região",
+        description = "Sugere regiões cujo nome tem palavras que começam com o texto digitado, sem diferenciar " +
+                "maiúsculas nem acentos, a partir do índice em memória"
+    )
+    @GetMapping("/autocompletar")
+    public ResponseEntity<List<RegiaoSugestaoDTO>> autocompletar(
+            @Parameter(description = "Texto digitado") @RequestParam String prefixo,
+            @Parameter(description = "Quantidade máxima de sugestões (máximo 500)") @RequestParam(defaultValue = "10") Integer k) {
+        return ResponseEntity.ok(regiaoService.autocompletar(prefixo, k));
     }
 
     /**
      * Lista regiões sem pontos de foco ativos
      */
     @GetMapping("/sem-focos")
-    public ResponseEntity<List<Regiao>> listarSemPontosFoco() {
-        return ResponseEntity.ok(regiaoService.listarRegioesSemPontosFocoAtivos());
+    public ResponseEntity<PaginaDTO<Regiao>> listarSemPontosFoco(
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máximo 500)") @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(regiaoService.listarRegioesSemPontosFocoAtivos(cursor, tamanho));
     }
 
     /**
@@ -121,6 +180,19 @@ public class RegiaoController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Recalcula o nível de risco de todas as regiões
+     */
+    @Operation(
+        summary = "Recalcula o nível de risco de todas as regiões",
+        description = "Executa imediatamente o recálculo periódico do total de pontos de foco ativos e do nível " +
+                "de risco de todas as regiões, com uma consulta agregada e uma atualização em lote"
+    )
+    @PostMapping("/recalcular-risco")
+    public ResponseEntity<ResultadoRecalculoRiscoDTO> recalcularNivelRiscoTodas() {
+        return ResponseEntity.ok(regiaoService.recalcularNivelRiscoTodas());
+    }
+
     /**
      * Remove uma região
      */
@@ -1,5 +1,7 @@
 package br.com.fiap.queimadas.domain.entity;
 
+import br.com.fiap.queimadas.domain.event.AcaoCombateEntityListener;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -12,7 +14,13 @@ import java.time.LocalDateTime;
  * Classe que representa uma ação tomada para combater um incêndio
  */
 @Entity
-@Table(name = "TB_ACAO_COMBATE")
+@Table(name = "TB_ACAO_COMBATE", indexes = {
+        // Índices para a paginação por cursor (keyset)
+        @Index(name = "IDX_ACAO_COMBATE_PONTO_FOCO_ID", columnList = "ponto_foco_id, id"),
+        @Index(name = "IDX_ACAO_COMBATE_DATA_INICIO_ID", columnList = "data_inicio, id"),
+        @Index(name = "IDX_ACAO_COMBATE_DATA_FIM_ID", columnList = "data_fim, id")
+})
+@EntityListeners(AcaoCombateEntityListener.class)
 @Data
 @Builder
 @NoArgsConstructor
@@ -48,6 +56,10 @@ public class AcaoCombate {
     @Column(name = "responsavel")
     private String responsavel;
 
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private boolean arquivada; // Lida de TB_ACAO_COMBATE_ARQUIVO, nas consultas que incluem o arquivo
+
     /**
      * Marca a ação de combate como concluída
      * @param resultado O resultado da ação
@@ -0,0 +1,75 @@
+package br.com.fiap.queimadas.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ação de combate movida para o arquivo junto com o seu ponto de foco.
+ * As colunas são as mesmas de {@code TB_ACAO_COMBATE}; o ponto de foco fica só pelo ID.
+ */
+@Entity
+@Immutable
+@Table(name = "TB_ACAO_COMBATE_ARQUIVO", indexes = {
+        @Index(name = "IDX_ACAO_COMBATE_ARQUIVO_PONTO_FOCO_ID", columnList = "ponto_foco_id, id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AcaoCombateArquivada {
+
+    @Id
+    private Long id; // Mesmo ID que a ação tinha em TB_ACAO_COMBATE
+
+    @Column(name = "ponto_foco_id", nullable = false)
+    private Long pontoFocoId;
+
+    @Column(name = "data_inicio", nullable = false)
+    private LocalDateTime dataInicio;
+
+    @Column(name = "data_fim")
+    private LocalDateTime dataFim;
+
+    @Column(name = "tipo_acao", nullable = false)
+    private String tipoAcao;
+
+    @Column(name = "descricao", length = 1000)
+    private String descricao;
+
+    @Column(name = "recursos_utilizados")
+    private String recursosUtilizados;
+
+    @Column(name = "resultado")
+    private String resultado;
+
+    @Column(name = "responsavel")
+    private String responsavel;
+
+    @Column(name = "data_arquivamento", nullable = false)
+    private LocalDateTime dataArquivamento;
+
+    /**
+     * Monta uma ação de combate (não gerenciada) com os dados arquivados, para as consultas que incluem o arquivo
+     * @param pontoFoco Ponto de foco da ação, arquivado ou não
+     */
+    public AcaoCombate paraAcaoCombate(PontoFoco pontoFoco) {
+        return AcaoCombate.builder()
+                .id(id)
+                .pontoFoco(pontoFoco)
+                .dataInicio(dataInicio)
+                .dataFim(dataFim)
+                .tipoAcao(tipoAcao)
+                .descricao(descricao)
+                .recursosUtilizados(recursosUtilizados)
+                .resultado(resultado)
+                .responsavel(responsavel)
+                .arquivada(true)
+                .build();
+    }
+}
@@ -1,6 +1,10 @@
 package br.com.fiap.queimadas.domain.entity;
 
 import br.com.fiap.queimadas.domain.enums.StatusPontoFoco;
+import br.com.fiap.queimadas.domain.event.PontoFocoEntityListener;
+import br.com.fiap.queimadas.service.indice.CurvaHilbert;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -13,7 +17,21 @@ import java.time.LocalDateTime;
  * Classe que representa um ponto de foco de incêndio detectado
  */
 @Entity
-@Table(name = "TB_PONTO_FOCO")
+@Table(name = "TB_PONTO_FOCO", indexes = {
+        // Índices para a paginação por cursor (keyset)
+        @Index(name = "IDX_PONTO_FOCO_STATUS_ID", columnList = "status, id"),
+        @Index(name = "IDX_PONTO_FOCO_REGIAO_ID", columnList = "regiao_id, id"),
+        @Index(name = "IDX_PONTO_FOCO_DATA_DETECCAO_ID", columnList = "data_deteccao, id"),
+        @Index(name = "IDX_PONTO_FOCO_INTENSIDADE_ID", columnList = "intensidade, id"),
+        // Varreduras por faixa de chave nas consultas por área
+        @Index(name = "IDX_PONTO_FOCO_CHAVE_HILBERT", columnList = "chave_hilbert"),
+        // Combinações da busca por critérios combinados: igualdade nas primeiras colunas, faixa na última
+        @Index(name = "IDX_PONTO_FOCO_STATUS_DATA_DETECCAO", columnList = "status, data_deteccao"),
+        @Index(name = "IDX_PONTO_FOCO_STATUS_INTENSIDADE", columnList = "status, intensidade"),
+        @Index(name = "IDX_PONTO_FOCO_REGIAO_STATUS_DATA_DETECCAO", columnList = "regiao_id, status, data_deteccao"),
+        @Index(name = "IDX_PONTO_FOCO_REGIAO_INTENSIDADE", columnList = "regiao_id, intensidade")
+})
+@EntityListeners(PontoFocoEntityListener.class)
 @Data
 @Builder
 @NoArgsConstructor
@@ -21,7 +39,8 @@ import java.time.LocalDateTime;
 public class PontoFoco {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_ponto_foco")
+    @SequenceGenerator(name = "seq_ponto_foco", sequenceName = "SEQ_PONTO_FOCO", allocationSize = 50) // Pooled, permite batch de inserts
     private Long id;
 
     @Column(name = "latitude", nullable = false)
@@ -30,6 +49,10 @@ public class PontoFoco {
     @Column(name = "longitude", nullable = false)
     private Double longitude;
 
+    @Column(name = "chave_hilbert")
+    @JsonIgnore
+    private Long chaveHilbert; // Posição das coordenadas na curva de Hilbert (CurvaHilbert), nula até o preenchimento das linhas antigas
+
     @Column(name = "data_deteccao", nullable = false)
     private LocalDateTime dataDeteccao;
 
@@ -53,6 +76,25 @@ public class PontoFoco {
     @JoinColumn(name = "regiao_id")
     private Regiao regiao;
 
+    @Transient
+    @JsonIgnore
+    private StatusPontoFoco statusPersistido; // Último status gravado no banco, usado nos eventos de alteração
+
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private boolean arquivado; // Lido de TB_PONTO_FOCO_ARQUIVO, nas consultas que incluem o arquivo
+
+    /**
+     * Recalcula a chave espacial a partir das coordenadas antes de cada gravação
+     */
+    @PrePersist
+    @PreUpdate
+    public void atualizarChaveHilbert() {
+        if (latitude != null && longitude != null) {
+            this.chaveHilbert = CurvaHilbert.chave(latitude, longitude);
+        }
+    }
+
     /**
      * Método para atualizar o status do ponto de foco
      * @param novoStatus Novo status do ponto de foco
@@ -62,6 +104,22 @@ public class PontoFoco {
         this.dataAtualizacao = LocalDateTime.now();
     }
 
+    /**
+     * Incorpora uma nova detecção da mesma queimada (outra passagem de satélite ou sensor),
+     * mantendo as medições mais recentes de intensidade e área
+     * @param intensidade Intensidade medida na nova detecção (ignorada se nula)
+     * @param areaEstimadaMetrosQuadrados Área estimada na nova detecção (ignorada se nula)
+     */
+    public void mesclarDeteccao(Double intensidade, Double areaEstimadaMetrosQuadrados) {
+        if (intensidade != null) {
+            this.intensidade = intensidade;
+        }
+        if (areaEstimadaMetrosQuadrados != null) {
+            this.areaEstimadaMetrosQuadrados = areaEstimadaMetrosQuadrados;
+        }
+        this.dataAtualizacao = LocalDateTime.now();
+    }
+
     /**
      * Verifica se o ponto de foco está ativo (não resolvido ou falso alarme)
      * @return true se estiver ativo, false caso contrário
@@ -0,0 +1,88 @@
+package br.com.fiap.queimadas.domain.entity;
+
+import br.com.fiap.queimadas.domain.enums.StatusPontoFoco;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ponto de foco encerrado (resolvido ou falso alarme) movido para o arquivo pelo arquivamento.
+ * As colunas são as mesmas de {@code TB_PONTO_FOCO}; a região fica só pelo ID, sem chave estrangeira.
+ */
+@Entity
+@Immutable
+@Table(name = "TB_PONTO_FOCO_ARQUIVO", indexes = {
+        @Index(name = "IDX_PONTO_FOCO_ARQUIVO_REGIAO_ID", columnList = "regiao_id, id"),
+        @Index(name = "IDX_PONTO_FOCO_ARQUIVO_DATA_DETECCAO_ID", columnList = "data_deteccao, id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PontoFocoArquivado {
+
+    @Id
+    private Long id; // Mesmo ID que o ponto de foco tinha em TB_PONTO_FOCO
+
+    @Column(name = "latitude", nullable = false)
+    private Double latitude;
+
+    @Column(name = "longitude", nullable = false)
+    private Double longitude;
+
+    @Column(name = "chave_hilbert")
+    @JsonIgnore
+    private Long chaveHilbert;
+
+    @Column(name = "data_deteccao", nullable = false)
+    private LocalDateTime dataDeteccao;
+
+    @Column(name = "intensidade")
+    private Double intensidade;
+
+    @Column(name = "area_estimada_metros_quadrados")
+    private Double areaEstimadaMetrosQuadrados;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private StatusPontoFoco status;
+
+    @Column(name = "descricao", length = 500)
+    private String descricao;
+
+    @Column(name = "data_atualizacao")
+    private LocalDateTime dataAtualizacao;
+
+    @Column(name = "regiao_id")
+    private Long regiaoId; // A região pode ser removida depois do arquivamento
+
+    @Column(name = "data_arquivamento", nullable = false)
+    private LocalDateTime dataArquivamento;
+
+    /**
+     * Monta um ponto de foco (não gerenciado) com os dados arquivados, para as consultas que incluem o arquivo
+     * @param regiao Região do ponto, ou null se não houver ou tiver sido removida
+     */
+    public PontoFoco paraPontoFoco(Regiao regiao) {
+        return PontoFoco.builder()
+                .id(id)
+                .latitude(latitude)
+                .longitude(longitude)
+                .chaveHilbert(chaveHilbert)
+                .dataDeteccao(dataDeteccao)
+                .intensidade(intensidade)
+                .areaEstimadaMetrosQuadrados(areaEstimadaMetrosQuadrados)
+                .status(status)
+                .descricao(descricao)
+                .dataAtualizacao(dataAtualizacao)
+                .regiao(regiao)
+                .arquivado(true)
+                .build();
+    }
+}
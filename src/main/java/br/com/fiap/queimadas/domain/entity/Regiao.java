@@ -1,10 +1,17 @@
 package br.com.fiap.queimadas.domain.entity;
 
+import br.com.fiap.queimadas.domain.event.RegiaoEntityListener;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -14,6 +21,9 @@ import java.util.List;
  */
 @Entity
 @Table(name = "TB_REGIAO")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE) // Muda pouco e é lida em quase todo fluxo de escrita
+@EntityListeners(RegiaoEntityListener.class)
 @Data
 @Builder(toBuilder = true)
 @NoArgsConstructor
@@ -36,10 +46,28 @@ public class Regiao {
     @Column(name = "descricao", length = 500)
     private String descricao;
 
-    @Column(name = "nivel_risco")
-    private Integer nivelRisco; // 1-5, onde 5 é o mais alto
+    @Lob
+    @Column(name = "limite")
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY) // Pode ter milhares de vértices; não volta nas listagens
+    @ToString.Exclude
+    private String limite; // Polígono ou multipolígono em WKT, coordenadas em "longitude latitude"
+
+    @Column(name = "nivel_risco", updatable = false)
+    private Integer nivelRisco; // 1-5, onde 5 é o mais alto; calculado pelo MotorRisco e gravado pelo RegiaoContadorRepository
+
+    @Column(name = "pontuacao_risco", updatable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Double pontuacaoRisco; // Pontuação contínua da qual o nível de risco é derivado
+
+    @Column(name = "total_pontos_foco_ativos", nullable = false, updatable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Builder.Default
+    private Long totalPontosFocoAtivos = 0L; // Recalculado em lote pelo RecalculoRiscoRegioesJob
 
     @OneToMany(mappedBy = "regiao", cascade = CascadeType.ALL, orphanRemoval = true)
+    @JsonIgnore // Evita serializar a coleção (e o ciclo região -> ponto de foco -> região)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @Builder.Default
     private List<PontoFoco> pontosFoco = new ArrayList<>();
 
@@ -54,31 +82,10 @@ public class Regiao {
     }
 
     /**
-     * Calcula o número total de pontos de foco ativos na região
+     * Retorna o número total de pontos de foco ativos na região, sem percorrer a coleção
      * @return Total de pontos de foco ativos
      */
     public long calcularTotalPontosFocoAtivos() {
-        return pontosFoco.stream()
-                .filter(PontoFoco::isAtivo)
-                .count();
-    }
-
-    /**
-     * Recalcula o nível de risco da região baseado na quantidade e intensidade de incêndios
-     */
-    public void recalcularNivelRisco() {
-        long totalAtivos = calcularTotalPontosFocoAtivos();
-        // Cálculo simplificado para exemplo
-        if (totalAtivos == 0) {
-            this.nivelRisco = 1;
-        } else if (totalAtivos < 3) {
-            this.nivelRisco = 2;
-        } else if (totalAtivos < 5) {
-            this.nivelRisco = 3;
-        } else if (totalAtivos < 10) {
-            this.nivelRisco = 4;
-        } else {
-            this.nivelRisco = 5;
-        }
+        return totalPontosFocoAtivos != null ? totalPontosFocoAtivos : 0L;
     }
 }
@@ -0,0 +1,40 @@
+package br.com.fiap.queimadas.domain.event;
+
+import br.com.fiap.queimadas.domain.entity.AcaoCombate;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener JPA que publica um {@link AcaoCombateEvent} a cada alteração persistida de uma ação de combate
+ */
+@Component
+public class AcaoCombateEntityListener {
+
+    private final ApplicationEventPublisher publisher;
+
+    @Autowired
+    public AcaoCombateEntityListener(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @PostPersist
+    public void aoRegistrar(AcaoCombate acao) {
+        publisher.publishEvent(new AcaoCombateEvent(AcaoCombateEvent.Tipo.REGISTRADA, acao.getId(), acao.getTipoAcao(),
+                acao.getDescricao()));
+    }
+
+    @PostUpdate
+    public void aoAtualizar(AcaoCombate acao) {
+        publisher.publishEvent(new AcaoCombateEvent(AcaoCombateEvent.Tipo.ATUALIZADA, acao.getId(), acao.getTipoAcao(),
+                acao.getDescricao()));
+    }
+
+    @PostRemove
+    public void aoRemover(AcaoCombate acao) {
+        publisher.publishEvent(new AcaoCombateEvent(AcaoCombateEvent.Tipo.REMOVIDA, acao.getId(), null, null));
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.fiap.queimadas.domain.event;
+
+/**
+ * Evento publicado quando uma ação de combate é registrada, atualizada ou removida
+ * @param tipo Tipo da alteração
+ * @param acaoId ID da ação de combate
+ * @param tipoAcao Tipo da ação após a alteração (null se a ação foi removida)
+ * @param descricao Descrição da ação após a alteração (null se a ação foi removida)
+ */
+public record AcaoCombateEvent(Tipo tipo, Long acaoId, String tipoAcao, String descricao) {
+
+    public enum Tipo {
+        REGISTRADA,
+        ATUALIZADA,
+        REMOVIDA
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.fiap.queimadas.domain.event;
+
+import br.com.fiap.queimadas.domain.entity.PontoFoco;
+import br.com.fiap.queimadas.domain.enums.StatusPontoFoco;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener JPA que publica um {@link PontoFocoEvent} a cada alteração persistida de um ponto de foco.
+ * Os consumidores usam @TransactionalEventListener e só recebem o evento após o commit.
+ */
+@Component
+public class PontoFocoEntityListener {
+
+    private final ApplicationEventPublisher publisher;
+
+    @Autowired
+    public PontoFocoEntityListener(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @PostLoad
+    public void aoCarregar(PontoFoco pontoFoco) {
+        pontoFoco.setStatusPersistido(pontoFoco.getStatus());
+    }
+
+    @PostPersist
+    public void aoRegistrar(PontoFoco pontoFoco) {
+        publicar(PontoFocoEvent.Tipo.REGISTRADO, pontoFoco, null);
+    }
+
+    @PostUpdate
+    public void aoAtualizar(PontoFoco pontoFoco) {
+        publicar(PontoFocoEvent.Tipo.ATUALIZADO, pontoFoco, pontoFoco.getStatusPersistido());
+    }
+
+    @PostRemove
+    public void aoRemover(PontoFoco pontoFoco) {
+        publicar(PontoFocoEvent.Tipo.REMOVIDO, pontoFoco, pontoFoco.getStatusPersistido());
+    }
+
+    private void publicar(PontoFocoEvent.Tipo tipo, PontoFoco pontoFoco,
+                          StatusPontoFoco statusAnterior) {
+        publisher.publishEvent(new PontoFocoEvent(tipo, PontoFocoResumo.de(pontoFoco), statusAnterior,
+                pontoFoco.getDescricao()));
+        pontoFoco.setStatusPersistido(pontoFoco.getStatus());
+    }
+}
@@ -0,0 +1,32 @@
+package br.com.fiap.queimadas.domain.event;
+
+import br.com.fiap.queimadas.domain.enums.StatusPontoFoco;
+
+/**
+ * Evento publicado quando um ponto de foco é registrado, atualizado ou removido
+ * @param tipo Tipo da alteração
+ * @param pontoFoco Dados do ponto de foco após a alteração (ou no momento da remoção)
+ * @param statusAnterior Status antes da alteração (null para registros novos)
+ * @param descricao Descrição do ponto de foco após a alteração, para a busca textual
+ */
+public record PontoFocoEvent(Tipo tipo, PontoFocoResumo pontoFoco, StatusPontoFoco statusAnterior, String descricao) {
+
+    public enum Tipo {
+        REGISTRADO,
+        ATUALIZADO,
+        REMOVIDO
+    }
+
+    /**
+     * Verifica se a alteração mudou o ponto de foco entre ativo e inativo
+     * @return true se o ponto passou a ser ativo ou deixou de ser ativo
+     */
+    public boolean alterouAtividade() {
+        return statusAnterior != null && tipo == Tipo.ATUALIZADO
+                && isAtivo(statusAnterior) != pontoFoco.isAtivo();
+    }
+
+    private static boolean isAtivo(StatusPontoFoco status) {
+        return status != StatusPontoFoco.RESOLVIDO && status != StatusPontoFoco.FALSO_ALARME;
+    }
+}
@@ -0,0 +1,44 @@
+package br.com.fiap.queimadas.domain.event;
+
+import br.com.fiap.queimadas.domain.entity.PontoFoco;
+import br.com.fiap.queimadas.domain.enums.StatusPontoFoco;
+
+import java.time.LocalDateTime;
+
+/**
+ * Retrato imutável dos dados de um ponto de foco, usado nos eventos e nos índices em memória
+ */
+public record PontoFocoResumo(Long id,
+                              double latitude,
+                              double longitude,
+                              StatusPontoFoco status,
+                              Double intensidade,
+                              Double areaEstimadaMetrosQuadrados,
+                              LocalDateTime dataDeteccao,
+                              Long regiaoId) {
+
+    /**
+     * Cria o resumo a partir da entidade
+     * @param pontoFoco Ponto de foco de origem
+     * @return Resumo com os dados atuais do ponto de foco
+     */
+    public static PontoFocoResumo de(PontoFoco pontoFoco) {
+        return new PontoFocoResumo(
+                pontoFoco.getId(),
+                pontoFoco.getLatitude(),
+                pontoFoco.getLongitude(),
+                pontoFoco.getStatus(),
+                pontoFoco.getIntensidade(),
+                pontoFoco.getAreaEstimadaMetrosQuadrados(),
+                pontoFoco.getDataDeteccao(),
+                pontoFoco.getRegiao() != null ? pontoFoco.getRegiao().getId() : null);
+    }
+
+    /**
+     * Verifica se o ponto de foco está ativo (não resolvido ou falso alarme)
+     * @return true se estiver ativo, false caso contrário
+     */
+    public boolean isAtivo() {
+        return status != StatusPontoFoco.RESOLVIDO && status != StatusPontoFoco.FALSO_ALARME;
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.fiap.queimadas.domain.event;
+
+import java.util.List;
+
+/**
+ * Evento publicado a cada lote do arquivamento. O arquivamento remove as linhas via JDBC, sem
+ * {@link PontoFocoEvent} nem {@link AcaoCombateEvent}; os índices em memória que guardam pontos
+ * encerrados ou ações de combate os descartam a partir deste evento
+ * @param pontoFocoIds Pontos de foco movidos para o arquivo
+ * @param acaoCombateIds Ações de combate movidas com eles
+ */
+public record PontosFocoArquivadosEvent(List<Long> pontoFocoIds, List<Long> acaoCombateIds) {
+}
@@ -0,0 +1,41 @@
+package br.com.fiap.queimadas.domain.event;
+
+import br.com.fiap.queimadas.domain.entity.Regiao;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener JPA que publica um {@link RegiaoEvent} a cada alteração persistida de uma região.
+ * Os contadores e o nível de risco são alterados por SQL direto e não passam por aqui.
+ */
+@Component
+public class RegiaoEntityListener {
+
+    private final ApplicationEventPublisher publisher;
+
+    @Autowired
+    public RegiaoEntityListener(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @PostPersist
+    public void aoRegistrar(Regiao regiao) {
+        publisher.publishEvent(new RegiaoEvent(RegiaoEvent.Tipo.REGISTRADA, regiao.getId(), regiao.getNome(),
+                regiao.getLimite()));
+    }
+
+    @PostUpdate
+    public void aoAtualizar(Regiao regiao) {
+        publisher.publishEvent(new RegiaoEvent(RegiaoEvent.Tipo.ATUALIZADA, regiao.getId(), regiao.getNome(),
+                regiao.getLimite()));
+    }
+
+    @PostRemove
+    public void aoRemover(Regiao regiao) {
+        publisher.publishEvent(new RegiaoEvent(RegiaoEvent.Tipo.REMOVIDA, regiao.getId(), null, null));
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.fiap.queimadas.domain.event;
+
+/**
+ * Evento publicado quando uma região é registrada, atualizada ou removida
+ * @param tipo Tipo da alteração
+ * @param regiaoId ID da região
+ * @param nome Nome da região após a alteração (null se a região foi removida)
+ * @param limite Limite da região em WKT após a alteração (null se a região não tem limite ou foi removida)
+ */
+public record RegiaoEvent(Tipo tipo, Long regiaoId, String nome, String limite) {
+
+    public enum Tipo {
+        REGISTRADA,
+        ATUALIZADA,
+        REMOVIDA
+    }
+}
@@ -0,0 +1,18 @@
+package br.com.fiap.queimadas.dto;
+
+import br.com.fiap.queimadas.domain.enums.StatusPontoFoco;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projeção de leitura de uma ação de combate com apenas as colunas usadas nas listagens
+ */
+public record AcaoCombateListagemDTO(Long id,
+                                     String tipoAcao,
+                                     LocalDateTime dataInicio,
+                                     LocalDateTime dataFim,
+                                     String responsavel,
+                                     Long pontoFocoId,
+                                     StatusPontoFoco pontoFocoStatus,
+                                     String regiaoNome) {
+}
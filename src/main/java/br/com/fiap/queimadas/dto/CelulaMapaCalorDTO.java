@@ -0,0 +1,30 @@
+package br.com.fiap.queimadas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Célula do mapa de calor: agregado dos pontos de foco ativos dentro de um quadrado da grade
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CelulaMapaCalorDTO {
+
+    private int linha;
+
+    private int coluna;
+
+    private Double latitudeMinima;
+
+    private Double longitudeMinima;
+
+    private int quantidade;
+
+    private Double intensidadeMaxima;
+
+    private Double areaEstimadaTotalMetrosQuadrados;
+}
@@ -0,0 +1,28 @@
+package br.com.fiap.queimadas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Dados de uma detecção de foco de incêndio recebida do satélite
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeteccaoDTO {
+
+    private Double latitude;
+
+    private Double longitude;
+
+    private Double intensidade;
+
+    private Double areaEstimada;
+
+    private String descricao;
+
+    private Long regiaoId; // Opcional
+}
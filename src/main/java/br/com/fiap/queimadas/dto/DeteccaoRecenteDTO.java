@@ -0,0 +1,26 @@
+package br.com.fiap.queimadas.dto;
+
+import br.com.fiap.queimadas.domain.enums.StatusPontoFoco;
+import br.com.fiap.queimadas.domain.event.PontoFocoResumo;
+
+import java.time.LocalDateTime;
+
+/**
+ * Detecção do feed de detecções recentes, com os dados do ponto de foco no momento do registro
+ * @param sequencia Posição da detecção no feed, crescente na ordem de publicação
+ */
+public record DeteccaoRecenteDTO(long sequencia,
+                                 Long id,
+                                 double latitude,
+                                 double longitude,
+                                 StatusPontoFoco status,
+                                 Double intensidade,
+                                 Double areaEstimadaMetrosQuadrados,
+                                 LocalDateTime dataDeteccao,
+                                 Long regiaoId) {
+
+    public static DeteccaoRecenteDTO de(long sequencia, PontoFocoResumo resumo) {
+        return new DeteccaoRecenteDTO(sequencia, resumo.id(), resumo.latitude(), resumo.longitude(), resumo.status(),
+                resumo.intensidade(), resumo.areaEstimadaMetrosQuadrados(), resumo.dataDeteccao(), resumo.regiaoId());
+    }
+}
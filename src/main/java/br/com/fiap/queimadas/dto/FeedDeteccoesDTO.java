@@ -0,0 +1,24 @@
+package br.com.fiap.queimadas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Detecções publicadas no feed depois da sequência informada na consulta
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedDeteccoesDTO {
+
+    private long ultimaSequencia; // Sequência a informar na próxima consulta
+
+    private long descartadas; // Detecções posteriores à sequência informada que já saíram do feed
+
+    private List<DeteccaoRecenteDTO> itens;
+}
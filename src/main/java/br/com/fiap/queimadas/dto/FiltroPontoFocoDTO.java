@@ -0,0 +1,45 @@
+package br.com.fiap.queimadas.dto;
+
+import br.com.fiap.queimadas.domain.enums.StatusPontoFoco;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Critérios combinados da busca de pontos de foco; critérios nulos ou vazios não filtram
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FiltroPontoFocoDTO {
+
+    private Set<StatusPontoFoco> status;
+
+    private Double intensidadeMinima;
+
+    private Double intensidadeMaxima;
+
+    private LocalDateTime detectadoDe; // Inclusivo
+
+    private LocalDateTime detectadoAte; // Inclusivo
+
+    private Set<Long> regiaoIds;
+
+    // Retângulo: os quatro limites são informados juntos
+    private Double latitudeMinima;
+
+    private Double longitudeMinima;
+
+    private Double latitudeMaxima;
+
+    private Double longitudeMaxima;
+
+    public boolean temRetangulo() {
+        return latitudeMinima != null && longitudeMinima != null && latitudeMaxima != null && longitudeMaxima != null;
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.fiap.queimadas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Frente de fogo: grupo de pontos de foco ativos próximos entre si, tratados como um único incêndio
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FrenteFogoDTO {
+
+    private Long id;
+
+    private int quantidadePontosFoco;
+
+    private Double latitudeCentroide;
+
+    private Double longitudeCentroide;
+
+    private Double areaEstimadaTotalMetrosQuadrados;
+
+    private Double intensidadeMaxima;
+
+    @Builder.Default
+    private List<Long> idsPontosFoco = new ArrayList<>();
+}
@@ -0,0 +1,26 @@
+package br.com.fiap.queimadas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Células não vazias do mapa de calor em um retângulo, no zoom efetivamente usado
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MapaCalorDTO {
+
+    private int zoom;
+
+    private Double tamanhoCelulaGraus;
+
+    @Builder.Default
+    private List<CelulaMapaCalorDTO> celulas = new ArrayList<>();
+}
@@ -0,0 +1,26 @@
+package br.com.fiap.queimadas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Página de resultados com paginação por cursor (keyset)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaDTO<T> {
+
+    @Builder.Default
+    private List<T> itens = new ArrayList<>();
+
+    private int tamanho;
+
+    private String proximoCursor; // null quando não há mais páginas
+}
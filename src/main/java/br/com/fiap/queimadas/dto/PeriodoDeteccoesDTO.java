@@ -0,0 +1,28 @@
+package br.com.fiap.queimadas.dto;
+
+import br.com.fiap.queimadas.domain.enums.StatusPontoFoco;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Quantidade de detecções de um período da série, pelo status atual dos pontos de foco
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PeriodoDeteccoesDTO {
+
+    private LocalDateTime inicio;
+
+    private int quantidade;
+
+    @Builder.Default
+    private Map<StatusPontoFoco, Integer> quantidadePorStatus = new EnumMap<>(StatusPontoFoco.class);
+}
@@ -0,0 +1,14 @@
+package br.com.fiap.queimadas.dto;
+
+import br.com.fiap.queimadas.domain.enums.StatusPontoFoco;
+
+/**
+ * Projeção de leitura de um ponto de foco com apenas as colunas usadas nas listagens
+ */
+public record PontoFocoListagemDTO(Long id,
+                                   Double latitude,
+                                   Double longitude,
+                                   StatusPontoFoco status,
+                                   Double intensidade,
+                                   String regiaoNome) {
+}
@@ -0,0 +1,37 @@
+package br.com.fiap.queimadas.dto;
+
+import br.com.fiap.queimadas.domain.enums.StatusPontoFoco;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ponto de foco encontrado em uma busca por proximidade, com a distância até o centro da busca
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PontoFocoProximoDTO {
+
+    private Long id;
+
+    private Double latitude;
+
+    private Double longitude;
+
+    private StatusPontoFoco status;
+
+    private Double intensidade;
+
+    private Double areaEstimadaMetrosQuadrados;
+
+    private LocalDateTime dataDeteccao;
+
+    private Long regiaoId;
+
+    private Double distanciaKm;
+}
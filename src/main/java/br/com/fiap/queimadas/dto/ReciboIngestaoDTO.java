@@ -0,0 +1,22 @@
+package br.com.fiap.queimadas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Confirmação de recebimento de detecções pela ingestão assíncrona
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReciboIngestaoDTO {
+
+    private String idRastreamento; // Usado para consultar a situação do envio
+
+    private int quantidade;
+
+    private long profundidadeFila; // Detecções na fila após o enfileiramento
+}
@@ -0,0 +1,24 @@
+package br.com.fiap.queimadas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Posição de uma região na classificação por pontos de foco ativos
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegiaoRankingDTO {
+
+    private int posicao;
+
+    private Long regiaoId;
+
+    private String nome;
+
+    private long totalPontosFocoAtivos;
+}
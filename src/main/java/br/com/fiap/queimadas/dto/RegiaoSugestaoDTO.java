@@ -0,0 +1,20 @@
+package br.com.fiap.queimadas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Região sugerida pelo preenchimento automático do nome
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegiaoSugestaoDTO {
+
+    private Long regiaoId;
+
+    private String nome;
+}
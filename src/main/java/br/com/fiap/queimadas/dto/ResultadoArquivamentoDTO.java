@@ -0,0 +1,30 @@
+package br.com.fiap.queimadas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resumo de uma execução do arquivamento de pontos de foco encerrados
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoArquivamentoDTO {
+
+    private LocalDateTime dataExecucao;
+
+    private long duracaoMs;
+
+    private LocalDateTime limite; // Pontos encerrados antes desta data foram arquivados
+
+    private int lotes;
+
+    private int pontosFocoArquivados;
+
+    private int acoesCombateArquivadas;
+}
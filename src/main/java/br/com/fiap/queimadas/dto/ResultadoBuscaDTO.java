@@ -0,0 +1,20 @@
+package br.com.fiap.queimadas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Item encontrado pela busca textual, com a sua relevância para a consulta
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoBuscaDTO<T> {
+
+    private T item;
+
+    private double pontuacao; // Relevância BM25; só é comparável entre resultados da mesma consulta
+}
@@ -0,0 +1,28 @@
+package br.com.fiap.queimadas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resumo de uma importação de arquivo de detecções
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoImportacaoDTO {
+
+    private long linhasLidas;
+
+    private long totalRegistrados;
+
+    private long totalMesclados; // Detecções duplicadas incorporadas a pontos de foco existentes
+
+    private long totalRejeitados; // Linhas inválidas ou que falharam ao persistir
+
+    private long duracaoMs;
+
+    private double linhasPorSegundo;
+}
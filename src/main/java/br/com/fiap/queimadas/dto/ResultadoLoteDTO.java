@@ -0,0 +1,35 @@
+package br.com.fiap.queimadas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resumo do processamento de um lote de detecções
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoLoteDTO {
+
+    private int totalRecebidos;
+
+    private int totalRegistrados;
+
+    private int totalMesclados; // Detecções duplicadas incorporadas a pontos de foco existentes
+
+    private int totalRejeitados;
+
+    private int regioesAfetadas;
+
+    @Builder.Default
+    private List<Long> idsRegistrados = new ArrayList<>();
+
+    @Builder.Default
+    private List<Long> idsMesclados = new ArrayList<>();
+}
@@ -0,0 +1,26 @@
+package br.com.fiap.queimadas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resumo de uma execução do recálculo do nível de risco de todas as regiões
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoRecalculoRiscoDTO {
+
+    private LocalDateTime dataExecucao;
+
+    private long duracaoMs;
+
+    private int regioesAvaliadas;
+
+    private int regioesAtualizadas; // Regiões cujo total de ativos ou nível de risco mudou
+}
@@ -0,0 +1,26 @@
+package br.com.fiap.queimadas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resumo de uma reconstrução da série de detecções a partir dos pontos de foco gravados
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoReconstrucaoSerieDTO {
+
+    private LocalDateTime dataExecucao;
+
+    private long duracaoMs;
+
+    private int pontosFocoContados;
+
+    private int diasRetencao;
+}
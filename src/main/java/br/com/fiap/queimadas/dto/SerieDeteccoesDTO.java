@@ -0,0 +1,29 @@
+package br.com.fiap.queimadas.dto;
+
+import br.com.fiap.queimadas.service.serie.SerieTemporalDeteccoes;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Série de detecções por hora ou por dia, de uma região ou de todas
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SerieDeteccoesDTO {
+
+    private SerieTemporalDeteccoes.Granularidade granularidade;
+
+    private Long regiaoId; // null para todas as regiões
+
+    private int total;
+
+    @Builder.Default
+    private List<PeriodoDeteccoesDTO> periodos = new ArrayList<>();
+}
@@ -0,0 +1,30 @@
+package br.com.fiap.queimadas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Situação de um envio para a ingestão assíncrona
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SituacaoEnvioDTO {
+
+    private String idRastreamento;
+
+    private LocalDateTime dataRecebimento;
+
+    private int quantidade;
+
+    private int processadas; // Gravadas (registradas ou mescladas)
+
+    private int falhas; // Não gravadas: coordenadas inválidas ou erro na persistência
+
+    private boolean concluido;
+}
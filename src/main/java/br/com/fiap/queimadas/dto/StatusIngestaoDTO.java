@@ -0,0 +1,34 @@
+package br.com.fiap.queimadas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Estado da fila de ingestão assíncrona
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusIngestaoDTO {
+
+    private boolean aceitando; // false durante o desligamento da aplicação
+
+    private long profundidadeFila;
+
+    private long capacidadeFila;
+
+    private long atrasoMs; // Tempo de espera da detecção mais antiga na fila
+
+    private double deteccoesPorSegundo; // Vazão de gravação medida no último intervalo
+
+    private long totalRecebidas;
+
+    private long totalProcessadas;
+
+    private long totalFalhas;
+
+    private int workers;
+}
@@ -0,0 +1,17 @@
+package br.com.fiap.queimadas.repository;
+
+import br.com.fiap.queimadas.domain.entity.AcaoCombateArquivada;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AcaoCombateArquivadaRepository extends JpaRepository<AcaoCombateArquivada, Long> {
+
+    /**
+     * Busca ações de combate arquivadas por ponto de foco, paginadas por ID
+     */
+    List<AcaoCombateArquivada> findByPontoFocoIdAndIdGreaterThanOrderByIdAsc(Long pontoFocoId, Long id, Pageable pageable);
+}
@@ -1,51 +1,99 @@
 package br.com.fiap.queimadas.repository;
 
 import br.com.fiap.queimadas.domain.entity.AcaoCombate;
+import br.com.fiap.queimadas.dto.AcaoCombateListagemDTO;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface AcaoCombateRepository extends JpaRepository<AcaoCombate, Long> {
 
     /**
-     * Busca ações de combate por ponto de foco
+     * Percorre o tipo e a descrição das ações de combate (usado para carregar a busca textual)
+     * @return Linhas com [id da ação, tipo da ação, descrição]
      */
-    List<AcaoCombate> findByPontoFocoId(Long pontoFocoId);
+    @Query("SELECT a.id, a.tipoAcao, a.descricao FROM AcaoCombate a")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    Stream<Object[]> streamTextos();
+
+    // Consultas paginadas por cursor (keyset): o Pageable limita o número de linhas,
+    // e a condição sobre a chave de ordenação posiciona a página sem OFFSET
+
+    /**
+     * Página de ações de combate ordenada por ID
+     */
+    @EntityGraph(attributePaths = {"pontoFoco", "pontoFoco.regiao"})
+    List<AcaoCombate> findByIdGreaterThanOrderByIdAsc(Long aposId, Pageable pageable);
 
     /**
-     * Busca ações de combate em andamento (dataFim é null)
+     * Página de ações de combate por ponto de foco
      */
-    List<AcaoCombate> findByDataFimIsNull();
+    @EntityGraph(attributePaths = {"pontoFoco", "pontoFoco.regiao"})
+    List<AcaoCombate> findByPontoFocoIdAndIdGreaterThanOrderByIdAsc(Long pontoFocoId, Long aposId, Pageable pageable);
 
     /**
-     * Busca ações de combate por tipo de ação
+     * Página de ações de combate em andamento
      */
-    List<AcaoCombate> findByTipoAcaoContainingIgnoreCase(String tipoAcao);
+    @EntityGraph(attributePaths = {"pontoFoco", "pontoFoco.regiao"})
+    List<AcaoCombate> findByDataFimIsNullAndIdGreaterThanOrderByIdAsc(Long aposId, Pageable pageable);
 
     /**
-     * Busca ações de combate iniciadas após uma determinada data
+     * Busca ações de combate pelos IDs, ordenadas por ID (páginas montadas a partir da busca textual)
      */
-    List<AcaoCombate> findByDataInicioAfter(LocalDateTime data);
+    @EntityGraph(attributePaths = {"pontoFoco", "pontoFoco.regiao"})
+    List<AcaoCombate> findByIdInOrderByIdAsc(Collection<Long> ids);
 
     /**
-     * Busca ações de combate associadas a pontos de foco em uma determinada região
+     * Página de ações de combate de uma região
      */
-    @Query("SELECT a FROM AcaoCombate a JOIN a.pontoFoco p WHERE p.regiao.id = :regiaoId")
-    List<AcaoCombate> findByRegiaoId(Long regiaoId);
+    @EntityGraph(attributePaths = {"pontoFoco", "pontoFoco.regiao"})
+    @Query("SELECT a FROM AcaoCombate a JOIN a.pontoFoco p WHERE p.regiao.id = :regiaoId AND a.id > :aposId " +
+           "ORDER BY a.id")
+    List<AcaoCombate> findByRegiaoIdAposId(Long regiaoId, Long aposId, Pageable pageable);
+
+    /**
+     * Página de ações de combate iniciadas após uma data, ordenada por data de início e ID
+     */
+    @EntityGraph(attributePaths = {"pontoFoco", "pontoFoco.regiao"})
+    @Query("SELECT a FROM AcaoCombate a WHERE a.dataInicio > :data OR (a.dataInicio = :data AND a.id > :aposId) " +
+           "ORDER BY a.dataInicio, a.id")
+    List<AcaoCombate> findIniciadasApos(LocalDateTime data, Long aposId, Pageable pageable);
+
+    /**
+     * Página de ações de combate concluídas até uma data, a partir do cursor (data de fim e ID)
+     */
+    @EntityGraph(attributePaths = {"pontoFoco", "pontoFoco.regiao"})
+    @Query("SELECT a FROM AcaoCombate a WHERE a.dataFim <= :fim AND " +
+           "(a.dataFim > :data OR (a.dataFim = :data AND a.id > :aposId)) " +
+           "ORDER BY a.dataFim, a.id")
+    List<AcaoCombate> findConcluidasAposCursor(LocalDateTime data, Long aposId, LocalDateTime fim, Pageable pageable);
+
+    // Projeções de leitura: selecionam apenas as colunas das listagens, sem carregar entidades
 
     /**
-     * Busca ações de combate concluídas em um período
+     * Página da projeção de listagem das ações de combate, ordenada por ID
      */
-    List<AcaoCombate> findByDataFimBetween(LocalDateTime inicio, LocalDateTime fim);
+    @Query("SELECT new br.com.fiap.queimadas.dto.AcaoCombateListagemDTO(a.id, a.tipoAcao, a.dataInicio, a.dataFim, " +
+           "a.responsavel, p.id, p.status, r.nome) " +
+           "FROM AcaoCombate a JOIN a.pontoFoco p LEFT JOIN p.regiao r WHERE a.id > :aposId ORDER BY a.id")
+    List<AcaoCombateListagemDTO> findListagemAposId(Long aposId, Pageable pageable);
 
     /**
-     * Conta quantas ações de combate estão em andamento por região
+     * Página da projeção de listagem das ações de combate em andamento, ordenada por ID
      */
-    @Query("SELECT COUNT(a) FROM AcaoCombate a JOIN a.pontoFoco p " +
-           "WHERE p.regiao.id = :regiaoId AND a.dataFim IS NULL")
-    Long countAcoesEmAndamentoByRegiaoId(Long regiaoId);
+    @Query("SELECT new br.com.fiap.queimadas.dto.AcaoCombateListagemDTO(a.id, a.tipoAcao, a.dataInicio, a.dataFim, " +
+           "a.responsavel, p.id, p.status, r.nome) " +
+           "FROM AcaoCombate a JOIN a.pontoFoco p LEFT JOIN p.regiao r " +
+           "WHERE a.dataFim IS NULL AND a.id > :aposId ORDER BY a.id")
+    List<AcaoCombateListagemDTO> findListagemEmAndamentoAposId(Long aposId, Pageable pageable);
 }
@@ -0,0 +1,80 @@
+package br.com.fiap.queimadas.repository;
+
+import br.com.fiap.queimadas.service.indice.CurvaHilbert;
+import jakarta.persistence.Query;
+
+import java.util.List;
+
+/**
+ * Monta consultas SQL de pontos de foco dentro de um retângulo pela chave espacial: cada faixa de
+ * chave é um SELECT próprio, unidos por UNION ALL, para que o banco faça uma varredura de faixa no
+ * índice por faixa (um OR entre as faixas, ou um IN com a união como subconsulta, leva o H2 a
+ * percorrer a tabela inteira). As coordenadas exatas e os demais filtros são comparados em cada
+ * SELECT, sobre as poucas linhas de cada faixa.
+ * <p>
+ * Cada SELECT indica o índice da chave com USE INDEX: sem isso, uma condição como {@code id > ?} ou
+ * {@code status IN (...)} leva o H2 a preferir o índice dessa coluna, cuja seletividade ele não
+ * conhece, e varrer boa parte da tabela.
+ */
+final class ConsultaPorArea {
+
+    /**
+     * Faixas de chave por consulta; mais faixas cobrem o retângulo com menos sobra, ao custo de mais varreduras no índice
+     */
+    private static final int MAXIMO_FAIXAS = 8;
+
+    private static final String INDICE_CHAVE_HILBERT = "IDX_PONTO_FOCO_CHAVE_HILBERT";
+
+    private final double latitudeMinima;
+    private final double longitudeMinima;
+    private final double latitudeMaxima;
+    private final double longitudeMaxima;
+    private final List<long[]> faixas;
+
+    ConsultaPorArea(double latitudeMinima, double longitudeMinima, double latitudeMaxima, double longitudeMaxima) {
+        this.latitudeMinima = latitudeMinima;
+        this.longitudeMinima = longitudeMinima;
+        this.latitudeMaxima = latitudeMaxima;
+        this.longitudeMaxima = longitudeMaxima;
+        this.faixas = CurvaHilbert.intervalos(latitudeMinima, longitudeMinima, latitudeMaxima, longitudeMaxima,
+                MAXIMO_FAIXAS);
+    }
+
+    /**
+     * SQL da união das faixas
+     * @param colunas Colunas selecionadas em cada SELECT ({@code p.*} ou {@code p.id}), sobre o alias {@code p}
+     * @param filtro Condições adicionais de cada SELECT, começando por " AND" (ou vazio)
+     * @param ordenarPorId Ordena a união pela primeira coluna selecionada
+     */
+    String sql(String colunas, String filtro, boolean ordenarPorId) {
+        String filtroArea = " AND p.latitude BETWEEN :latitudeMinima AND :latitudeMaxima" +
+                " AND p.longitude BETWEEN :longitudeMinima AND :longitudeMaxima" + filtro;
+        String origem = " FROM TB_PONTO_FOCO p USE INDEX (" + INDICE_CHAVE_HILBERT + ")";
+        StringBuilder sql = new StringBuilder();
+        for (int i = 0; i < faixas.size(); i++) {
+            sql.append("SELECT ").append(colunas).append(origem).append(" WHERE p.chave_hilbert BETWEEN :inicio").append(i)
+                    .append(" AND :fim").append(i).append(filtroArea).append(" UNION ALL ");
+        }
+        // Linhas antigas, ainda sem chave (ver PreenchimentoChaveHilbertJob)
+        sql.append("SELECT ").append(colunas).append(origem).append(" WHERE p.chave_hilbert IS NULL").append(filtroArea);
+        if (ordenarPorId) {
+            // Entre parênteses, a ordenação vale para a união inteira e não só para o último SELECT
+            sql.insert(0, '(').append(") ORDER BY 1");
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Preenche os parâmetros do retângulo e das faixas
+     */
+    <T extends Query> T vincular(T consulta) {
+        consulta.setParameter("latitudeMinima", latitudeMinima)
+                .setParameter("latitudeMaxima", latitudeMaxima)
+                .setParameter("longitudeMinima", longitudeMinima)
+                .setParameter("longitudeMaxima", longitudeMaxima);
+        for (int i = 0; i < faixas.size(); i++) {
+            consulta.setParameter("inicio" + i, faixas.get(i)[0]).setParameter("fim" + i, faixas.get(i)[1]);
+        }
+        return consulta;
+    }
+}
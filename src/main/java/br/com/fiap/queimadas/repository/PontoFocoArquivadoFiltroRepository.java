@@ -0,0 +1,19 @@
+package br.com.fiap.queimadas.repository;
+
+import br.com.fiap.queimadas.domain.entity.PontoFocoArquivado;
+import br.com.fiap.queimadas.dto.FiltroPontoFocoDTO;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Busca por critérios combinados no arquivo de pontos de foco, com os mesmos critérios de
+ * {@link PontoFocoFiltroRepository}
+ */
+public interface PontoFocoArquivadoFiltroRepository {
+
+    /**
+     * Página de pontos de foco arquivados que atendem a todos os critérios informados, ordenada por ID
+     */
+    List<PontoFocoArquivado> findByFiltroAposId(FiltroPontoFocoDTO filtro, Long aposId, Pageable pageable);
+}
@@ -0,0 +1,45 @@
+package br.com.fiap.queimadas.repository;
+
+import br.com.fiap.queimadas.domain.entity.PontoFocoArquivado;
+import br.com.fiap.queimadas.dto.FiltroPontoFocoDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.data.domain.Pageable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementação de {@link PontoFocoArquivadoFiltroRepository}: as mesmas condições da busca nos
+ * pontos de foco ativos, sobre as colunas iguais do arquivo. O retângulo é comparado direto nas
+ * coordenadas, sem as faixas da chave espacial: o arquivo só é lido quando pedido.
+ */
+public class PontoFocoArquivadoFiltroRepositoryImpl implements PontoFocoArquivadoFiltroRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<PontoFocoArquivado> findByFiltroAposId(FiltroPontoFocoDTO filtro, Long aposId, Pageable pageable) {
+        Map<String, Object> parametros = new HashMap<>();
+        StringBuilder sql = new StringBuilder("SELECT p.* FROM TB_PONTO_FOCO_ARQUIVO p WHERE p.id > :aposId")
+                .append(PontoFocoFiltroRepositoryImpl.condicoes(filtro, parametros));
+        parametros.put("aposId", aposId);
+        if (filtro.temRetangulo()) {
+            sql.append(" AND p.latitude BETWEEN :latitudeMinima AND :latitudeMaxima")
+                    .append(" AND p.longitude BETWEEN :longitudeMinima AND :longitudeMaxima");
+            parametros.put("latitudeMinima", filtro.getLatitudeMinima());
+            parametros.put("latitudeMaxima", filtro.getLatitudeMaxima());
+            parametros.put("longitudeMinima", filtro.getLongitudeMinima());
+            parametros.put("longitudeMaxima", filtro.getLongitudeMaxima());
+        }
+        Query consulta = entityManager.createNativeQuery(sql.append(" ORDER BY p.id").toString(), PontoFocoArquivado.class);
+        parametros.forEach(consulta::setParameter);
+        return consulta.setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.fiap.queimadas.repository;
+
+import br.com.fiap.queimadas.domain.entity.PontoFocoArquivado;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface PontoFocoArquivadoRepository extends JpaRepository<PontoFocoArquivado, Long>,
+        PontoFocoArquivadoFiltroRepository {
+
+    /**
+     * Busca pontos de foco arquivados por região, paginados por ID
+     */
+    List<PontoFocoArquivado> findByRegiaoIdAndIdGreaterThanOrderByIdAsc(Long regiaoId, Long id, Pageable pageable);
+
+    /**
+     * Percorre os pontos de foco arquivados detectados a partir da data informada
+     * (usado para montar a série de detecções por período)
+     * @return Linhas com [id do ponto de foco, data de detecção, id da região, status]
+     */
+    @Query("SELECT p.id, p.dataDeteccao, p.regiaoId, p.status FROM PontoFocoArquivado p WHERE p.dataDeteccao >= :data")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    Stream<Object[]> streamDeteccoesApos(LocalDateTime data);
+
+    /**
+     * Percorre os pontos de foco arquivados detectados no intervalo [inicio, fim)
+     * @return Linhas com [id do ponto de foco, data de detecção, id da região, status]
+     */
+    @Query("SELECT p.id, p.dataDeteccao, p.regiaoId, p.status FROM PontoFocoArquivado p " +
+           "WHERE p.dataDeteccao >= :inicio AND p.dataDeteccao < :fim")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    Stream<Object[]> streamDeteccoesEntre(LocalDateTime inicio, LocalDateTime fim);
+}
@@ -0,0 +1,35 @@
+package br.com.fiap.queimadas.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Arquivamento dos pontos de foco encerrados: as linhas são copiadas para {@code TB_PONTO_FOCO_ARQUIVO}
+ * e {@code TB_ACAO_COMBATE_ARQUIVO} e removidas das tabelas de origem, via JDBC e em lotes. Os
+ * comandos não passam pelos listeners JPA; quem chama publica a alteração para os índices em memória.
+ */
+public interface PontoFocoArquivamentoRepository {
+
+    /**
+     * Arquiva um lote de pontos de foco resolvidos ou falsos alarmes sem alteração desde a data limite,
+     * com as suas ações de combate
+     * @param limite Data da última alteração (ou da detecção, se nunca alterados) abaixo da qual os pontos são arquivados
+     * @param aposId Considera só pontos com ID maior (ID do último ponto do lote anterior)
+     * @param tamanhoLote Quantidade máxima de pontos de foco no lote
+     * @param dataArquivamento Data gravada nas linhas arquivadas
+     * @return IDs arquivados (lista vazia quando não há mais pontos a arquivar)
+     */
+    LoteArquivado arquivarLote(LocalDateTime limite, long aposId, int tamanhoLote, LocalDateTime dataArquivamento);
+
+    /**
+     * IDs de um lote arquivado
+     * @param pontoFocoIds Pontos de foco arquivados, em ordem crescente
+     * @param acaoCombateIds Ações de combate arquivadas com eles
+     */
+    record LoteArquivado(List<Long> pontoFocoIds, List<Long> acaoCombateIds) {
+
+        public boolean isVazio() {
+            return pontoFocoIds.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package br.com.fiap.queimadas.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Implementação JDBC de {@link PontoFocoArquivamentoRepository}, participando da mesma transação do JPA
+ */
+public class PontoFocoArquivamentoRepositoryImpl implements PontoFocoArquivamentoRepository {
+
+    // FOR UPDATE: um ponto reaberto por outra transação depois da seleção não é arquivado
+    private static final String SQL_SELECIONAR =
+            "SELECT id FROM TB_PONTO_FOCO WHERE status IN ('RESOLVIDO', 'FALSO_ALARME') " +
+            "AND COALESCE(data_atualizacao, data_deteccao) < :limite AND id > :aposId " +
+            "ORDER BY id FETCH FIRST :tamanhoLote ROWS ONLY FOR UPDATE";
+
+    private static final String SQL_ACOES = "SELECT id FROM TB_ACAO_COMBATE WHERE ponto_foco_id IN (:ids)";
+
+    private static final String SQL_COPIAR_ACOES =
+            "INSERT INTO TB_ACAO_COMBATE_ARQUIVO (id, ponto_foco_id, data_inicio, data_fim, tipo_acao, descricao, " +
+            "recursos_utilizados, resultado, responsavel, data_arquivamento) " +
+            "SELECT id, ponto_foco_id, data_inicio, data_fim, tipo_acao, descricao, recursos_utilizados, resultado, " +
+            "responsavel, :dataArquivamento FROM TB_ACAO_COMBATE WHERE ponto_foco_id IN (:ids)";
+
+    private static final String SQL_REMOVER_ACOES = "DELETE FROM TB_ACAO_COMBATE WHERE ponto_foco_id IN (:ids)";
+
+    private static final String SQL_COPIAR_PONTOS =
+            "INSERT INTO TB_PONTO_FOCO_ARQUIVO (id, latitude, longitude, chave_hilbert, data_deteccao, intensidade, " +
+            "area_estimada_metros_quadrados, status, descricao, data_atualizacao, regiao_id, data_arquivamento) " +
+            "SELECT id, latitude, longitude, chave_hilbert, data_deteccao, intensidade, area_estimada_metros_quadrados, " +
+            "status, descricao, data_atualizacao, regiao_id, :dataArquivamento FROM TB_PONTO_FOCO WHERE id IN (:ids)";
+
+    private static final String SQL_REMOVER_PONTOS = "DELETE FROM TB_PONTO_FOCO WHERE id IN (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public PontoFocoArquivamentoRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public LoteArquivado arquivarLote(LocalDateTime limite, long aposId, int tamanhoLote, LocalDateTime dataArquivamento) {
+        List<Long> ids = jdbcTemplate.queryForList(SQL_SELECIONAR, new MapSqlParameterSource()
+                .addValue("limite", limite)
+                .addValue("aposId", aposId)
+                .addValue("tamanhoLote", tamanhoLote), Long.class);
+        if (ids.isEmpty()) {
+            return new LoteArquivado(List.of(), List.of());
+        }
+        MapSqlParameterSource parametros = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("dataArquivamento", dataArquivamento);
+        // Ações primeiro: referenciam os pontos de foco por chave estrangeira
+        List<Long> acoes = jdbcTemplate.queryForList(SQL_ACOES, parametros, Long.class);
+        if (!acoes.isEmpty()) {
+            jdbcTemplate.update(SQL_COPIAR_ACOES, parametros);
+            jdbcTemplate.update(SQL_REMOVER_ACOES, parametros);
+        }
+        jdbcTemplate.update(SQL_COPIAR_PONTOS, parametros);
+        jdbcTemplate.update(SQL_REMOVER_PONTOS, parametros);
+        return new LoteArquivado(ids, acoes);
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.fiap.queimadas.repository;
+
+import br.com.fiap.queimadas.domain.entity.PontoFoco;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Consultas de pontos de foco por área usando a chave espacial ({@code chave_hilbert}): o retângulo
+ * vira um pequeno conjunto de faixas de chave, lidas pelo índice, e só então as coordenadas exatas
+ * são comparadas. Linhas gravadas antes da coluna existir (chave nula) também são consideradas,
+ * até que o preenchimento em lotes termine.
+ */
+public interface PontoFocoEspacialRepository {
+
+    /**
+     * Busca pontos de foco por coordenadas próximas (latitude e longitude a até {@code raioGraus} do centro)
+     */
+    List<PontoFoco> findByProximidade(Double latitude, Double longitude, Double raioGraus);
+
+    /**
+     * Página de pontos de foco por coordenadas próximas, ordenada por ID
+     */
+    List<PontoFoco> findByProximidadeAposId(Double latitude, Double longitude, Double raioGraus,
+                                            Long aposId, Pageable pageable);
+
+    /**
+     * Calcula a chave espacial de um lote de pontos de foco que ainda não a têm
+     * @param tamanhoLote Quantidade máxima de linhas atualizadas
+     * @return Quantidade de linhas atualizadas (zero quando não há mais linhas pendentes)
+     */
+    int preencherChavesHilbert(int tamanhoLote);
+}
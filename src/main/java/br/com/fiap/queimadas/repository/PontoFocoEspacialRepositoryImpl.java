@@ -0,0 +1,88 @@
+package br.com.fiap.queimadas.repository;
+
+import br.com.fiap.queimadas.domain.entity.PontoFoco;
+import br.com.fiap.queimadas.service.indice.CurvaHilbert;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Implementação de {@link PontoFocoEspacialRepository}: consultas em SQL nativo montadas conforme a
+ * quantidade de faixas de chave e preenchimento das chaves via JDBC, na mesma transação do JPA
+ */
+public class PontoFocoEspacialRepositoryImpl implements PontoFocoEspacialRepository {
+
+    private static final String SQL_PENDENTES =
+            "SELECT id, latitude, longitude FROM TB_PONTO_FOCO WHERE chave_hilbert IS NULL FETCH FIRST ? ROWS ONLY";
+
+    private static final String SQL_ATUALIZAR_CHAVE = "UPDATE TB_PONTO_FOCO SET chave_hilbert = ? WHERE id = ?";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public PontoFocoEspacialRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<PontoFoco> findByProximidade(Double latitude, Double longitude, Double raioGraus) {
+        return consultar("p.*", PontoFoco.class, latitude, longitude, raioGraus, null).getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<PontoFoco> findByProximidadeAposId(Double latitude, Double longitude, Double raioGraus,
+                                                   Long aposId, Pageable pageable) {
+        // A ordenação da união é feita sobre os IDs; as entidades da página são lidas depois pela chave primária
+        List<Long> ids = consultar("p.id", Long.class, latitude, longitude, raioGraus, aposId)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return entityManager.createQuery(
+                        "SELECT p FROM PontoFoco p LEFT JOIN FETCH p.regiao WHERE p.id IN :ids ORDER BY p.id", PontoFoco.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    @Override
+    public int preencherChavesHilbert(int tamanhoLote) {
+        List<Object[]> pendentes = jdbcTemplate.query(SQL_PENDENTES,
+                (linha, numero) -> new Object[]{linha.getLong(1), linha.getDouble(2), linha.getDouble(3)}, tamanhoLote);
+        if (pendentes.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(SQL_ATUALIZAR_CHAVE, pendentes.stream()
+                .map(pendente -> new Object[]{CurvaHilbert.chave((Double) pendente[1], (Double) pendente[2]), pendente[0]})
+                .toList());
+        return pendentes.size();
+    }
+
+    /**
+     * Monta a consulta por área (ver {@link ConsultaPorArea})
+     * @param colunas Colunas selecionadas em cada SELECT ({@code p.*} ou {@code p.id})
+     * @param aposId Se informado, restringe aos IDs maiores e ordena a união pelo ID
+     */
+    private Query consultar(String colunas, Class<?> tipo, double latitude, double longitude,
+                            double raioGraus, Long aposId) {
+        ConsultaPorArea area = new ConsultaPorArea(latitude - raioGraus, longitude - raioGraus,
+                latitude + raioGraus, longitude + raioGraus);
+        String sql = area.sql(colunas, aposId != null ? " AND p.id > :aposId" : "", aposId != null);
+        Query consulta = area.vincular(entityManager.createNativeQuery(sql, tipo));
+        if (aposId != null) {
+            consulta.setParameter("aposId", aposId);
+        }
+        return consulta;
+    }
+}
@@ -0,0 +1,19 @@
+package br.com.fiap.queimadas.repository;
+
+import br.com.fiap.queimadas.domain.entity.PontoFoco;
+import br.com.fiap.queimadas.dto.FiltroPontoFocoDTO;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Busca de pontos de foco por critérios combinados, em uma única consulta montada conforme os
+ * critérios informados
+ */
+public interface PontoFocoFiltroRepository {
+
+    /**
+     * Página de pontos de foco que atendem a todos os critérios do filtro, ordenada por ID
+     */
+    List<PontoFoco> findByFiltroAposId(FiltroPontoFocoDTO filtro, Long aposId, Pageable pageable);
+}
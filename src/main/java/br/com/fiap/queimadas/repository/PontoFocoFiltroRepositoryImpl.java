@@ -0,0 +1,139 @@
+package br.com.fiap.queimadas.repository;
+
+import br.com.fiap.queimadas.domain.entity.PontoFoco;
+import br.com.fiap.queimadas.dto.FiltroPontoFocoDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementação de {@link PontoFocoFiltroRepository}. Os IDs da página são selecionados em SQL
+ * nativo, só com as condições dos critérios informados, e as entidades são lidas depois pela chave
+ * primária.
+ * <p>
+ * Sem retângulo, o SELECT dos IDs indica com USE INDEX os índices cuja primeira coluna é filtrada
+ * (ver os índices de {@link PontoFoco}) e o H2 escolhe entre eles; sem a indicação, a condição
+ * {@code id > ?} da paginação o leva a percorrer a chave primária, descartando as linhas fora dos
+ * critérios. Com retângulo, vale o índice da chave espacial ({@link ConsultaPorArea}).
+ */
+public class PontoFocoFiltroRepositoryImpl implements PontoFocoFiltroRepository {
+
+    private static final List<String> INDICES_REGIAO = List.of("IDX_PONTO_FOCO_REGIAO_ID",
+            "IDX_PONTO_FOCO_REGIAO_STATUS_DATA_DETECCAO", "IDX_PONTO_FOCO_REGIAO_INTENSIDADE");
+    private static final List<String> INDICES_STATUS = List.of("IDX_PONTO_FOCO_STATUS_ID",
+            "IDX_PONTO_FOCO_STATUS_DATA_DETECCAO", "IDX_PONTO_FOCO_STATUS_INTENSIDADE");
+    private static final String INDICE_DATA_DETECCAO = "IDX_PONTO_FOCO_DATA_DETECCAO_ID";
+    private static final String INDICE_INTENSIDADE = "IDX_PONTO_FOCO_INTENSIDADE_ID";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<PontoFoco> findByFiltroAposId(FiltroPontoFocoDTO filtro, Long aposId, Pageable pageable) {
+        List<Long> ids = consultaIds(filtro, aposId, "")
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return entityManager.createQuery(
+                        "SELECT p FROM PontoFoco p LEFT JOIN FETCH p.regiao WHERE p.id IN :ids ORDER BY p.id", PontoFoco.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    /**
+     * Consulta nativa dos IDs posteriores a {@code aposId} que atendem ao filtro, em ordem de ID, com
+     * os parâmetros já preenchidos
+     * @param prefixo Comando antes do SELECT, como {@code "EXPLAIN "} para ler o plano; vazio para executá-lo
+     */
+    Query consultaIds(FiltroPontoFocoDTO filtro, Long aposId, String prefixo) {
+        Map<String, Object> parametros = new HashMap<>();
+        String condicoes = "p.id > :aposId" + condicoes(filtro, parametros);
+        parametros.put("aposId", aposId);
+
+        Query consulta;
+        if (filtro.temRetangulo()) {
+            ConsultaPorArea area = new ConsultaPorArea(filtro.getLatitudeMinima(), filtro.getLongitudeMinima(),
+                    filtro.getLatitudeMaxima(), filtro.getLongitudeMaxima());
+            consulta = area.vincular(entityManager.createNativeQuery(prefixo + area.sql("p.id", " AND " + condicoes, true)));
+        } else {
+            List<String> indices = indices(filtro);
+            String origem = indices.isEmpty() ? "TB_PONTO_FOCO p"
+                    : "TB_PONTO_FOCO p USE INDEX (" + String.join(", ", indices) + ")";
+            consulta = entityManager.createNativeQuery(
+                    prefixo + "SELECT p.id FROM " + origem + " WHERE " + condicoes + " ORDER BY p.id");
+        }
+        parametros.forEach(consulta::setParameter);
+        return consulta;
+    }
+
+    /**
+     * Condições dos critérios informados, cada uma começando por " AND", sobre as colunas de
+     * {@code TB_PONTO_FOCO} com o alias {@code p} (também usadas no arquivo, que tem as mesmas colunas)
+     */
+    static String condicoes(FiltroPontoFocoDTO filtro, Map<String, Object> parametros) {
+        StringBuilder condicoes = new StringBuilder();
+        if (temStatus(filtro)) {
+            condicoes.append(" AND p.status IN :status");
+            parametros.put("status", filtro.getStatus().stream().map(Enum::name).toList());
+        }
+        if (temRegioes(filtro)) {
+            condicoes.append(" AND p.regiao_id IN :regiaoIds");
+            parametros.put("regiaoIds", filtro.getRegiaoIds());
+        }
+        if (filtro.getDetectadoDe() != null) {
+            condicoes.append(" AND p.data_deteccao >= :detectadoDe");
+            parametros.put("detectadoDe", filtro.getDetectadoDe());
+        }
+        if (filtro.getDetectadoAte() != null) {
+            condicoes.append(" AND p.data_deteccao <= :detectadoAte");
+            parametros.put("detectadoAte", filtro.getDetectadoAte());
+        }
+        if (filtro.getIntensidadeMinima() != null) {
+            condicoes.append(" AND p.intensidade >= :intensidadeMinima");
+            parametros.put("intensidadeMinima", filtro.getIntensidadeMinima());
+        }
+        if (filtro.getIntensidadeMaxima() != null) {
+            condicoes.append(" AND p.intensidade <= :intensidadeMaxima");
+            parametros.put("intensidadeMaxima", filtro.getIntensidadeMaxima());
+        }
+        return condicoes.toString();
+    }
+
+    /**
+     * Índices cuja primeira coluna é filtrada pelos critérios; vazio quando só há a paginação
+     */
+    private List<String> indices(FiltroPontoFocoDTO filtro) {
+        List<String> indices = new ArrayList<>();
+        if (temRegioes(filtro)) {
+            indices.addAll(INDICES_REGIAO);
+        }
+        if (temStatus(filtro)) {
+            indices.addAll(INDICES_STATUS);
+        }
+        if (filtro.getDetectadoDe() != null || filtro.getDetectadoAte() != null) {
+            indices.add(INDICE_DATA_DETECCAO);
+        }
+        if (filtro.getIntensidadeMinima() != null || filtro.getIntensidadeMaxima() != null) {
+            indices.add(INDICE_INTENSIDADE);
+        }
+        return indices;
+    }
+
+    private static boolean temStatus(FiltroPontoFocoDTO filtro) {
+        return filtro.getStatus() != null && !filtro.getStatus().isEmpty();
+    }
+
+    private static boolean temRegioes(FiltroPontoFocoDTO filtro) {
+        return filtro.getRegiaoIds() != null && !filtro.getRegiaoIds().isEmpty();
+    }
+}
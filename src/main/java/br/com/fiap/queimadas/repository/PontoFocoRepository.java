@@ -2,54 +2,162 @@ package br.com.fiap.queimadas.repository;
 
 import br.com.fiap.queimadas.domain.entity.PontoFoco;
 import br.com.fiap.queimadas.domain.enums.StatusPontoFoco;
+import br.com.fiap.queimadas.domain.event.PontoFocoResumo;
+import br.com.fiap.queimadas.dto.PontoFocoListagemDTO;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface PontoFocoRepository extends JpaRepository<PontoFoco, Long> {
+public interface PontoFocoRepository extends JpaRepository<PontoFoco, Long>, PontoFocoEspacialRepository,
+        PontoFocoFiltroRepository, PontoFocoArquivamentoRepository {
 
     /**
-     * Busca pontos de foco por status
+     * Percorre os resumos dos pontos de foco ativos ou detectados após a data informada
+     * (usado para carregar os índices em memória)
      */
-    List<PontoFoco> findByStatus(StatusPontoFoco status);
+    @Query("SELECT new br.com.fiap.queimadas.domain.event.PontoFocoResumo(p.id, p.latitude, p.longitude, p.status, " +
+           "p.intensidade, p.areaEstimadaMetrosQuadrados, p.dataDeteccao, r.id) " +
+           "FROM PontoFoco p LEFT JOIN p.regiao r " +
+           "WHERE (p.status != 'RESOLVIDO' AND p.status != 'FALSO_ALARME') OR p.dataDeteccao > :data")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    Stream<PontoFocoResumo> streamAtivosOuDetectadosApos(LocalDateTime data);
 
     /**
-     * Busca pontos de foco por região
+     * Percorre os resumos dos pontos de foco ativos detectados após a data informada
+     * (usado para carregar a deduplicação de detecções)
      */
-    List<PontoFoco> findByRegiaoId(Long regiaoId);
+    @Query("SELECT new br.com.fiap.queimadas.domain.event.PontoFocoResumo(p.id, p.latitude, p.longitude, p.status, " +
+           "p.intensidade, p.areaEstimadaMetrosQuadrados, p.dataDeteccao, r.id) " +
+           "FROM PontoFoco p LEFT JOIN p.regiao r " +
+           "WHERE p.status != 'RESOLVIDO' AND p.status != 'FALSO_ALARME' AND p.dataDeteccao > :data")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    Stream<PontoFocoResumo> streamAtivosDetectadosApos(LocalDateTime data);
 
     /**
-     * Busca pontos de foco ativos (não resolvidos ou falsos alarmes)
+     * Percorre os resumos de todos os pontos de foco ativos
+     * (usado para carregar o agrupamento em frentes de fogo)
      */
-    @Query("SELECT p FROM PontoFoco p WHERE p.status != 'RESOLVIDO' AND p.status != 'FALSO_ALARME'")
-    List<PontoFoco> findAllAtivos();
+    @Query("SELECT new br.com.fiap.queimadas.domain.event.PontoFocoResumo(p.id, p.latitude, p.longitude, p.status, " +
+           "p.intensidade, p.areaEstimadaMetrosQuadrados, p.dataDeteccao, r.id) " +
+           "FROM PontoFoco p LEFT JOIN p.regiao r " +
+           "WHERE p.status != 'RESOLVIDO' AND p.status != 'FALSO_ALARME'")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    Stream<PontoFocoResumo> streamAtivos();
 
     /**
-     * Busca pontos de foco detectados após uma determinada data
+     * Percorre os resumos dos pontos de foco detectados após a data informada, em ordem de detecção
+     * (usado para carregar o feed de detecções recentes)
      */
-    List<PontoFoco> findByDataDeteccaoAfter(LocalDateTime data);
+    @Query("SELECT new br.com.fiap.queimadas.domain.event.PontoFocoResumo(p.id, p.latitude, p.longitude, p.status, " +
+           "p.intensidade, p.areaEstimadaMetrosQuadrados, p.dataDeteccao, r.id) " +
+           "FROM PontoFoco p LEFT JOIN p.regiao r WHERE p.dataDeteccao > :data ORDER BY p.dataDeteccao, p.id")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    Stream<PontoFocoResumo> streamDetectadosAposEmOrdem(LocalDateTime data);
 
     /**
-     * Busca pontos de foco por coordenadas próximas
+     * Percorre os pontos de foco detectados a partir da data informada
+     * (usado para montar a série de detecções por período)
+     * @return Linhas com [id do ponto de foco, data de detecção, id da região, status]
      */
-    @Query("SELECT p FROM PontoFoco p WHERE " +
-           "p.latitude BETWEEN :latitude - :raioGraus AND :latitude + :raioGraus AND " +
-           "p.longitude BETWEEN :longitude - :raioGraus AND :longitude + :raioGraus")
-    List<PontoFoco> findByProximidade(Double latitude, Double longitude, Double raioGraus);
+    @Query("SELECT p.id, p.dataDeteccao, r.id, p.status FROM PontoFoco p LEFT JOIN p.regiao r WHERE p.dataDeteccao >= :data")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    Stream<Object[]> streamDeteccoesApos(LocalDateTime data);
 
     /**
-     * Conta quantos pontos de foco estão ativos por região
+     * Percorre os pontos de foco detectados no intervalo [inicio, fim)
+     * (usado para montar a série de detecções por período, um trecho da janela por vez)
+     * @return Linhas com [id do ponto de foco, data de detecção, id da região, status]
      */
-    @Query("SELECT COUNT(p) FROM PontoFoco p WHERE p.regiao.id = :regiaoId AND " +
-           "p.status != 'RESOLVIDO' AND p.status != 'FALSO_ALARME'")
-    Long countAtivosByRegiaoId(Long regiaoId);
-    
+    @Query("SELECT p.id, p.dataDeteccao, r.id, p.status FROM PontoFoco p LEFT JOIN p.regiao r " +
+           "WHERE p.dataDeteccao >= :inicio AND p.dataDeteccao < :fim")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    Stream<Object[]> streamDeteccoesEntre(LocalDateTime inicio, LocalDateTime fim);
+
+    /**
+     * Percorre as descrições dos pontos de foco (usado para carregar a busca textual)
+     * @return Linhas com [id do ponto de foco, descrição]
+     */
+    @Query("SELECT p.id, p.descricao FROM PontoFoco p WHERE p.descricao IS NOT NULL")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    Stream<Object[]> streamDescricoes();
+
+    /**
+     * Busca pontos de foco pelos IDs, com a região
+     */
+    @EntityGraph(attributePaths = "regiao")
+    List<PontoFoco> findByIdIn(Collection<Long> ids);
+
+    // Consultas paginadas por cursor (keyset): o Pageable limita o número de linhas,
+    // e a condição sobre a chave de ordenação posiciona a página sem OFFSET
+
+    /**
+     * Página de pontos de foco ordenada por ID
+     */
+    @EntityGraph(attributePaths = "regiao")
+    List<PontoFoco> findByIdGreaterThanOrderByIdAsc(Long aposId, Pageable pageable);
+
+    /**
+     * Página de pontos de foco por status, ordenada por ID
+     */
+    @EntityGraph(attributePaths = "regiao")
+    List<PontoFoco> findByStatusAndIdGreaterThanOrderByIdAsc(StatusPontoFoco status, Long aposId, Pageable pageable);
+
+    /**
+     * Página de pontos de foco por região, ordenada por ID
+     */
+    @EntityGraph(attributePaths = "regiao")
+    List<PontoFoco> findByRegiaoIdAndIdGreaterThanOrderByIdAsc(Long regiaoId, Long aposId, Pageable pageable);
+
+    /**
+     * Página de pontos de foco ativos, ordenada por ID
+     */
+    @EntityGraph(attributePaths = "regiao")
+    @Query("SELECT p FROM PontoFoco p WHERE p.status != 'RESOLVIDO' AND p.status != 'FALSO_ALARME' " +
+           "AND p.id > :aposId ORDER BY p.id")
+    List<PontoFoco> findAtivosAposId(Long aposId, Pageable pageable);
+
+    /**
+     * Página de pontos de foco detectados após uma data, ordenada por data de detecção e ID
+     */
+    @EntityGraph(attributePaths = "regiao")
+    @Query("SELECT p FROM PontoFoco p WHERE p.dataDeteccao > :data OR (p.dataDeteccao = :data AND p.id > :aposId) " +
+           "ORDER BY p.dataDeteccao, p.id")
+    List<PontoFoco> findDetectadosApos(LocalDateTime data, Long aposId, Pageable pageable);
+
+    /**
+     * Página de pontos de foco com intensidade acima de um valor, ordenada por intensidade (descendente) e ID
+     */
+    @EntityGraph(attributePaths = "regiao")
+    @Query("SELECT p FROM PontoFoco p WHERE p.intensidade > :intensidadeMinima AND " +
+           "(p.intensidade < :intensidade OR (p.intensidade = :intensidade AND p.id > :aposId)) " +
+           "ORDER BY p.intensidade DESC, p.id")
+    List<PontoFoco> findByIntensidadeAposCursor(Double intensidadeMinima, Double intensidade,
+                                                Long aposId, Pageable pageable);
+
+    // Projeções de leitura: selecionam apenas as colunas das listagens, sem carregar entidades
+
+    /**
+     * Página da projeção de listagem dos pontos de foco, ordenada por ID
+     */
+    @Query("SELECT new br.com.fiap.queimadas.dto.PontoFocoListagemDTO(p.id, p.latitude, p.longitude, p.status, " +
+           "p.intensidade, r.nome) FROM PontoFoco p LEFT JOIN p.regiao r WHERE p.id > :aposId ORDER BY p.id")
+    List<PontoFocoListagemDTO> findListagemAposId(Long aposId, Pageable pageable);
+
     /**
-     * Lista pontos de foco por intensidade acima de um valor
+     * Página da projeção de listagem dos pontos de foco ativos, ordenada por ID
      */
-    List<PontoFoco> findByIntensidadeGreaterThanOrderByIntensidadeDesc(Double intensidadeMinima);
+    @Query("SELECT new br.com.fiap.queimadas.dto.PontoFocoListagemDTO(p.id, p.latitude, p.longitude, p.status, " +
+           "p.intensidade, r.nome) FROM PontoFoco p LEFT JOIN p.regiao r " +
+           "WHERE p.status != 'RESOLVIDO' AND p.status != 'FALSO_ALARME' AND p.id > :aposId ORDER BY p.id")
+    List<PontoFocoListagemDTO> findListagemAtivosAposId(Long aposId, Pageable pageable);
 }
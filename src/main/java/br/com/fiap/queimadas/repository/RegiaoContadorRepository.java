@@ -0,0 +1,46 @@
+package br.com.fiap.queimadas.repository;
+
+import java.util.List;
+
+/**
+ * Leitura dos dados do cálculo de risco e gravação do total de pontos de foco ativos, do nível e
+ * da pontuação de risco das regiões.
+ * São executadas via JDBC para não invalidar todo o cache de segundo nível de
+ * {@code Regiao}, como acontece com um UPDATE em JPQL; quem grava retira do cache só as regiões
+ * alteradas, pelo {@code CacheRegiao}
+ */
+public interface RegiaoContadorRepository {
+
+    /**
+     * Lê as regiões com os valores de risco gravados e a quantidade de ações de combate em andamento
+     * @param regiaoId Região a ler; null para todas
+     */
+    List<RegiaoRisco> findRegioesRisco(Long regiaoId);
+
+    /**
+     * Percorre os atributos dos pontos de foco ativos associados a regiões
+     * @param regiaoId Região dos pontos; null para todas
+     */
+    void percorrerPontosAtivosRisco(Long regiaoId, VisitantePontoRisco visitante);
+
+    /**
+     * Grava em lote o total de ativos, o nível e a pontuação de risco
+     * @param valores Linhas com [total de ativos, nível, pontuação, id da região]
+     */
+    void atualizarRisco(List<Object[]> valores);
+
+    /**
+     * Região com os valores de risco gravados
+     */
+    record RegiaoRisco(long id, double areaMetrosQuadrados, long totalAtivos, int nivel, double pontuacao,
+                       int acoesEmAndamento) {
+    }
+
+    /**
+     * Recebe os atributos de um ponto de foco ativo (NaN para intensidade ou área ausentes)
+     */
+    @FunctionalInterface
+    interface VisitantePontoRisco {
+        void visitar(long regiaoId, double intensidade, double areaMetrosQuadrados, long dataDeteccaoSegundos);
+    }
+}
@@ -0,0 +1,87 @@
+package br.com.fiap.queimadas.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Implementação JDBC de {@link RegiaoContadorRepository}, participando da mesma transação do JPA
+ */
+public class RegiaoContadorRepositoryImpl implements RegiaoContadorRepository {
+
+    private static final String SQL_REGIOES_RISCO =
+            "SELECT r.id, r.area_metros_quadrados, r.total_pontos_foco_ativos, r.nivel_risco, r.pontuacao_risco, " +
+            "COALESCE(a.total, 0) FROM TB_REGIAO r " +
+            "LEFT JOIN (SELECT p.regiao_id, COUNT(*) AS total FROM TB_ACAO_COMBATE ac " +
+            "JOIN TB_PONTO_FOCO p ON p.id = ac.ponto_foco_id WHERE ac.data_fim IS NULL GROUP BY p.regiao_id) a " +
+            "ON a.regiao_id = r.id";
+
+    private static final String SQL_PONTOS_ATIVOS_RISCO =
+            "SELECT regiao_id, intensidade, area_estimada_metros_quadrados, data_deteccao FROM TB_PONTO_FOCO " +
+            "WHERE regiao_id IS NOT NULL AND status <> 'RESOLVIDO' AND status <> 'FALSO_ALARME'";
+
+    private static final String SQL_ATUALIZAR_RISCO =
+            "UPDATE TB_REGIAO SET total_pontos_foco_ativos = ?, nivel_risco = ?, pontuacao_risco = ? WHERE id = ?";
+
+    private static final int TAMANHO_FETCH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public RegiaoContadorRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<RegiaoRisco> findRegioesRisco(Long regiaoId) {
+        return regiaoId == null
+                ? jdbcTemplate.query(SQL_REGIOES_RISCO, this::lerRegiaoRisco)
+                : jdbcTemplate.query(SQL_REGIOES_RISCO + " WHERE r.id = ?", this::lerRegiaoRisco, regiaoId);
+    }
+
+    @Override
+    public void percorrerPontosAtivosRisco(Long regiaoId, VisitantePontoRisco visitante) {
+        RowCallbackHandler leitor = linha -> visitante.visitar(
+                linha.getLong(1),
+                numero(linha, 2),
+                numero(linha, 3),
+                linha.getTimestamp(4).toLocalDateTime().toEpochSecond(ZoneOffset.UTC));
+        jdbcTemplate.query(conexao -> {
+            var comando = conexao.prepareStatement(regiaoId == null
+                    ? SQL_PONTOS_ATIVOS_RISCO
+                    : SQL_PONTOS_ATIVOS_RISCO + " AND regiao_id = ?");
+            comando.setFetchSize(TAMANHO_FETCH);
+            if (regiaoId != null) {
+                comando.setLong(1, regiaoId);
+            }
+            return comando;
+        }, leitor);
+    }
+
+    @Override
+    public void atualizarRisco(List<Object[]> valores) {
+        if (!valores.isEmpty()) {
+            jdbcTemplate.batchUpdate(SQL_ATUALIZAR_RISCO, valores);
+        }
+    }
+
+    private RegiaoRisco lerRegiaoRisco(ResultSet linha, int numeroLinha) throws SQLException {
+        return new RegiaoRisco(
+                linha.getLong(1),
+                numero(linha, 2),
+                linha.getLong(3),
+                linha.getInt(4),
+                numero(linha, 5),
+                linha.getInt(6));
+    }
+
+    private static double numero(ResultSet linha, int coluna) throws SQLException {
+        double valor = linha.getDouble(coluna);
+        return linha.wasNull() ? Double.NaN : valor;
+    }
+}
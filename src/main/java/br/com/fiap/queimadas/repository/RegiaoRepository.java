@@ -1,42 +1,74 @@
 package br.com.fiap.queimadas.repository;
 
 import br.com.fiap.queimadas.domain.entity.Regiao;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface RegiaoRepository extends JpaRepository<Regiao, Long> {
+public interface RegiaoRepository extends JpaRepository<Regiao, Long>, RegiaoContadorRepository {
 
     /**
-     * Busca regiões por nome contendo o texto informado
+     * Região do cache de segundo nível onde ficam os resultados das consultas de regiões
      */
-    List<Regiao> findByNomeContainingIgnoreCase(String nome);
+    String CACHE_CONSULTAS = "regiao-consultas";
 
     /**
-     * Busca regiões por tipo
+     * Lista o nome de todas as regiões
+     * @return Linhas com [id da região, nome]
      */
-    List<Regiao> findByTipoIgnoreCase(String tipo);
+    @Query("SELECT r.id, r.nome FROM Regiao r")
+    List<Object[]> findNomes();
 
     /**
-     * Busca regiões com nível de risco acima do informado
+     * Lista os limites das regiões que possuem limite cadastrado
+     * @return Linhas com [id da região, limite em WKT]
      */
-    List<Regiao> findByNivelRiscoGreaterThanEqual(Integer nivelRiscoMinimo);
+    @Query("SELECT r.id, r.limite FROM Regiao r WHERE r.limite IS NOT NULL")
+    List<Object[]> findLimites();
+
+    // Consultas paginadas por cursor (keyset), ordenadas por ID
+
+    /**
+     * Página de regiões ordenada por ID
+     */
+    List<Regiao> findByIdGreaterThanOrderByIdAsc(Long aposId, Pageable pageable);
+
+    /**
+     * Busca regiões pelos IDs, ordenadas por ID (páginas montadas a partir da busca textual)
+     */
+    List<Regiao> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    /**
+     * Página de regiões por tipo
+     */
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = CACHE_CONSULTAS)
+    })
+    List<Regiao> findByTipoIgnoreCaseAndIdGreaterThanOrderByIdAsc(String tipo, Long aposId, Pageable pageable);
 
     /**
-     * Busca regiões ordenadas pelo número de pontos de foco ativos (descendente)
+     * Página de regiões com nível de risco acima do informado
      */
-    @Query("SELECT r FROM Regiao r LEFT JOIN r.pontosFoco p " +
-           "WHERE p.status != 'RESOLVIDO' AND p.status != 'FALSO_ALARME' " +
-           "GROUP BY r ORDER BY COUNT(p) DESC")
-    List<Regiao> findAllOrderByPontosFocoAtivosDesc();
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = CACHE_CONSULTAS)
+    })
+    List<Regiao> findByNivelRiscoGreaterThanEqualAndIdGreaterThanOrderByIdAsc(Integer nivelRiscoMinimo, Long aposId,
+                                                                                Pageable pageable);
 
     /**
-     * Busca regiões que não possuem pontos de foco ativos
+     * Página de regiões sem pontos de foco ativos
      */
-    @Query("SELECT r FROM Regiao r WHERE NOT EXISTS " +
-           "(SELECT p FROM PontoFoco p WHERE p.regiao = r AND p.status != 'RESOLVIDO' AND p.status != 'FALSO_ALARME')")
-    List<Regiao> findAllSemPontosFocoAtivos();
+    @Query("SELECT r FROM Regiao r WHERE r.id > :aposId AND NOT EXISTS " +
+           "(SELECT p FROM PontoFoco p WHERE p.regiao = r AND p.status != 'RESOLVIDO' AND p.status != 'FALSO_ALARME') " +
+           "ORDER BY r.id")
+    List<Regiao> findSemPontosFocoAtivosAposId(Long aposId, Pageable pageable);
 }
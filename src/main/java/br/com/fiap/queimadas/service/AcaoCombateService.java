@@ -1,40 +1,84 @@
 package br.com.fiap.queimadas.service;
 
+import br.com.fiap.queimadas.config.MetricasConfig;
 import br.com.fiap.queimadas.domain.entity.AcaoCombate;
+import br.com.fiap.queimadas.domain.entity.AcaoCombateArquivada;
 import br.com.fiap.queimadas.domain.entity.PontoFoco;
 import br.com.fiap.queimadas.domain.enums.StatusPontoFoco;
+import br.com.fiap.queimadas.dto.AcaoCombateListagemDTO;
+import br.com.fiap.queimadas.dto.PaginaDTO;
+import br.com.fiap.queimadas.dto.ResultadoBuscaDTO;
+import br.com.fiap.queimadas.repository.AcaoCombateArquivadaRepository;
 import br.com.fiap.queimadas.repository.AcaoCombateRepository;
 import br.com.fiap.queimadas.repository.PontoFocoRepository;
+import br.com.fiap.queimadas.service.busca.BuscaTextual;
+import br.com.fiap.queimadas.service.busca.IndiceInvertido;
 import br.com.fiap.queimadas.service.factory.AcaoCombateFactory;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
  * Serviço para gerenciamento de ações de combate a incêndios
  */
 @Service
+@Timed(MetricasConfig.TIMER_SERVICOS)
 public class AcaoCombateService {
 
     private final AcaoCombateRepository acaoCombateRepository;
+    private final AcaoCombateArquivadaRepository acaoCombateArquivadaRepository;
     private final PontoFocoRepository pontoFocoRepository;
+    private final PontoFocoService pontoFocoService;
+    private final BuscaTextual buscaTextual;
 
     @Autowired
     public AcaoCombateService(AcaoCombateRepository acaoCombateRepository,
-                             PontoFocoRepository pontoFocoRepository) {
+                             AcaoCombateArquivadaRepository acaoCombateArquivadaRepository,
+                             PontoFocoRepository pontoFocoRepository,
+                             PontoFocoService pontoFocoService,
+                             BuscaTextual buscaTextual) {
         this.acaoCombateRepository = acaoCombateRepository;
+        this.acaoCombateArquivadaRepository = acaoCombateArquivadaRepository;
         this.pontoFocoRepository = pontoFocoRepository;
+        this.pontoFocoService = pontoFocoService;
+        this.buscaTextual = buscaTextual;
     }
 
     /**
      * Lista todas as ações de combate
      */
-    public List<AcaoCombate> listarTodas() {
-        return acaoCombateRepository.findAll();
+    public PaginaDTO<AcaoCombate> listarTodas(String cursor, Integer tamanho) {
+        int limite = Paginacao.limitar(tamanho);
+        return Paginacao.montar(
+                acaoCombateRepository.findByIdGreaterThanOrderByIdAsc(Paginacao.aposId(cursor), Paginacao.primeiros(limite)),
+                limite, this::cursorPorId);
+    }
+
+    /**
+     * Lista a projeção de leitura de todas as ações de combate, paginada por ID
+     */
+    public PaginaDTO<AcaoCombateListagemDTO> listarResumo(String cursor, Integer tamanho) {
+        int limite = Paginacao.limitar(tamanho);
+        return Paginacao.montar(
+                acaoCombateRepository.findListagemAposId(Paginacao.aposId(cursor), Paginacao.primeiros(limite)),
+                limite, a -> Paginacao.codificar(null, a.id()));
+    }
+
+    /**
+     * Lista a projeção de leitura das ações de combate em andamento, paginada por ID
+     */
+    public PaginaDTO<AcaoCombateListagemDTO> listarEmAndamentoResumo(String cursor, Integer tamanho) {
+        int limite = Paginacao.limitar(tamanho);
+        return Paginacao.montar(
+                acaoCombateRepository.findListagemEmAndamentoAposId(Paginacao.aposId(cursor), Paginacao.primeiros(limite)),
+                limite, a -> Paginacao.codificar(null, a.id()));
     }
 
     /**
@@ -45,31 +89,103 @@ public class AcaoCombateService {
     }
 
     /**
-     * Lista ações de combate por ponto de foco
+     * Busca uma ação de combate pelo ID, também no arquivo se pedido
      */
-    public List<AcaoCombate> listarPorPontoFoco(Long pontoFocoId) {
-        return acaoCombateRepository.findByPontoFocoId(pontoFocoId);
+    public Optional<AcaoCombate> buscarPorId(Long id, boolean incluirArquivadas) {
+        Optional<AcaoCombate> acao = acaoCombateRepository.findById(id);
+        if (acao.isPresent() || !incluirArquivadas) {
+            return acao;
+        }
+        return acaoCombateArquivadaRepository.findById(id)
+                .map(arquivada -> arquivada.paraAcaoCombate(
+                        pontoFocoService.buscarPorId(arquivada.getPontoFocoId(), true).orElse(null)));
+    }
+
+    /**
+     * Lista ações de combate por ponto de foco. Um ponto de foco é arquivado junto com as suas
+     * ações, então as arquivadas só aparecem quando o próprio ponto já está no arquivo
+     */
+    public PaginaDTO<AcaoCombate> listarPorPontoFoco(Long pontoFocoId, String cursor, Integer tamanho,
+                                                     boolean incluirArquivadas) {
+        int limite = Paginacao.limitar(tamanho);
+        long aposId = Paginacao.aposId(cursor);
+        List<AcaoCombate> resultado = acaoCombateRepository.findByPontoFocoIdAndIdGreaterThanOrderByIdAsc(
+                pontoFocoId, aposId, Paginacao.primeiros(limite));
+        if (incluirArquivadas && resultado.isEmpty()) {
+            List<AcaoCombateArquivada> arquivadas = acaoCombateArquivadaRepository
+                    .findByPontoFocoIdAndIdGreaterThanOrderByIdAsc(pontoFocoId, aposId, Paginacao.primeiros(limite));
+            if (!arquivadas.isEmpty()) {
+                PontoFoco pontoFoco = pontoFocoService.buscarPorId(pontoFocoId, true).orElse(null);
+                resultado = arquivadas.stream().map(arquivada -> arquivada.paraAcaoCombate(pontoFoco)).toList();
+            }
+        }
+        return Paginacao.montar(resultado, limite, this::cursorPorId);
     }
 
     /**
      * Lista ações de combate em andamento
      */
-    public List<AcaoCombate> listarEmAndamento() {
-        return acaoCombateRepository.findByDataFimIsNull();
+    public PaginaDTO<AcaoCombate> listarEmAndamento(String cursor, Integer tamanho) {
+        int limite = Paginacao.limitar(tamanho);
+        return Paginacao.montar(
+                acaoCombateRepository.findByDataFimIsNullAndIdGreaterThanOrderByIdAsc(
+                        Paginacao.aposId(cursor), Paginacao.primeiros(limite)),
+                limite, this::cursorPorId);
     }
 
     /**
-     * Lista ações de combate por tipo
+     * Lista ações de combate por tipo, paginadas por ID. Os IDs vêm da busca textual: cada palavra
+     * informada casa com o começo de uma palavra do tipo, sem diferenciar maiúsculas nem acentos
      */
-    public List<AcaoCombate> listarPorTipo(String tipoAcao) {
-        return acaoCombateRepository.findByTipoAcaoContainingIgnoreCase(tipoAcao);
+    public PaginaDTO<AcaoCombate> listarPorTipo(String tipoAcao, String cursor, Integer tamanho) {
+        int limite = Paginacao.limitar(tamanho);
+        List<Long> ids = buscaTextual.filtrarAcoesPorTipo(tipoAcao, Paginacao.aposId(cursor), limite + 1);
+        return Paginacao.montar(ids.isEmpty() ? List.of() : acaoCombateRepository.findByIdInOrderByIdAsc(ids),
+                limite, this::cursorPorId);
+    }
+
+    /**
+     * Busca ações de combate pelo tipo e pela descrição, das mais relevantes para as menos relevantes
+     */
+    public List<ResultadoBuscaDTO<AcaoCombate>> buscarPorTexto(String consulta, Integer limite) {
+        List<IndiceInvertido.Resultado> resultados = buscaTextual.buscarAcoesCombate(consulta, Paginacao.limitar(limite));
+        if (resultados.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, AcaoCombate> acoes = new HashMap<>();
+        acaoCombateRepository.findByIdInOrderByIdAsc(resultados.stream().map(IndiceInvertido.Resultado::id).toList())
+                .forEach(acao -> acoes.put(acao.getId(), acao));
+        return resultados.stream()
+                .filter(resultado -> acoes.containsKey(resultado.id()))
+                .map(resultado -> ResultadoBuscaDTO.<AcaoCombate>builder()
+                        .item(acoes.get(resultado.id()))
+                        .pontuacao(resultado.pontuacao())
+                        .build())
+                .toList();
     }
 
     /**
      * Lista ações de combate por região
      */
-    public List<AcaoCombate> listarPorRegiao(Long regiaoId) {
-        return acaoCombateRepository.findByRegiaoId(regiaoId);
+    public PaginaDTO<AcaoCombate> listarPorRegiao(Long regiaoId, String cursor, Integer tamanho) {
+        int limite = Paginacao.limitar(tamanho);
+        return Paginacao.montar(
+                acaoCombateRepository.findByRegiaoIdAposId(regiaoId, Paginacao.aposId(cursor), Paginacao.primeiros(limite)),
+                limite, this::cursorPorId);
+    }
+
+    /**
+     * Lista ações de combate iniciadas após uma data, paginadas por data de início
+     */
+    public PaginaDTO<AcaoCombate> listarIniciadasApos(LocalDateTime data, String cursor, Integer tamanho) {
+        int limite = Paginacao.limitar(tamanho);
+        Paginacao.Cursor posicao = Paginacao.decodificar(cursor);
+        // Sem cursor, começa estritamente após a data informada
+        LocalDateTime aposData = posicao != null ? posicao.valorComoData() : data;
+        long aposId = posicao != null ? posicao.id() : Long.MAX_VALUE;
+        return Paginacao.montar(
+                acaoCombateRepository.findIniciadasApos(aposData, aposId, Paginacao.primeiros(limite)),
+                limite, a -> Paginacao.codificar(a.getDataInicio(), a.getId()));
     }
 
     /**
@@ -83,8 +199,7 @@ public class AcaoCombateService {
             PontoFoco pontoFoco = pontoFocoOpt.get();
             
             // Muda o status do ponto de foco para EM_COMBATE
-            pontoFoco.atualizarStatus(StatusPontoFoco.EM_COMBATE);
-            pontoFocoRepository.save(pontoFoco);
+            atualizarStatusPontoFoco(pontoFoco, StatusPontoFoco.EM_COMBATE);
             
             // Cria a ação de combate usando a factory
             AcaoCombate acaoCombate = AcaoCombateFactory.criarAcaoCombateTerrestre(
@@ -107,8 +222,7 @@ public class AcaoCombateService {
             PontoFoco pontoFoco = pontoFocoOpt.get();
             
             // Muda o status do ponto de foco para EM_COMBATE
-            pontoFoco.atualizarStatus(StatusPontoFoco.EM_COMBATE);
-            pontoFocoRepository.save(pontoFoco);
+            atualizarStatusPontoFoco(pontoFoco, StatusPontoFoco.EM_COMBATE);
             
             // Cria a ação de combate usando a factory
             AcaoCombate acaoCombate = AcaoCombateFactory.criarAcaoCombateAereo(
@@ -131,8 +245,7 @@ public class AcaoCombateService {
             PontoFoco pontoFoco = pontoFocoOpt.get();
             
             // Muda o status do ponto de foco para MONITORAMENTO
-            pontoFoco.atualizarStatus(StatusPontoFoco.MONITORAMENTO);
-            pontoFocoRepository.save(pontoFoco);
+            atualizarStatusPontoFoco(pontoFoco, StatusPontoFoco.MONITORAMENTO);
             
             // Cria a ação de combate usando a factory
             AcaoCombate acaoCombate = AcaoCombateFactory.criarAcaoMonitoramento(
@@ -158,8 +271,7 @@ public class AcaoCombateService {
             PontoFoco pontoFoco = pontoFocoOpt.get();
             
             // Muda o status do ponto de foco conforme especificado
-            pontoFoco.atualizarStatus(statusPontoFoco);
-            pontoFocoRepository.save(pontoFoco);
+            atualizarStatusPontoFoco(pontoFoco, statusPontoFoco);
             
             // Cria a ação de combate usando a factory
             AcaoCombate acaoCombate = AcaoCombateFactory.criarAcaoPersonalizada(
@@ -186,8 +298,7 @@ public class AcaoCombateService {
             
             // Atualiza o status do ponto de foco
             PontoFoco pontoFoco = acao.getPontoFoco();
-            pontoFoco.atualizarStatus(novoStatusPontoFoco);
-            pontoFocoRepository.save(pontoFoco);
+            atualizarStatusPontoFoco(pontoFoco, novoStatusPontoFoco);
             
             return Optional.of(acaoCombateRepository.save(acao));
         }
@@ -232,9 +343,29 @@ public class AcaoCombateService {
     }
 
     /**
-     * Lista ações de combate concluídas em um período
+     * Lista ações de combate concluídas em um período, paginadas por data de fim
+     */
+    public PaginaDTO<AcaoCombate> listarConcluidasNoPeriodo(LocalDateTime inicio, LocalDateTime fim,
+                                                           String cursor, Integer tamanho) {
+        int limite = Paginacao.limitar(tamanho);
+        Paginacao.Cursor posicao = Paginacao.decodificar(cursor);
+        // Sem cursor, inclui as ações concluídas exatamente no início do período
+        LocalDateTime aposData = posicao != null ? posicao.valorComoData() : inicio;
+        long aposId = posicao != null ? posicao.id() : Long.MIN_VALUE;
+        return Paginacao.montar(
+                acaoCombateRepository.findConcluidasAposCursor(aposData, aposId, fim, Paginacao.primeiros(limite)),
+                limite, a -> Paginacao.codificar(a.getDataFim(), a.getId()));
+    }
+
+    private String cursorPorId(AcaoCombate acao) {
+        return Paginacao.codificar(null, acao.getId());
+    }
+
+    /**
+     * Atualiza o status do ponto de foco
      */
-    public List<AcaoCombate> listarConcluidasNoPeriodo(LocalDateTime inicio, LocalDateTime fim) {
-        return acaoCombateRepository.findByDataFimBetween(inicio, fim);
+    private void atualizarStatusPontoFoco(PontoFoco pontoFoco, StatusPontoFoco novoStatus) {
+        pontoFoco.atualizarStatus(novoStatus);
+        pontoFocoRepository.save(pontoFoco);
     }
 }
@@ -0,0 +1,92 @@
+package br.com.fiap.queimadas.service;
+
+import br.com.fiap.queimadas.config.MetricasConfig;
+import br.com.fiap.queimadas.domain.event.PontosFocoArquivadosEvent;
+import br.com.fiap.queimadas.dto.ResultadoArquivamentoDTO;
+import br.com.fiap.queimadas.repository.PontoFocoArquivamentoRepository;
+import br.com.fiap.queimadas.repository.PontoFocoRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Move os pontos de foco resolvidos ou falsos alarmes há mais tempo que a idade configurada, com as
+ * suas ações de combate, para as tabelas de arquivo. Cada lote é uma transação própria, para não
+ * manter bloqueios sobre as tabelas durante o arquivamento inteiro; as estruturas em memória são
+ * avisadas de cada lote por {@link PontosFocoArquivadosEvent}, depois do commit.
+ */
+@Service
+@Slf4j
+@Timed(MetricasConfig.TIMER_SERVICOS)
+public class ArquivamentoService {
+
+    private final PontoFocoRepository pontoFocoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int idadeDias;
+    private final int tamanhoLote;
+
+    @Autowired
+    public ArquivamentoService(PontoFocoRepository pontoFocoRepository, TransactionTemplate transactionTemplate,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${queimadas.arquivamento.idade-dias:90}") int idadeDias,
+                               @Value("${queimadas.arquivamento.tamanho-lote:500}") int tamanhoLote) {
+        this.pontoFocoRepository = pontoFocoRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.idadeDias = idadeDias;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    /**
+     * Arquiva os pontos de foco encerrados antes da idade configurada
+     */
+    public synchronized ResultadoArquivamentoDTO arquivar() {
+        LocalDateTime inicio = LocalDateTime.now();
+        LocalDateTime limite = inicio.minusDays(idadeDias);
+        long inicioNanos = System.nanoTime();
+        int lotes = 0;
+        int pontosFoco = 0;
+        int acoes = 0;
+        long aposId = 0;
+        while (true) {
+            long cursor = aposId;
+            PontoFocoArquivamentoRepository.LoteArquivado lote = transactionTemplate.execute(status -> {
+                PontoFocoArquivamentoRepository.LoteArquivado arquivado =
+                        pontoFocoRepository.arquivarLote(limite, cursor, tamanhoLote, inicio);
+                if (!arquivado.isVazio()) {
+                    eventPublisher.publishEvent(
+                            new PontosFocoArquivadosEvent(arquivado.pontoFocoIds(), arquivado.acaoCombateIds()));
+                }
+                return arquivado;
+            });
+            if (lote.isVazio()) {
+                break;
+            }
+            lotes++;
+            pontosFoco += lote.pontoFocoIds().size();
+            acoes += lote.acaoCombateIds().size();
+            aposId = lote.pontoFocoIds().get(lote.pontoFocoIds().size() - 1);
+        }
+        long duracaoMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicioNanos);
+        if (pontosFoco > 0) {
+            log.info("{} ponto(s) de foco e {} ação(ões) de combate arquivados em {} lote(s) em {} ms",
+                    pontosFoco, acoes, lotes, duracaoMs);
+        }
+        return ResultadoArquivamentoDTO.builder()
+                .dataExecucao(inicio)
+                .duracaoMs(duracaoMs)
+                .limite(limite)
+                .lotes(lotes)
+                .pontosFocoArquivados(pontosFoco)
+                .acoesCombateArquivadas(acoes)
+                .build();
+    }
+}
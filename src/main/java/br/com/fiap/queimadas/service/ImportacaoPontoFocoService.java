@@ -0,0 +1,222 @@
+package br.com.fiap.queimadas.service;
+
+import br.com.fiap.queimadas.dto.DeteccaoDTO;
+import br.com.fiap.queimadas.dto.ResultadoImportacaoDTO;
+import br.com.fiap.queimadas.dto.ResultadoLoteDTO;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Serviço para importação de arquivos de detecções (NDJSON ou CSV) em streaming.
+ * O arquivo é lido linha a linha e persistido em chunks de tamanho fixo; a leitura só
+ * avança após a gravação do chunk anterior, mantendo o uso de memória constante.
+ */
+@Service
+@Slf4j
+public class ImportacaoPontoFocoService {
+
+    /**
+     * Formatos de arquivo suportados
+     */
+    public enum Formato {
+        NDJSON,
+        CSV
+    }
+
+    private final PontoFocoService pontoFocoService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${queimadas.importacao.tamanho-chunk:1000}")
+    private int tamanhoChunk;
+
+    @Value("${queimadas.importacao.intervalo-progresso:50000}")
+    private long intervaloProgresso;
+
+    @Autowired
+    public ImportacaoPontoFocoService(PontoFocoService pontoFocoService, ObjectMapper objectMapper) {
+        this.pontoFocoService = pontoFocoService;
+        this.objectMapper = objectMapper.copy()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    /**
+     * Importa as detecções contidas no stream informado
+     * @param entrada Stream do arquivo (não é fechado por este método)
+     * @param formato Formato do arquivo
+     * @return Resumo da importação
+     */
+    public ResultadoImportacaoDTO importar(InputStream entrada, Formato formato) throws IOException {
+        BufferedReader leitor = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        long inicio = System.nanoTime();
+        long linhasLidas = 0;
+        long registrados = 0;
+        long mesclados = 0;
+        long rejeitados = 0;
+        List<DeteccaoDTO> chunk = new ArrayList<>(tamanhoChunk);
+
+        String[] cabecalho = null;
+        if (formato == Formato.CSV) {
+            String linhaCabecalho = leitor.readLine();
+            if (linhaCabecalho == null) {
+                return resumo(0, 0, 0, 0, inicio);
+            }
+            cabecalho = dividirCsv(linhaCabecalho);
+        }
+
+        String linha;
+        while ((linha = leitor.readLine()) != null) {
+            if (linha.isBlank()) {
+                continue;
+            }
+            linhasLidas++;
+
+            try {
+                chunk.add(formato == Formato.NDJSON
+                        ? objectMapper.readValue(linha, DeteccaoDTO.class)
+                        : converterCsv(cabecalho, dividirCsv(linha)));
+            } catch (Exception e) {
+                rejeitados++;
+                log.warn("Linha {} ignorada na importação: {}", linhasLidas, e.getMessage());
+            }
+
+            if (chunk.size() == tamanhoChunk) {
+                ResultadoLoteDTO gravado = gravarChunk(chunk);
+                registrados += gravado.getTotalRegistrados();
+                mesclados += gravado.getTotalMesclados();
+                rejeitados += gravado.getTotalRejeitados();
+                chunk = new ArrayList<>(tamanhoChunk);
+            }
+
+            if (linhasLidas % intervaloProgresso == 0) {
+                double segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+                log.info("Importação em andamento: {} linhas lidas, {} registradas, {} rejeitadas ({} linhas/s)",
+                        linhasLidas, registrados, rejeitados, String.format(Locale.ROOT, "%.0f", linhasLidas / segundos));
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            ResultadoLoteDTO gravado = gravarChunk(chunk);
+            registrados += gravado.getTotalRegistrados();
+            mesclados += gravado.getTotalMesclados();
+            rejeitados += gravado.getTotalRejeitados();
+        }
+
+        ResultadoImportacaoDTO resultado = resumo(linhasLidas, registrados, mesclados, rejeitados, inicio);
+        log.info("Importação concluída: {} linhas lidas, {} registradas, {} mescladas, {} rejeitadas em {} ms ({} linhas/s)",
+                resultado.getLinhasLidas(), resultado.getTotalRegistrados(), resultado.getTotalMesclados(),
+                resultado.getTotalRejeitados(),
+                resultado.getDuracaoMs(), String.format(Locale.ROOT, "%.0f", resultado.getLinhasPorSegundo()));
+        return resultado;
+    }
+
+    /**
+     * Grava um chunk em lote; se o lote falhar, regrava linha a linha para isolar as linhas com erro
+     * @return Totais de detecções registradas, mescladas e rejeitadas
+     */
+    private ResultadoLoteDTO gravarChunk(List<DeteccaoDTO> chunk) {
+        try {
+            return pontoFocoService.registrarPontosFocoEmLote(chunk);
+        } catch (Exception e) {
+            log.warn("Falha ao gravar chunk de {} linhas, gravando individualmente: {}", chunk.size(), e.getMessage());
+        }
+
+        ResultadoLoteDTO total = ResultadoLoteDTO.builder().totalRecebidos(chunk.size()).build();
+        for (DeteccaoDTO deteccao : chunk) {
+            try {
+                ResultadoLoteDTO resultado = pontoFocoService.registrarPontosFocoEmLote(List.of(deteccao));
+                total.setTotalRegistrados(total.getTotalRegistrados() + resultado.getTotalRegistrados());
+                total.setTotalMesclados(total.getTotalMesclados() + resultado.getTotalMesclados());
+                total.setTotalRejeitados(total.getTotalRejeitados() + resultado.getTotalRejeitados());
+            } catch (Exception e) {
+                total.setTotalRejeitados(total.getTotalRejeitados() + 1);
+                log.warn("Detecção ignorada na importação ({}, {}): {}",
+                        deteccao.getLatitude(), deteccao.getLongitude(), e.getMessage());
+            }
+        }
+        return total;
+    }
+
+    private ResultadoImportacaoDTO resumo(long linhasLidas, long registrados, long mesclados, long rejeitados,
+                                          long inicio) {
+        long duracaoNanos = Math.max(System.nanoTime() - inicio, 1);
+        return ResultadoImportacaoDTO.builder()
+                .linhasLidas(linhasLidas)
+                .totalRegistrados(registrados)
+                .totalMesclados(mesclados)
+                .totalRejeitados(rejeitados)
+                .duracaoMs(duracaoNanos / 1_000_000)
+                .linhasPorSegundo(linhasLidas / (duracaoNanos / 1_000_000_000.0))
+                .build();
+    }
+
+    /**
+     * Converte uma linha CSV em detecção usando os nomes das colunas do cabeçalho
+     */
+    private DeteccaoDTO converterCsv(String[] cabecalho, String[] valores) {
+        Map<String, String> campos = new HashMap<>();
+        for (int i = 0; i < cabecalho.length && i < valores.length; i++) {
+            campos.put(cabecalho[i].trim().toLowerCase(Locale.ROOT), valores[i].trim());
+        }
+
+        return DeteccaoDTO.builder()
+                .latitude(converterDouble(campos.get("latitude")))
+                .longitude(converterDouble(campos.get("longitude")))
+                .intensidade(converterDouble(campos.get("intensidade")))
+                .areaEstimada(converterDouble(campos.get("areaestimada")))
+                .descricao(vazioParaNulo(campos.get("descricao")))
+                .regiaoId(campos.get("regiaoid") == null || campos.get("regiaoid").isEmpty()
+                        ? null : Long.valueOf(campos.get("regiaoid")))
+                .build();
+    }
+
+    private Double converterDouble(String valor) {
+        return valor == null || valor.isEmpty() ? null : Double.valueOf(valor);
+    }
+
+    private String vazioParaNulo(String valor) {
+        return valor == null || valor.isEmpty() ? null : valor;
+    }
+
+    /**
+     * Divide uma linha CSV separada por vírgulas, respeitando campos entre aspas
+     */
+    private String[] dividirCsv(String linha) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (c == '"') {
+                if (entreAspas && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    atual.append('"'); // Aspas escapadas
+                    i++;
+                } else {
+                    entreAspas = !entreAspas;
+                }
+            } else if (c == ',' && !entreAspas) {
+                campos.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        campos.add(atual.toString());
+        return campos.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,315 @@
+package br.com.fiap.queimadas.service;
+
+import br.com.fiap.queimadas.dto.DeteccaoDTO;
+import br.com.fiap.queimadas.dto.ReciboIngestaoDTO;
+import br.com.fiap.queimadas.dto.ResultadoLoteDTO;
+import br.com.fiap.queimadas.dto.SituacaoEnvioDTO;
+import br.com.fiap.queimadas.dto.StatusIngestaoDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Ingestão assíncrona de detecções: as requisições apenas enfileiram as detecções em memória e
+ * recebem um id de rastreamento; workers dedicados esvaziam a fila em lotes, gravando pelo
+ * {@link PontoFocoService#registrarPontosFocoEmLote}. A fila é limitada por um semáforo de vagas,
+ * de forma que um envio é aceito por inteiro ou recusado por inteiro.
+ */
+@Service
+@Slf4j
+public class IngestaoAssincronaService {
+
+    private record ItemFila(String idRastreamento, DeteccaoDTO deteccao, long instanteEnfileiramento) {
+    }
+
+    private static final class Envio {
+        private final LocalDateTime dataRecebimento = LocalDateTime.now();
+        private final int quantidade;
+        private final AtomicInteger processadas = new AtomicInteger();
+        private final AtomicInteger falhas = new AtomicInteger();
+
+        private Envio(int quantidade) {
+            this.quantidade = quantidade;
+        }
+
+        private boolean isConcluido() {
+            return processadas.get() + falhas.get() >= quantidade;
+        }
+    }
+
+    private final PontoFocoService pontoFocoService;
+    private final int capacidadeFila;
+    private final int workers;
+    private final int tamanhoLote;
+    private final long retencaoEnviosMinutos;
+
+    private final LinkedBlockingQueue<ItemFila> fila = new LinkedBlockingQueue<>();
+    private final Semaphore vagas;
+    private final Map<String, Envio> envios = new ConcurrentHashMap<>();
+    private final AtomicLong totalRecebidas = new AtomicLong();
+    private final AtomicLong totalProcessadas = new AtomicLong();
+    private final AtomicLong totalFalhas = new AtomicLong();
+
+    private volatile boolean aceitando = false;
+    // Sinal para os workers pararem depois do lote em andamento
+    private volatile boolean parando = false;
+    private volatile double deteccoesPorSegundo;
+    private long processadasUltimaMedicao;
+    private long instanteUltimaMedicao = System.nanoTime();
+    private ExecutorService executor;
+
+    @Autowired
+    public IngestaoAssincronaService(PontoFocoService pontoFocoService, MeterRegistry meterRegistry,
+                                     @Value("${queimadas.ingestao-assincrona.capacidade-fila:100000}") int capacidadeFila,
+                                     @Value("${queimadas.ingestao-assincrona.workers:2}") int workers,
+                                     @Value("${queimadas.ingestao-assincrona.tamanho-lote:500}") int tamanhoLote,
+                                     @Value("${queimadas.ingestao-assincrona.retencao-envios-minutos:60}") long retencaoEnviosMinutos) {
+        this.pontoFocoService = pontoFocoService;
+        this.capacidadeFila = capacidadeFila;
+        this.workers = workers;
+        this.tamanhoLote = tamanhoLote;
+        this.retencaoEnviosMinutos = retencaoEnviosMinutos;
+        this.vagas = new Semaphore(capacidadeFila);
+
+        Gauge.builder("queimadas.ingestao.fila.profundidade", fila, LinkedBlockingQueue::size)
+                .description("Detecções aguardando gravação na fila de ingestão assíncrona")
+                .register(meterRegistry);
+        Gauge.builder("queimadas.ingestao.fila.atraso", this, servico -> servico.atrasoMs() / 1000.0)
+                .description("Tempo de espera da detecção mais antiga na fila de ingestão assíncrona")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Inicia os workers depois que a aplicação estiver pronta
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        AtomicInteger sequencia = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(workers, tarefa -> {
+            Thread thread = new Thread(tarefa, "ingestao-" + sequencia.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workers; i++) {
+            executor.submit(this::consumir);
+        }
+        aceitando = true;
+        log.info("Ingestão assíncrona iniciada com {} workers e fila de {} detecções", workers, capacidadeFila);
+    }
+
+    /**
+     * Enfileira as detecções para gravação assíncrona
+     * @param deteccoes Detecções recebidas
+     * @return Recibo com o id de rastreamento, ou vazio se não houver vaga na fila para todas as detecções
+     * @throws ResponseStatusException 503 se a ingestão não estiver aceitando envios (inicialização ou desligamento);
+     * 400 se alguma detecção for rejeitada pelas mesmas regras da gravação em lote
+     */
+    public Optional<ReciboIngestaoDTO> enfileirar(List<DeteccaoDTO> deteccoes) {
+        if (!aceitando) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Ingestão assíncrona indisponível");
+        }
+        if (deteccoes.size() > capacidadeFila) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Envio maior que a capacidade da fila (" + capacidadeFila + " detecções)");
+        }
+        for (int i = 0; i < deteccoes.size(); i++) {
+            String motivo = PontoFocoService.motivoRejeicao(deteccoes.get(i));
+            if (motivo != null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Detecção " + i + " rejeitada: " + motivo);
+            }
+        }
+        if (!vagas.tryAcquire(deteccoes.size())) {
+            return Optional.empty();
+        }
+
+        String idRastreamento = UUID.randomUUID().toString();
+        envios.put(idRastreamento, new Envio(deteccoes.size()));
+        long agora = System.nanoTime();
+        for (DeteccaoDTO deteccao : deteccoes) {
+            fila.add(new ItemFila(idRastreamento, deteccao, agora));
+        }
+        totalRecebidas.addAndGet(deteccoes.size());
+
+        return Optional.of(ReciboIngestaoDTO.builder()
+                .idRastreamento(idRastreamento)
+                .quantidade(deteccoes.size())
+                .profundidadeFila(fila.size())
+                .build());
+    }
+
+    /**
+     * Consulta a situação de um envio
+     */
+    public Optional<SituacaoEnvioDTO> buscarSituacao(String idRastreamento) {
+        Envio envio = envios.get(idRastreamento);
+        if (envio == null) {
+            return Optional.empty();
+        }
+        return Optional.of(SituacaoEnvioDTO.builder()
+                .idRastreamento(idRastreamento)
+                .dataRecebimento(envio.dataRecebimento)
+                .quantidade(envio.quantidade)
+                .processadas(envio.processadas.get())
+                .falhas(envio.falhas.get())
+                .concluido(envio.isConcluido())
+                .build());
+    }
+
+    /**
+     * Estado atual da fila: profundidade, atraso e vazão
+     */
+    public StatusIngestaoDTO obterStatus() {
+        return StatusIngestaoDTO.builder()
+                .aceitando(aceitando)
+                .profundidadeFila(fila.size())
+                .capacidadeFila(capacidadeFila)
+                .atrasoMs(atrasoMs())
+                .deteccoesPorSegundo(deteccoesPorSegundo)
+                .totalRecebidas(totalRecebidas.get())
+                .totalProcessadas(totalProcessadas.get())
+                .totalFalhas(totalFalhas.get())
+                .workers(workers)
+                .build();
+    }
+
+    /**
+     * Atualiza a vazão medida e descarta os envios concluídos há mais tempo que a retenção
+     */
+    @Scheduled(fixedRate = 5000)
+    public synchronized void medirVazao() {
+        long agora = System.nanoTime();
+        long processadas = totalProcessadas.get() + totalFalhas.get();
+        deteccoesPorSegundo = (processadas - processadasUltimaMedicao) / ((agora - instanteUltimaMedicao) / 1_000_000_000.0);
+        processadasUltimaMedicao = processadas;
+        instanteUltimaMedicao = agora;
+
+        LocalDateTime limite = LocalDateTime.now().minusMinutes(retencaoEnviosMinutos);
+        envios.values().removeIf(envio -> envio.isConcluido() && envio.dataRecebimento.isBefore(limite));
+    }
+
+    /**
+     * Para de aceitar envios, espera os workers terminarem os lotes em andamento e grava o que
+     * restou na fila antes do desligamento. Roda no fechamento do contexto, antes da destruição dos
+     * beans, para que os ouvintes dos eventos das gravações ainda estejam disponíveis
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void encerrar() throws InterruptedException {
+        aceitando = false;
+        if (executor == null) {
+            return;
+        }
+        parando = true;
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Workers da ingestão assíncrona ainda gravando após 30 segundos; esvaziando a fila mesmo assim");
+        }
+
+        List<ItemFila> restantes = new ArrayList<>();
+        fila.drainTo(restantes);
+        if (!restantes.isEmpty()) {
+            log.info("Gravando {} detecções restantes na fila de ingestão antes do desligamento", restantes.size());
+            for (int inicio = 0; inicio < restantes.size(); inicio += tamanhoLote) {
+                gravar(restantes.subList(inicio, Math.min(inicio + tamanhoLote, restantes.size())));
+            }
+        }
+    }
+
+    private void consumir() {
+        List<ItemFila> lote = new ArrayList<>(tamanhoLote);
+        while (!parando && !Thread.currentThread().isInterrupted()) {
+            try {
+                ItemFila primeiro = fila.poll(1, TimeUnit.SECONDS);
+                if (primeiro == null) {
+                    continue;
+                }
+                lote.add(primeiro);
+                fila.drainTo(lote, tamanhoLote - 1);
+                gravar(lote);
+            } catch (InterruptedException e) {
+                // Devolve à fila o que não foi gravado, para o desligamento gravar
+                fila.addAll(lote);
+                Thread.currentThread().interrupt();
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    /**
+     * Grava um lote da fila; se o lote falhar, grava item a item para isolar as detecções com erro.
+     * As detecções que a gravação rejeitaria contam como falhas
+     */
+    private void gravar(List<ItemFila> lote) {
+        Map<Boolean, List<ItemFila>> porValidade = lote.stream()
+                .collect(Collectors.partitioningBy(item -> PontoFocoService.motivoRejeicao(item.deteccao()) == null));
+        List<ItemFila> validos = porValidade.get(true);
+        try {
+            concluir(porValidade.get(false), false);
+            if (validos.isEmpty()) {
+                return;
+            }
+            ResultadoLoteDTO resultado = pontoFocoService.registrarPontosFocoEmLote(
+                    validos.stream().map(ItemFila::deteccao).toList());
+            concluir(validos, true);
+            log.debug("Lote de {} detecções gravado: {} registradas, {} mescladas", validos.size(),
+                    resultado.getTotalRegistrados(), resultado.getTotalMesclados());
+        } catch (Exception e) {
+            log.warn("Falha ao gravar lote de {} detecções, gravando individualmente: {}", validos.size(), e.getMessage());
+            for (ItemFila item : validos) {
+                try {
+                    pontoFocoService.registrarPontosFocoEmLote(List.of(item.deteccao()));
+                    concluir(List.of(item), true);
+                } catch (Exception erro) {
+                    log.warn("Detecção descartada na ingestão assíncrona ({}, {}): {}",
+                            item.deteccao().getLatitude(), item.deteccao().getLongitude(), erro.getMessage());
+                    concluir(List.of(item), false);
+                }
+            }
+        } finally {
+            vagas.release(lote.size());
+        }
+    }
+
+    private void concluir(List<ItemFila> itens, boolean sucesso) {
+        Map<String, Long> porEnvio = itens.stream()
+                .collect(Collectors.groupingBy(ItemFila::idRastreamento, Collectors.counting()));
+        porEnvio.forEach((idRastreamento, quantidade) -> {
+            Envio envio = envios.get(idRastreamento);
+            if (envio != null) {
+                (sucesso ? envio.processadas : envio.falhas).addAndGet(quantidade.intValue());
+            }
+        });
+        (sucesso ? totalProcessadas : totalFalhas).addAndGet(itens.size());
+    }
+
+    private long atrasoMs() {
+        ItemFila maisAntigo = fila.peek();
+        return maisAntigo == null ? 0 : (System.nanoTime() - maisAntigo.instanteEnfileiramento()) / 1_000_000;
+    }
+}
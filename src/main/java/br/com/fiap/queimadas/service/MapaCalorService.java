@@ -0,0 +1,126 @@
+package br.com.fiap.queimadas.service;
+
+import br.com.fiap.queimadas.config.MetricasConfig;
+import br.com.fiap.queimadas.dto.CelulaMapaCalorDTO;
+import br.com.fiap.queimadas.dto.MapaCalorDTO;
+import br.com.fiap.queimadas.service.mapa.PiramideMapaCalor;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Consulta do mapa de calor dos pontos de foco ativos, em JSON ou no formato binário compacto.
+ * <p>
+ * Formato binário (big-endian): {@code int} zoom efetivo, {@code int} quantidade de células e,
+ * para cada célula, {@code int} linha, {@code int} coluna, {@code int} quantidade de pontos,
+ * {@code float} intensidade máxima (NaN se nenhum ponto tiver intensidade) e {@code float} área
+ * estimada total, 20 bytes por célula. O canto sudoeste da célula é
+ * ({@code -90 + linha * t}, {@code -180 + coluna * t}), com {@code t = 45 / 2^zoom} graus.
+ */
+@Service
+@Timed(MetricasConfig.TIMER_SERVICOS)
+public class MapaCalorService {
+
+    private static final int BYTES_CABECALHO = 8;
+    private static final int BYTES_CELULA = 20;
+
+    private final PiramideMapaCalor piramide;
+    private final int maximoCelulas;
+
+    @Autowired
+    public MapaCalorService(PiramideMapaCalor piramide,
+                            @Value("${queimadas.mapa-calor.maximo-celulas:65536}") int maximoCelulas) {
+        this.piramide = piramide;
+        this.maximoCelulas = maximoCelulas;
+    }
+
+    /**
+     * Consulta as células não vazias de um retângulo
+     * @param zoom Zoom desejado; acima do zoom máximo configurado, usa o máximo
+     * @param longitudeMinima Borda oeste; se maior que a borda leste, o retângulo cruza o antimeridiano
+     * @return Células com quantidade, intensidade máxima e área estimada total
+     */
+    public MapaCalorDTO consultar(int zoom, double latitudeMinima, double longitudeMinima,
+                                  double latitudeMaxima, double longitudeMaxima) {
+        Janela janela = validar(zoom, latitudeMinima, longitudeMinima, latitudeMaxima, longitudeMaxima);
+        double tamanho = PiramideMapaCalor.tamanhoCelula(janela.zoom());
+        List<CelulaMapaCalorDTO> celulas = new ArrayList<>();
+        piramide.percorrer(janela.zoom(), janela.linhaMinima(), janela.linhaMaxima(),
+                janela.colunaMinima(), janela.colunaMaxima(),
+                agregado -> celulas.add(CelulaMapaCalorDTO.builder()
+                        .linha(agregado.linha())
+                        .coluna(agregado.coluna())
+                        .latitudeMinima(-90.0 + agregado.linha() * tamanho)
+                        .longitudeMinima(-180.0 + agregado.coluna() * tamanho)
+                        .quantidade(agregado.quantidade())
+                        .intensidadeMaxima(agregado.intensidadeMaxima())
+                        .areaEstimadaTotalMetrosQuadrados(agregado.areaTotal())
+                        .build()));
+        return MapaCalorDTO.builder()
+                .zoom(janela.zoom())
+                .tamanhoCelulaGraus(tamanho)
+                .celulas(celulas)
+                .build();
+    }
+
+    /**
+     * Consulta as células não vazias de um retângulo no formato binário descrito na classe
+     */
+    public byte[] consultarBinario(int zoom, double latitudeMinima, double longitudeMinima,
+                                   double latitudeMaxima, double longitudeMaxima) {
+        Janela janela = validar(zoom, latitudeMinima, longitudeMinima, latitudeMaxima, longitudeMaxima);
+        List<PiramideMapaCalor.Agregado> agregados = new ArrayList<>();
+        piramide.percorrer(janela.zoom(), janela.linhaMinima(), janela.linhaMaxima(),
+                janela.colunaMinima(), janela.colunaMaxima(), agregados::add);
+
+        ByteBuffer buffer = ByteBuffer.allocate(BYTES_CABECALHO + agregados.size() * BYTES_CELULA);
+        buffer.putInt(janela.zoom()).putInt(agregados.size());
+        for (PiramideMapaCalor.Agregado agregado : agregados) {
+            buffer.putInt(agregado.linha())
+                    .putInt(agregado.coluna())
+                    .putInt(agregado.quantidade())
+                    .putFloat(agregado.intensidadeMaxima() != null ? agregado.intensidadeMaxima().floatValue() : Float.NaN)
+                    .putFloat((float) agregado.areaTotal());
+        }
+        return buffer.array();
+    }
+
+    private record Janela(int zoom, int linhaMinima, int linhaMaxima, int colunaMinima, int colunaMaxima) {
+    }
+
+    private Janela validar(int zoom, double latitudeMinima, double longitudeMinima,
+                           double latitudeMaxima, double longitudeMaxima) {
+        if (zoom < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Zoom deve ser maior ou igual a zero");
+        }
+        if (latitudeMinima < -90.0 || latitudeMaxima > 90.0 || latitudeMinima > latitudeMaxima
+                || Math.abs(longitudeMinima) > 180.0 || Math.abs(longitudeMaxima) > 180.0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Retângulo fora dos limites geográficos");
+        }
+        int efetivo = Math.min(zoom, piramide.getZoomMaximo());
+        int linhaMinima = PiramideMapaCalor.linha(efetivo, latitudeMinima);
+        int linhaMaxima = PiramideMapaCalor.linha(efetivo, latitudeMaxima);
+        int colunaMinima = PiramideMapaCalor.coluna(efetivo, longitudeMinima);
+        int colunaMaxima = PiramideMapaCalor.coluna(efetivo, longitudeMaxima);
+        if (longitudeMinima > longitudeMaxima && colunaMinima <= colunaMaxima) {
+            // Cruza o antimeridiano, mas as duas bordas caem na mesma coluna: o retângulo dá a volta no globo
+            colunaMinima = 0;
+            colunaMaxima = PiramideMapaCalor.colunas(efetivo) - 1;
+        }
+        long colunas = colunaMinima <= colunaMaxima
+                ? colunaMaxima - colunaMinima + 1L
+                : PiramideMapaCalor.colunas(efetivo) - colunaMinima + colunaMaxima + 1L;
+        if ((linhaMaxima - linhaMinima + 1L) * colunas > maximoCelulas) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Retângulo com mais de " + maximoCelulas + " células neste zoom; reduza o zoom ou o retângulo");
+        }
+        return new Janela(efetivo, linhaMinima, linhaMaxima, colunaMinima, colunaMaxima);
+    }
+}
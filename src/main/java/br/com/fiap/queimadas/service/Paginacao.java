@@ -0,0 +1,143 @@
+package br.com.fiap.queimadas.service;
+
+import br.com.fiap.queimadas.dto.PaginaDTO;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Utilitário para paginação por cursor (keyset) das listagens.
+ * O cursor é um token opaco com a chave de ordenação e o ID do último item da página.
+ */
+public final class Paginacao {
+
+    public static final int TAMANHO_PADRAO = 50;
+    public static final int TAMANHO_MAXIMO = 500;
+
+    /**
+     * Chave de continuação decodificada de um cursor
+     * @param valor Valor da coluna de ordenação (null quando a ordenação é apenas pelo ID)
+     * @param id ID do último item retornado
+     */
+    public record Cursor(String valor, long id) {
+
+        public LocalDateTime valorComoData() {
+            try {
+                return LocalDateTime.parse(valor);
+            } catch (RuntimeException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor inválido");
+            }
+        }
+
+        public double valorComoDouble() {
+            try {
+                return Double.parseDouble(valor);
+            } catch (RuntimeException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor inválido");
+            }
+        }
+    }
+
+    private Paginacao() {
+    }
+
+    /**
+     * Aplica o tamanho padrão e o tamanho máximo de página
+     */
+    public static int limitar(Integer tamanho) {
+        if (tamanho == null || tamanho <= 0) {
+            return TAMANHO_PADRAO;
+        }
+        return Math.min(tamanho, TAMANHO_MAXIMO);
+    }
+
+    /**
+     * Pageable que busca um item a mais que o tamanho da página, para saber se existe próxima página
+     */
+    public static Pageable primeiros(int tamanho) {
+        return PageRequest.of(0, tamanho + 1);
+    }
+
+    /**
+     * Retorna o ID após o qual a página começa (0 quando não há cursor)
+     */
+    public static long aposId(String cursor) {
+        return cursor == null ? 0L : decodificar(cursor).id();
+    }
+
+    /**
+     * Codifica o cursor de um item
+     */
+    public static String codificar(Object valor, Long id) {
+        String conteudo = valor == null ? String.valueOf(id) : valor + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica um cursor recebido do cliente
+     * @return Cursor decodificado, ou null quando não informado
+     */
+    public static Cursor decodificar(String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        try {
+            String conteudo = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = conteudo.lastIndexOf('|');
+            if (separador < 0) {
+                return new Cursor(null, Long.parseLong(conteudo));
+            }
+            return new Cursor(conteudo.substring(0, separador), Long.parseLong(conteudo.substring(separador + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor inválido");
+        }
+    }
+
+    /**
+     * Intercala dois resultados ordenados por ID, sem IDs em comum (por exemplo, tabela ativa e arquivo)
+     * @return Itens das duas listas em ordem crescente de ID
+     */
+    public static <T> List<T> intercalarPorId(List<T> primeiro, List<T> segundo, ToLongFunction<T> idDe) {
+        if (segundo.isEmpty()) {
+            return primeiro;
+        }
+        if (primeiro.isEmpty()) {
+            return segundo;
+        }
+        List<T> resultado = new ArrayList<>(primeiro.size() + segundo.size());
+        int i = 0;
+        int j = 0;
+        while (i < primeiro.size() && j < segundo.size()) {
+            resultado.add(idDe.applyAsLong(primeiro.get(i)) < idDe.applyAsLong(segundo.get(j))
+                    ? primeiro.get(i++) : segundo.get(j++));
+        }
+        resultado.addAll(primeiro.subList(i, primeiro.size()));
+        resultado.addAll(segundo.subList(j, segundo.size()));
+        return resultado;
+    }
+
+    /**
+     * Monta a página a partir do resultado da consulta (que deve ter até tamanho + 1 itens)
+     * @param resultado Itens retornados pela consulta
+     * @param tamanho Tamanho da página
+     * @param cursorDe Função que gera o cursor de um item
+     */
+    public static <T> PaginaDTO<T> montar(List<T> resultado, int tamanho, Function<T, String> cursorDe) {
+        boolean haMais = resultado.size() > tamanho;
+        List<T> itens = haMais ? resultado.subList(0, tamanho) : resultado;
+        return PaginaDTO.<T>builder()
+                .itens(itens)
+                .tamanho(itens.size())
+                .proximoCursor(haMais ? cursorDe.apply(itens.get(itens.size() - 1)) : null)
+                .build();
+    }
+}
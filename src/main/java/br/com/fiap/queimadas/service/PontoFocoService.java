@@ -1,53 +1,157 @@
 package br.com.fiap.queimadas.service;
 
+import br.com.fiap.queimadas.config.MetricasConfig;
 import br.com.fiap.queimadas.domain.entity.PontoFoco;
+import br.com.fiap.queimadas.domain.entity.PontoFocoArquivado;
 import br.com.fiap.queimadas.domain.entity.Regiao;
 import br.com.fiap.queimadas.domain.enums.StatusPontoFoco;
+import br.com.fiap.queimadas.domain.event.PontoFocoResumo;
+import br.com.fiap.queimadas.dto.DeteccaoDTO;
+import br.com.fiap.queimadas.dto.FeedDeteccoesDTO;
+import br.com.fiap.queimadas.dto.FiltroPontoFocoDTO;
+import br.com.fiap.queimadas.dto.FrenteFogoDTO;
+import br.com.fiap.queimadas.dto.PaginaDTO;
+import br.com.fiap.queimadas.dto.PontoFocoListagemDTO;
+import br.com.fiap.queimadas.dto.PontoFocoProximoDTO;
+import br.com.fiap.queimadas.dto.ResultadoBuscaDTO;
+import br.com.fiap.queimadas.dto.ResultadoLoteDTO;
+import br.com.fiap.queimadas.repository.PontoFocoArquivadoRepository;
 import br.com.fiap.queimadas.repository.PontoFocoRepository;
 import br.com.fiap.queimadas.repository.RegiaoRepository;
+import br.com.fiap.queimadas.service.agrupamento.AgrupadorFrentesFogo;
+import br.com.fiap.queimadas.service.busca.BuscaTextual;
+import br.com.fiap.queimadas.service.busca.IndiceInvertido;
+import br.com.fiap.queimadas.service.deduplicacao.DeduplicadorDeteccoes;
 import br.com.fiap.queimadas.service.factory.PontoFocoFactory;
+import br.com.fiap.queimadas.service.feed.FeedDeteccoes;
+import br.com.fiap.queimadas.service.indice.IndiceEspacialPontoFoco;
+import br.com.fiap.queimadas.service.indice.IndiceRegioes;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Serviço para gerenciamento de pontos de foco de incêndio
  */
 @Service
+@Slf4j
+@Timed(MetricasConfig.TIMER_SERVICOS)
 public class PontoFocoService {
 
     private final PontoFocoRepository pontoFocoRepository;
+    private final PontoFocoArquivadoRepository pontoFocoArquivadoRepository;
     private final RegiaoRepository regiaoRepository;
+    private final IndiceEspacialPontoFoco indiceEspacial;
+    private final DeduplicadorDeteccoes deduplicador;
+    private final IndiceRegioes indiceRegioes;
+    private final AgrupadorFrentesFogo agrupadorFrentesFogo;
+    private final BuscaTextual buscaTextual;
+    private final FeedDeteccoes feedDeteccoes;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int tamanhoLote;
 
     @Autowired
-    public PontoFocoService(PontoFocoRepository pontoFocoRepository, RegiaoRepository regiaoRepository) {
+    public PontoFocoService(PontoFocoRepository pontoFocoRepository,
+                            PontoFocoArquivadoRepository pontoFocoArquivadoRepository, RegiaoRepository regiaoRepository,
+                            IndiceEspacialPontoFoco indiceEspacial, DeduplicadorDeteccoes deduplicador,
+                            IndiceRegioes indiceRegioes, AgrupadorFrentesFogo agrupadorFrentesFogo,
+                            BuscaTextual buscaTextual, FeedDeteccoes feedDeteccoes) {
         this.pontoFocoRepository = pontoFocoRepository;
+        this.pontoFocoArquivadoRepository = pontoFocoArquivadoRepository;
         this.regiaoRepository = regiaoRepository;
+        this.indiceEspacial = indiceEspacial;
+        this.deduplicador = deduplicador;
+        this.indiceRegioes = indiceRegioes;
+        this.agrupadorFrentesFogo = agrupadorFrentesFogo;
+        this.buscaTextual = buscaTextual;
+        this.feedDeteccoes = feedDeteccoes;
     }
 
     /**
-     * Lista todos os pontos de foco
+     * Lista todos os pontos de foco, paginados por ID
      */
-    public List<PontoFoco> listarTodos() {
-        return pontoFocoRepository.findAll();
+    public PaginaDTO<PontoFoco> listarTodos(String cursor, Integer tamanho) {
+        int limite = Paginacao.limitar(tamanho);
+        return Paginacao.montar(
+                pontoFocoRepository.findByIdGreaterThanOrderByIdAsc(Paginacao.aposId(cursor), Paginacao.primeiros(limite)),
+                limite, this::cursorPorId);
     }
 
     /**
-     * Lista pontos de foco por status
+     * Lista pontos de foco por status, paginados por ID
      */
-    public List<PontoFoco> listarPorStatus(StatusPontoFoco status) {
-        return pontoFocoRepository.findByStatus(status);
+    public PaginaDTO<PontoFoco> listarPorStatus(StatusPontoFoco status, String cursor, Integer tamanho) {
+        int limite = Paginacao.limitar(tamanho);
+        return Paginacao.montar(
+                pontoFocoRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                        status, Paginacao.aposId(cursor), Paginacao.primeiros(limite)),
+                limite, this::cursorPorId);
     }
 
     /**
-     * Lista pontos de foco ativos (não resolvidos ou falsos alarmes)
+     * Lista pontos de foco ativos (não resolvidos ou falsos alarmes), paginados por ID
      */
-    public List<PontoFoco> listarAtivos() {
-        return pontoFocoRepository.findAllAtivos();
+    public PaginaDTO<PontoFoco> listarAtivos(String cursor, Integer tamanho) {
+        int limite = Paginacao.limitar(tamanho);
+        return Paginacao.montar(
+                pontoFocoRepository.findAtivosAposId(Paginacao.aposId(cursor), Paginacao.primeiros(limite)),
+                limite, this::cursorPorId);
+    }
+
+    /**
+     * Lista a projeção de leitura de todos os pontos de foco, paginada por ID
+     */
+    public PaginaDTO<PontoFocoListagemDTO> listarResumo(String cursor, Integer tamanho) {
+        int limite = Paginacao.limitar(tamanho);
+        return Paginacao.montar(
+                pontoFocoRepository.findListagemAposId(Paginacao.aposId(cursor), Paginacao.primeiros(limite)),
+                limite, p -> Paginacao.codificar(null, p.id()));
+    }
+
+    /**
+     * Lista a projeção de leitura dos pontos de foco ativos, paginada por ID
+     */
+    public PaginaDTO<PontoFocoListagemDTO> listarAtivosResumo(String cursor, Integer tamanho) {
+        int limite = Paginacao.limitar(tamanho);
+        return Paginacao.montar(
+                pontoFocoRepository.findListagemAtivosAposId(Paginacao.aposId(cursor), Paginacao.primeiros(limite)),
+                limite, p -> Paginacao.codificar(null, p.id()));
+    }
+
+    /**
+     * Lista pontos de foco detectados após uma data, paginados por data de detecção
+     */
+    public PaginaDTO<PontoFoco> listarDetectadosApos(LocalDateTime data, String cursor, Integer tamanho) {
+        int limite = Paginacao.limitar(tamanho);
+        Paginacao.Cursor posicao = Paginacao.decodificar(cursor);
+        // Sem cursor, começa estritamente após a data informada
+        LocalDateTime aposData = posicao != null ? posicao.valorComoData() : data;
+        long aposId = posicao != null ? posicao.id() : Long.MAX_VALUE;
+        return Paginacao.montar(
+                pontoFocoRepository.findDetectadosApos(aposData, aposId, Paginacao.primeiros(limite)),
+                limite, p -> Paginacao.codificar(p.getDataDeteccao(), p.getId()));
     }
 
     /**
@@ -58,54 +162,184 @@ public class PontoFocoService {
     }
 
     /**
-     * Lista pontos de foco por região
+     * Busca um ponto de foco pelo ID, também no arquivo se pedido
      */
-    public List<PontoFoco> listarPorRegiao(Long regiaoId) {
-        return pontoFocoRepository.findByRegiaoId(regiaoId);
+    public Optional<PontoFoco> buscarPorId(Long id, boolean incluirArquivados) {
+        Optional<PontoFoco> pontoFoco = pontoFocoRepository.findById(id);
+        if (pontoFoco.isPresent() || !incluirArquivados) {
+            return pontoFoco;
+        }
+        return pontoFocoArquivadoRepository.findById(id).map(arquivado -> converterArquivados(List.of(arquivado)).get(0));
     }
 
     /**
-     * Registra um novo ponto de foco com dados básicos
+     * Lê o feed de detecções recentes a partir da última sequência já lida, sem consultar o banco
+     */
+    public FeedDeteccoesDTO lerFeedDeteccoes(long desde, Integer limite) {
+        if (desde < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Sequência negativa: " + desde);
+        }
+        return feedDeteccoes.ler(desde, Paginacao.limitar(limite));
+    }
+
+    /**
+     * Lista pontos de foco por região, paginados por ID
+     */
+    public PaginaDTO<PontoFoco> listarPorRegiao(Long regiaoId, String cursor, Integer tamanho, boolean incluirArquivados) {
+        int limite = Paginacao.limitar(tamanho);
+        long aposId = Paginacao.aposId(cursor);
+        List<PontoFoco> resultado = pontoFocoRepository.findByRegiaoIdAndIdGreaterThanOrderByIdAsc(
+                regiaoId, aposId, Paginacao.primeiros(limite));
+        if (incluirArquivados) {
+            resultado = Paginacao.intercalarPorId(resultado, converterArquivados(
+                    pontoFocoArquivadoRepository.findByRegiaoIdAndIdGreaterThanOrderByIdAsc(
+                            regiaoId, aposId, Paginacao.primeiros(limite))), PontoFoco::getId);
+        }
+        return Paginacao.montar(resultado, limite, this::cursorPorId);
+    }
+
+    /**
+     * Registra um novo ponto de foco com dados básicos.
+     * Se já houver um ponto de foco ativo próximo e recente, retorna esse ponto em vez de criar outro.
+     * Sem região informada, a região é localizada pelo limite que contém as coordenadas.
      */
     @Transactional
     public PontoFoco registrarPontoFoco(Double latitude, Double longitude, Long regiaoId) {
+        Optional<PontoFoco> mesclado = mesclarSeDuplicada(deduplicador.novoLote(), latitude, longitude, null, null);
+        if (mesclado.isPresent()) {
+            return mesclado.get();
+        }
+
         // Cria o ponto de foco usando a factory
         PontoFoco pontoFoco = PontoFocoFactory.criarPontoFoco(latitude, longitude);
         
-        // Associa à região, se informada
-        if (regiaoId != null) {
-            Optional<Regiao> regiaoOpt = regiaoRepository.findById(regiaoId);
-            regiaoOpt.ifPresent(pontoFoco::setRegiao);
+        // Associa à região informada ou à região que contém o ponto
+        Long regiaoResolvida = resolverRegiao(regiaoId, latitude, longitude);
+        if (regiaoResolvida != null) {
+            regiaoRepository.findById(regiaoResolvida).ifPresent(pontoFoco::setRegiao);
         }
         
         // Salva e retorna o ponto de foco criado
-        return pontoFocoRepository.save(pontoFoco);
+        return registrarNovo(pontoFoco);
     }
 
     /**
-     * Registra um novo ponto de foco com todos os dados
+     * Registra um novo ponto de foco com todos os dados.
+     * Se já houver um ponto de foco ativo próximo e recente, atualiza a intensidade e a área
+     * desse ponto em vez de criar outro. Sem região informada, a região é localizada pelo limite
+     * que contém as coordenadas.
      */
     @Transactional
     public PontoFoco registrarPontoFocoCompleto(Double latitude, Double longitude, 
                                             Double intensidade, Double areaEstimada,
                                             String descricao, Long regiaoId) {
+        Optional<PontoFoco> mesclado = mesclarSeDuplicada(deduplicador.novoLote(), latitude, longitude,
+                intensidade, areaEstimada);
+        if (mesclado.isPresent()) {
+            return mesclado.get();
+        }
+
         // Cria o ponto de foco usando a factory
         PontoFoco pontoFoco = PontoFocoFactory.criarPontoFocoCompleto(
                 latitude, longitude, intensidade, areaEstimada, descricao);
         
-        // Associa à região, se informada
-        if (regiaoId != null) {
-            Optional<Regiao> regiaoOpt = regiaoRepository.findById(regiaoId);
-            regiaoOpt.ifPresent(regiao -> {
-                pontoFoco.setRegiao(regiao);
-                // Recalcula o nível de risco da região após adicionar o ponto de foco
-                regiao.recalcularNivelRisco();
-                regiaoRepository.save(regiao);
-            });
+        // Associa à região informada ou à região que contém o ponto
+        Long regiaoResolvida = resolverRegiao(regiaoId, latitude, longitude);
+        if (regiaoResolvida != null) {
+            regiaoRepository.findById(regiaoResolvida).ifPresent(pontoFoco::setRegiao);
         }
         
         // Salva e retorna o ponto de foco criado
-        return pontoFocoRepository.save(pontoFoco);
+        return registrarNovo(pontoFoco);
+    }
+
+    /**
+     * Registra um lote de detecções em uma única transação, usando batch de inserts JDBC.
+     * Cada região é buscada uma única vez (do cache).
+     * Detecções sem região são associadas à região cujo limite contém as coordenadas.
+     * Detecções duplicadas de pontos de foco recentes (inclusive do próprio lote) são mescladas a eles.
+     * Detecções sem coordenadas ou fora dos limites geográficos são rejeitadas e registradas no log.
+     */
+    @Transactional
+    public ResultadoLoteDTO registrarPontosFocoEmLote(List<DeteccaoDTO> deteccoes) {
+        // Resolve cada região do lote uma única vez, pelo cache de segundo nível
+        // (findAllById faria uma consulta IN que não passa pelo cache)
+        Map<Long, Optional<Regiao>> regioes = new HashMap<>();
+
+        List<Long> idsRegistrados = new ArrayList<>(deteccoes.size());
+        List<Long> idsMesclados = new ArrayList<>();
+        Set<Long> regioesAfetadas = new HashSet<>();
+        // Pontos gravados pelo lote, candidatos às detecções seguintes até o commit
+        DeduplicadorDeteccoes.Lote lote = deduplicador.novoLote();
+        int rejeitados = 0;
+        int pendentes = 0;
+
+        for (int i = 0; i < deteccoes.size(); i++) {
+            DeteccaoDTO deteccao = deteccoes.get(i);
+            String motivo = motivoRejeicao(deteccao);
+            if (motivo != null) {
+                rejeitados++;
+                log.warn("Detecção {} do lote rejeitada ({}, {}): {}", i, deteccao.getLatitude(), deteccao.getLongitude(), motivo);
+                continue;
+            }
+
+            Optional<PontoFoco> mesclado = mesclarSeDuplicada(lote, deteccao.getLatitude(), deteccao.getLongitude(),
+                    deteccao.getIntensidade(), deteccao.getAreaEstimada());
+            if (mesclado.isPresent()) {
+                idsMesclados.add(mesclado.get().getId());
+                continue;
+            }
+
+            PontoFoco pontoFoco = PontoFocoFactory.criarPontoFocoCompleto(
+                    deteccao.getLatitude(), deteccao.getLongitude(), deteccao.getIntensidade(),
+                    deteccao.getAreaEstimada(), deteccao.getDescricao());
+
+            Long regiaoId = resolverRegiao(deteccao.getRegiaoId(), deteccao.getLatitude(), deteccao.getLongitude());
+            Regiao regiao = regiaoId != null
+                    ? regioes.computeIfAbsent(regiaoId, regiaoRepository::findById).orElse(null)
+                    : null;
+            if (regiao != null) {
+                pontoFoco.setRegiao(regiao);
+                regioesAfetadas.add(regiao.getId());
+            }
+
+            entityManager.persist(pontoFoco);
+            idsRegistrados.add(pontoFoco.getId());
+            lote.registrar(pontoFoco.getId(), pontoFoco.getLatitude(), pontoFoco.getLongitude());
+
+            // Descarrega o lote e limpa o contexto de persistência para manter a memória estável
+            if (++pendentes == tamanhoLote) {
+                entityManager.flush();
+                entityManager.clear();
+                pendentes = 0;
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        return ResultadoLoteDTO.builder()
+                .totalRecebidos(deteccoes.size())
+                .totalRegistrados(idsRegistrados.size())
+                .totalMesclados(idsMesclados.size())
+                .totalRejeitados(rejeitados)
+                .regioesAfetadas(regioesAfetadas.size())
+                .idsRegistrados(idsRegistrados)
+                .idsMesclados(idsMesclados)
+                .build();
+    }
+
+    /**
+     * Motivo pelo qual a detecção não pode ser registrada, ou null se ela for válida
+     * (também usado para recusar os envios da ingestão assíncrona)
+     */
+    static String motivoRejeicao(DeteccaoDTO deteccao) {
+        if (deteccao.getLatitude() == null || deteccao.getLongitude() == null) {
+            return "coordenadas ausentes";
+        }
+        if (!(Math.abs(deteccao.getLatitude()) <= 90.0) || !(Math.abs(deteccao.getLongitude()) <= 180.0)) {
+            return "coordenadas fora dos limites geográficos";
+        }
+        return null;
     }
 
     /**
@@ -119,13 +353,6 @@ public class PontoFocoService {
             PontoFoco pontoFoco = pontoFocoOpt.get();
             pontoFoco.atualizarStatus(novoStatus);
             
-            // Se o ponto de foco pertence a uma região, recalcula o nível de risco
-            if (pontoFoco.getRegiao() != null) {
-                Regiao regiao = pontoFoco.getRegiao();
-                regiao.recalcularNivelRisco();
-                regiaoRepository.save(regiao);
-            }
-            
             return Optional.of(pontoFocoRepository.save(pontoFoco));
         }
         
@@ -173,16 +400,7 @@ public class PontoFocoService {
         if (pontoFocoOpt.isPresent()) {
             PontoFoco pontoFoco = pontoFocoOpt.get();
             
-            // Se o ponto de foco pertence a uma região, recalcula o nível de risco após remover
-            Regiao regiao = pontoFoco.getRegiao();
-            
             pontoFocoRepository.delete(pontoFoco);
-            
-            if (regiao != null) {
-                regiao.recalcularNivelRisco();
-                regiaoRepository.save(regiao);
-            }
-            
             return true;
         }
         
@@ -190,16 +408,217 @@ public class PontoFocoService {
     }
 
     /**
-     * Lista pontos de foco por proximidade geográfica
+     * Lista pontos de foco por proximidade geográfica, paginados por ID
+     */
+    public PaginaDTO<PontoFoco> listarPorProximidade(Double latitude, Double longitude, Double raioGraus,
+                                                     String cursor, Integer tamanho) {
+        int limite = Paginacao.limitar(tamanho);
+        return Paginacao.montar(
+                pontoFocoRepository.findByProximidadeAposId(
+                        latitude, longitude, raioGraus, Paginacao.aposId(cursor), Paginacao.primeiros(limite)),
+                limite, this::cursorPorId);
+    }
+
+    /**
+     * Lista os pontos de foco que atendem a todos os critérios informados, paginados por ID
+     */
+    public PaginaDTO<PontoFoco> filtrar(FiltroPontoFocoDTO filtro, String cursor, Integer tamanho,
+                                        boolean incluirArquivados) {
+        validarFiltro(filtro);
+        int limite = Paginacao.limitar(tamanho);
+        long aposId = Paginacao.aposId(cursor);
+        List<PontoFoco> resultado = pontoFocoRepository.findByFiltroAposId(filtro, aposId, Paginacao.primeiros(limite));
+        if (incluirArquivados) {
+            resultado = Paginacao.intercalarPorId(resultado, converterArquivados(
+                    pontoFocoArquivadoRepository.findByFiltroAposId(filtro, aposId, Paginacao.primeiros(limite))),
+                    PontoFoco::getId);
+        }
+        return Paginacao.montar(resultado, limite, this::cursorPorId);
+    }
+
+    /**
+     * Lista os pontos de foco ativos e recentes mais próximos dentro de um raio em quilômetros,
+     * a partir do índice espacial em memória
+     */
+    public List<PontoFocoProximoDTO> listarPorRaio(Double latitude, Double longitude, Double raioKm, Integer tamanho) {
+        if (!(raioKm > 0)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Raio deve ser maior que zero");
+        }
+        return indiceEspacial.buscarPorRaio(latitude, longitude, raioKm, Paginacao.limitar(tamanho)).stream()
+                .map(resultado -> converterProximo(resultado.pontoFoco(), resultado.distanciaKm()))
+                .toList();
+    }
+
+    /**
+     * Lista os k pontos de foco ativos mais próximos, ordenados pela distância de grande círculo,
+     * a partir do índice espacial em memória
+     */
+    public List<PontoFocoProximoDTO> listarMaisProximos(Double latitude, Double longitude, Integer k,
+                                                        Double raioMaximoKm) {
+        if (k != null && k < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Quantidade de pontos de foco deve ser maior que zero");
+        }
+        if (raioMaximoKm != null && !(raioMaximoKm > 0)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Distância máxima deve ser maior que zero");
+        }
+        return indiceEspacial.buscarMaisProximos(latitude, longitude, Paginacao.limitar(k), raioMaximoKm).stream()
+                .map(resultado -> converterProximo(resultado.pontoFoco(), resultado.distanciaKm()))
+                .toList();
+    }
+
+    /**
+     * Busca pontos de foco pela descrição, dos mais relevantes para os menos relevantes
+     */
+    public List<ResultadoBuscaDTO<PontoFoco>> buscarPorTexto(String consulta, Integer limite) {
+        List<IndiceInvertido.Resultado> resultados = buscaTextual.buscarPontosFoco(consulta, Paginacao.limitar(limite));
+        if (resultados.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, PontoFoco> pontosFoco = new HashMap<>();
+        pontoFocoRepository.findByIdIn(resultados.stream().map(IndiceInvertido.Resultado::id).toList())
+                .forEach(pontoFoco -> pontosFoco.put(pontoFoco.getId(), pontoFoco));
+        return resultados.stream()
+                .filter(resultado -> pontosFoco.containsKey(resultado.id()))
+                .map(resultado -> ResultadoBuscaDTO.<PontoFoco>builder()
+                        .item(pontosFoco.get(resultado.id()))
+                        .pontuacao(resultado.pontuacao())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Lista as frentes de fogo (grupos de pontos de foco ativos próximos), da maior para a menor área estimada
+     */
+    public List<FrenteFogoDTO> listarFrentesFogo(Integer tamanho) {
+        return agrupadorFrentesFogo.listar(Paginacao.limitar(tamanho));
+    }
+
+    /**
+     * Busca uma frente de fogo pelo ID
+     */
+    public Optional<FrenteFogoDTO> buscarFrenteFogo(Long id) {
+        return agrupadorFrentesFogo.buscarPorId(id);
+    }
+
+    /**
+     * Busca a frente de fogo à qual um ponto de foco pertence
+     */
+    public Optional<FrenteFogoDTO> buscarFrenteFogoDoPontoFoco(Long pontoFocoId) {
+        return agrupadorFrentesFogo.buscarPorPontoFoco(pontoFocoId);
+    }
+
+    /**
+     * Lista pontos de foco por intensidade mínima em ordem descendente, paginados por intensidade e ID
      */
-    public List<PontoFoco> listarPorProximidade(Double latitude, Double longitude, Double raioGraus) {
-        return pontoFocoRepository.findByProximidade(latitude, longitude, raioGraus);
+    public PaginaDTO<PontoFoco> listarPorIntensidade(Double intensidadeMinima, String cursor, Integer tamanho) {
+        int limite = Paginacao.limitar(tamanho);
+        Paginacao.Cursor posicao = Paginacao.decodificar(cursor);
+        double aposIntensidade = posicao != null ? posicao.valorComoDouble() : Double.MAX_VALUE;
+        long aposId = posicao != null ? posicao.id() : 0L;
+        return Paginacao.montar(
+                pontoFocoRepository.findByIntensidadeAposCursor(
+                        intensidadeMinima, aposIntensidade, aposId, Paginacao.primeiros(limite)),
+                limite, p -> Paginacao.codificar(p.getIntensidade(), p.getId()));
+    }
+
+    private void validarFiltro(FiltroPontoFocoDTO filtro) {
+        if (filtro.getIntensidadeMinima() != null && filtro.getIntensidadeMaxima() != null
+                && filtro.getIntensidadeMinima() > filtro.getIntensidadeMaxima()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Intensidade mínima maior que a máxima");
+        }
+        if (filtro.getDetectadoDe() != null && filtro.getDetectadoAte() != null
+                && filtro.getDetectadoDe().isAfter(filtro.getDetectadoAte())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Início do período posterior ao fim");
+        }
+        boolean algumLimite = filtro.getLatitudeMinima() != null || filtro.getLongitudeMinima() != null
+                || filtro.getLatitudeMaxima() != null || filtro.getLongitudeMaxima() != null;
+        if (algumLimite && !filtro.temRetangulo()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Informe os quatro limites do retângulo (latitude e longitude mínimas e máximas)");
+        }
+        if (filtro.temRetangulo() && (filtro.getLatitudeMinima() > filtro.getLatitudeMaxima()
+                || filtro.getLongitudeMinima() > filtro.getLongitudeMaxima())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limites mínimos do retângulo maiores que os máximos");
+        }
     }
 
     /**
-     * Lista pontos de foco por intensidade mínima em ordem descendente
+     * Região informada pelo cliente ou, na falta dela, a região cujo limite contém as coordenadas
      */
-    public List<PontoFoco> listarPorIntensidade(Double intensidadeMinima) {
-        return pontoFocoRepository.findByIntensidadeGreaterThanOrderByIntensidadeDesc(intensidadeMinima);
+    private Long resolverRegiao(Long regiaoId, Double latitude, Double longitude) {
+        if (regiaoId != null || latitude == null || longitude == null) {
+            return regiaoId;
+        }
+        return indiceRegioes.localizar(latitude, longitude).orElse(null);
+    }
+
+    /**
+     * Salva um ponto de foco novo; ele passa a receber as próximas detecções duplicadas após o commit
+     */
+    private PontoFoco registrarNovo(PontoFoco pontoFoco) {
+        return pontoFocoRepository.save(pontoFoco);
+    }
+
+    /**
+     * Incorpora a detecção a um ponto de foco ativo próximo e recente, se houver
+     * @return Ponto de foco existente atualizado, ou vazio se a detecção é de uma nova queimada
+     */
+    private Optional<PontoFoco> mesclarSeDuplicada(DeduplicadorDeteccoes.Lote lote, Double latitude, Double longitude,
+                                                   Double intensidade, Double areaEstimada) {
+        if (latitude == null || longitude == null) {
+            return Optional.empty();
+        }
+        Optional<Long> duplicadaId = lote.buscarDuplicada(latitude, longitude);
+        if (duplicadaId.isEmpty()) {
+            return Optional.empty();
+        }
+
+        PontoFoco existente = entityManager.find(PontoFoco.class, duplicadaId.get());
+        if (existente == null || !existente.isAtivo()) {
+            // Removido ou encerrado por uma transação concorrente: o evento dela o retira do índice
+            return Optional.empty();
+        }
+
+        existente.mesclarDeteccao(intensidade, areaEstimada);
+        lote.registrar(existente.getId(), existente.getLatitude(), existente.getLongitude());
+        deduplicador.registrarMesclagem(existente.getId(), existente.getLatitude(), existente.getLongitude());
+        return Optional.of(existente);
+    }
+
+    /**
+     * Converte pontos de foco arquivados para a resposta, com as regiões lidas de uma vez
+     */
+    private List<PontoFoco> converterArquivados(List<PontoFocoArquivado> arquivados) {
+        if (arquivados.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Regiao> regioes = new HashMap<>();
+        regiaoRepository.findAllById(arquivados.stream()
+                        .map(PontoFocoArquivado::getRegiaoId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()))
+                .forEach(regiao -> regioes.put(regiao.getId(), regiao));
+        return arquivados.stream()
+                .map(arquivado -> arquivado.paraPontoFoco(
+                        arquivado.getRegiaoId() != null ? regioes.get(arquivado.getRegiaoId()) : null))
+                .toList();
+    }
+
+    private String cursorPorId(PontoFoco pontoFoco) {
+        return Paginacao.codificar(null, pontoFoco.getId());
+    }
+
+    private PontoFocoProximoDTO converterProximo(PontoFocoResumo resumo, double distanciaKm) {
+        return PontoFocoProximoDTO.builder()
+                .id(resumo.id())
+                .latitude(resumo.latitude())
+                .longitude(resumo.longitude())
+                .status(resumo.status())
+                .intensidade(resumo.intensidade())
+                .areaEstimadaMetrosQuadrados(resumo.areaEstimadaMetrosQuadrados())
+                .dataDeteccao(resumo.dataDeteccao())
+                .regiaoId(resumo.regiaoId())
+                .distanciaKm(distanciaKm)
+                .build();
     }
 }
@@ -1,75 +1,147 @@
 package br.com.fiap.queimadas.service;
 
+import br.com.fiap.queimadas.config.MetricasConfig;
 import br.com.fiap.queimadas.domain.entity.PontoFoco;
 import br.com.fiap.queimadas.domain.entity.Regiao;
+import br.com.fiap.queimadas.dto.PaginaDTO;
+import br.com.fiap.queimadas.dto.RegiaoRankingDTO;
+import br.com.fiap.queimadas.dto.RegiaoSugestaoDTO;
+import br.com.fiap.queimadas.dto.ResultadoRecalculoRiscoDTO;
 import br.com.fiap.queimadas.repository.RegiaoRepository;
+import br.com.fiap.queimadas.service.busca.BuscaTextual;
+import br.com.fiap.queimadas.service.cache.CacheRegiao;
+import br.com.fiap.queimadas.service.indice.GeometriaRegiao;
+import br.com.fiap.queimadas.service.indice.IndiceRegioes;
+import br.com.fiap.queimadas.service.ranking.RankingRegioes;
+import br.com.fiap.queimadas.service.risco.AvaliadorRiscoRegioes;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Serviço para gerenciamento de regiões monitoradas
  */
 @Service
+@Timed(MetricasConfig.TIMER_SERVICOS)
+@Slf4j
 public class RegiaoService {
 
     private final RegiaoRepository regiaoRepository;
+    private final CacheRegiao cacheRegiao;
+    private final IndiceRegioes indiceRegioes;
+    private final RankingRegioes rankingRegioes;
+    private final AvaliadorRiscoRegioes avaliadorRisco;
+    private final BuscaTextual buscaTextual;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
-    public RegiaoService(RegiaoRepository regiaoRepository) {
+    public RegiaoService(RegiaoRepository regiaoRepository, CacheRegiao cacheRegiao, IndiceRegioes indiceRegioes,
+                         RankingRegioes rankingRegioes, AvaliadorRiscoRegioes avaliadorRisco,
+                         BuscaTextual buscaTextual) {
         this.regiaoRepository = regiaoRepository;
+        this.cacheRegiao = cacheRegiao;
+        this.indiceRegioes = indiceRegioes;
+        this.rankingRegioes = rankingRegioes;
+        this.avaliadorRisco = avaliadorRisco;
+        this.buscaTextual = buscaTextual;
     }
 
     /**
-     * Lista todas as regiões
+     * Lista todas as regiões, paginadas por ID
      */
-    public List<Regiao> listarTodas() {
-        return regiaoRepository.findAll();
+    public PaginaDTO<Regiao> listarTodas(String cursor, Integer tamanho) {
+        int limite = Paginacao.limitar(tamanho);
+        return Paginacao.montar(
+                regiaoRepository.findByIdGreaterThanOrderByIdAsc(Paginacao.aposId(cursor), Paginacao.primeiros(limite)),
+                limite, this::cursorPorId);
     }
 
     /**
-     * Busca uma região pelo ID
+     * Busca uma região pelo ID (servida pelo cache de segundo nível)
      */
     public Optional<Regiao> buscarPorId(Long id) {
         return regiaoRepository.findById(id);
     }
 
     /**
-     * Lista regiões por nome
+     * Busca a região cujo limite contém as coordenadas (a mais específica, se houver regiões aninhadas)
      */
-    public List<Regiao> buscarPorNome(String nome) {
-        return regiaoRepository.findByNomeContainingIgnoreCase(nome);
+    public Optional<Regiao> localizar(Double latitude, Double longitude) {
+        return indiceRegioes.localizar(latitude, longitude).flatMap(regiaoRepository::findById);
     }
 
     /**
-     * Lista regiões por tipo
+     * Lista regiões por nome, paginadas por ID. Os IDs vêm da busca textual: cada palavra informada
+     * casa com o começo de uma palavra do nome, sem diferenciar maiúsculas nem acentos
      */
-    public List<Regiao> buscarPorTipo(String tipo) {
-        return regiaoRepository.findByTipoIgnoreCase(tipo);
+    public PaginaDTO<Regiao> buscarPorNome(String nome, String cursor, Integer tamanho) {
+        int limite = Paginacao.limitar(tamanho);
+        List<Long> ids = buscaTextual.filtrarRegioesPorNome(nome, Paginacao.aposId(cursor), limite + 1);
+        return Paginacao.montar(ids.isEmpty() ? List.of() : regiaoRepository.findByIdInOrderByIdAsc(ids),
+                limite, this::cursorPorId);
     }
 
     /**
-     * Lista regiões por nível de risco
+     * Sugere regiões para um nome parcialmente digitado, pela busca textual em memória
      */
-    public List<Regiao> listarPorNivelRiscoMinimo(Integer nivelRiscoMinimo) {
-        return regiaoRepository.findByNivelRiscoGreaterThanEqual(nivelRiscoMinimo);
+    public List<RegiaoSugestaoDTO> autocompletar(String prefixo, Integer limite) {
+        return buscaTextual.autocompletarRegioes(prefixo, Paginacao.limitar(limite));
     }
 
     /**
-     * Lista regiões ordenadas pelo número de pontos de foco ativos
+     * Lista regiões por tipo, paginadas por ID
      */
-    public List<Regiao> listarPorPontosFocoAtivos() {
-        return regiaoRepository.findAllOrderByPontosFocoAtivosDesc();
+    public PaginaDTO<Regiao> buscarPorTipo(String tipo, String cursor, Integer tamanho) {
+        int limite = Paginacao.limitar(tamanho);
+        return Paginacao.montar(
+                regiaoRepository.findByTipoIgnoreCaseAndIdGreaterThanOrderByIdAsc(
+                        tipo, Paginacao.aposId(cursor), Paginacao.primeiros(limite)),
+                limite, this::cursorPorId);
     }
 
     /**
-     * Lista regiões sem pontos de foco ativos
+     * Lista regiões por nível de risco, paginadas por ID
      */
-    public List<Regiao> listarRegioesSemPontosFocoAtivos() {
-        return regiaoRepository.findAllSemPontosFocoAtivos();
+    public PaginaDTO<Regiao> listarPorNivelRiscoMinimo(Integer nivelRiscoMinimo, String cursor, Integer tamanho) {
+        int limite = Paginacao.limitar(tamanho);
+        return Paginacao.montar(
+                regiaoRepository.findByNivelRiscoGreaterThanEqualAndIdGreaterThanOrderByIdAsc(
+                        nivelRiscoMinimo, Paginacao.aposId(cursor), Paginacao.primeiros(limite)),
+                limite, this::cursorPorId);
+    }
+
+    /**
+     * Lista regiões ordenadas pelo número de pontos de foco ativos, pela classificação em memória
+     * @param limite Quantidade máxima de regiões; null para todas
+     */
+    public List<RegiaoRankingDTO> listarPorPontosFocoAtivos(Integer limite) {
+        if (limite != null && limite < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limite deve ser maior que zero");
+        }
+        return rankingRegioes.listar(limite);
+    }
+
+    /**
+     * Lista regiões sem pontos de foco ativos, paginadas por ID
+     */
+    public PaginaDTO<Regiao> listarRegioesSemPontosFocoAtivos(String cursor, Integer tamanho) {
+        int limite = Paginacao.limitar(tamanho);
+        return Paginacao.montar(
+                regiaoRepository.findSemPontosFocoAtivosAposId(Paginacao.aposId(cursor), Paginacao.primeiros(limite)),
+                limite, this::cursorPorId);
     }
 
     /**
@@ -81,6 +153,10 @@ public class RegiaoService {
         if (regiao.getNivelRisco() == null) {
             regiao.setNivelRisco(1);
         }
+        // O contador de ativos é mantido pelo sistema
+        regiao.setTotalPontosFocoAtivos(0L);
+        regiao.setPontuacaoRisco(0.0);
+        validarLimite(regiao.getLimite());
         return regiaoRepository.save(regiao);
     }
 
@@ -99,10 +175,14 @@ public class RegiaoService {
             regiaoExistente.setTipo(regiaoAtualizada.getTipo());
             regiaoExistente.setAreaMetrosQuadrados(regiaoAtualizada.getAreaMetrosQuadrados());
             regiaoExistente.setDescricao(regiaoAtualizada.getDescricao());
+            validarLimite(regiaoAtualizada.getLimite());
+            regiaoExistente.setLimite(regiaoAtualizada.getLimite());
             
             // Não atualiza automaticamente o nível de risco ou pontos de foco
             
-            return Optional.of(regiaoRepository.save(regiaoExistente));
+            Regiao regiaoSalva = regiaoRepository.save(regiaoExistente);
+            cacheRegiao.invalidar(id);
+            return Optional.of(regiaoSalva);
         }
         
         return Optional.empty();
@@ -118,7 +198,6 @@ public class RegiaoService {
         if (regiaoOpt.isPresent()) {
             Regiao regiao = regiaoOpt.get();
             regiao.adicionarPontoFoco(pontoFoco);
-            regiao.recalcularNivelRisco();
             return Optional.of(regiaoRepository.save(regiao));
         }
         
@@ -132,24 +211,67 @@ public class RegiaoService {
     public boolean removerRegiao(Long id) {
         if (regiaoRepository.existsById(id)) {
             regiaoRepository.deleteById(id);
+            cacheRegiao.invalidar(id);
             return true;
         }
         return false;
     }
 
     /**
-     * Recalcula o nível de risco de uma região
+     * Recalcula o total de pontos de foco ativos, o nível e a pontuação de risco de uma região
      */
     @Transactional
     public Optional<Regiao> recalcularNivelRisco(Long id) {
         Optional<Regiao> regiaoOpt = regiaoRepository.findById(id);
         
         if (regiaoOpt.isPresent()) {
+            avaliadorRisco.recalcular(id);
+
+            // Relê a região do banco, já que a atualização foi feita fora do contexto de persistência
             Regiao regiao = regiaoOpt.get();
-            regiao.recalcularNivelRisco();
-            return Optional.of(regiaoRepository.save(regiao));
+            entityManager.refresh(regiao);
+            return Optional.of(regiao);
         }
         
         return Optional.empty();
     }
+
+    /**
+     * Recalcula o total de pontos de foco ativos, o nível e a pontuação de risco de todas as regiões,
+     * a partir de uma leitura dos pontos de foco ativos, gravando em lote só as regiões alteradas
+     * @return Duração e quantidade de regiões avaliadas e atualizadas
+     */
+    @Transactional
+    public ResultadoRecalculoRiscoDTO recalcularNivelRiscoTodas() {
+        LocalDateTime inicio = LocalDateTime.now();
+        long inicioNanos = System.nanoTime();
+        AvaliadorRiscoRegioes.Resultado resultado = avaliadorRisco.recalcular(null);
+        long duracaoMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicioNanos);
+        log.info("Nível de risco recalculado em {} ms: {} região(ões) avaliada(s), {} atualizada(s)",
+                duracaoMs, resultado.regioesAvaliadas(), resultado.regioesAtualizadas().size());
+        return ResultadoRecalculoRiscoDTO.builder()
+                .dataExecucao(inicio)
+                .duracaoMs(duracaoMs)
+                .regioesAvaliadas(resultado.regioesAvaliadas())
+                .regioesAtualizadas(resultado.regioesAtualizadas().size())
+                .build();
+    }
+
+    /**
+     * Rejeita limites que não sejam um POLYGON ou MULTIPOLYGON em WKT válido
+     */
+    private void validarLimite(String limite) {
+        if (limite == null) {
+            return;
+        }
+        try {
+            GeometriaRegiao.lerWkt(limite);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limite inválido: " + e.getMessage());
+        }
+    }
+
+    private String cursorPorId(Regiao regiao) {
+        return Paginacao.codificar(null, regiao.getId());
+    }
 }
@@ -0,0 +1,107 @@
+package br.com.fiap.queimadas.service;
+
+import br.com.fiap.queimadas.config.MetricasConfig;
+import br.com.fiap.queimadas.domain.enums.StatusPontoFoco;
+import br.com.fiap.queimadas.dto.PeriodoDeteccoesDTO;
+import br.com.fiap.queimadas.dto.ResultadoReconstrucaoSerieDTO;
+import br.com.fiap.queimadas.dto.SerieDeteccoesDTO;
+import br.com.fiap.queimadas.service.serie.SerieTemporalDeteccoes;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consulta e reconstrução da série de detecções por hora e por dia
+ */
+@Service
+@Slf4j
+@Timed(MetricasConfig.TIMER_SERVICOS)
+public class SerieDeteccoesService {
+
+    private final SerieTemporalDeteccoes serie;
+
+    @Autowired
+    public SerieDeteccoesService(SerieTemporalDeteccoes serie) {
+        this.serie = serie;
+    }
+
+    /**
+     * Consulta a quantidade de detecções por período
+     * @param de Início da janela; padrão, o início da retenção
+     * @param ate Fim da janela; padrão, agora
+     * @param regiaoId Região; null para todas
+     * @param status Status contados; null ou vazio para todos
+     * @return Um período por hora ou dia da janela, inclusive os sem detecções
+     */
+    public SerieDeteccoesDTO consultar(SerieTemporalDeteccoes.Granularidade granularidade, LocalDateTime de,
+                                       LocalDateTime ate, Long regiaoId, Set<StatusPontoFoco> status) {
+        LocalDateTime inicioRetencao = serie.inicioRetencao(granularidade);
+        LocalDateTime inicio = de != null ? de : inicioRetencao;
+        LocalDateTime fim = ate != null ? ate : LocalDateTime.now();
+        if (inicio.isAfter(fim)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Início da janela posterior ao fim");
+        }
+        if (granularidade.periodo(inicio) < granularidade.periodo(inicioRetencao)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Janela anterior à retenção de " + serie.getDiasRetencao() + " dias (início em " + inicioRetencao + ")");
+        }
+        if (granularidade.periodo(fim) > granularidade.periodo(LocalDateTime.now())) {
+            fim = LocalDateTime.now();
+        }
+        Set<StatusPontoFoco> contados = status == null || status.isEmpty()
+                ? EnumSet.allOf(StatusPontoFoco.class) : EnumSet.copyOf(status);
+
+        List<PeriodoDeteccoesDTO> periodos = new ArrayList<>();
+        int total = 0;
+        for (SerieTemporalDeteccoes.Periodo periodo : serie.consultar(granularidade, inicio, fim, regiaoId)) {
+            Map<StatusPontoFoco, Integer> porStatus = new EnumMap<>(StatusPontoFoco.class);
+            int quantidade = 0;
+            for (StatusPontoFoco s : contados) {
+                int valor = periodo.quantidadePorStatus()[s.ordinal()];
+                porStatus.put(s, valor);
+                quantidade += valor;
+            }
+            total += quantidade;
+            periodos.add(PeriodoDeteccoesDTO.builder()
+                    .inicio(periodo.inicio())
+                    .quantidade(quantidade)
+                    .quantidadePorStatus(porStatus)
+                    .build());
+        }
+        return SerieDeteccoesDTO.builder()
+                .granularidade(granularidade)
+                .regiaoId(regiaoId)
+                .total(total)
+                .periodos(periodos)
+                .build();
+    }
+
+    /**
+     * Reconstrói a série a partir dos pontos de foco gravados
+     */
+    public ResultadoReconstrucaoSerieDTO reconstruir() {
+        LocalDateTime inicio = LocalDateTime.now();
+        long inicioNanos = System.nanoTime();
+        int contados = serie.reconstruir();
+        long duracaoMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicioNanos);
+        log.info("Série de detecções reconstruída em {} ms com {} ponto(s) de foco", duracaoMs, contados);
+        return ResultadoReconstrucaoSerieDTO.builder()
+                .dataExecucao(inicio)
+                .duracaoMs(duracaoMs)
+                .pontosFocoContados(contados)
+                .diasRetencao(serie.getDiasRetencao())
+                .build();
+    }
+}
@@ -0,0 +1,467 @@
+package br.com.fiap.queimadas.service.agrupamento;
+
+import br.com.fiap.queimadas.domain.event.PontoFocoEvent;
+import br.com.fiap.queimadas.domain.event.PontoFocoResumo;
+import br.com.fiap.queimadas.dto.FrenteFogoDTO;
+import br.com.fiap.queimadas.repository.PontoFocoRepository;
+import br.com.fiap.queimadas.service.indice.GeoUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Agrupamento dos pontos de foco ativos em frentes de fogo.
+ * <p>
+ * Dois pontos ativos a até {@code distancia-km} um do outro pertencem à mesma frente, e a frente é
+ * o componente conexo desse grafo de vizinhança (o DBSCAN com mínimo de 2 pontos, em que todo ponto
+ * com um vizinho é núcleo). Grupos com menos de {@code minimo-pontos} pontos não são listados como frentes.
+ * <p>
+ * A carga inicial é paralela: os pontos são distribuídos em uma grade com células do tamanho da
+ * distância e os pares vizinhos são unidos em uma união-busca sem bloqueios. Depois disso, cada
+ * evento de ponto de foco altera apenas a frente envolvida: um ponto novo une as frentes vizinhas
+ * e a saída de um ponto só reavalia a conectividade da sua frente.
+ */
+@Component
+@Slf4j
+public class AgrupadorFrentesFogo {
+
+    /**
+     * Frente de fogo e os totais dos seus pontos, mantidos a cada alteração. A posição dos pontos é
+     * somada como vetor unitário (x, y, z) em vez de latitude e longitude, para que uma frente que
+     * cruza o antimeridiano não tenha o centroide do outro lado do globo
+     */
+    private static final class Frente {
+        private final long id;
+        private final Set<Long> membros = new HashSet<>();
+        private double somaX;
+        private double somaY;
+        private double somaZ;
+        private double somaArea;
+        private double intensidadeMaxima = Double.NaN;
+
+        private Frente(long id) {
+            this.id = id;
+        }
+
+        private void adicionar(PontoFocoResumo ponto) {
+            membros.add(ponto.id());
+            somar(ponto, 1);
+            if (ponto.intensidade() != null && !(ponto.intensidade() <= intensidadeMaxima)) {
+                intensidadeMaxima = ponto.intensidade();
+            }
+        }
+
+        private void somar(PontoFocoResumo ponto, int sinal) {
+            double latitude = Math.toRadians(ponto.latitude());
+            double longitude = Math.toRadians(ponto.longitude());
+            somaX += sinal * Math.cos(latitude) * Math.cos(longitude);
+            somaY += sinal * Math.cos(latitude) * Math.sin(longitude);
+            somaZ += sinal * Math.sin(latitude);
+            somaArea += sinal * (ponto.areaEstimadaMetrosQuadrados() != null ? ponto.areaEstimadaMetrosQuadrados() : 0.0);
+        }
+    }
+
+    private static final double TAMANHO_MINIMO_CELULA_GRAUS = 0.01;
+
+    @FunctionalInterface
+    private interface VisitanteCelula {
+        void visitar(int linha, int coluna);
+    }
+
+    private final PontoFocoRepository pontoFocoRepository;
+    private final double distanciaKm;
+    private final double tamanhoCelulaGraus;
+    private final int colunas;
+    private final int minimoPontos;
+
+    private final ReadWriteLock trava = new ReentrantReadWriteLock();
+    private final Map<Long, PontoFocoResumo> pontos = new HashMap<>();
+    private final Map<Long, Set<Long>> celulas = new HashMap<>();
+    private final Map<Long, Frente> frentePorPonto = new HashMap<>();
+    private final Map<Long, Frente> frentes = new HashMap<>();
+    private long proximoIdFrente = 1;
+
+    @Autowired
+    public AgrupadorFrentesFogo(PontoFocoRepository pontoFocoRepository,
+                                @Value("${queimadas.frentes-fogo.distancia-km:1.5}") double distanciaKm,
+                                @Value("${queimadas.frentes-fogo.minimo-pontos:2}") int minimoPontos) {
+        this.pontoFocoRepository = pontoFocoRepository;
+        this.distanciaKm = distanciaKm;
+        // Células menores que o mínimo são ampliadas, para que o número de cada célula caiba em um int
+        this.tamanhoCelulaGraus = Math.max(GeoUtils.raioEmGrausLatitude(distanciaKm), TAMANHO_MINIMO_CELULA_GRAUS);
+        this.colunas = (int) Math.ceil(360.0 / tamanhoCelulaGraus);
+        this.minimoPontos = minimoPontos;
+    }
+
+    /**
+     * Agrupa todos os pontos de foco ativos na inicialização, em paralelo
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void carregar() {
+        trava.writeLock().lock();
+        try (Stream<PontoFocoResumo> resumos = pontoFocoRepository.streamAtivos()) {
+            long inicio = System.nanoTime();
+            construir(resumos.toList());
+            log.info("Frentes de fogo carregadas: {} pontos de foco ativos em {} grupos ({} ms)",
+                    pontos.size(), frentes.size(), (System.nanoTime() - inicio) / 1_000_000);
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Mantém as frentes sincronizadas com as alterações confirmadas no banco
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarPontoFoco(PontoFocoEvent evento) {
+        PontoFocoResumo resumo = evento.pontoFoco();
+        trava.writeLock().lock();
+        try {
+            PontoFocoResumo anterior = pontos.get(resumo.id());
+            if (evento.tipo() == PontoFocoEvent.Tipo.REMOVIDO || !resumo.isAtivo()) {
+                if (anterior != null) {
+                    remover(anterior);
+                }
+            } else if (anterior == null) {
+                inserir(resumo);
+            } else if (anterior.latitude() == resumo.latitude() && anterior.longitude() == resumo.longitude()) {
+                atualizar(anterior, resumo);
+            } else {
+                remover(anterior);
+                inserir(resumo);
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Lista as frentes de fogo, da maior para a menor área estimada total
+     * @param quantidade Quantidade máxima de frentes
+     * @return Frentes com pelo menos o mínimo configurado de pontos de foco
+     */
+    public List<FrenteFogoDTO> listar(int quantidade) {
+        trava.readLock().lock();
+        try {
+            return frentes.values().stream()
+                    .filter(frente -> frente.membros.size() >= minimoPontos)
+                    .sorted(Comparator.comparingDouble((Frente frente) -> frente.somaArea).reversed()
+                            .thenComparing(frente -> frente.membros.size(), Comparator.reverseOrder())
+                            .thenComparingLong(frente -> frente.id))
+                    .limit(quantidade)
+                    .map(this::converter)
+                    .toList();
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca a frente de fogo de um ponto de foco
+     * @param pontoFocoId ID do ponto de foco
+     * @return Frente do ponto, se ele estiver ativo e agrupado com o mínimo configurado de pontos
+     */
+    public Optional<FrenteFogoDTO> buscarPorPontoFoco(Long pontoFocoId) {
+        trava.readLock().lock();
+        try {
+            return Optional.ofNullable(frentePorPonto.get(pontoFocoId))
+                    .filter(frente -> frente.membros.size() >= minimoPontos)
+                    .map(this::converter);
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca uma frente de fogo pelo ID
+     */
+    public Optional<FrenteFogoDTO> buscarPorId(Long id) {
+        trava.readLock().lock();
+        try {
+            return Optional.ofNullable(frentes.get(id))
+                    .filter(frente -> frente.membros.size() >= minimoPontos)
+                    .map(this::converter);
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    private void construir(List<PontoFocoResumo> ativos) {
+        int total = ativos.size();
+        // Ordena os pontos pelo número da célula: cada célula vira um intervalo contínuo do vetor ordenado
+        long[] ordem = new long[total];
+        IntStream.range(0, total).parallel().forEach(i -> {
+            PontoFocoResumo ponto = ativos.get(i);
+            ordem[i] = ((long) numeroCelula(linha(ponto.latitude()), coluna(ponto.longitude())) << 32) | i;
+        });
+        Arrays.parallelSort(ordem);
+
+        double[] latitudes = new double[total];
+        double[] longitudes = new double[total];
+        int[] numerosCelulas = new int[total];
+        int[] inicios = new int[total + 1];
+        int distintas = 0;
+        for (int k = 0; k < total; k++) {
+            PontoFocoResumo ponto = ativos.get((int) ordem[k]);
+            latitudes[k] = ponto.latitude();
+            longitudes[k] = ponto.longitude();
+            int numero = (int) (ordem[k] >>> 32);
+            if (distintas == 0 || numerosCelulas[distintas - 1] != numero) {
+                numerosCelulas[distintas] = numero;
+                inicios[distintas++] = k;
+            }
+        }
+        inicios[distintas] = total;
+        int totalCelulas = distintas;
+
+        // Cada par de vizinhos é unido uma vez, pelo ponto de menor posição
+        UniaoBuscaConcorrente uniao = new UniaoBuscaConcorrente(total);
+        IntStream.range(0, total).parallel().forEach(k -> percorrerCelulasVizinhas(latitudes[k], longitudes[k], (l, c) -> {
+            int celula = Arrays.binarySearch(numerosCelulas, 0, totalCelulas, numeroCelula(l, c));
+            if (celula < 0) {
+                return;
+            }
+            for (int m = Math.max(k + 1, inicios[celula]); m < inicios[celula + 1]; m++) {
+                if (Math.abs(latitudes[m] - latitudes[k]) <= tamanhoCelulaGraus
+                        && GeoUtils.distanciaKm(latitudes[k], longitudes[k], latitudes[m], longitudes[m]) <= distanciaKm) {
+                    uniao.unir(k, m);
+                }
+            }
+        }));
+
+        pontos.clear();
+        celulas.clear();
+        frentePorPonto.clear();
+        frentes.clear();
+        Map<Integer, Frente> frentePorRaiz = new HashMap<>();
+        for (int k = 0; k < total; k++) {
+            PontoFocoResumo ponto = ativos.get((int) ordem[k]);
+            Frente frente = frentePorRaiz.computeIfAbsent(uniao.buscar(k), raiz -> novaFrente());
+            frente.adicionar(ponto);
+            frentePorPonto.put(ponto.id(), frente);
+            pontos.put(ponto.id(), ponto);
+            celulas.computeIfAbsent(chave(linha(ponto.latitude()), coluna(ponto.longitude())), chave -> new HashSet<>())
+                    .add(ponto.id());
+        }
+    }
+
+    private void inserir(PontoFocoResumo ponto) {
+        pontos.put(ponto.id(), ponto);
+        celulas.computeIfAbsent(chave(linha(ponto.latitude()), coluna(ponto.longitude())), k -> new HashSet<>()).add(ponto.id());
+
+        // Frentes vizinhas, que o novo ponto passa a conectar
+        Set<Frente> vizinhas = new HashSet<>();
+        for (Long vizinho : buscarVizinhos(ponto)) {
+            vizinhas.add(frentePorPonto.get(vizinho));
+        }
+        Frente destino = vizinhas.stream()
+                .max(Comparator.comparingInt((Frente frente) -> frente.membros.size()))
+                .orElseGet(this::novaFrente);
+        // As frentes menores são incorporadas à maior, para mover o mínimo de pontos
+        for (Frente origem : vizinhas) {
+            if (origem != destino) {
+                for (Long membro : origem.membros) {
+                    destino.adicionar(pontos.get(membro));
+                    frentePorPonto.put(membro, destino);
+                }
+                frentes.remove(origem.id);
+            }
+        }
+        destino.adicionar(ponto);
+        frentePorPonto.put(ponto.id(), destino);
+    }
+
+    private void remover(PontoFocoResumo ponto) {
+        pontos.remove(ponto.id());
+        long chave = chave(linha(ponto.latitude()), coluna(ponto.longitude()));
+        Set<Long> celula = celulas.get(chave);
+        if (celula != null) {
+            celula.remove(ponto.id());
+            if (celula.isEmpty()) {
+                celulas.remove(chave);
+            }
+        }
+
+        Frente frente = frentePorPonto.remove(ponto.id());
+        frente.membros.remove(ponto.id());
+        if (frente.membros.isEmpty()) {
+            frentes.remove(frente.id);
+            return;
+        }
+
+        // Com menos de dois vizinhos o ponto não ligava partes da frente; caso contrário, a frente pode ter se dividido
+        List<Long> vizinhos = buscarVizinhos(ponto);
+        if (vizinhos.size() < 2) {
+            frente.somar(ponto, -1);
+            if (ponto.intensidade() != null && ponto.intensidade() >= frente.intensidadeMaxima) {
+                recalcular(frente);
+            }
+            return;
+        }
+        dividir(frente, vizinhos);
+    }
+
+    private void atualizar(PontoFocoResumo anterior, PontoFocoResumo atual) {
+        pontos.put(atual.id(), atual);
+        Frente frente = frentePorPonto.get(atual.id());
+        frente.somar(anterior, -1);
+        frente.somar(atual, 1);
+        if (atual.intensidade() != null && !(atual.intensidade() <= frente.intensidadeMaxima)) {
+            frente.intensidadeMaxima = atual.intensidade();
+        } else if (anterior.intensidade() != null && anterior.intensidade() >= frente.intensidadeMaxima) {
+            recalcular(frente);
+        }
+    }
+
+    /**
+     * Separa os componentes conexos restantes de uma frente que perdeu um ponto de ligação.
+     * A partir de cada vizinho do ponto removido, uma busca em largura restrita à frente marca
+     * o componente; o primeiro componente continua com a frente original.
+     */
+    private void dividir(Frente frente, List<Long> vizinhosRemovido) {
+        Set<Long> visitados = new HashSet<>();
+        List<Set<Long>> componentes = new ArrayList<>();
+        for (Long inicio : vizinhosRemovido) {
+            if (visitados.contains(inicio)) {
+                continue;
+            }
+            Set<Long> componente = new HashSet<>();
+            Deque<Long> fila = new ArrayDeque<>();
+            fila.add(inicio);
+            visitados.add(inicio);
+            while (!fila.isEmpty()) {
+                Long atual = fila.poll();
+                componente.add(atual);
+                for (Long vizinho : buscarVizinhos(pontos.get(atual))) {
+                    if (frentePorPonto.get(vizinho) == frente && visitados.add(vizinho)) {
+                        fila.add(vizinho);
+                    }
+                }
+            }
+            componentes.add(componente);
+            if (componente.size() == frente.membros.size()) {
+                break; // A frente continua conexa
+            }
+        }
+
+        componentes.sort(Comparator.comparingInt((Set<Long> componente) -> componente.size()).reversed());
+        frente.membros.retainAll(componentes.get(0));
+        recalcular(frente);
+        for (int i = 1; i < componentes.size(); i++) {
+            Frente nova = novaFrente();
+            for (Long membro : componentes.get(i)) {
+                nova.adicionar(pontos.get(membro));
+                frentePorPonto.put(membro, nova);
+            }
+        }
+    }
+
+    private void recalcular(Frente frente) {
+        frente.somaX = 0;
+        frente.somaY = 0;
+        frente.somaZ = 0;
+        frente.somaArea = 0;
+        frente.intensidadeMaxima = Double.NaN;
+        for (Long membro : List.copyOf(frente.membros)) {
+            frente.adicionar(pontos.get(membro));
+        }
+    }
+
+    private Frente novaFrente() {
+        Frente frente = new Frente(proximoIdFrente++);
+        frentes.put(frente.id, frente);
+        return frente;
+    }
+
+    private List<Long> buscarVizinhos(PontoFocoResumo ponto) {
+        List<Long> vizinhos = new ArrayList<>();
+        percorrerCelulasVizinhas(ponto.latitude(), ponto.longitude(), (l, c) -> {
+            Set<Long> celula = celulas.get(chave(l, c));
+            if (celula == null) {
+                return;
+            }
+            for (Long id : celula) {
+                if (!id.equals(ponto.id()) && vizinhos(ponto, pontos.get(id))) {
+                    vizinhos.add(id);
+                }
+            }
+        });
+        return vizinhos;
+    }
+
+    private boolean vizinhos(PontoFocoResumo a, PontoFocoResumo b) {
+        return GeoUtils.distanciaKm(a.latitude(), a.longitude(), b.latitude(), b.longitude()) <= distanciaKm;
+    }
+
+    /**
+     * Visita as células que podem conter pontos a até a distância configurada do ponto
+     */
+    private void percorrerCelulasVizinhas(double latitude, double longitude, VisitanteCelula visitante) {
+        double dLon = GeoUtils.raioEmGrausLongitude(distanciaKm, latitude);
+        int linhaMin = linha(Math.max(-90.0, latitude - tamanhoCelulaGraus));
+        int linhaMax = linha(Math.min(90.0, latitude + tamanhoCelulaGraus));
+        int colunaMin = (int) Math.floor((longitude - dLon + 180.0) / tamanhoCelulaGraus);
+        int colunaMax = (int) Math.floor((longitude + dLon + 180.0) / tamanhoCelulaGraus);
+        if (colunaMax - colunaMin >= colunas) {
+            colunaMin = 0;
+            colunaMax = colunas - 1;
+        }
+        for (int l = linhaMin; l <= linhaMax; l++) {
+            for (int c = colunaMin; c <= colunaMax; c++) {
+                visitante.visitar(l, Math.floorMod(c, colunas));
+            }
+        }
+    }
+
+    private FrenteFogoDTO converter(Frente frente) {
+        int quantidade = frente.membros.size();
+        return FrenteFogoDTO.builder()
+                .id(frente.id)
+                .quantidadePontosFoco(quantidade)
+                // Direção da soma dos vetores, de volta a latitude e longitude
+                .latitudeCentroide(Math.toDegrees(Math.atan2(frente.somaZ, Math.hypot(frente.somaX, frente.somaY))))
+                .longitudeCentroide(Math.toDegrees(Math.atan2(frente.somaY, frente.somaX)))
+                .areaEstimadaTotalMetrosQuadrados(frente.somaArea)
+                .intensidadeMaxima(Double.isNaN(frente.intensidadeMaxima) ? null : frente.intensidadeMaxima)
+                .idsPontosFoco(frente.membros.stream().sorted().toList())
+                .build();
+    }
+
+    private int linha(double latitude) {
+        return (int) Math.floor((latitude + 90.0) / tamanhoCelulaGraus);
+    }
+
+    private int coluna(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180.0) / tamanhoCelulaGraus), colunas);
+    }
+
+    private int numeroCelula(int linha, int coluna) {
+        return linha * colunas + coluna;
+    }
+
+    private static long chave(int linha, int coluna) {
+        return ((long) linha << 32) | (coluna & 0xffffffffL);
+    }
+}
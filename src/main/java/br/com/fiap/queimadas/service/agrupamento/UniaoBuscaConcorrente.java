@@ -0,0 +1,48 @@
+package br.com.fiap.queimadas.service.agrupamento;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Estrutura de união-busca (union-find) sem bloqueios, para unir elementos a partir de várias
+ * threads ao mesmo tempo. A raiz de maior índice é sempre ligada à de menor índice por
+ * compare-and-set, e a compressão de caminho é feita por halving, também com compare-and-set.
+ */
+final class UniaoBuscaConcorrente {
+
+    private final AtomicIntegerArray pais;
+
+    UniaoBuscaConcorrente(int tamanho) {
+        this.pais = new AtomicIntegerArray(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            pais.set(i, i);
+        }
+    }
+
+    int buscar(int elemento) {
+        int atual = elemento;
+        int pai;
+        while ((pai = pais.get(atual)) != atual) {
+            int avo = pais.get(pai);
+            // Path halving; se outra thread alterou o pai nesse meio tempo, apenas segue adiante
+            pais.compareAndSet(atual, pai, avo);
+            atual = avo;
+        }
+        return atual;
+    }
+
+    void unir(int a, int b) {
+        while (true) {
+            int raizA = buscar(a);
+            int raizB = buscar(b);
+            if (raizA == raizB) {
+                return;
+            }
+            int maior = Math.max(raizA, raizB);
+            int menor = Math.min(raizA, raizB);
+            // Só liga se a raiz maior ainda for raiz; caso contrário, outra thread a ligou e a busca recomeça
+            if (pais.compareAndSet(maior, maior, menor)) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package br.com.fiap.queimadas.service.busca;
+
+import br.com.fiap.queimadas.domain.event.AcaoCombateEvent;
+import br.com.fiap.queimadas.domain.event.PontoFocoEvent;
+import br.com.fiap.queimadas.domain.event.PontosFocoArquivadosEvent;
+import br.com.fiap.queimadas.domain.event.RegiaoEvent;
+import br.com.fiap.queimadas.dto.RegiaoSugestaoDTO;
+import br.com.fiap.queimadas.repository.AcaoCombateRepository;
+import br.com.fiap.queimadas.repository.PontoFocoRepository;
+import br.com.fiap.queimadas.repository.RegiaoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Busca textual sobre a descrição dos pontos de foco, o tipo e a descrição das ações de combate e o
+ * nome das regiões, por índices invertidos em memória carregados na inicialização e atualizados a
+ * cada alteração confirmada no banco
+ */
+@Component
+@Slf4j
+public class BuscaTextual {
+
+    private final PontoFocoRepository pontoFocoRepository;
+    private final AcaoCombateRepository acaoCombateRepository;
+    private final RegiaoRepository regiaoRepository;
+
+    private final ReadWriteLock trava = new ReentrantReadWriteLock();
+    private final IndiceInvertido pontosFoco = new IndiceInvertido();
+    // Tipo e descrição juntos, para a busca com relevância
+    private final IndiceInvertido acoes = new IndiceInvertido();
+    // Só o tipo, para a listagem por tipo de ação
+    private final IndiceInvertido tiposAcao = new IndiceInvertido();
+    private final IndiceInvertido regioes = new IndiceInvertido();
+    private final Map<Long, String> nomesRegioes = new HashMap<>();
+
+    @Autowired
+    public BuscaTextual(PontoFocoRepository pontoFocoRepository, AcaoCombateRepository acaoCombateRepository,
+                        RegiaoRepository regiaoRepository) {
+        this.pontoFocoRepository = pontoFocoRepository;
+        this.acaoCombateRepository = acaoCombateRepository;
+        this.regiaoRepository = regiaoRepository;
+    }
+
+    /**
+     * Monta os índices na inicialização
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void carregar() {
+        trava.writeLock().lock();
+        try (Stream<Object[]> descricoes = pontoFocoRepository.streamDescricoes();
+             Stream<Object[]> textosAcoes = acaoCombateRepository.streamTextos()) {
+            // Eventos recebidos antes da carga (dados iniciais, por exemplo) já estão no banco
+            pontosFoco.limpar();
+            acoes.limpar();
+            tiposAcao.limpar();
+            regioes.limpar();
+            nomesRegioes.clear();
+            descricoes.forEach(linha -> pontosFoco.indexar((Long) linha[0], (String) linha[1]));
+            textosAcoes.forEach(linha -> indexarAcao((Long) linha[0], (String) linha[1], (String) linha[2]));
+            for (Object[] linha : regiaoRepository.findNomes()) {
+                indexarRegiao((Long) linha[0], (String) linha[1]);
+            }
+            log.info("Busca textual carregada com {} pontos de foco, {} ações de combate e {} regiões",
+                    pontosFoco.tamanho(), acoes.tamanho(), regioes.tamanho());
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarPontoFoco(PontoFocoEvent evento) {
+        long id = evento.pontoFoco().id();
+        escrever(() -> {
+            if (evento.tipo() == PontoFocoEvent.Tipo.REMOVIDO) {
+                pontosFoco.remover(id);
+            } else {
+                pontosFoco.indexar(id, evento.descricao());
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarAcaoCombate(AcaoCombateEvent evento) {
+        long id = evento.acaoId();
+        escrever(() -> {
+            if (evento.tipo() == AcaoCombateEvent.Tipo.REMOVIDA) {
+                acoes.remover(id);
+                tiposAcao.remover(id);
+            } else {
+                indexarAcao(id, evento.tipoAcao(), evento.descricao());
+            }
+        });
+    }
+
+    /**
+     * Retira os pontos de foco e as ações de combate arquivados: a busca textual cobre só as tabelas ativas
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoArquivarPontosFoco(PontosFocoArquivadosEvent evento) {
+        escrever(() -> {
+            evento.pontoFocoIds().forEach(pontosFoco::remover);
+            evento.acaoCombateIds().forEach(id -> {
+                acoes.remover(id);
+                tiposAcao.remover(id);
+            });
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarRegiao(RegiaoEvent evento) {
+        long id = evento.regiaoId();
+        escrever(() -> {
+            if (evento.tipo() == RegiaoEvent.Tipo.REMOVIDA) {
+                regioes.remover(id);
+                nomesRegioes.remove(id);
+            } else {
+                indexarRegiao(id, evento.nome());
+            }
+        });
+    }
+
+    /**
+     * Pontos de foco com a descrição mais relevante para a consulta
+     */
+    public List<IndiceInvertido.Resultado> buscarPontosFoco(String consulta, int limite) {
+        return ler(() -> pontosFoco.buscar(consulta, limite));
+    }
+
+    /**
+     * Ações de combate com o tipo e a descrição mais relevantes para a consulta
+     */
+    public List<IndiceInvertido.Resultado> buscarAcoesCombate(String consulta, int limite) {
+        return ler(() -> acoes.buscar(consulta, limite));
+    }
+
+    /**
+     * IDs das ações de combate cujo tipo tem todos os termos da consulta (ou palavras que começam com eles)
+     * @return IDs maiores que {@code aposId}, em ordem crescente
+     */
+    public List<Long> filtrarAcoesPorTipo(String tipoAcao, long aposId, int limite) {
+        return ler(() -> tiposAcao.filtrar(tipoAcao, aposId, limite));
+    }
+
+    /**
+     * IDs das regiões cujo nome tem todos os termos da consulta (ou palavras que começam com eles)
+     * @return IDs maiores que {@code aposId}, em ordem crescente
+     */
+    public List<Long> filtrarRegioesPorNome(String nome, long aposId, int limite) {
+        return ler(() -> regioes.filtrar(nome, aposId, limite));
+    }
+
+    /**
+     * Sugere regiões para um nome parcialmente digitado; a última palavra casa pelo começo
+     */
+    public List<RegiaoSugestaoDTO> autocompletarRegioes(String prefixo, int limite) {
+        return ler(() -> regioes.buscar(prefixo, limite).stream()
+                .map(resultado -> RegiaoSugestaoDTO.builder()
+                        .regiaoId(resultado.id())
+                        .nome(nomesRegioes.get(resultado.id()))
+                        .build())
+                .toList());
+    }
+
+    private void indexarAcao(long id, String tipoAcao, String descricao) {
+        acoes.indexar(id, descricao != null ? tipoAcao + " " + descricao : tipoAcao);
+        tiposAcao.indexar(id, tipoAcao);
+    }
+
+    private void indexarRegiao(long id, String nome) {
+        regioes.indexar(id, nome);
+        nomesRegioes.put(id, nome);
+    }
+
+    private void escrever(Runnable alteracao) {
+        trava.writeLock().lock();
+        try {
+            alteracao.run();
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    private <T> T ler(Supplier<T> consulta) {
+        trava.readLock().lock();
+        try {
+            return consulta.get();
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package br.com.fiap.queimadas.service.busca;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.function.ToDoubleBiFunction;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Índice invertido de um campo de texto: para cada termo, os documentos (IDs) que o contêm e quantas
+ * vezes. O dicionário de termos é ordenado, então os termos que começam com um prefixo ficam em um
+ * trecho contínuo dele; assim o último termo de uma consulta ("queim") casa com "queimada",
+ * "queimadas" etc.
+ * <p>
+ * Buscas percorrem só as listas dos termos consultados, sem depender do total de documentos.
+ * Cada lista é ordenada por ID, para que a filtragem salte direto para o cursor da página e pare
+ * ao completá-la.
+ * A relevância é a do BM25: termos raros pesam mais que termos comuns, repetições no documento
+ * contam com retorno decrescente e documentos curtos são favorecidos. A busca com relevância usa o
+ * WAND: a contribuição de um termo nunca passa de idf * (K1 + 1), então os documentos cuja soma
+ * desses tetos não alcança o pior dos melhores resultados já encontrados são saltados sem pontuar.
+ * <p>
+ * Não é thread-safe; o chamador sincroniza os acessos.
+ */
+public class IndiceInvertido {
+
+    // Parâmetros usuais do BM25: saturação da frequência do termo e normalização pelo comprimento
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    /**
+     * Documento encontrado
+     * @param pontuacao Relevância BM25 (maior é mais relevante)
+     */
+    public record Resultado(long id, double pontuacao) {
+    }
+
+    /**
+     * Termos distintos e número de termos de um documento, para retirá-lo do índice
+     */
+    private record Documento(String[] termos, int comprimento) {
+    }
+
+    // Devolvido por um cursor que chegou ao fim das listas; maior que todos os IDs, para os cursores
+    // esgotados ficarem no fim da ordenação do WAND
+    private static final long SEM_ID = Long.MAX_VALUE;
+
+    private final NavigableMap<String, NavigableMap<Long, Integer>> listas = new TreeMap<>();
+    private final Map<Long, Documento> documentos = new HashMap<>();
+    private long somaComprimentos;
+
+    /**
+     * Indexa (ou reindexa) o texto de um documento
+     * @param texto Texto do documento; null ou sem termos retira o documento do índice
+     */
+    public void indexar(long id, String texto) {
+        remover(id);
+        List<String> termos = TokenizadorTexto.termos(texto);
+        if (termos.isEmpty()) {
+            return;
+        }
+        Map<String, Integer> frequencias = new HashMap<>();
+        for (String termo : termos) {
+            frequencias.merge(termo, 1, Integer::sum);
+        }
+        frequencias.forEach((termo, frequencia) ->
+                listas.computeIfAbsent(termo, t -> new TreeMap<>()).put(id, frequencia));
+        documentos.put(id, new Documento(frequencias.keySet().toArray(String[]::new), termos.size()));
+        somaComprimentos += termos.size();
+    }
+
+    /**
+     * Retira um documento do índice
+     */
+    public void remover(long id) {
+        Documento documento = documentos.remove(id);
+        if (documento == null) {
+            return;
+        }
+        for (String termo : documento.termos()) {
+            NavigableMap<Long, Integer> lista = listas.get(termo);
+            lista.remove(id);
+            if (lista.isEmpty()) {
+                listas.remove(termo);
+            }
+        }
+        somaComprimentos -= documento.comprimento();
+    }
+
+    public void limpar() {
+        listas.clear();
+        documentos.clear();
+        somaComprimentos = 0;
+    }
+
+    public int tamanho() {
+        return documentos.size();
+    }
+
+    /**
+     * Busca os documentos mais relevantes para a consulta. Basta um dos termos para o documento ser
+     * encontrado; os que têm mais termos da consulta ficam à frente. O último termo também casa com
+     * todos os termos que começam com ele; um documento com várias dessas expansões ("queimada" e
+     * "queimadas") conta só a melhor.
+     * <p>
+     * Os termos são percorridos juntos em ordem de ID. A cada passo, os cursores são ordenados pelo
+     * ID atual e os tetos somados nessa ordem até alcançar o pior resultado guardado: o ID do cursor
+     * onde isso acontece (pivô) é o menor que ainda pode entrar nos resultados. Se todos os cursores
+     * anteriores já estão nele, o documento é pontuado; senão eles saltam direto para o pivô.
+     * @param limite Quantidade máxima de resultados
+     * @return Resultados em ordem decrescente de relevância (empates pelo ID)
+     */
+    public List<Resultado> buscar(String consulta, int limite) {
+        List<String> termos = TokenizadorTexto.termosConsulta(consulta);
+        if (termos.isEmpty() || documentos.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+        double comprimentoMedio = (double) somaComprimentos / documentos.size();
+        List<CursorPrefixo> cursores = new ArrayList<>(termos.size());
+        for (int i = 0; i < termos.size(); i++) {
+            String termo = termos.get(i);
+            Collection<NavigableMap<Long, Integer>> casadas = i == termos.size() - 1
+                    ? expandir(termo)
+                    : listas.containsKey(termo) ? List.of(listas.get(termo)) : List.of();
+            CursorPrefixo cursor = new CursorPrefixo(casadas, Long.MIN_VALUE, this::idf);
+            if (cursor.atual() != SEM_ID) {
+                cursores.add(cursor);
+            }
+        }
+
+        Comparator<Resultado> ordem = Comparator.comparingDouble(Resultado::pontuacao)
+                .thenComparing(Comparator.comparingLong(Resultado::id).reversed());
+        // Mínimo no topo: guarda só os melhores até o limite
+        PriorityQueue<Resultado> melhores = new PriorityQueue<>(ordem);
+        // Os cursores em ordem de ID escolhem o pivô; a pontuação soma os termos na ordem da consulta
+        List<CursorPrefixo> ordenados = new ArrayList<>(cursores);
+        Comparator<CursorPrefixo> porId = Comparator.comparingLong(CursorPrefixo::atual);
+        while (true) {
+            ordenados.sort(porId);
+            double minimo = melhores.size() < limite ? Double.NEGATIVE_INFINITY : melhores.peek().pontuacao();
+            int pivo = -1;
+            double teto = 0;
+            for (int i = 0; i < ordenados.size() && ordenados.get(i).atual() != SEM_ID; i++) {
+                teto += ordenados.get(i).teto();
+                // Com a mesma pontuação, um ID maior que os já guardados perde o desempate; o >= só
+                // protege de arredondamentos
+                if (teto >= minimo) {
+                    pivo = i;
+                    break;
+                }
+            }
+            if (pivo < 0) {
+                break;
+            }
+            long id = ordenados.get(pivo).atual();
+            if (ordenados.get(0).atual() == id) {
+                double normalizacao = K1 * (1 - B + B * documentos.get(id).comprimento() / comprimentoMedio);
+                double pontuacao = 0;
+                for (CursorPrefixo cursor : cursores) {
+                    if (cursor.atual() != id) {
+                        continue;
+                    }
+                    pontuacao += cursor.pontuarEAvancar(id, (lista, frequencia) ->
+                            idf(lista) * frequencia * (K1 + 1) / (frequencia + normalizacao));
+                }
+                melhores.add(new Resultado(id, pontuacao));
+                if (melhores.size() > limite) {
+                    melhores.poll();
+                }
+            } else {
+                for (int i = 0; i < pivo; i++) {
+                    ordenados.get(i).avancar(id);
+                }
+            }
+        }
+        List<Resultado> resultados = new ArrayList<>(melhores);
+        resultados.sort(ordem.reversed());
+        return resultados;
+    }
+
+    private double idf(NavigableMap<Long, Integer> lista) {
+        return Math.log(1 + (documentos.size() - lista.size() + 0.5) / (lista.size() + 0.5));
+    }
+
+    /**
+     * Filtra os documentos que têm, para cada termo da consulta, algum termo que começa com ele
+     * ("comb terr" encontra "Combate terrestre"), em ordem de ID a partir de um ID
+     * @param aposId Os IDs retornados são maiores que este
+     * @param limite Quantidade máxima de IDs
+     * @return IDs em ordem crescente
+     */
+    public List<Long> filtrar(String consulta, long aposId, int limite) {
+        List<String> termos = TokenizadorTexto.termosConsulta(consulta);
+        if (termos.isEmpty() || limite <= 0 || aposId == Long.MAX_VALUE) {
+            return List.of();
+        }
+        long candidato = aposId + 1;
+        List<CursorPrefixo> cursores = new ArrayList<>(termos.size());
+        for (String termo : new HashSet<>(termos)) {
+            cursores.add(new CursorPrefixo(expandir(termo), candidato, lista -> 0));
+        }
+        // Avança todos os cursores até o candidato; quem passar dele define o próximo candidato
+        List<Long> ids = new ArrayList<>();
+        while (ids.size() < limite) {
+            boolean emTodos = true;
+            for (CursorPrefixo cursor : cursores) {
+                long id = cursor.avancar(candidato);
+                if (id == SEM_ID) {
+                    return ids;
+                }
+                if (id > candidato) {
+                    candidato = id;
+                    emTodos = false;
+                    break;
+                }
+            }
+            if (emTodos) {
+                ids.add(candidato++);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Listas dos termos que começam com o prefixo
+     */
+    private Collection<NavigableMap<Long, Integer>> expandir(String prefixo) {
+        return listas.subMap(prefixo, true, prefixo + Character.MAX_VALUE, false).values();
+    }
+
+    /**
+     * Percorre em ordem crescente, sem repetições, a união das listas dos termos de um prefixo. Cada
+     * lista só é lida a partir do ID pedido, e apenas quando o cursor precisa passar dela. O teto do
+     * cursor é a maior contribuição BM25 possível de uma das listas, pelo peso (idf) de cada uma.
+     */
+    private static final class CursorPrefixo {
+
+        private record Cabeca(NavigableMap<Long, Integer> lista, long id) {
+        }
+
+        private final PriorityQueue<Cabeca> cabecas = new PriorityQueue<>(Comparator.comparingLong(Cabeca::id));
+        private final double teto;
+
+        private CursorPrefixo(Collection<NavigableMap<Long, Integer>> listas, long minimo,
+                              ToDoubleFunction<NavigableMap<Long, Integer>> peso) {
+            double maiorPeso = 0;
+            for (NavigableMap<Long, Integer> lista : listas) {
+                Long id = lista.ceilingKey(minimo);
+                if (id != null) {
+                    cabecas.add(new Cabeca(lista, id));
+                    maiorPeso = Math.max(maiorPeso, peso.applyAsDouble(lista));
+                }
+            }
+            this.teto = maiorPeso * (K1 + 1);
+        }
+
+        private double teto() {
+            return teto;
+        }
+
+        /**
+         * ID em que o cursor está, ou {@link #SEM_ID} se as listas acabaram
+         */
+        private long atual() {
+            return cabecas.isEmpty() ? SEM_ID : cabecas.peek().id();
+        }
+
+        /**
+         * Menor ID maior ou igual ao mínimo em alguma das listas
+         * @return ID encontrado, ou {@link #SEM_ID} se as listas acabaram
+         */
+        private long avancar(long minimo) {
+            while (!cabecas.isEmpty() && cabecas.peek().id() < minimo) {
+                Cabeca cabeca = cabecas.poll();
+                Long id = cabeca.lista().ceilingKey(minimo);
+                if (id != null) {
+                    cabecas.add(new Cabeca(cabeca.lista(), id));
+                }
+            }
+            return atual();
+        }
+
+        /**
+         * Maior pontuação do ID atual entre as listas que o contêm, passando o cursor para o ID seguinte
+         */
+        private double pontuarEAvancar(long id, ToDoubleBiFunction<NavigableMap<Long, Integer>, Integer> pontuacao) {
+            double maior = 0;
+            while (!cabecas.isEmpty() && cabecas.peek().id() == id) {
+                Cabeca cabeca = cabecas.poll();
+                maior = Math.max(maior, pontuacao.applyAsDouble(cabeca.lista(), cabeca.lista().get(id)));
+                Long proximo = cabeca.lista().higherKey(id);
+                if (proximo != null) {
+                    cabecas.add(new Cabeca(cabeca.lista(), proximo));
+                }
+            }
+            return maior;
+        }
+    }
+}
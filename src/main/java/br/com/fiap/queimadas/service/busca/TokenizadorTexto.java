@@ -0,0 +1,67 @@
+package br.com.fiap.queimadas.service.busca;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Quebra textos em termos para o índice invertido: minúsculas, sem acentos ("Área" e "area" geram o
+ * mesmo termo), separados por qualquer caractere que não seja letra ou dígito, sem as palavras
+ * vazias mais comuns do português
+ */
+public final class TokenizadorTexto {
+
+    private static final Pattern MARCAS_ACENTUACAO = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private static final Set<String> PALAVRAS_VAZIAS = Set.of(
+            "a", "o", "as", "os", "e", "de", "da", "do", "das", "dos", "em", "na", "no", "nas", "nos",
+            "um", "uma", "uns", "umas", "ao", "aos", "com", "por", "pela", "pelo", "pelas", "pelos",
+            "para", "que", "se", "ou");
+
+    private TokenizadorTexto() {
+    }
+
+    /**
+     * Converte o texto para minúsculas e remove os acentos
+     */
+    public static String normalizar(String texto) {
+        String decomposto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        return MARCAS_ACENTUACAO.matcher(decomposto).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Termos do texto, na ordem em que aparecem (com repetições)
+     * @param texto Texto a quebrar; null resulta em lista vazia
+     */
+    public static List<String> termos(String texto) {
+        return termos(texto, false);
+    }
+
+    /**
+     * Termos de uma consulta digitada: o último é mantido mesmo se for uma palavra vazia, pois pode
+     * ser o começo de uma palavra ("a" de "Amazônia")
+     */
+    public static List<String> termosConsulta(String consulta) {
+        return termos(consulta, true);
+    }
+
+    private static List<String> termos(String texto, boolean manterUltimo) {
+        List<String> termos = new ArrayList<>();
+        if (texto == null) {
+            return termos;
+        }
+        String[] partes = SEPARADORES.split(normalizar(texto));
+        for (int i = 0; i < partes.length; i++) {
+            String termo = partes[i];
+            boolean ultimo = manterUltimo && i == partes.length - 1;
+            if (!termo.isEmpty() && (ultimo || !PALAVRAS_VAZIAS.contains(termo))) {
+                termos.add(termo);
+            }
+        }
+        return termos;
+    }
+}
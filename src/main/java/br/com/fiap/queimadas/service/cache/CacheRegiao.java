@@ -0,0 +1,104 @@
+package br.com.fiap.queimadas.service.cache;
+
+import br.com.fiap.queimadas.domain.entity.Regiao;
+import br.com.fiap.queimadas.repository.RegiaoRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+
+/**
+ * Controle do cache de segundo nível de {@link Regiao} e do cache das consultas de regiões.
+ * A invalidação é feita após o commit, para que uma leitura concorrente não repovoe o cache
+ * com o estado anterior à transação. Expõe também a taxa de acerto de cada cache como métrica
+ * (os totais de acertos e faltas por região de cache já são publicados pelo hibernate-micrometer).
+ */
+@Component
+@Slf4j
+public class CacheRegiao {
+
+    private static final String REGIAO_ENTIDADE = Regiao.class.getName();
+
+    private final SessionFactory sessionFactory;
+
+    @Autowired
+    public CacheRegiao(EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+
+        Gauge.builder("queimadas.cache.regiao.taxa.acerto", this, c -> c.taxaAcerto(REGIAO_ENTIDADE))
+                .description("Taxa de acerto do cache de segundo nível da entidade Regiao")
+                .tag("cache", "entidade")
+                .register(meterRegistry);
+        Gauge.builder("queimadas.cache.regiao.taxa.acerto", this, c -> c.taxaAcerto(RegiaoRepository.CACHE_CONSULTAS))
+                .description("Taxa de acerto do cache das consultas de regiões")
+                .tag("cache", "consultas")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Invalida uma região e as consultas de regiões em cache
+     * @param regiaoId ID da região alterada
+     */
+    public void invalidar(Long regiaoId) {
+        aposCommit(() -> {
+            sessionFactory.getCache().evictEntityData(Regiao.class, regiaoId);
+            sessionFactory.getCache().evictQueryRegion(RegiaoRepository.CACHE_CONSULTAS);
+            log.debug("Cache da região {} invalidado", regiaoId);
+        });
+    }
+
+    /**
+     * Invalida as regiões informadas e as consultas de regiões em cache
+     * @param regiaoIds IDs das regiões alteradas; vazio não invalida nada
+     */
+    public void invalidar(Collection<Long> regiaoIds) {
+        if (regiaoIds.isEmpty()) {
+            return;
+        }
+        aposCommit(() -> {
+            for (Long regiaoId : regiaoIds) {
+                sessionFactory.getCache().evictEntityData(Regiao.class, regiaoId);
+            }
+            sessionFactory.getCache().evictQueryRegion(RegiaoRepository.CACHE_CONSULTAS);
+            log.debug("Cache de {} região(ões) invalidado", regiaoIds.size());
+        });
+    }
+
+    /**
+     * Taxa de acerto (0 a 1) de uma região de cache desde a inicialização
+     */
+    double taxaAcerto(String regiaoCache) {
+        Statistics estatisticas = sessionFactory.getStatistics();
+        CacheRegionStatistics regiao = estatisticas.getCacheRegionStatistics(regiaoCache);
+        if (regiao == null) {
+            regiao = estatisticas.getQueryRegionStatistics(regiaoCache);
+        }
+        if (regiao == null) {
+            return 0.0;
+        }
+        long total = regiao.getHitCount() + regiao.getMissCount();
+        return total == 0 ? 0.0 : (double) regiao.getHitCount() / total;
+    }
+
+    private void aposCommit(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+}
@@ -0,0 +1,369 @@
+package br.com.fiap.queimadas.service.deduplicacao;
+
+import br.com.fiap.queimadas.domain.event.PontoFocoEvent;
+import br.com.fiap.queimadas.domain.event.PontoFocoResumo;
+import br.com.fiap.queimadas.repository.PontoFocoRepository;
+import br.com.fiap.queimadas.service.indice.GeoUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Índice em memória das detecções recentes, usado para reconhecer a mesma queimada reportada
+ * por várias passagens de satélite ou sensores com poucos minutos de diferença.
+ * <p>
+ * As detecções ficam em células de uma grade cujo lado é a distância máxima entre duplicadas,
+ * e expiram após a janela de tempo configurada (contada a partir da última detecção mesclada).
+ * Um filtro de Bloom com as células ocupadas responde às consultas sem duplicada (o caso comum)
+ * sem percorrer a grade. Como o filtro não permite remoções, ele é rotativo: há uma geração
+ * atual e uma anterior, e a cada janela a atual passa a ser a anterior e a anterior é descartada.
+ * <p>
+ * Só pontos de foco confirmados no banco entram no índice, pelo evento de registro após o commit:
+ * um ponto ainda não confirmado não seria encontrado pelas outras transações. Os pontos registrados
+ * por um lote são vistos pelas detecções seguintes do mesmo lote por meio de um {@link Lote}.
+ */
+@Component
+@Slf4j
+public class DeduplicadorDeteccoes {
+
+    private record Deteccao(Long id, double latitude, double longitude, LocalDateTime ultimaDeteccao) {
+    }
+
+    private final PontoFocoRepository pontoFocoRepository;
+    private final boolean habilitada;
+    private final long janelaMinutos;
+    private final double distanciaKm;
+    private final double tamanhoCelulaGraus;
+    private final int colunas;
+    private final long capacidadeFiltro;
+    private final double taxaFalsosPositivos;
+
+    private final Map<Long, Map<Long, Deteccao>> celulas = new ConcurrentHashMap<>();
+    private final Map<Long, Deteccao> deteccoes = new ConcurrentHashMap<>();
+    private volatile FiltroBloom filtroAtual;
+    private volatile FiltroBloom filtroAnterior;
+
+    private final Counter mescladas;
+    private final Counter negativasFiltro;
+    private final Counter negativasIndice;
+    private final Counter duplicadas;
+
+    @Autowired
+    public DeduplicadorDeteccoes(PontoFocoRepository pontoFocoRepository, MeterRegistry meterRegistry,
+                                 @Value("${queimadas.deduplicacao.habilitada:true}") boolean habilitada,
+                                 @Value("${queimadas.deduplicacao.janela-minutos:30}") long janelaMinutos,
+                                 @Value("${queimadas.deduplicacao.distancia-km:1.0}") double distanciaKm,
+                                 @Value("${queimadas.deduplicacao.filtro-bloom.capacidade:1000000}") long capacidadeFiltro,
+                                 @Value("${queimadas.deduplicacao.filtro-bloom.taxa-falsos-positivos:0.01}") double taxaFalsosPositivos) {
+        this.pontoFocoRepository = pontoFocoRepository;
+        this.habilitada = habilitada;
+        this.janelaMinutos = janelaMinutos;
+        this.distanciaKm = distanciaKm;
+        this.tamanhoCelulaGraus = GeoUtils.raioEmGrausLatitude(distanciaKm);
+        this.colunas = (int) Math.ceil(360.0 / tamanhoCelulaGraus);
+        this.capacidadeFiltro = capacidadeFiltro;
+        this.taxaFalsosPositivos = taxaFalsosPositivos;
+        this.filtroAtual = new FiltroBloom(capacidadeFiltro, taxaFalsosPositivos);
+        this.filtroAnterior = new FiltroBloom(capacidadeFiltro, taxaFalsosPositivos);
+
+        this.mescladas = Counter.builder("queimadas.deteccoes.mescladas")
+                .description("Detecções reconhecidas como duplicadas e mescladas a um ponto de foco existente")
+                .register(meterRegistry);
+        this.negativasFiltro = Counter.builder("queimadas.deduplicacao.consultas")
+                .description("Consultas de duplicadas por resultado")
+                .tag("resultado", "negativa-filtro")
+                .register(meterRegistry);
+        this.negativasIndice = Counter.builder("queimadas.deduplicacao.consultas")
+                .description("Consultas de duplicadas por resultado")
+                .tag("resultado", "negativa-indice")
+                .register(meterRegistry);
+        this.duplicadas = Counter.builder("queimadas.deduplicacao.consultas")
+                .description("Consultas de duplicadas por resultado")
+                .tag("resultado", "duplicada")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Carrega os pontos de foco ativos detectados dentro da janela na inicialização
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void carregar() {
+        if (!habilitada) {
+            return;
+        }
+        try (Stream<PontoFocoResumo> resumos = pontoFocoRepository.streamAtivosDetectadosApos(limiteJanela())) {
+            resumos.forEach(resumo -> registrar(resumo.id(), resumo.latitude(), resumo.longitude(),
+                    resumo.dataDeteccao()));
+        }
+        log.info("Deduplicação de detecções carregada com {} pontos de foco recentes", deteccoes.size());
+    }
+
+    /**
+     * Procura um ponto de foco ativo detectado dentro da janela e da distância configuradas
+     * @param latitude Latitude da nova detecção
+     * @param longitude Longitude da nova detecção
+     * @return ID do ponto de foco mais próximo considerado a mesma queimada, se houver
+     */
+    public Optional<Long> buscarDuplicada(double latitude, double longitude) {
+        return buscarDuplicada(latitude, longitude, Map.of());
+    }
+
+    /**
+     * Pontos de foco registrados por uma transação que ainda não foi confirmada, visíveis só a ela
+     */
+    public Lote novoLote() {
+        return new Lote();
+    }
+
+    /**
+     * Pontos de foco gravados por um lote em andamento. As detecções seguintes do lote são comparadas
+     * com eles e com os pontos do índice; eles entram no índice só após o commit, pelo evento de registro.
+     */
+    public final class Lote {
+        private final Map<Long, Map<Long, Deteccao>> celulasLote = new HashMap<>();
+
+        private Lote() {
+        }
+
+        /**
+         * Como {@link DeduplicadorDeteccoes#buscarDuplicada}, considerando também os pontos do lote
+         */
+        public Optional<Long> buscarDuplicada(double latitude, double longitude) {
+            return DeduplicadorDeteccoes.this.buscarDuplicada(latitude, longitude, celulasLote);
+        }
+
+        /**
+         * Registra um ponto de foco gravado pelo lote, ou uma nova passagem sobre ele
+         */
+        public void registrar(Long id, double latitude, double longitude) {
+            if (!habilitada || id == null) {
+                return;
+            }
+            celulasLote.computeIfAbsent(chave(latitude, longitude), k -> new HashMap<>())
+                    .put(id, new Deteccao(id, latitude, longitude, LocalDateTime.now()));
+        }
+    }
+
+    private Optional<Long> buscarDuplicada(double latitude, double longitude, Map<Long, Map<Long, Deteccao>> celulasLote) {
+        if (!habilitada) {
+            return Optional.empty();
+        }
+
+        double dLat = GeoUtils.raioEmGrausLatitude(distanciaKm);
+        double dLon = GeoUtils.raioEmGrausLongitude(distanciaKm, latitude);
+        int linhaMin = linha(Math.max(-90.0, latitude - dLat));
+        int linhaMax = linha(Math.min(90.0, latitude + dLat));
+        int colunaMin = (int) Math.floor((longitude - dLon + 180.0) / tamanhoCelulaGraus);
+        int colunaMax = (int) Math.floor((longitude + dLon + 180.0) / tamanhoCelulaGraus);
+        if (colunaMax - colunaMin >= colunas) {
+            colunaMin = 0;
+            colunaMax = colunas - 1;
+        }
+
+        LocalDateTime limite = limiteJanela();
+        Deteccao maisProxima = celulasLote.isEmpty() ? null
+                : maisProxima(celulasLote, latitude, longitude, linhaMin, linhaMax, colunaMin, colunaMax, limite);
+
+        // Caminho rápido: nenhuma célula vizinha recebeu detecções recentes
+        boolean talvezExista = false;
+        for (int l = linhaMin; l <= linhaMax && !talvezExista; l++) {
+            for (int c = colunaMin; c <= colunaMax && !talvezExista; c++) {
+                long chave = chave(l, Math.floorMod(c, colunas));
+                talvezExista = filtroAtual.talvezContenha(chave) || filtroAnterior.talvezContenha(chave);
+            }
+        }
+        if (!talvezExista && maisProxima == null) {
+            negativasFiltro.increment();
+            return Optional.empty();
+        }
+
+        if (talvezExista) {
+            Deteccao doIndice = maisProxima(celulas, latitude, longitude, linhaMin, linhaMax, colunaMin, colunaMax, limite);
+            if (doIndice != null && (maisProxima == null
+                    || GeoUtils.distanciaKm(latitude, longitude, doIndice.latitude(), doIndice.longitude())
+                    < GeoUtils.distanciaKm(latitude, longitude, maisProxima.latitude(), maisProxima.longitude()))) {
+                maisProxima = doIndice;
+            }
+        }
+
+        if (maisProxima == null) {
+            negativasIndice.increment();
+            return Optional.empty();
+        }
+        duplicadas.increment();
+        return Optional.of(maisProxima.id());
+    }
+
+    /**
+     * Detecção da janela mais próxima das coordenadas, até a distância configurada, nas células informadas
+     */
+    private Deteccao maisProxima(Map<Long, Map<Long, Deteccao>> grade, double latitude, double longitude,
+                                 int linhaMin, int linhaMax, int colunaMin, int colunaMax, LocalDateTime limite) {
+        Deteccao maisProxima = null;
+        double menorDistancia = Double.MAX_VALUE;
+        for (int l = linhaMin; l <= linhaMax; l++) {
+            for (int c = colunaMin; c <= colunaMax; c++) {
+                Map<Long, Deteccao> celula = grade.get(chave(l, Math.floorMod(c, colunas)));
+                if (celula == null) {
+                    continue;
+                }
+                for (Deteccao deteccao : celula.values()) {
+                    if (!deteccao.ultimaDeteccao().isAfter(limite)) {
+                        continue;
+                    }
+                    double distancia = GeoUtils.distanciaKm(latitude, longitude,
+                            deteccao.latitude(), deteccao.longitude());
+                    if (distancia <= distanciaKm && distancia < menorDistancia) {
+                        maisProxima = deteccao;
+                        menorDistancia = distancia;
+                    }
+                }
+            }
+        }
+        return maisProxima;
+    }
+
+    /**
+     * Registra uma detecção (novo ponto de foco ou nova passagem sobre um ponto existente),
+     * renovando a janela de tempo do ponto de foco
+     */
+    public void registrar(Long id, double latitude, double longitude, LocalDateTime dataDeteccao) {
+        if (!habilitada || id == null) {
+            return;
+        }
+        Deteccao deteccao = new Deteccao(id, latitude, longitude,
+                dataDeteccao != null ? dataDeteccao : LocalDateTime.now());
+        long chave = chave(latitude, longitude);
+
+        Deteccao anterior = deteccoes.put(id, deteccao);
+        if (anterior != null) {
+            long chaveAnterior = chave(anterior.latitude(), anterior.longitude());
+            if (chaveAnterior != chave) {
+                removerDaCelula(chaveAnterior, id);
+            }
+        }
+        celulas.compute(chave, (k, celula) -> {
+            Map<Long, Deteccao> destino = celula != null ? celula : new ConcurrentHashMap<>();
+            destino.put(id, deteccao);
+            return destino;
+        });
+        filtroAtual.adicionar(chave);
+    }
+
+    /**
+     * Registra uma nova passagem mesclada a um ponto de foco existente, renovando a janela dele após o
+     * commit da transação que gravou a mesclagem
+     */
+    public void registrarMesclagem(Long id, double latitude, double longitude) {
+        aposCommit(() -> {
+            registrar(id, latitude, longitude, LocalDateTime.now());
+            mescladas.increment();
+        });
+    }
+
+    /**
+     * Remove um ponto de foco das candidatas a duplicada
+     */
+    public void remover(Long id) {
+        Deteccao anterior = deteccoes.remove(id);
+        if (anterior != null) {
+            removerDaCelula(chave(anterior.latitude(), anterior.longitude()), id);
+        }
+    }
+
+    /**
+     * Pontos de foco registrados passam a receber mesclagens após o commit; os removidos ou
+     * encerrados deixam de recebê-las
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarPontoFoco(PontoFocoEvent evento) {
+        PontoFocoResumo resumo = evento.pontoFoco();
+        if (evento.tipo() == PontoFocoEvent.Tipo.REMOVIDO || !resumo.isAtivo()) {
+            remover(resumo.id());
+        } else if (evento.tipo() == PontoFocoEvent.Tipo.REGISTRADO) {
+            registrar(resumo.id(), resumo.latitude(), resumo.longitude(), resumo.dataDeteccao());
+        }
+    }
+
+    /**
+     * A cada janela descarta a geração mais antiga do filtro de Bloom e as detecções expiradas
+     */
+    @Scheduled(fixedDelayString = "#{${queimadas.deduplicacao.janela-minutos:30} * 60000}",
+               initialDelayString = "#{${queimadas.deduplicacao.janela-minutos:30} * 60000}")
+    public void rotacionar() {
+        if (!habilitada) {
+            return;
+        }
+        filtroAnterior = filtroAtual;
+        filtroAtual = new FiltroBloom(capacidadeFiltro, taxaFalsosPositivos);
+
+        LocalDateTime limite = limiteJanela();
+        deteccoes.values().stream()
+                .filter(deteccao -> !deteccao.ultimaDeteccao().isAfter(limite))
+                .map(Deteccao::id)
+                .toList()
+                .forEach(this::remover);
+    }
+
+    /**
+     * Quantidade de pontos de foco candidatos a duplicada
+     */
+    public int tamanho() {
+        return deteccoes.size();
+    }
+
+    private void removerDaCelula(long chave, Long id) {
+        celulas.computeIfPresent(chave, (k, celula) -> {
+            celula.remove(id);
+            return celula.isEmpty() ? null : celula;
+        });
+    }
+
+    private static void aposCommit(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+
+    private LocalDateTime limiteJanela() {
+        return LocalDateTime.now().minusMinutes(janelaMinutos);
+    }
+
+    private int linha(double latitude) {
+        return (int) Math.floor((latitude + 90.0) / tamanhoCelulaGraus);
+    }
+
+    private long chave(double latitude, double longitude) {
+        int coluna = Math.floorMod((int) Math.floor((longitude + 180.0) / tamanhoCelulaGraus), colunas);
+        return chave(linha(latitude), coluna);
+    }
+
+    private static long chave(int linha, int coluna) {
+        return ((long) linha << 32) | (coluna & 0xffffffffL);
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.fiap.queimadas.service.deduplicacao;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de chaves numéricas, seguro para uso concorrente.
+ * Responde "com certeza ausente" ou "possivelmente presente"; não permite remoções.
+ */
+class FiltroBloom {
+
+    private final AtomicLongArray bits;
+    private final long totalBits;
+    private final int funcoesHash;
+
+    /**
+     * @param capacidade Quantidade de chaves esperada
+     * @param taxaFalsosPositivos Taxa de falsos positivos desejada com a capacidade preenchida (ex.: 0.01)
+     */
+    FiltroBloom(long capacidade, double taxaFalsosPositivos) {
+        long n = Math.max(1, capacidade);
+        long m = (long) Math.ceil(-n * Math.log(taxaFalsosPositivos) / (Math.log(2) * Math.log(2)));
+        this.totalBits = Math.max(64, m);
+        this.funcoesHash = Math.max(1, (int) Math.round((double) totalBits / n * Math.log(2)));
+        this.bits = new AtomicLongArray((int) ((totalBits + 63) / 64));
+    }
+
+    void adicionar(long chave) {
+        long hash1 = misturar(chave);
+        long hash2 = misturar(hash1);
+        for (int i = 0; i < funcoesHash; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, totalBits);
+            int palavra = (int) (bit >>> 6);
+            long mascara = 1L << bit;
+            long atual;
+            while (((atual = bits.get(palavra)) & mascara) == 0
+                    && !bits.compareAndSet(palavra, atual, atual | mascara)) {
+                // Repete até gravar o bit (outra thread alterou a mesma palavra)
+            }
+        }
+    }
+
+    boolean talvezContenha(long chave) {
+        long hash1 = misturar(chave);
+        long hash2 = misturar(hash1);
+        for (int i = 0; i < funcoesHash; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, totalBits);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Função de mistura de 64 bits (finalizador do SplitMix64)
+     */
+    private static long misturar(long valor) {
+        long z = valor + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -2,6 +2,7 @@ package br.com.fiap.queimadas.service.factory;
 
 import br.com.fiap.queimadas.domain.entity.PontoFoco;
 import br.com.fiap.queimadas.domain.enums.StatusPontoFoco;
+import br.com.fiap.queimadas.service.indice.CurvaHilbert;
 
 import java.time.LocalDateTime;
 
@@ -21,6 +22,7 @@ public class PontoFocoFactory {
         return PontoFoco.builder()
                 .latitude(latitude)
                 .longitude(longitude)
+                .chaveHilbert(CurvaHilbert.chave(latitude, longitude))
                 .dataDeteccao(LocalDateTime.now())
                 .status(StatusPontoFoco.NOVO)
                 .dataAtualizacao(LocalDateTime.now())
@@ -38,6 +40,7 @@ public class PontoFocoFactory {
         return PontoFoco.builder()
                 .latitude(latitude)
                 .longitude(longitude)
+                .chaveHilbert(CurvaHilbert.chave(latitude, longitude))
                 .intensidade(intensidade)
                 .dataDeteccao(LocalDateTime.now())
                 .status(StatusPontoFoco.NOVO)
@@ -59,6 +62,7 @@ public class PontoFocoFactory {
         return PontoFoco.builder()
                 .latitude(latitude)
                 .longitude(longitude)
+                .chaveHilbert(CurvaHilbert.chave(latitude, longitude))
                 .intensidade(intensidade)
                 .areaEstimadaMetrosQuadrados(areaEstimadaMetrosQuadrados)
                 .descricao(descricao)
@@ -0,0 +1,172 @@
+package br.com.fiap.queimadas.service.feed;
+
+import br.com.fiap.queimadas.domain.event.PontoFocoResumo;
+import br.com.fiap.queimadas.dto.DeteccaoRecenteDTO;
+import br.com.fiap.queimadas.dto.FeedDeteccoesDTO;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Buffer circular de capacidade fixa com as últimas detecções publicadas, sem travas: cada
+ * publicação reserva uma sequência com um incremento atômico e grava a detecção na posição
+ * {@code sequencia % capacidade}, sobrescrevendo a detecção de {@code capacidade} sequências antes.
+ * <p>
+ * As posições guardam a detecção já pronta para a resposta, então uma leitura só cria a lista
+ * devolvida. Uma posição cuja sequência é menor que a esperada ainda não recebeu a gravação de quem
+ * reservou a sequência: a leitura para ali e a próxima consulta continua do mesmo ponto, sem perder
+ * a detecção. Uma sequência maior indica que a detecção esperada já foi sobrescrita.
+ * <p>
+ * Cada posição guarda também a data de detecção em milissegundos e a maior data publicada até ela,
+ * que cresce com a sequência. Na primeira leitura, a primeira detecção da janela é encontrada por
+ * busca binária sobre essa maior data, sem percorrer as detecções mais antigas.
+ */
+public class BufferCircularDeteccoes {
+
+    /**
+     * Valor de {@code detectadasApos} que não filtra pela data de detecção
+     */
+    public static final long SEM_LIMITE_IDADE = Long.MIN_VALUE;
+
+    /**
+     * Detecção gravada em uma posição
+     * @param dataDeteccao Data de detecção em milissegundos desde a época
+     * @param maiorDataDeteccao Maior data de detecção publicada até esta, inclusive
+     */
+    private record Posicao(DeteccaoRecenteDTO deteccao, long dataDeteccao, long maiorDataDeteccao) {
+    }
+
+    private final AtomicReferenceArray<Posicao> posicoes;
+    private final int mascara;
+    private final AtomicLong ultimaReservada = new AtomicLong();
+    private final AtomicLong maiorDataDeteccao = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * @param capacidade Quantidade de detecções mantidas, arredondada para a potência de 2 seguinte
+     */
+    public BufferCircularDeteccoes(int capacidade) {
+        if (capacidade < 1 || capacidade > 1 << 30) {
+            throw new IllegalArgumentException("Capacidade do buffer fora de 1 a 2^30: " + capacidade);
+        }
+        int potencia = Integer.highestOneBit(capacidade);
+        int ajustada = potencia == capacidade ? capacidade : potencia << 1;
+        this.posicoes = new AtomicReferenceArray<>(ajustada);
+        this.mascara = ajustada - 1;
+    }
+
+    /**
+     * Publica uma detecção no fim do buffer
+     * @return Sequência atribuída à detecção (a primeira é 1)
+     */
+    public long publicar(PontoFocoResumo resumo) {
+        long sequencia = ultimaReservada.incrementAndGet();
+        Posicao posicao;
+        if (resumo.dataDeteccao() != null) {
+            long dataDeteccao = resumo.dataDeteccao().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            posicao = new Posicao(DeteccaoRecenteDTO.de(sequencia, resumo), dataDeteccao,
+                    maiorDataDeteccao.accumulateAndGet(dataDeteccao, Math::max));
+        } else {
+            // Sem data, a detecção está sempre na janela
+            posicao = new Posicao(DeteccaoRecenteDTO.de(sequencia, resumo), Long.MAX_VALUE, Long.MAX_VALUE);
+        }
+        int indice = (int) (sequencia & mascara);
+        Posicao atual;
+        do {
+            atual = posicoes.get(indice);
+            // Quem reservou a sequência uma volta depois já gravou: esta detecção nasceu sobrescrita
+            if (atual != null && atual.deteccao().sequencia() > sequencia) {
+                return sequencia;
+            }
+        } while (!posicoes.compareAndSet(indice, atual, posicao));
+        return sequencia;
+    }
+
+    /**
+     * Lê as detecções publicadas depois da sequência informada, na ordem de publicação
+     * @param desde Última sequência já lida; 0 para começar da mais antiga ainda no buffer. Uma
+     *              sequência posterior à última publicada (o feed recomeçou com a aplicação) também
+     *              começa da mais antiga
+     * @param limite Quantidade máxima de detecções retornadas
+     * @param detectadasApos Ignora as detecções anteriores a este instante, em milissegundos desde a
+     *                       época; {@link #SEM_LIMITE_IDADE} para não filtrar
+     */
+    public FeedDeteccoesDTO ler(long desde, int limite, long detectadasApos) {
+        long ultima = ultimaReservada.get();
+        long lida = desde > ultima ? 0 : desde;
+        long primeira = Math.max(lida + 1, ultima - mascara);
+        long descartadas = lida > 0 ? primeira - lida - 1 : 0;
+        if (lida == 0 && detectadasApos != SEM_LIMITE_IDADE) {
+            primeira = primeiraNaJanela(primeira, ultima, detectadasApos);
+            lida = primeira - 1;
+        }
+        List<DeteccaoRecenteDTO> itens = new ArrayList<>((int) Math.min(limite, Math.max(0, ultima - primeira + 1)));
+        for (long sequencia = primeira; sequencia <= ultima && itens.size() < limite; sequencia++) {
+            Posicao posicao = posicoes.get((int) (sequencia & mascara));
+            if (posicao == null || posicao.deteccao().sequencia() < sequencia) {
+                break;
+            }
+            lida = sequencia;
+            if (posicao.deteccao().sequencia() > sequencia) {
+                // Sobrescrita durante a leitura
+                descartadas++;
+            } else if (posicao.dataDeteccao() >= detectadasApos) {
+                itens.add(posicao.deteccao());
+            }
+        }
+        return FeedDeteccoesDTO.builder()
+                .ultimaSequencia(lida)
+                .descartadas(descartadas)
+                .itens(itens)
+                .build();
+    }
+
+    /**
+     * Primeira sequência, entre as informadas, cuja maior data de detecção não é anterior ao limite.
+     * As posições ainda não gravadas ou já sobrescritas contam como dentro da janela, para que a
+     * leitura comece antes delas e as trate como de costume.
+     * <p>
+     * Detecções publicadas ao mesmo tempo podem gravar a maior data fora da ordem das sequências;
+     * uma detecção da janela publicada junto com a última anterior a ela pode ser omitida.
+     */
+    private long primeiraNaJanela(long primeira, long ultima, long detectadasApos) {
+        long inicio = primeira;
+        long fim = ultima + 1;
+        while (inicio < fim) {
+            long meio = (inicio + fim) >>> 1;
+            Posicao posicao = posicoes.get((int) (meio & mascara));
+            if (posicao != null && posicao.deteccao().sequencia() == meio && posicao.maiorDataDeteccao() < detectadasApos) {
+                inicio = meio + 1;
+            } else {
+                fim = meio;
+            }
+        }
+        return inicio;
+    }
+
+    /**
+     * IDs dos pontos de foco das detecções presentes no buffer
+     */
+    public Set<Long> idsPublicados() {
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < posicoes.length(); i++) {
+            Posicao posicao = posicoes.get(i);
+            if (posicao != null) {
+                ids.add(posicao.deteccao().id());
+            }
+        }
+        return ids;
+    }
+
+    public int getCapacidade() {
+        return mascara + 1;
+    }
+
+    public long getUltimaSequencia() {
+        return ultimaReservada.get();
+    }
+}
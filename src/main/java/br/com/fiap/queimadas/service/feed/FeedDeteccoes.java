@@ -0,0 +1,82 @@
+package br.com.fiap.queimadas.service.feed;
+
+import br.com.fiap.queimadas.domain.event.PontoFocoEvent;
+import br.com.fiap.queimadas.domain.event.PontoFocoResumo;
+import br.com.fiap.queimadas.dto.FeedDeteccoesDTO;
+import br.com.fiap.queimadas.repository.PontoFocoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Feed das detecções mais recentes, mantido em memória para que as consultas periódicas da sala de
+ * operações não cheguem ao banco. Guarda as últimas {@code capacidade} detecções registradas
+ * (individualmente, em lote ou por importação) e devolve só as detectadas nas últimas
+ * {@code horas}. Cada detecção traz os dados do registro; mudanças de status posteriores não
+ * alteram o feed.
+ */
+@Component
+@Slf4j
+public class FeedDeteccoes {
+
+    private final PontoFocoRepository pontoFocoRepository;
+    private final BufferCircularDeteccoes buffer;
+    private final int horas;
+    private final long janelaMillis;
+
+    @Autowired
+    public FeedDeteccoes(PontoFocoRepository pontoFocoRepository,
+                         @Value("${queimadas.feed-deteccoes.capacidade:16384}") int capacidade,
+                         @Value("${queimadas.feed-deteccoes.horas:24}") int horas) {
+        this.pontoFocoRepository = pontoFocoRepository;
+        this.buffer = new BufferCircularDeteccoes(capacidade);
+        this.horas = horas;
+        this.janelaMillis = TimeUnit.HOURS.toMillis(horas);
+    }
+
+    /**
+     * Carrega as detecções da janela na inicialização, da mais antiga para a mais recente; além da
+     * capacidade, as mais antigas são sobrescritas pelas seguintes. Os pontos de foco registrados
+     * antes da carga (como os dados iniciais) já chegaram pelo evento e não são repetidos
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void carregar() {
+        Set<Long> publicados = buffer.idsPublicados();
+        try (Stream<PontoFocoResumo> resumos = pontoFocoRepository.streamDetectadosAposEmOrdem(limiteIdade())) {
+            resumos.filter(resumo -> !publicados.contains(resumo.id())).forEach(buffer::publicar);
+        }
+        log.info("Feed de detecções carregado até a sequência {} (capacidade {})",
+                buffer.getUltimaSequencia(), buffer.getCapacidade());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarPontoFoco(PontoFocoEvent evento) {
+        if (evento.tipo() == PontoFocoEvent.Tipo.REGISTRADO) {
+            buffer.publicar(evento.pontoFoco());
+        }
+    }
+
+    /**
+     * Lê as detecções publicadas depois da sequência informada
+     * @param desde Valor de {@code ultimaSequencia} da consulta anterior; 0 na primeira
+     * @param limite Quantidade máxima de detecções
+     */
+    public FeedDeteccoesDTO ler(long desde, int limite) {
+        return buffer.ler(desde, limite, System.currentTimeMillis() - janelaMillis);
+    }
+
+    private LocalDateTime limiteIdade() {
+        return LocalDateTime.now().minusHours(horas);
+    }
+}
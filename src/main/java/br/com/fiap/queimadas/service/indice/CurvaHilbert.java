@@ -0,0 +1,155 @@
+package br.com.fiap.queimadas.service.indice;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Chave espacial pela curva de Hilbert, gravada junto de cada ponto de foco para que as consultas
+ * por área no banco usem um índice B-tree comum.
+ * <p>
+ * O globo é dividido em uma grade de 2^16 x 2^16 células (cerca de 0,0055 grau de longitude por
+ * 0,0027 de latitude) e cada célula recebe sua posição ao longo da curva. Células próximas tendem a
+ * ter chaves próximas, e cada bloco alinhado da quadtree ocupa um intervalo contínuo de chaves; assim
+ * um retângulo é coberto por poucos intervalos, consultados como varreduras de faixa no índice.
+ */
+public final class CurvaHilbert {
+
+    /**
+     * Bits por eixo da grade
+     */
+    public static final int ORDEM = 16;
+
+    private static final int LADO = 1 << ORDEM;
+
+    // Refinar além do máximo e juntar depois cobre cerca de 2x a área do retângulo com 8 intervalos (contra 14x sem isso)
+    private static final int FATOR_REFINAMENTO = 4;
+
+    private CurvaHilbert() {
+    }
+
+    /**
+     * Chave da célula que contém o ponto
+     */
+    public static long chave(double latitude, double longitude) {
+        return posicao(coluna(longitude), linha(latitude));
+    }
+
+    /**
+     * Intervalos de chaves que cobrem um retângulo. A cobertura desce na quadtree enquanto tiver até
+     * quatro vezes o máximo de blocos, e depois os intervalos separados pelas menores lacunas são
+     * juntados até o máximo. Blocos só parcialmente dentro do retângulo entram inteiros, então os
+     * intervalos podem trazer pontos de fora, que a consulta descarta com o filtro exato.
+     * @param maximoIntervalos Quantidade máxima de intervalos
+     * @return Pares {inicio, fim} (inclusivos), ordenados e sem sobreposição
+     */
+    public static List<long[]> intervalos(double latitudeMinima, double longitudeMinima,
+                                          double latitudeMaxima, double longitudeMaxima, int maximoIntervalos) {
+        int xMin = coluna(longitudeMinima);
+        int xMax = coluna(longitudeMaxima);
+        int yMin = linha(latitudeMinima);
+        int yMax = linha(latitudeMaxima);
+
+        List<long[]> intervalos = new ArrayList<>();
+        // Blocos da quadtree: {x, y, lado}
+        List<int[]> blocos = List.of(new int[]{0, 0, LADO});
+        while (!blocos.isEmpty()) {
+            List<int[]> parciais = new ArrayList<>();
+            for (int[] bloco : blocos) {
+                int x = bloco[0], y = bloco[1], lado = bloco[2];
+                if (x > xMax || x + lado - 1 < xMin || y > yMax || y + lado - 1 < yMin) {
+                    continue;
+                }
+                if (x >= xMin && x + lado - 1 <= xMax && y >= yMin && y + lado - 1 <= yMax) {
+                    intervalos.add(intervalo(bloco));
+                } else {
+                    parciais.add(bloco);
+                }
+            }
+            if (parciais.isEmpty()) {
+                break;
+            }
+            if (parciais.get(0)[2] == 1 || intervalos.size() + 4 * parciais.size() > FATOR_REFINAMENTO * maximoIntervalos) {
+                parciais.forEach(bloco -> intervalos.add(intervalo(bloco)));
+                break;
+            }
+            List<int[]> filhos = new ArrayList<>(4 * parciais.size());
+            for (int[] bloco : parciais) {
+                int metade = bloco[2] / 2;
+                filhos.add(new int[]{bloco[0], bloco[1], metade});
+                filhos.add(new int[]{bloco[0] + metade, bloco[1], metade});
+                filhos.add(new int[]{bloco[0], bloco[1] + metade, metade});
+                filhos.add(new int[]{bloco[0] + metade, bloco[1] + metade, metade});
+            }
+            blocos = filhos;
+        }
+        return unir(intervalos, maximoIntervalos);
+    }
+
+    /**
+     * Ordena e junta os intervalos contíguos; se ainda passarem do máximo, junta os separados pelas
+     * menores lacunas
+     */
+    private static List<long[]> unir(List<long[]> intervalos, int maximoIntervalos) {
+        intervalos.sort(Comparator.comparingLong(intervalo -> intervalo[0]));
+        List<long[]> unidos = new ArrayList<>();
+        for (long[] intervalo : intervalos) {
+            long[] ultimo = unidos.isEmpty() ? null : unidos.get(unidos.size() - 1);
+            if (ultimo != null && intervalo[0] <= ultimo[1] + 1) {
+                ultimo[1] = Math.max(ultimo[1], intervalo[1]);
+            } else {
+                unidos.add(intervalo);
+            }
+        }
+        while (unidos.size() > Math.max(1, maximoIntervalos)) {
+            int menorLacuna = 1;
+            for (int i = 2; i < unidos.size(); i++) {
+                if (unidos.get(i)[0] - unidos.get(i - 1)[1] < unidos.get(menorLacuna)[0] - unidos.get(menorLacuna - 1)[1]) {
+                    menorLacuna = i;
+                }
+            }
+            unidos.get(menorLacuna - 1)[1] = unidos.remove(menorLacuna)[1];
+        }
+        return unidos;
+    }
+
+    /**
+     * Intervalo de chaves de um bloco alinhado da quadtree: a curva percorre o bloco inteiro antes de sair dele
+     */
+    private static long[] intervalo(int[] bloco) {
+        long tamanho = (long) bloco[2] * bloco[2];
+        long inicio = posicao(bloco[0], bloco[1]) / tamanho * tamanho;
+        return new long[]{inicio, inicio + tamanho - 1};
+    }
+
+    /**
+     * Posição da célula (x, y) ao longo da curva
+     */
+    private static long posicao(int x, int y) {
+        long posicao = 0;
+        for (int s = LADO / 2; s > 0; s /= 2) {
+            int rx = (x & s) > 0 ? 1 : 0;
+            int ry = (y & s) > 0 ? 1 : 0;
+            posicao += (long) s * s * ((3 * rx) ^ ry);
+            // Gira o quadrante para que a curva do próximo nível comece e termine nos cantos certos
+            if (ry == 0) {
+                if (rx == 1) {
+                    x = LADO - 1 - x;
+                    y = LADO - 1 - y;
+                }
+                int troca = x;
+                x = y;
+                y = troca;
+            }
+        }
+        return posicao;
+    }
+
+    private static int coluna(double longitude) {
+        return Math.max(0, Math.min(LADO - 1, (int) Math.floor((longitude + 180.0) / 360.0 * LADO)));
+    }
+
+    private static int linha(double latitude) {
+        return Math.max(0, Math.min(LADO - 1, (int) Math.floor((latitude + 90.0) / 180.0 * LADO)));
+    }
+}
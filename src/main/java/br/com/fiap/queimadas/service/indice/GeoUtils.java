@@ -0,0 +1,52 @@
+package br.com.fiap.queimadas.service.indice;
+
+/**
+ * Funções geográficas usadas pelos índices em memória
+ */
+public final class GeoUtils {
+
+    /**
+     * Raio médio da Terra em quilômetros
+     */
+    public static final double RAIO_TERRA_KM = 6371.0088;
+
+    /**
+     * Quilômetros correspondentes a um grau de latitude
+     */
+    public static final double KM_POR_GRAU = Math.PI * RAIO_TERRA_KM / 180.0;
+
+    private GeoUtils() {
+    }
+
+    /**
+     * Calcula a distância de grande círculo entre dois pontos (fórmula de Haversine)
+     * @return Distância em quilômetros
+     */
+    public static double distanciaKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * RAIO_TERRA_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    /**
+     * Converte um raio em quilômetros para graus de latitude
+     */
+    public static double raioEmGrausLatitude(double raioKm) {
+        return raioKm / KM_POR_GRAU;
+    }
+
+    /**
+     * Converte um raio em quilômetros para graus de longitude na latitude informada
+     * @return Graus de longitude, ou 180 quando o raio cobre todas as longitudes (próximo aos polos)
+     */
+    public static double raioEmGrausLongitude(double raioKm, double latitude) {
+        double cos = Math.cos(Math.toRadians(Math.min(Math.abs(latitude) + raioEmGrausLatitude(raioKm), 90.0)));
+        if (cos < 1e-9) {
+            return 180.0;
+        }
+        return Math.min(180.0, raioKm / (KM_POR_GRAU * cos));
+    }
+}
@@ -0,0 +1,231 @@
+package br.com.fiap.queimadas.service.indice;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Limite de uma região (polígono ou multipolígono, com ou sem buracos) pronto para testes de
+ * ponto no polígono.
+ * <p>
+ * Lê o formato WKT ({@code POLYGON} ou {@code MULTIPOLYGON}, coordenadas em "longitude latitude")
+ * e guarda todas as arestas de todos os anéis em vetores. O teste usa a regra par-ímpar (um raio
+ * horizontal a partir do ponto cruza o limite um número ímpar de vezes se o ponto está dentro),
+ * que trata buracos e partes disjuntas sem distinção entre anéis externos e internos.
+ * Para não percorrer milhares de arestas a cada teste, a caixa envolvente é dividida em faixas
+ * horizontais e cada faixa guarda apenas as arestas que a atravessam.
+ */
+public final class GeometriaRegiao {
+
+    private static final int MAXIMO_FAIXAS = 4096;
+
+    private final double latitudeMinima;
+    private final double latitudeMaxima;
+    private final double longitudeMinima;
+    private final double longitudeMaxima;
+
+    // Arestas: (x1, y1) -> (x2, y2), com x = longitude e y = latitude
+    private final double[] x1;
+    private final double[] y1;
+    private final double[] x2;
+    private final double[] y2;
+
+    private final int faixas;
+    private final double alturaFaixa;
+    private final int[][] arestasPorFaixa;
+
+    private GeometriaRegiao(List<double[]> aneis) {
+        int totalArestas = 0;
+        double latMin = Double.MAX_VALUE, latMax = -Double.MAX_VALUE;
+        double lonMin = Double.MAX_VALUE, lonMax = -Double.MAX_VALUE;
+        for (double[] anel : aneis) {
+            totalArestas += anel.length / 2;
+            for (int i = 0; i < anel.length; i += 2) {
+                lonMin = Math.min(lonMin, anel[i]);
+                lonMax = Math.max(lonMax, anel[i]);
+                latMin = Math.min(latMin, anel[i + 1]);
+                latMax = Math.max(latMax, anel[i + 1]);
+            }
+        }
+        this.latitudeMinima = latMin;
+        this.latitudeMaxima = latMax;
+        this.longitudeMinima = lonMin;
+        this.longitudeMaxima = lonMax;
+
+        this.x1 = new double[totalArestas];
+        this.y1 = new double[totalArestas];
+        this.x2 = new double[totalArestas];
+        this.y2 = new double[totalArestas];
+        int aresta = 0;
+        for (double[] anel : aneis) {
+            int vertices = anel.length / 2;
+            for (int v = 0; v < vertices; v++) {
+                int proximo = (v + 1) % vertices; // Fecha o anel mesmo que o WKT omita o último vértice
+                x1[aresta] = anel[2 * v];
+                y1[aresta] = anel[2 * v + 1];
+                x2[aresta] = anel[2 * proximo];
+                y2[aresta] = anel[2 * proximo + 1];
+                aresta++;
+            }
+        }
+
+        // Cerca de 4 arestas por faixa em média
+        this.faixas = Math.max(1, Math.min(MAXIMO_FAIXAS, totalArestas / 4));
+        this.alturaFaixa = Math.max((latMax - latMin) / faixas, Double.MIN_NORMAL);
+        this.arestasPorFaixa = indexarFaixas();
+    }
+
+    /**
+     * Lê um limite no formato WKT
+     * @param wkt {@code POLYGON((lon lat, ...), ...)} ou {@code MULTIPOLYGON(((lon lat, ...)), ...)}
+     * @return Geometria pronta para testes de ponto no polígono
+     * @throws IllegalArgumentException se o texto não for um polígono ou multipolígono válido
+     */
+    public static GeometriaRegiao lerWkt(String wkt) {
+        if (wkt == null || wkt.isBlank()) {
+            throw new IllegalArgumentException("Limite vazio");
+        }
+        String texto = wkt.trim().toUpperCase(Locale.ROOT);
+        int profundidadeAneis;
+        if (texto.startsWith("MULTIPOLYGON")) {
+            profundidadeAneis = 3;
+        } else if (texto.startsWith("POLYGON")) {
+            profundidadeAneis = 2;
+        } else {
+            throw new IllegalArgumentException("Limite deve ser POLYGON ou MULTIPOLYGON em WKT");
+        }
+
+        List<double[]> aneis = new ArrayList<>();
+        int profundidade = 0;
+        int inicioAnel = -1;
+        for (int i = texto.indexOf('('); i >= 0 && i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c == '(') {
+                profundidade++;
+                if (profundidade == profundidadeAneis) {
+                    inicioAnel = i + 1;
+                }
+            } else if (c == ')') {
+                if (profundidade == profundidadeAneis) {
+                    aneis.add(lerAnel(texto.substring(inicioAnel, i)));
+                }
+                profundidade--;
+            }
+        }
+        if (profundidade != 0 || aneis.isEmpty()) {
+            throw new IllegalArgumentException("Limite com parênteses desbalanceados ou sem anéis");
+        }
+        return new GeometriaRegiao(aneis);
+    }
+
+    /**
+     * Verifica se o ponto está dentro do limite (pontos exatamente sobre a borda podem cair em qualquer lado)
+     */
+    public boolean contem(double latitude, double longitude) {
+        if (!contemNaCaixa(latitude, longitude)) {
+            return false;
+        }
+        boolean dentro = false;
+        for (int i : arestasPorFaixa[faixa(latitude)]) {
+            if ((y1[i] > latitude) != (y2[i] > latitude)
+                    && longitude < (x2[i] - x1[i]) * (latitude - y1[i]) / (y2[i] - y1[i]) + x1[i]) {
+                dentro = !dentro;
+            }
+        }
+        return dentro;
+    }
+
+    /**
+     * Verifica se o ponto está dentro da caixa envolvente do limite
+     */
+    public boolean contemNaCaixa(double latitude, double longitude) {
+        return latitude >= latitudeMinima && latitude <= latitudeMaxima
+                && longitude >= longitudeMinima && longitude <= longitudeMaxima;
+    }
+
+    public double getLatitudeMinima() {
+        return latitudeMinima;
+    }
+
+    public double getLatitudeMaxima() {
+        return latitudeMaxima;
+    }
+
+    public double getLongitudeMinima() {
+        return longitudeMinima;
+    }
+
+    public double getLongitudeMaxima() {
+        return longitudeMaxima;
+    }
+
+    /**
+     * Área da caixa envolvente em graus quadrados, usada para preferir a região mais específica
+     */
+    public double getAreaCaixa() {
+        return (latitudeMaxima - latitudeMinima) * (longitudeMaxima - longitudeMinima);
+    }
+
+    /**
+     * Total de arestas (igual ao total de vértices distintos) de todos os anéis
+     */
+    public int getTotalArestas() {
+        return x1.length;
+    }
+
+    private int[][] indexarFaixas() {
+        int[] contagem = new int[faixas];
+        for (int i = 0; i < x1.length; i++) {
+            for (int f = faixa(Math.min(y1[i], y2[i])); f <= faixa(Math.max(y1[i], y2[i])); f++) {
+                contagem[f]++;
+            }
+        }
+        int[][] indice = new int[faixas][];
+        for (int f = 0; f < faixas; f++) {
+            indice[f] = new int[contagem[f]];
+            contagem[f] = 0;
+        }
+        for (int i = 0; i < x1.length; i++) {
+            for (int f = faixa(Math.min(y1[i], y2[i])); f <= faixa(Math.max(y1[i], y2[i])); f++) {
+                indice[f][contagem[f]++] = i;
+            }
+        }
+        return indice;
+    }
+
+    private int faixa(double latitude) {
+        return Math.max(0, Math.min(faixas - 1, (int) ((latitude - latitudeMinima) / alturaFaixa)));
+    }
+
+    private static double[] lerAnel(String coordenadas) {
+        String[] vertices = coordenadas.split(",");
+        if (vertices.length < 3) {
+            throw new IllegalArgumentException("Anel com menos de 3 vértices");
+        }
+        int total = vertices.length;
+        double[] anel = new double[total * 2];
+        for (int v = 0; v < total; v++) {
+            String[] partes = vertices[v].trim().split("\\s+");
+            if (partes.length < 2) {
+                throw new IllegalArgumentException("Vértice inválido: " + vertices[v].trim());
+            }
+            double longitude = Double.parseDouble(partes[0]);
+            double latitude = Double.parseDouble(partes[1]);
+            if (Math.abs(latitude) > 90.0 || Math.abs(longitude) > 180.0) {
+                throw new IllegalArgumentException("Vértice fora dos limites geográficos: " + vertices[v].trim());
+            }
+            anel[2 * v] = longitude;
+            anel[2 * v + 1] = latitude;
+        }
+        // O último vértice repete o primeiro no WKT; a aresta de fechamento é criada no construtor
+        if (anel[0] == anel[2 * total - 2] && anel[1] == anel[2 * total - 1]) {
+            if (total < 4) {
+                throw new IllegalArgumentException("Anel com menos de 3 vértices");
+            }
+            double[] aberto = new double[(total - 1) * 2];
+            System.arraycopy(anel, 0, aberto, 0, aberto.length);
+            return aberto;
+        }
+        return anel;
+    }
+}
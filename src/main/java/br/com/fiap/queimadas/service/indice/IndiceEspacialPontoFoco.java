@@ -0,0 +1,330 @@
+package br.com.fiap.queimadas.service.indice;
+
+import br.com.fiap.queimadas.domain.event.PontoFocoEvent;
+import br.com.fiap.queimadas.domain.event.PontoFocoResumo;
+import br.com.fiap.queimadas.domain.event.PontosFocoArquivadosEvent;
+import br.com.fiap.queimadas.repository.PontoFocoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Índice espacial em memória (grade uniforme) dos pontos de foco ativos e recentes.
+ * Cada célula da grade cobre um quadrado de tamanho fixo em graus; uma busca por raio
+ * visita apenas as células que intersectam o raio e aplica a distância de grande círculo.
+ */
+@Component
+@Slf4j
+public class IndiceEspacialPontoFoco {
+
+    /**
+     * Resultado de uma busca por proximidade
+     */
+    public record Resultado(PontoFocoResumo pontoFoco, double distanciaKm) {
+    }
+
+    private final PontoFocoRepository pontoFocoRepository;
+    private final double tamanhoCelulaGraus;
+    private final int colunas;
+    private final int janelaRecentesDias;
+
+    private final Map<Long, Map<Long, PontoFocoResumo>> celulas = new ConcurrentHashMap<>();
+    private final Map<Long, PontoFocoResumo> pontos = new ConcurrentHashMap<>();
+
+    @Autowired
+    public IndiceEspacialPontoFoco(PontoFocoRepository pontoFocoRepository,
+                                   @Value("${queimadas.indice-espacial.tamanho-celula-graus:0.5}") double tamanhoCelulaGraus,
+                                   @Value("${queimadas.indice-espacial.janela-recentes-dias:30}") int janelaRecentesDias) {
+        this.pontoFocoRepository = pontoFocoRepository;
+        this.tamanhoCelulaGraus = tamanhoCelulaGraus;
+        this.colunas = (int) Math.ceil(360.0 / tamanhoCelulaGraus);
+        this.janelaRecentesDias = janelaRecentesDias;
+    }
+
+    /**
+     * Carrega o índice com os pontos ativos e recentes na inicialização
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void carregar() {
+        try (Stream<PontoFocoResumo> resumos = pontoFocoRepository.streamAtivosOuDetectadosApos(limiteRecentes())) {
+            resumos.forEach(this::inserir);
+        }
+        log.info("Índice espacial carregado com {} pontos de foco", pontos.size());
+    }
+
+    /**
+     * Mantém o índice sincronizado com as alterações confirmadas no banco
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarPontoFoco(PontoFocoEvent evento) {
+        PontoFocoResumo resumo = evento.pontoFoco();
+        if (evento.tipo() == PontoFocoEvent.Tipo.REMOVIDO || !deveIndexar(resumo, limiteRecentes())) {
+            remover(resumo.id());
+        } else {
+            inserir(resumo);
+        }
+    }
+
+    /**
+     * Retira os pontos de foco arquivados ainda dentro da janela de recentes
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoArquivarPontosFoco(PontosFocoArquivadosEvent evento) {
+        evento.pontoFocoIds().forEach(this::remover);
+    }
+
+    /**
+     * Remove periodicamente os pontos inativos que saíram da janela de recentes
+     */
+    @Scheduled(fixedDelayString = "${queimadas.indice-espacial.intervalo-limpeza-ms:3600000}")
+    public void limparAntigos() {
+        LocalDateTime limite = limiteRecentes();
+        pontos.values().stream()
+                .filter(resumo -> !deveIndexar(resumo, limite))
+                .map(PontoFocoResumo::id)
+                .toList()
+                .forEach(this::remover);
+    }
+
+    /**
+     * Busca os pontos de foco mais próximos dentro de um raio, ordenados pela distância. Só os
+     * melhores até o limite são guardados, então um raio grande não acumula todos os pontos cobertos
+     * @param latitude Latitude do centro
+     * @param longitude Longitude do centro
+     * @param raioKm Raio em quilômetros
+     * @param limite Quantidade máxima de pontos de foco
+     * @return Até {@code limite} pontos de foco dentro do raio, do mais próximo ao mais distante
+     */
+    public List<Resultado> buscarPorRaio(double latitude, double longitude, double raioKm, int limite) {
+        double dLat = GeoUtils.raioEmGrausLatitude(raioKm);
+        double dLon = GeoUtils.raioEmGrausLongitude(raioKm, latitude);
+
+        int linhaMin = linha(Math.max(-90.0, latitude - dLat));
+        int linhaMax = linha(Math.min(90.0, latitude + dLat));
+        int colunaMin = (int) Math.floor((longitude - dLon + 180.0) / tamanhoCelulaGraus);
+        int colunaMax = (int) Math.floor((longitude + dLon + 180.0) / tamanhoCelulaGraus);
+        if (colunaMax - colunaMin >= colunas) {
+            colunaMin = 0;
+            colunaMax = colunas - 1;
+        }
+
+        PriorityQueue<Resultado> melhores = novoHeapDeMaximo(limite);
+        for (int l = linhaMin; l <= linhaMax; l++) {
+            for (int c = colunaMin; c <= colunaMax; c++) {
+                // Normaliza a coluna para tratar a passagem pelo antimeridiano
+                Map<Long, PontoFocoResumo> celula = celulas.get(chave(l, Math.floorMod(c, colunas)));
+                if (celula == null) {
+                    continue;
+                }
+                for (PontoFocoResumo resumo : celula.values()) {
+                    double distancia = GeoUtils.distanciaKm(latitude, longitude, resumo.latitude(), resumo.longitude());
+                    if (distancia <= raioKm) {
+                        oferecer(melhores, limite, resumo, distancia);
+                    }
+                }
+            }
+        }
+        return emOrdemDeDistancia(melhores);
+    }
+
+    /**
+     * Busca os k pontos de foco ativos mais próximos pela distância de grande círculo.
+     * Percorre a grade em anéis de células a partir da célula do centro e para quando nenhuma
+     * célula ainda não visitada pode conter um ponto mais próximo que o k-ésimo já encontrado.
+     * @param latitude Latitude do centro
+     * @param longitude Longitude do centro
+     * @param k Quantidade de pontos de foco desejada
+     * @param raioMaximoKm Distância máxima em quilômetros (null para não limitar)
+     * @return Até k pontos de foco ativos, do mais próximo ao mais distante
+     */
+    public List<Resultado> buscarMaisProximos(double latitude, double longitude, int k, Double raioMaximoKm) {
+        double limiteKm = raioMaximoKm != null ? raioMaximoKm : Double.MAX_VALUE;
+        PriorityQueue<Resultado> melhores = novoHeapDeMaximo(k);
+
+        int linhaCentro = linha(latitude);
+        int colunaCentro = Math.floorMod((int) Math.floor((longitude + 180.0) / tamanhoCelulaGraus), colunas);
+        int linhas = linha(90.0) + 1;
+        // Colunas distintas a oeste e a leste da coluna do centro, já considerando a volta no antimeridiano
+        int colunasOeste = colunas / 2;
+        int colunasLeste = colunas - 1 - colunasOeste;
+        int anelMaximo = Math.max(linhas, colunasOeste + 1);
+
+        for (int anel = 0; anel <= anelMaximo; anel++) {
+            for (int l = linhaCentro - anel; l <= linhaCentro + anel; l++) {
+                if (l < 0 || l >= linhas) {
+                    continue;
+                }
+                if (l == linhaCentro - anel || l == linhaCentro + anel) {
+                    // Linha nova: todas as colunas do anel
+                    int colunaInicial = colunaCentro - Math.min(anel, colunasOeste);
+                    int colunaFinal = colunaCentro + Math.min(anel, colunasLeste);
+                    for (int c = colunaInicial; c <= colunaFinal; c++) {
+                        visitar(celulas.get(chave(l, Math.floorMod(c, colunas))), latitude, longitude, k, limiteKm, melhores);
+                    }
+                } else {
+                    // Linha já visitada: apenas as colunas das bordas do anel são novas
+                    if (anel <= colunasOeste) {
+                        visitar(celulas.get(chave(l, Math.floorMod(colunaCentro - anel, colunas))),
+                                latitude, longitude, k, limiteKm, melhores);
+                    }
+                    if (anel <= colunasLeste) {
+                        visitar(celulas.get(chave(l, Math.floorMod(colunaCentro + anel, colunas))),
+                                latitude, longitude, k, limiteKm, melhores);
+                    }
+                }
+            }
+
+            double kesimo = melhores.size() == k ? melhores.peek().distanciaKm() : limiteKm;
+            if (distanciaMinimaForaDoAnel(latitude, longitude, linhaCentro, colunaCentro, anel) > kesimo) {
+                break;
+            }
+        }
+
+        return emOrdemDeDistancia(melhores);
+    }
+
+    /**
+     * Quantidade de pontos de foco no índice
+     */
+    public int tamanho() {
+        return pontos.size();
+    }
+
+    private void visitar(Map<Long, PontoFocoResumo> celula, double latitude, double longitude, int k,
+                         double limiteKm, PriorityQueue<Resultado> melhores) {
+        if (celula == null) {
+            return;
+        }
+        for (PontoFocoResumo resumo : celula.values()) {
+            if (!resumo.isAtivo()) {
+                continue;
+            }
+            double distancia = GeoUtils.distanciaKm(latitude, longitude, resumo.latitude(), resumo.longitude());
+            if (distancia <= limiteKm) {
+                oferecer(melhores, k, resumo, distancia);
+            }
+        }
+    }
+
+    /**
+     * Heap de máximo: a raiz é o mais distante entre os melhores guardados
+     */
+    private static PriorityQueue<Resultado> novoHeapDeMaximo(int limite) {
+        return new PriorityQueue<>(Math.min(limite, 1024) + 1, Comparator.comparingDouble(Resultado::distanciaKm).reversed());
+    }
+
+    /**
+     * Guarda o ponto de foco se ainda houver vaga ou se ele for mais próximo que o mais distante guardado
+     */
+    private static void oferecer(PriorityQueue<Resultado> melhores, int limite, PontoFocoResumo resumo, double distancia) {
+        if (melhores.size() < limite) {
+            melhores.add(new Resultado(resumo, distancia));
+        } else if (distancia < melhores.peek().distanciaKm()) {
+            melhores.poll();
+            melhores.add(new Resultado(resumo, distancia));
+        }
+    }
+
+    private static List<Resultado> emOrdemDeDistancia(PriorityQueue<Resultado> melhores) {
+        List<Resultado> resultados = new ArrayList<>(melhores);
+        resultados.sort(Comparator.comparingDouble(Resultado::distanciaKm));
+        return resultados;
+    }
+
+    /**
+     * Limite inferior da distância entre o centro e qualquer ponto fora das células já visitadas
+     * (o quadrado de anéis até {@code anel} em torno da célula do centro)
+     */
+    private double distanciaMinimaForaDoAnel(double latitude, double longitude, int linhaCentro, int colunaCentro,
+                                             int anel) {
+        double latitudeSul = (linhaCentro - anel) * tamanhoCelulaGraus - 90.0;
+        double latitudeNorte = (linhaCentro + anel + 1) * tamanhoCelulaGraus - 90.0;
+        double longitudeOeste = (colunaCentro - anel) * tamanhoCelulaGraus - 180.0;
+        double longitudeLeste = (colunaCentro + anel + 1) * tamanhoCelulaGraus - 180.0;
+
+        // Fora pela latitude: a diferença de latitude já é uma distância mínima
+        double folgaLatitude = Math.min(
+                latitudeSul <= -90.0 ? Double.MAX_VALUE : latitude - latitudeSul,
+                latitudeNorte >= 90.0 ? Double.MAX_VALUE : latitudeNorte - latitude);
+        double minima = folgaLatitude * GeoUtils.KM_POR_GRAU;
+
+        // Fora pela longitude: pela fórmula de Haversine, d >= 2R asin(sqrt(cos(lat1) cos(lat2)) sin(dLon / 2)),
+        // com cos(lat2) no pior caso da faixa de latitudes visitada
+        double folgaLongitude = Math.min(longitude - longitudeOeste, longitudeLeste - longitude);
+        if (longitudeLeste - longitudeOeste < 360.0) {
+            double cosPior = Math.cos(Math.toRadians(Math.max(Math.abs(latitudeSul), Math.abs(latitudeNorte))));
+            double fator = Math.sqrt(Math.max(0.0, Math.cos(Math.toRadians(latitude)) * Math.max(0.0, cosPior)));
+            double distanciaLongitude = 2 * GeoUtils.RAIO_TERRA_KM
+                    * Math.asin(Math.min(1.0, fator * Math.sin(Math.toRadians(Math.min(folgaLongitude, 180.0)) / 2)));
+            minima = Math.min(minima, distanciaLongitude);
+        }
+        return minima;
+    }
+
+    private void inserir(PontoFocoResumo resumo) {
+        PontoFocoResumo anterior = pontos.put(resumo.id(), resumo);
+        long chaveNova = chave(resumo.latitude(), resumo.longitude());
+        if (anterior != null) {
+            long chaveAnterior = chave(anterior.latitude(), anterior.longitude());
+            if (chaveAnterior != chaveNova) {
+                removerDaCelula(chaveAnterior, resumo.id());
+            }
+        }
+        celulas.compute(chaveNova, (k, celula) -> {
+            Map<Long, PontoFocoResumo> destino = celula != null ? celula : new ConcurrentHashMap<>();
+            destino.put(resumo.id(), resumo);
+            return destino;
+        });
+    }
+
+    private void remover(Long id) {
+        PontoFocoResumo anterior = pontos.remove(id);
+        if (anterior != null) {
+            removerDaCelula(chave(anterior.latitude(), anterior.longitude()), id);
+        }
+    }
+
+    private void removerDaCelula(long chave, Long id) {
+        celulas.computeIfPresent(chave, (k, celula) -> {
+            celula.remove(id);
+            return celula.isEmpty() ? null : celula;
+        });
+    }
+
+    private boolean deveIndexar(PontoFocoResumo resumo, LocalDateTime limite) {
+        return resumo.isAtivo() || (resumo.dataDeteccao() != null && resumo.dataDeteccao().isAfter(limite));
+    }
+
+    private LocalDateTime limiteRecentes() {
+        return LocalDateTime.now().minusDays(janelaRecentesDias);
+    }
+
+    private int linha(double latitude) {
+        return (int) Math.floor((latitude + 90.0) / tamanhoCelulaGraus);
+    }
+
+    private long chave(double latitude, double longitude) {
+        int coluna = Math.floorMod((int) Math.floor((longitude + 180.0) / tamanhoCelulaGraus), colunas);
+        return chave(linha(latitude), coluna);
+    }
+
+    private static long chave(int linha, int coluna) {
+        return ((long) linha << 32) | (coluna & 0xffffffffL);
+    }
+}
@@ -0,0 +1,187 @@
+package br.com.fiap.queimadas.service.indice;
+
+import br.com.fiap.queimadas.domain.event.RegiaoEvent;
+import br.com.fiap.queimadas.repository.RegiaoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice em memória dos limites das regiões, usado para descobrir a região de uma detecção
+ * pelas coordenadas.
+ * <p>
+ * Uma grade uniforme guarda, em cada célula, as regiões cuja caixa envolvente intersecta a célula;
+ * a busca filtra pelas caixas e só então aplica o teste exato de ponto no polígono. Quando uma
+ * detecção cai em mais de uma região (regiões aninhadas, como um parque dentro de um bioma),
+ * vence a de menor caixa envolvente. As regiões mudam pouco, então a grade é imutável e
+ * reconstruída por inteiro a cada alteração, sem bloquear as buscas.
+ */
+@Component
+@Slf4j
+public class IndiceRegioes {
+
+    private record Candidata(Long regiaoId, GeometriaRegiao geometria) {
+    }
+
+    /**
+     * Grade restrita à área coberta pelas regiões, em um vetor indexado por linha e coluna
+     */
+    private record Grade(int linhaMinima, int colunaMinima, int linhas, int colunas, Candidata[][] celulas) {
+
+        static final Grade VAZIA = new Grade(0, 0, 0, 0, new Candidata[0][]);
+
+        Candidata[] celula(int linha, int coluna) {
+            int l = linha - linhaMinima;
+            int c = coluna - colunaMinima;
+            if (l < 0 || l >= linhas || c < 0 || c >= colunas) {
+                return null;
+            }
+            return celulas[l * colunas + c];
+        }
+    }
+
+    private final RegiaoRepository regiaoRepository;
+    private final double tamanhoCelulaGraus;
+    private final int colunasGlobo;
+
+    private final Map<Long, GeometriaRegiao> geometrias = new ConcurrentHashMap<>();
+    private volatile Grade grade = Grade.VAZIA;
+
+    @Autowired
+    public IndiceRegioes(RegiaoRepository regiaoRepository,
+                         @Value("${queimadas.indice-regioes.tamanho-celula-graus:1.0}") double tamanhoCelulaGraus) {
+        this.regiaoRepository = regiaoRepository;
+        this.tamanhoCelulaGraus = tamanhoCelulaGraus;
+        this.colunasGlobo = (int) Math.ceil(360.0 / tamanhoCelulaGraus);
+    }
+
+    /**
+     * Carrega os limites de todas as regiões na inicialização
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void carregar() {
+        for (Object[] linha : regiaoRepository.findLimites()) {
+            ler((Long) linha[0], (String) linha[1]).ifPresent(geometria -> geometrias.put((Long) linha[0], geometria));
+        }
+        reconstruir();
+        log.info("Índice de regiões carregado com {} limites", geometrias.size());
+    }
+
+    /**
+     * Mantém o índice sincronizado com as alterações de regiões confirmadas no banco
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarRegiao(RegiaoEvent evento) {
+        Optional<GeometriaRegiao> geometria = evento.tipo() == RegiaoEvent.Tipo.REMOVIDA || evento.limite() == null
+                ? Optional.empty()
+                : ler(evento.regiaoId(), evento.limite());
+        if (geometria.isPresent()) {
+            geometrias.put(evento.regiaoId(), geometria.get());
+        } else if (geometrias.remove(evento.regiaoId()) == null) {
+            return;
+        }
+        reconstruir();
+    }
+
+    /**
+     * Localiza a região cujo limite contém o ponto
+     * @param latitude Latitude da detecção
+     * @param longitude Longitude da detecção
+     * @return ID da região mais específica que contém o ponto, se houver
+     */
+    public Optional<Long> localizar(double latitude, double longitude) {
+        Candidata[] candidatas = grade.celula(linha(latitude), coluna(longitude));
+        if (candidatas == null) {
+            return Optional.empty();
+        }
+        // As candidatas estão ordenadas da menor para a maior caixa envolvente
+        for (Candidata candidata : candidatas) {
+            if (candidata.geometria().contem(latitude, longitude)) {
+                return Optional.of(candidata.regiaoId());
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Quantidade de regiões com limite no índice
+     */
+    public int tamanho() {
+        return geometrias.size();
+    }
+
+    private synchronized void reconstruir() {
+        List<Candidata> ordenadas = new ArrayList<>();
+        geometrias.forEach((id, geometria) -> ordenadas.add(new Candidata(id, geometria)));
+        if (ordenadas.isEmpty()) {
+            grade = Grade.VAZIA;
+            return;
+        }
+        ordenadas.sort(Comparator.comparingDouble((Candidata c) -> c.geometria().getAreaCaixa())
+                .thenComparing(Candidata::regiaoId));
+
+        int linhaMinima = Integer.MAX_VALUE, linhaMaxima = Integer.MIN_VALUE;
+        int colunaMinima = Integer.MAX_VALUE, colunaMaxima = Integer.MIN_VALUE;
+        for (Candidata candidata : ordenadas) {
+            linhaMinima = Math.min(linhaMinima, linha(candidata.geometria().getLatitudeMinima()));
+            linhaMaxima = Math.max(linhaMaxima, linha(candidata.geometria().getLatitudeMaxima()));
+            colunaMinima = Math.min(colunaMinima, coluna(candidata.geometria().getLongitudeMinima()));
+            colunaMaxima = Math.max(colunaMaxima, coluna(candidata.geometria().getLongitudeMaxima()));
+        }
+        int linhas = linhaMaxima - linhaMinima + 1;
+        int colunas = colunaMaxima - colunaMinima + 1;
+
+        List<List<Candidata>> listas = new ArrayList<>(linhas * colunas);
+        for (int i = 0; i < linhas * colunas; i++) {
+            listas.add(null);
+        }
+        for (Candidata candidata : ordenadas) {
+            GeometriaRegiao geometria = candidata.geometria();
+            for (int l = linha(geometria.getLatitudeMinima()); l <= linha(geometria.getLatitudeMaxima()); l++) {
+                for (int c = coluna(geometria.getLongitudeMinima()); c <= coluna(geometria.getLongitudeMaxima()); c++) {
+                    int posicao = (l - linhaMinima) * colunas + (c - colunaMinima);
+                    if (listas.get(posicao) == null) {
+                        listas.set(posicao, new ArrayList<>());
+                    }
+                    listas.get(posicao).add(candidata);
+                }
+            }
+        }
+
+        Candidata[][] celulas = new Candidata[linhas * colunas][];
+        for (int i = 0; i < celulas.length; i++) {
+            celulas[i] = listas.get(i) != null ? listas.get(i).toArray(Candidata[]::new) : null;
+        }
+        grade = new Grade(linhaMinima, colunaMinima, linhas, colunas, celulas);
+    }
+
+    private Optional<GeometriaRegiao> ler(Long regiaoId, String limite) {
+        try {
+            return Optional.of(GeometriaRegiao.lerWkt(limite));
+        } catch (IllegalArgumentException e) {
+            log.warn("Limite da região {} ignorado no índice: {}", regiaoId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private int linha(double latitude) {
+        return (int) Math.floor((latitude + 90.0) / tamanhoCelulaGraus);
+    }
+
+    private int coluna(double longitude) {
+        return Math.min(colunasGlobo - 1, (int) Math.floor((longitude + 180.0) / tamanhoCelulaGraus));
+    }
+}
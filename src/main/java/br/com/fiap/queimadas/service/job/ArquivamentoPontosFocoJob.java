@@ -0,0 +1,26 @@
+package br.com.fiap.queimadas.service.job;
+
+import br.com.fiap.queimadas.service.ArquivamentoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Job que arquiva periodicamente os pontos de foco encerrados há mais tempo que a idade configurada
+ */
+@Component
+public class ArquivamentoPontosFocoJob {
+
+    private final ArquivamentoService arquivamentoService;
+
+    @Autowired
+    public ArquivamentoPontosFocoJob(ArquivamentoService arquivamentoService) {
+        this.arquivamentoService = arquivamentoService;
+    }
+
+    @Scheduled(fixedDelayString = "${queimadas.arquivamento.intervalo-ms:3600000}",
+            initialDelayString = "${queimadas.arquivamento.intervalo-ms:3600000}")
+    public void arquivar() {
+        arquivamentoService.arquivar();
+    }
+}
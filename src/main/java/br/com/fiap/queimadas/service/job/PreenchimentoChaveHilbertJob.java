@@ -0,0 +1,48 @@
+package br.com.fiap.queimadas.service.job;
+
+import br.com.fiap.queimadas.repository.PontoFocoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Migração das linhas gravadas antes da coluna {@code chave_hilbert}: calcula a chave espacial em
+ * lotes, cada um na sua transação, para não manter bloqueios sobre a tabela inteira. Enquanto houver
+ * linhas pendentes, as consultas por área também leem as linhas sem chave.
+ */
+@Component
+@Slf4j
+public class PreenchimentoChaveHilbertJob {
+
+    private final PontoFocoRepository pontoFocoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanhoLote;
+
+    @Autowired
+    public PreenchimentoChaveHilbertJob(PontoFocoRepository pontoFocoRepository, TransactionTemplate transactionTemplate,
+                                        @Value("${queimadas.chave-hilbert.tamanho-lote-preenchimento:1000}") int tamanhoLote) {
+        this.pontoFocoRepository = pontoFocoRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    /**
+     * Executa na inicialização, depois da carga de dados
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void preencher() {
+        long inicio = System.currentTimeMillis();
+        long total = 0;
+        Integer atualizadas;
+        while ((atualizadas = transactionTemplate.execute(status -> pontoFocoRepository.preencherChavesHilbert(tamanhoLote))) > 0) {
+            total += atualizadas;
+        }
+        if (total > 0) {
+            log.info("Chave espacial preenchida em {} ponto(s) de foco em {} ms", total, System.currentTimeMillis() - inicio);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.fiap.queimadas.service.job;
+
+import br.com.fiap.queimadas.service.RegiaoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Job que recalcula periodicamente o total de pontos de foco ativos e o nível de risco de todas as
+ * regiões. As alterações de pontos de foco não atualizam a região; os valores ficam defasados no
+ * máximo pelo intervalo configurado
+ */
+@Component
+public class RecalculoRiscoRegioesJob {
+
+    private final RegiaoService regiaoService;
+
+    @Autowired
+    public RecalculoRiscoRegioesJob(RegiaoService regiaoService) {
+        this.regiaoService = regiaoService;
+    }
+
+    /**
+     * Executa na inicialização (após a carga de dados) e depois no intervalo configurado
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${queimadas.recalculo-risco.intervalo-ms:60000}",
+            initialDelayString = "${queimadas.recalculo-risco.intervalo-ms:60000}")
+    public void recalcular() {
+        regiaoService.recalcularNivelRiscoTodas();
+    }
+}
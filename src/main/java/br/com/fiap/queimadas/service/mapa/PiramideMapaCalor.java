@@ -0,0 +1,284 @@
+package br.com.fiap.queimadas.service.mapa;
+
+import br.com.fiap.queimadas.domain.event.PontoFocoEvent;
+import br.com.fiap.queimadas.domain.event.PontoFocoResumo;
+import br.com.fiap.queimadas.repository.PontoFocoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Agregados dos pontos de foco ativos em grades de várias resoluções, para mapas de calor.
+ * <p>
+ * No zoom {@code z} a célula é um quadrado de {@code 45 / 2^z} graus, alinhado a (-90, -180);
+ * assim cada célula de um zoom é dividida em exatamente quatro células do zoom seguinte, como
+ * em uma quadtree. Cada célula guarda a quantidade de pontos, a intensidade máxima e a soma das
+ * áreas estimadas, e cada alteração de ponto de foco atualiza uma célula por zoom. A intensidade
+ * máxima não pode ser desfeita por subtração: o zoom mais detalhado guarda as intensidades da
+ * célula, e os demais recalculam o máximo a partir das quatro células filhas quando perdem o ponto
+ * mais intenso.
+ */
+@Component
+@Slf4j
+public class PiramideMapaCalor {
+
+    /**
+     * Tamanho da célula no zoom 0, em graus
+     */
+    public static final double TAMANHO_CELULA_ZOOM_ZERO = 45.0;
+
+    /**
+     * Agregado de uma célula (consulta)
+     */
+    public record Agregado(int linha, int coluna, int quantidade, Double intensidadeMaxima, double areaTotal) {
+    }
+
+    private static final class Celula {
+        private int quantidade;
+        private double intensidadeMaxima = Double.NaN;
+        private double areaTotal;
+        // Apenas no zoom mais detalhado: intensidades dos pontos da célula (sem ordem)
+        private double[] intensidades;
+        private int totalIntensidades;
+
+        private void adicionarIntensidade(double intensidade) {
+            if (intensidades == null) {
+                intensidades = new double[2];
+            } else if (totalIntensidades == intensidades.length) {
+                intensidades = Arrays.copyOf(intensidades, totalIntensidades * 2);
+            }
+            intensidades[totalIntensidades++] = intensidade;
+        }
+
+        private void removerIntensidade(double intensidade) {
+            for (int i = 0; i < totalIntensidades; i++) {
+                if (intensidades[i] == intensidade) {
+                    intensidades[i] = intensidades[--totalIntensidades];
+                    return;
+                }
+            }
+        }
+
+        private double maximoIntensidades() {
+            double maximo = Double.NaN;
+            for (int i = 0; i < totalIntensidades; i++) {
+                if (!(intensidades[i] <= maximo)) {
+                    maximo = intensidades[i];
+                }
+            }
+            return maximo;
+        }
+    }
+
+    private final PontoFocoRepository pontoFocoRepository;
+    private final int zoomMaximo;
+
+    private final ReadWriteLock trava = new ReentrantReadWriteLock();
+    private final Map<Long, PontoFocoResumo> pontos = new HashMap<>();
+    private final Map<Long, Celula>[] niveis;
+
+    @Autowired
+    @SuppressWarnings("unchecked")
+    public PiramideMapaCalor(PontoFocoRepository pontoFocoRepository,
+                             @Value("${queimadas.mapa-calor.zoom-maximo:12}") int zoomMaximo) {
+        this.pontoFocoRepository = pontoFocoRepository;
+        this.zoomMaximo = zoomMaximo;
+        this.niveis = new Map[zoomMaximo + 1];
+        for (int z = 0; z <= zoomMaximo; z++) {
+            niveis[z] = new HashMap<>();
+        }
+    }
+
+    /**
+     * Agrega os pontos de foco ativos na inicialização
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void carregar() {
+        trava.writeLock().lock();
+        try (Stream<PontoFocoResumo> resumos = pontoFocoRepository.streamAtivos()) {
+            // Eventos recebidos antes da carga (dados iniciais, por exemplo) já estão no banco
+            pontos.clear();
+            for (Map<Long, Celula> nivel : niveis) {
+                nivel.clear();
+            }
+            resumos.forEach(this::adicionar);
+            log.info("Mapa de calor carregado com {} pontos de foco ativos em {} zooms", pontos.size(), zoomMaximo + 1);
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Mantém os agregados sincronizados com as alterações confirmadas no banco
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarPontoFoco(PontoFocoEvent evento) {
+        PontoFocoResumo resumo = evento.pontoFoco();
+        trava.writeLock().lock();
+        try {
+            PontoFocoResumo anterior = pontos.get(resumo.id());
+            if (anterior != null) {
+                subtrair(anterior);
+            }
+            if (evento.tipo() != PontoFocoEvent.Tipo.REMOVIDO && resumo.isAtivo()) {
+                adicionar(resumo);
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Percorre as células não vazias de um retângulo da grade de um zoom
+     * @param zoom Zoom entre 0 e {@link #getZoomMaximo()}
+     * @param linhaMinima Primeira linha (inclusiva)
+     * @param linhaMaxima Última linha (inclusiva)
+     * @param colunaMinima Primeira coluna (inclusiva); se maior que a última, o retângulo cruza o antimeridiano
+     * @param colunaMaxima Última coluna (inclusiva)
+     * @param visitante Recebe o agregado de cada célula não vazia
+     */
+    public void percorrer(int zoom, int linhaMinima, int linhaMaxima, int colunaMinima, int colunaMaxima,
+                          Consumer<Agregado> visitante) {
+        trava.readLock().lock();
+        try {
+            Map<Long, Celula> nivel = niveis[zoom];
+            int colunas = colunas(zoom);
+            int totalColunas = colunaMinima <= colunaMaxima
+                    ? colunaMaxima - colunaMinima + 1
+                    : colunas - colunaMinima + colunaMaxima + 1;
+            for (int l = linhaMinima; l <= linhaMaxima; l++) {
+                for (int i = 0; i < totalColunas; i++) {
+                    int c = (colunaMinima + i) % colunas;
+                    Celula celula = nivel.get(chave(l, c));
+                    if (celula != null) {
+                        visitante.accept(new Agregado(l, c, celula.quantidade,
+                                Double.isNaN(celula.intensidadeMaxima) ? null : celula.intensidadeMaxima,
+                                celula.areaTotal));
+                    }
+                }
+            }
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    public int getZoomMaximo() {
+        return zoomMaximo;
+    }
+
+    /**
+     * Tamanho da célula de um zoom, em graus
+     */
+    public static double tamanhoCelula(int zoom) {
+        return TAMANHO_CELULA_ZOOM_ZERO / (1L << zoom);
+    }
+
+    /**
+     * Linha da célula que contém a latitude
+     */
+    public static int linha(int zoom, double latitude) {
+        return Math.min(linhas(zoom) - 1, Math.max(0, (int) Math.floor((latitude + 90.0) / tamanhoCelula(zoom))));
+    }
+
+    /**
+     * Coluna da célula que contém a longitude
+     */
+    public static int coluna(int zoom, double longitude) {
+        return Math.min(colunas(zoom) - 1, Math.max(0, (int) Math.floor((longitude + 180.0) / tamanhoCelula(zoom))));
+    }
+
+    public static int linhas(int zoom) {
+        return 4 << zoom;
+    }
+
+    public static int colunas(int zoom) {
+        return 8 << zoom;
+    }
+
+    private void adicionar(PontoFocoResumo ponto) {
+        pontos.put(ponto.id(), ponto);
+        double area = area(ponto);
+        for (int z = 0; z <= zoomMaximo; z++) {
+            Celula celula = niveis[z].computeIfAbsent(
+                    chave(linha(z, ponto.latitude()), coluna(z, ponto.longitude())), chave -> new Celula());
+            celula.quantidade++;
+            celula.areaTotal += area;
+            if (ponto.intensidade() != null) {
+                if (!(ponto.intensidade() <= celula.intensidadeMaxima)) {
+                    celula.intensidadeMaxima = ponto.intensidade();
+                }
+                if (z == zoomMaximo) {
+                    celula.adicionarIntensidade(ponto.intensidade());
+                }
+            }
+        }
+    }
+
+    /**
+     * Retira o ponto dos agregados, do zoom mais detalhado para o menos detalhado, de forma que
+     * as células filhas já estejam atualizadas quando o máximo de uma célula precisar ser recalculado
+     */
+    private void subtrair(PontoFocoResumo ponto) {
+        pontos.remove(ponto.id());
+        double area = area(ponto);
+        for (int z = zoomMaximo; z >= 0; z--) {
+            int linha = linha(z, ponto.latitude());
+            int coluna = coluna(z, ponto.longitude());
+            long chave = chave(linha, coluna);
+            Celula celula = niveis[z].get(chave);
+            if (celula == null) {
+                continue;
+            }
+            if (--celula.quantidade == 0) {
+                niveis[z].remove(chave);
+                continue;
+            }
+            celula.areaTotal -= area;
+            if (ponto.intensidade() != null) {
+                if (z == zoomMaximo) {
+                    celula.removerIntensidade(ponto.intensidade());
+                    if (ponto.intensidade() >= celula.intensidadeMaxima) {
+                        celula.intensidadeMaxima = celula.maximoIntensidades();
+                    }
+                } else if (ponto.intensidade() >= celula.intensidadeMaxima) {
+                    celula.intensidadeMaxima = maximoFilhas(z + 1, linha, coluna);
+                }
+            }
+        }
+    }
+
+    private double maximoFilhas(int zoomFilhas, int linha, int coluna) {
+        double maximo = Double.NaN;
+        for (int l = 2 * linha; l <= 2 * linha + 1; l++) {
+            for (int c = 2 * coluna; c <= 2 * coluna + 1; c++) {
+                Celula filha = niveis[zoomFilhas].get(chave(l, c));
+                if (filha != null && !Double.isNaN(filha.intensidadeMaxima) && !(filha.intensidadeMaxima <= maximo)) {
+                    maximo = filha.intensidadeMaxima;
+                }
+            }
+        }
+        return maximo;
+    }
+
+    private static double area(PontoFocoResumo ponto) {
+        return ponto.areaEstimadaMetrosQuadrados() != null ? ponto.areaEstimadaMetrosQuadrados() : 0.0;
+    }
+
+    private static long chave(int linha, int coluna) {
+        return ((long) linha << 32) | (coluna & 0xffffffffL);
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.fiap.queimadas.service.metrica;
+
+import br.com.fiap.queimadas.domain.event.PontoFocoEvent;
+import br.com.fiap.queimadas.domain.event.PontoFocoResumo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Conta as detecções ingeridas por status e região, a partir dos eventos de pontos de foco
+ * confirmados no banco (registro individual, lote e importação de arquivos)
+ */
+@Component
+public class MetricasIngestao {
+
+    private static final String CONTADOR_DETECCOES = "queimadas.deteccoes.registradas";
+    private static final String SEM_REGIAO = "nenhuma";
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public MetricasIngestao(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarPontoFoco(PontoFocoEvent evento) {
+        if (evento.tipo() != PontoFocoEvent.Tipo.REGISTRADO) {
+            return;
+        }
+        PontoFocoResumo resumo = evento.pontoFoco();
+        Counter.builder(CONTADOR_DETECCOES)
+                .description("Detecções de focos de incêndio registradas")
+                .tag("status", resumo.status().name())
+                .tag("regiao", resumo.regiaoId() != null ? resumo.regiaoId().toString() : SEM_REGIAO)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,184 @@
+package br.com.fiap.queimadas.service.ranking;
+
+import br.com.fiap.queimadas.domain.event.PontoFocoEvent;
+import br.com.fiap.queimadas.domain.event.PontoFocoResumo;
+import br.com.fiap.queimadas.domain.event.RegiaoEvent;
+import br.com.fiap.queimadas.dto.RegiaoRankingDTO;
+import br.com.fiap.queimadas.repository.PontoFocoRepository;
+import br.com.fiap.queimadas.repository.RegiaoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Classificação das regiões pelo número de pontos de foco ativos, mantida em memória a partir dos
+ * eventos de pontos de foco e de regiões.
+ * <p>
+ * As regiões ficam em um conjunto ordenado (total de ativos decrescente, depois ID), então as K
+ * primeiras são lidas percorrendo só o começo do conjunto; cada mudança de atividade de um ponto
+ * reposiciona uma região em O(log n). Regiões sem pontos de foco ativos também são classificadas,
+ * com total zero.
+ */
+@Component
+@Slf4j
+public class RankingRegioes {
+
+    private static final Comparator<Posicao> ORDEM = Comparator
+            .comparingLong(Posicao::ativos).reversed()
+            .thenComparingLong(Posicao::regiaoId);
+
+    private record Posicao(long regiaoId, long ativos) {
+    }
+
+    private final RegiaoRepository regiaoRepository;
+    private final PontoFocoRepository pontoFocoRepository;
+
+    private final ReadWriteLock trava = new ReentrantReadWriteLock();
+    private final NavigableSet<Posicao> classificacao = new TreeSet<>(ORDEM);
+    private final Map<Long, Posicao> posicoes = new HashMap<>();
+    private final Map<Long, String> nomes = new HashMap<>();
+    // Região de cada ponto de foco ativo contado, para descontá-lo da mesma região quando mudar
+    private final Map<Long, Long> regiaoPorPontoAtivo = new HashMap<>();
+
+    @Autowired
+    public RankingRegioes(RegiaoRepository regiaoRepository, PontoFocoRepository pontoFocoRepository) {
+        this.regiaoRepository = regiaoRepository;
+        this.pontoFocoRepository = pontoFocoRepository;
+    }
+
+    /**
+     * Monta a classificação na inicialização
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void carregar() {
+        trava.writeLock().lock();
+        try (Stream<PontoFocoResumo> resumos = pontoFocoRepository.streamAtivos()) {
+            // Eventos recebidos antes da carga (dados iniciais, por exemplo) já estão no banco
+            classificacao.clear();
+            posicoes.clear();
+            nomes.clear();
+            regiaoPorPontoAtivo.clear();
+            for (Object[] linha : regiaoRepository.findNomes()) {
+                nomes.put((Long) linha[0], (String) linha[1]);
+                reposicionar((Long) linha[0], 0);
+            }
+            resumos.forEach(this::contar);
+            log.info("Classificação carregada com {} regiões e {} pontos de foco ativos",
+                    posicoes.size(), regiaoPorPontoAtivo.size());
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Mantém a classificação sincronizada com as alterações de pontos de foco confirmadas no banco
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarPontoFoco(PontoFocoEvent evento) {
+        PontoFocoResumo resumo = evento.pontoFoco();
+        trava.writeLock().lock();
+        try {
+            Long regiaoAnterior = regiaoPorPontoAtivo.remove(resumo.id());
+            if (regiaoAnterior != null) {
+                somar(regiaoAnterior, -1);
+            }
+            if (evento.tipo() != PontoFocoEvent.Tipo.REMOVIDO) {
+                contar(resumo);
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Inclui, renomeia ou retira regiões da classificação
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarRegiao(RegiaoEvent evento) {
+        trava.writeLock().lock();
+        try {
+            if (evento.tipo() == RegiaoEvent.Tipo.REMOVIDA) {
+                nomes.remove(evento.regiaoId());
+                Posicao posicao = posicoes.remove(evento.regiaoId());
+                if (posicao != null) {
+                    classificacao.remove(posicao);
+                }
+                regiaoPorPontoAtivo.values().removeIf(evento.regiaoId()::equals);
+            } else {
+                nomes.put(evento.regiaoId(), evento.nome());
+                if (!posicoes.containsKey(evento.regiaoId())) {
+                    reposicionar(evento.regiaoId(), 0);
+                }
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Lista as regiões com mais pontos de foco ativos
+     * @param limite Quantidade máxima de regiões; null para a classificação completa
+     * @return Regiões em ordem decrescente de pontos de foco ativos (empates pelo ID)
+     */
+    public List<RegiaoRankingDTO> listar(Integer limite) {
+        trava.readLock().lock();
+        try {
+            int quantidade = limite != null ? Math.min(limite, classificacao.size()) : classificacao.size();
+            List<RegiaoRankingDTO> regioes = new ArrayList<>(quantidade);
+            for (Posicao posicao : classificacao) {
+                if (regioes.size() == quantidade) {
+                    break;
+                }
+                regioes.add(RegiaoRankingDTO.builder()
+                        .posicao(regioes.size() + 1)
+                        .regiaoId(posicao.regiaoId())
+                        .nome(nomes.get(posicao.regiaoId()))
+                        .totalPontosFocoAtivos(posicao.ativos())
+                        .build());
+            }
+            return regioes;
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    private void contar(PontoFocoResumo resumo) {
+        if (resumo.isAtivo() && resumo.regiaoId() != null && posicoes.containsKey(resumo.regiaoId())) {
+            regiaoPorPontoAtivo.put(resumo.id(), resumo.regiaoId());
+            somar(resumo.regiaoId(), 1);
+        }
+    }
+
+    private void somar(Long regiaoId, long delta) {
+        Posicao posicao = posicoes.get(regiaoId);
+        if (posicao != null) {
+            reposicionar(regiaoId, posicao.ativos() + delta);
+        }
+    }
+
+    private void reposicionar(Long regiaoId, long ativos) {
+        Posicao anterior = posicoes.get(regiaoId);
+        if (anterior != null) {
+            classificacao.remove(anterior);
+        }
+        Posicao posicao = new Posicao(regiaoId, ativos);
+        posicoes.put(regiaoId, posicao);
+        classificacao.add(posicao);
+    }
+}
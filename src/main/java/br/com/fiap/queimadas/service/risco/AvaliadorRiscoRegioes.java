@@ -0,0 +1,122 @@
+package br.com.fiap.queimadas.service.risco;
+
+import br.com.fiap.queimadas.repository.RegiaoContadorRepository.RegiaoRisco;
+import br.com.fiap.queimadas.repository.RegiaoRepository;
+import br.com.fiap.queimadas.service.cache.CacheRegiao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lê os atributos dos pontos de foco ativos para arrays primitivos, avalia as regiões com o
+ * {@link MotorRisco} e grava em lote as regiões cujo total, nível ou pontuação mudou. A gravação
+ * é feita via JDBC, então as regiões gravadas são retiradas do cache de segundo nível após o commit.
+ * Deve ser chamado dentro de uma transação.
+ */
+@Component
+public class AvaliadorRiscoRegioes {
+
+    // Diferença de pontuação abaixo da qual a região não é regravada
+    private static final double TOLERANCIA_PONTUACAO = 1e-6;
+
+    private static final int CAPACIDADE_INICIAL = 1024;
+
+    /**
+     * Resultado de uma avaliação
+     * @param regioesAtualizadas IDs das regiões gravadas
+     */
+    public record Resultado(int regioesAvaliadas, List<Long> regioesAtualizadas) {
+    }
+
+    private final RegiaoRepository regiaoRepository;
+    private final MotorRisco motorRisco;
+    private final CacheRegiao cacheRegiao;
+
+    @Autowired
+    public AvaliadorRiscoRegioes(RegiaoRepository regiaoRepository, MotorRisco motorRisco, CacheRegiao cacheRegiao) {
+        this.regiaoRepository = regiaoRepository;
+        this.motorRisco = motorRisco;
+        this.cacheRegiao = cacheRegiao;
+    }
+
+    /**
+     * Recalcula o risco de uma região ou de todas
+     * @param regiaoId Região a recalcular; null para todas
+     */
+    public Resultado recalcular(Long regiaoId) {
+        List<RegiaoRisco> regioes = regiaoRepository.findRegioesRisco(regiaoId);
+        Map<Long, Integer> indices = new HashMap<>(regioes.size() * 2);
+        double[] areas = new double[regioes.size()];
+        int[] acoes = new int[regioes.size()];
+        for (int r = 0; r < regioes.size(); r++) {
+            indices.put(regioes.get(r).id(), r);
+            areas[r] = regioes.get(r).areaMetrosQuadrados();
+            acoes[r] = regioes.get(r).acoesEmAndamento();
+        }
+
+        ColetorPontos coletor = new ColetorPontos();
+        regiaoRepository.percorrerPontosAtivosRisco(regiaoId, (regiao, intensidade, area, dataDeteccao) -> {
+            Integer indice = indices.get(regiao);
+            if (indice != null) {
+                coletor.adicionar(indice, intensidade, area, dataDeteccao);
+            }
+        });
+
+        MotorRisco.Resultado resultado = motorRisco.avaliar(new MotorRisco.Regioes(regioes.size(), areas, acoes),
+                coletor.pontos(), LocalDateTime.now().toEpochSecond(ZoneOffset.UTC));
+
+        List<Object[]> alteracoes = new ArrayList<>();
+        List<Long> atualizadas = new ArrayList<>();
+        for (int r = 0; r < regioes.size(); r++) {
+            RegiaoRisco gravada = regioes.get(r);
+            long total = resultado.totalAtivos()[r];
+            int nivel = resultado.nivel()[r];
+            double pontuacao = resultado.pontuacao()[r];
+            if (gravada.totalAtivos() != total || gravada.nivel() != nivel
+                    || !(Math.abs(gravada.pontuacao() - pontuacao) <= TOLERANCIA_PONTUACAO)) {
+                alteracoes.add(new Object[]{total, nivel, pontuacao, gravada.id()});
+                atualizadas.add(gravada.id());
+            }
+        }
+        regiaoRepository.atualizarRisco(alteracoes);
+        cacheRegiao.invalidar(atualizadas);
+        return new Resultado(regioes.size(), atualizadas);
+    }
+
+    /**
+     * Acumula os atributos dos pontos em arrays primitivos que crescem conforme a leitura
+     */
+    private static final class ColetorPontos {
+        private int quantidade;
+        private int[] regiao = new int[CAPACIDADE_INICIAL];
+        private double[] intensidade = new double[CAPACIDADE_INICIAL];
+        private double[] area = new double[CAPACIDADE_INICIAL];
+        private long[] dataDeteccao = new long[CAPACIDADE_INICIAL];
+
+        private void adicionar(int indiceRegiao, double intensidadePonto, double areaPonto, long dataDeteccaoPonto) {
+            if (quantidade == regiao.length) {
+                int capacidade = quantidade * 2;
+                regiao = Arrays.copyOf(regiao, capacidade);
+                intensidade = Arrays.copyOf(intensidade, capacidade);
+                area = Arrays.copyOf(area, capacidade);
+                dataDeteccao = Arrays.copyOf(dataDeteccao, capacidade);
+            }
+            regiao[quantidade] = indiceRegiao;
+            intensidade[quantidade] = intensidadePonto;
+            area[quantidade] = areaPonto;
+            dataDeteccao[quantidade] = dataDeteccaoPonto;
+            quantidade++;
+        }
+
+        private MotorRisco.Pontos pontos() {
+            return new MotorRisco.Pontos(quantidade, regiao, intensidade, area, dataDeteccao);
+        }
+    }
+}
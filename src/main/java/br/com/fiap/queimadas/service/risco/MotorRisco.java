@@ -0,0 +1,163 @@
+package br.com.fiap.queimadas.service.risco;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Cálculo do risco das regiões a partir dos atributos dos seus pontos de foco ativos.
+ * <p>
+ * Cada ponto pesa {@code d = 2^(-idade / meia-vida)} pela idade da detecção. Por região:
+ * <pre>
+ * base       = pesoQuantidade * Σd + pesoIntensidade * Σ(d * intensidade / 100) + pesoArea * Σ(d * hectares)
+ * percentual = 100 * Σ(d * área do ponto) / área da região     (0 se a região não tem área)
+ * pontuacao  = base * (1 + pesoFracaoRegiao * percentual) / (1 + pesoAcoes * ações em andamento)
+ * </pre>
+ * O nível é 1 mais a quantidade de limites de {@code limitesNivel} que a pontuação atinge.
+ * <p>
+ * Os pontos chegam em arrays primitivos, sem ordem; são agrupados por região com uma ordenação por
+ * contagem, e as regiões são avaliadas em paralelo, cada uma somando apenas os seus pontos.
+ */
+@Component
+public class MotorRisco {
+
+    private static final double METROS_QUADRADOS_POR_HECTARE = 10_000.0;
+
+    /**
+     * Pesos do cálculo
+     * @param limitesNivel Pontuações mínimas dos níveis 2 a 5, em ordem crescente
+     */
+    public record Pesos(double quantidade, double intensidade, double areaPorHectare, double fracaoRegiao,
+                        double acoes, double meiaVidaHoras, double[] limitesNivel) {
+
+        public Pesos {
+            if (limitesNivel.length != 4) {
+                throw new IllegalArgumentException("São necessários 4 limites de nível (níveis 2 a 5)");
+            }
+            if (meiaVidaHoras <= 0) {
+                throw new IllegalArgumentException("A meia-vida deve ser positiva");
+            }
+            limitesNivel = limitesNivel.clone();
+            Arrays.sort(limitesNivel);
+        }
+    }
+
+    /**
+     * Regiões avaliadas, indexadas de 0 a {@code quantidade - 1}
+     * @param areaMetrosQuadrados Área de cada região (0 ou NaN se desconhecida)
+     * @param acoesEmAndamento Ações de combate em andamento em cada região
+     */
+    public record Regioes(int quantidade, double[] areaMetrosQuadrados, int[] acoesEmAndamento) {
+    }
+
+    /**
+     * Pontos de foco ativos
+     * @param regiao Índice da região de cada ponto em {@link Regioes}
+     * @param intensidade Intensidade de cada ponto (NaN se desconhecida)
+     * @param areaMetrosQuadrados Área estimada de cada ponto (NaN se desconhecida)
+     * @param dataDeteccaoSegundos Data de detecção de cada ponto, em segundos na mesma escala de {@code agoraSegundos}
+     */
+    public record Pontos(int quantidade, int[] regiao, double[] intensidade, double[] areaMetrosQuadrados,
+                         long[] dataDeteccaoSegundos) {
+    }
+
+    /**
+     * Resultado por região, nos mesmos índices de {@link Regioes}
+     */
+    public record Resultado(long[] totalAtivos, double[] pontuacao, int[] nivel) {
+    }
+
+    private final Pesos pesos;
+
+    @Autowired
+    public MotorRisco(@Value("${queimadas.risco.peso-quantidade:0.5}") double pesoQuantidade,
+                      @Value("${queimadas.risco.peso-intensidade:0.5}") double pesoIntensidade,
+                      @Value("${queimadas.risco.peso-area-hectare:0.01}") double pesoAreaPorHectare,
+                      @Value("${queimadas.risco.peso-fracao-regiao:1.0}") double pesoFracaoRegiao,
+                      @Value("${queimadas.risco.peso-acoes:0.25}") double pesoAcoes,
+                      @Value("${queimadas.risco.meia-vida-horas:72}") double meiaVidaHoras,
+                      @Value("${queimadas.risco.limites-nivel:0.1,3,5,10}") double[] limitesNivel) {
+        this(new Pesos(pesoQuantidade, pesoIntensidade, pesoAreaPorHectare, pesoFracaoRegiao, pesoAcoes,
+                meiaVidaHoras, limitesNivel));
+    }
+
+    public MotorRisco(Pesos pesos) {
+        this.pesos = pesos;
+    }
+
+    /**
+     * Calcula o total de ativos, a pontuação e o nível de cada região
+     * @param agoraSegundos Instante de referência para a idade das detecções
+     */
+    public Resultado avaliar(Regioes regioes, Pontos pontos, long agoraSegundos) {
+        int totalRegioes = regioes.quantidade();
+        int totalPontos = pontos.quantidade();
+
+        // Copia os atributos agrupados por região (ordenação por contagem), para que cada região
+        // some um trecho contínuo dos arrays
+        int[] inicio = new int[totalRegioes + 1];
+        for (int i = 0; i < totalPontos; i++) {
+            inicio[pontos.regiao()[i] + 1]++;
+        }
+        for (int r = 0; r < totalRegioes; r++) {
+            inicio[r + 1] += inicio[r];
+        }
+        long[] idade = new long[totalPontos];
+        double[] intensidades = new double[totalPontos];
+        double[] areas = new double[totalPontos];
+        int[] proximo = Arrays.copyOf(inicio, totalRegioes);
+        for (int i = 0; i < totalPontos; i++) {
+            int j = proximo[pontos.regiao()[i]]++;
+            idade[j] = Math.max(0L, agoraSegundos - pontos.dataDeteccaoSegundos()[i]);
+            intensidades[j] = pontos.intensidade()[i];
+            areas[j] = pontos.areaMetrosQuadrados()[i];
+        }
+
+        double decaimentoPorSegundo = Math.log(2) / (pesos.meiaVidaHoras() * 3600.0);
+        long[] totalAtivos = new long[totalRegioes];
+        double[] pontuacao = new double[totalRegioes];
+        int[] nivel = new int[totalRegioes];
+        IntStream.range(0, totalRegioes).parallel().forEach(r -> {
+            double ocorrencias = 0;
+            double intensidade = 0;
+            double areaPonderada = 0;
+            for (int j = inicio[r]; j < inicio[r + 1]; j++) {
+                double d = Math.exp(-decaimentoPorSegundo * idade[j]);
+                ocorrencias += d;
+                if (!Double.isNaN(intensidades[j])) {
+                    intensidade += d * intensidades[j] / 100.0;
+                }
+                if (!Double.isNaN(areas[j])) {
+                    areaPonderada += d * areas[j];
+                }
+            }
+            totalAtivos[r] = inicio[r + 1] - inicio[r];
+            pontuacao[r] = pontuar(ocorrencias, intensidade, areaPonderada,
+                    regioes.areaMetrosQuadrados()[r], regioes.acoesEmAndamento()[r]);
+            nivel[r] = nivel(pontuacao[r]);
+        });
+        return new Resultado(totalAtivos, pontuacao, nivel);
+    }
+
+    private double pontuar(double ocorrencias, double intensidade, double areaPonderada,
+                           double areaRegiao, int acoesEmAndamento) {
+        double base = pesos.quantidade() * ocorrencias
+                + pesos.intensidade() * intensidade
+                + pesos.areaPorHectare() * areaPonderada / METROS_QUADRADOS_POR_HECTARE;
+        double percentual = areaRegiao > 0 ? 100.0 * areaPonderada / areaRegiao : 0.0;
+        return base * (1 + pesos.fracaoRegiao() * percentual) / (1 + pesos.acoes() * acoesEmAndamento);
+    }
+
+    private int nivel(double pontuacao) {
+        int nivel = 1;
+        for (double limite : pesos.limitesNivel()) {
+            if (pontuacao >= limite) {
+                nivel++;
+            }
+        }
+        return nivel;
+    }
+}
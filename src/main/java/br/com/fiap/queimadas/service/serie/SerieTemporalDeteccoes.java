@@ -0,0 +1,405 @@
+package br.com.fiap.queimadas.service.serie;
+
+import br.com.fiap.queimadas.domain.enums.StatusPontoFoco;
+import br.com.fiap.queimadas.domain.event.PontoFocoEvent;
+import br.com.fiap.queimadas.domain.event.PontoFocoResumo;
+import br.com.fiap.queimadas.repository.PontoFocoArquivadoRepository;
+import br.com.fiap.queimadas.repository.PontoFocoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Contagem de detecções por hora e por dia da data de detecção, separada por região e pelo status
+ * atual dos pontos de foco, nos últimos {@code queimadas.serie-deteccoes.dias-retencao} dias.
+ * <p>
+ * Cada granularidade é um vetor circular de períodos: a posição de um período é o seu número
+ * módulo a capacidade, e uma posição é reaproveitada quando um período mais novo a ocupa. Cada
+ * período guarda os totais por status e os totais por região e status, então uma consulta lê um
+ * número fixo de contadores por período, qualquer que seja a quantidade de detecções. A hora, a
+ * região e o status contados de cada ponto de foco ficam guardados para que uma alteração retire
+ * o ponto de onde ele foi contado antes de contá-lo de novo.
+ */
+@Component
+@Slf4j
+public class SerieTemporalDeteccoes {
+
+    private static final int TOTAL_STATUS = StatusPontoFoco.values().length;
+
+    /**
+     * Granularidade dos períodos; as datas são tratadas como UTC, sem fuso
+     */
+    public enum Granularidade {
+        HORA(1),
+        DIA(24);
+
+        private final int horas;
+
+        Granularidade(int horas) {
+            this.horas = horas;
+        }
+
+        /**
+         * Número do período que contém a data (horas ou dias desde 1970-01-01)
+         */
+        public long periodo(LocalDateTime data) {
+            return Math.floorDiv(hora(data), horas);
+        }
+
+        /**
+         * Início de um período
+         */
+        public LocalDateTime inicio(long periodo) {
+            return LocalDateTime.ofEpochSecond(periodo * horas * 3600L, 0, ZoneOffset.UTC);
+        }
+
+        private long periodoDaHora(long hora) {
+            return Math.floorDiv(hora, horas);
+        }
+    }
+
+    /**
+     * Contagens de um período (consulta)
+     * @param quantidadePorStatus Quantidade de detecções por {@link StatusPontoFoco#ordinal()}
+     */
+    public record Periodo(LocalDateTime inicio, int[] quantidadePorStatus) {
+    }
+
+    // Onde um ponto de foco foi contado
+    private record Registro(long hora, Long regiaoId, StatusPontoFoco status) {
+    }
+
+    /**
+     * Vetor circular de períodos de uma granularidade
+     */
+    private static final class Serie {
+        private final Granularidade granularidade;
+        private final long[] periodos;
+        private final int[][] totais;
+        private final Map<Long, int[]>[] porRegiao;
+
+        @SuppressWarnings("unchecked")
+        private Serie(Granularidade granularidade, int capacidade) {
+            this.granularidade = granularidade;
+            this.periodos = new long[capacidade];
+            this.totais = new int[capacidade][];
+            this.porRegiao = new Map[capacidade];
+            Arrays.fill(periodos, Long.MIN_VALUE);
+        }
+
+        private boolean naJanela(long periodo, long periodoAtual) {
+            return periodo <= periodoAtual && periodo > periodoAtual - periodos.length;
+        }
+
+        private void somar(Registro registro, long horaAtual, int delta) {
+            long periodo = granularidade.periodoDaHora(registro.hora());
+            if (!naJanela(periodo, granularidade.periodoDaHora(horaAtual))) {
+                return;
+            }
+            int posicao = (int) Math.floorMod(periodo, (long) periodos.length);
+            if (periodos[posicao] != periodo) {
+                if (delta < 0) {
+                    return; // O período foi descartado; não há o que retirar
+                }
+                periodos[posicao] = periodo;
+                totais[posicao] = new int[TOTAL_STATUS];
+                porRegiao[posicao] = new HashMap<>();
+            }
+            int status = registro.status().ordinal();
+            totais[posicao][status] += delta;
+            // Pontos sem região entram só nos totais
+            if (registro.regiaoId() != null) {
+                porRegiao[posicao].computeIfAbsent(registro.regiaoId(), id -> new int[TOTAL_STATUS])[status] += delta;
+            }
+        }
+
+        /**
+         * Contagens por status de um período, ou null se ele não tiver detecções
+         */
+        private int[] contagens(long periodo, Long regiaoId) {
+            int posicao = (int) Math.floorMod(periodo, (long) periodos.length);
+            if (periodos[posicao] != periodo) {
+                return null;
+            }
+            return regiaoId != null ? porRegiao[posicao].get(regiaoId) : totais[posicao];
+        }
+
+        /**
+         * Soma outra série montada com a mesma hora atual (reconstrução em paralelo)
+         */
+        private void mesclar(Serie outra) {
+            for (int posicao = 0; posicao < periodos.length; posicao++) {
+                if (outra.periodos[posicao] == Long.MIN_VALUE) {
+                    continue;
+                }
+                if (periodos[posicao] == Long.MIN_VALUE) {
+                    periodos[posicao] = outra.periodos[posicao];
+                    totais[posicao] = outra.totais[posicao];
+                    porRegiao[posicao] = outra.porRegiao[posicao];
+                    continue;
+                }
+                adicionar(totais[posicao], outra.totais[posicao]);
+                Map<Long, int[]> regioes = porRegiao[posicao];
+                outra.porRegiao[posicao].forEach((regiaoId, quantidades) -> regioes.merge(regiaoId, quantidades,
+                        SerieTemporalDeteccoes::adicionar));
+            }
+        }
+    }
+
+    /**
+     * Séries e registros de onde cada ponto de foco foi contado
+     */
+    private static final class Contagens {
+        private final Serie horas;
+        private final Serie dias;
+        private final Map<Long, Registro> registros = new HashMap<>();
+
+        private Contagens(int diasRetencao) {
+            this.horas = new Serie(Granularidade.HORA, diasRetencao * 24);
+            this.dias = new Serie(Granularidade.DIA, diasRetencao);
+        }
+
+        /**
+         * Conta uma linha lida do banco
+         */
+        private void adicionar(Object[] linha, long horaAtual) {
+            Registro registro = new Registro(hora((LocalDateTime) linha[1]), (Long) linha[2], (StatusPontoFoco) linha[3]);
+            descontar(registros.put((Long) linha[0], registro), horaAtual);
+            horas.somar(registro, horaAtual, 1);
+            dias.somar(registro, horaAtual, 1);
+        }
+
+        /**
+         * Soma as contagens de outra parte da janela, montada com a mesma hora atual
+         */
+        private void mesclar(Contagens outra, long horaAtual) {
+            horas.mesclar(outra.horas);
+            dias.mesclar(outra.dias);
+            outra.registros.forEach((id, registro) -> descontar(registros.put(id, registro), horaAtual));
+        }
+
+        /**
+         * Retira a contagem anterior de um ponto de foco lido em duas partes da janela, o que acontece
+         * quando ele é alterado ou arquivado entre as leituras. Fica a última contagem; o evento da
+         * alteração, reaplicado no final da reconstrução, a corrige
+         */
+        private void descontar(Registro repetido, long horaAtual) {
+            if (repetido != null) {
+                horas.somar(repetido, horaAtual, -1);
+                dias.somar(repetido, horaAtual, -1);
+            }
+        }
+
+        /**
+         * Retira o ponto de foco de onde ele foi contado e o conta de novo com os dados do evento
+         */
+        private void aplicar(PontoFocoEvent evento, long horaAtual) {
+            PontoFocoResumo resumo = evento.pontoFoco();
+            Registro anterior = registros.remove(resumo.id());
+            if (anterior != null) {
+                horas.somar(anterior, horaAtual, -1);
+                dias.somar(anterior, horaAtual, -1);
+            }
+            if (evento.tipo() == PontoFocoEvent.Tipo.REMOVIDO || resumo.dataDeteccao() == null) {
+                return;
+            }
+            Registro registro = new Registro(hora(resumo.dataDeteccao()), resumo.regiaoId(), resumo.status());
+            if (dias.naJanela(Granularidade.DIA.periodoDaHora(registro.hora()), Granularidade.DIA.periodoDaHora(horaAtual))) {
+                registros.put(resumo.id(), registro);
+                horas.somar(registro, horaAtual, 1);
+                dias.somar(registro, horaAtual, 1);
+            }
+        }
+    }
+
+    private final PontoFocoRepository pontoFocoRepository;
+    private final PontoFocoArquivadoRepository pontoFocoArquivadoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int diasRetencao;
+
+    private final ReadWriteLock trava = new ReentrantReadWriteLock();
+    private Contagens contagens;
+    // Alterações recebidas durante uma reconstrução, reaplicadas sobre o resultado; null fora dela
+    private List<PontoFocoEvent> pendentes;
+
+    @Autowired
+    public SerieTemporalDeteccoes(PontoFocoRepository pontoFocoRepository,
+                                  PontoFocoArquivadoRepository pontoFocoArquivadoRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${queimadas.serie-deteccoes.dias-retencao:30}") int diasRetencao) {
+        this.pontoFocoRepository = pontoFocoRepository;
+        this.pontoFocoArquivadoRepository = pontoFocoArquivadoRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.diasRetencao = diasRetencao;
+        this.contagens = new Contagens(diasRetencao);
+    }
+
+    /**
+     * Monta as séries na inicialização
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        int total = reconstruir();
+        log.info("Série de detecções carregada com {} pontos de foco dos últimos {} dias", total, diasRetencao);
+    }
+
+    /**
+     * Recalcula as séries a partir dos pontos de foco gravados, sem bloquear as consultas: os dias da
+     * janela de retenção são lidos do banco em paralelo, cada um em uma transação própria, e contados
+     * à medida que as linhas chegam em séries parciais, somadas no final. Os pontos arquivados
+     * continuam contados, como detecções que foram. As alterações recebidas durante a leitura são
+     * reaplicadas sobre as séries novas antes de elas substituírem as atuais
+     * @return Quantidade de pontos de foco contados
+     */
+    public synchronized int reconstruir() {
+        trava.writeLock().lock();
+        try {
+            pendentes = new ArrayList<>();
+        } finally {
+            trava.writeLock().unlock();
+        }
+        Contagens novas = null;
+        try {
+            long horaAtual = horaAtual();
+            long primeiroDia = Granularidade.DIA.periodoDaHora(horaAtual) - diasRetencao + 1;
+            novas = LongStream.range(primeiroDia, primeiroDia + diasRetencao).parallel()
+                    .collect(() -> new Contagens(diasRetencao),
+                            (parcial, dia) -> lerDia(parcial, dia, dia == primeiroDia + diasRetencao - 1, horaAtual),
+                            (parcial, outra) -> parcial.mesclar(outra, horaAtual));
+        } finally {
+            trava.writeLock().lock();
+            try {
+                if (novas != null) {
+                    long horaAtual = horaAtual();
+                    for (PontoFocoEvent evento : pendentes) {
+                        novas.aplicar(evento, horaAtual);
+                    }
+                    contagens = novas;
+                }
+                pendentes = null;
+            } finally {
+                trava.writeLock().unlock();
+            }
+        }
+        return novas.registros.size();
+    }
+
+    /**
+     * Conta as detecções ativas e arquivadas de um dia da janela. O último dia fica aberto, então as
+     * datas de detecção à frente do relógio também são lidas
+     */
+    private void lerDia(Contagens parcial, long dia, boolean ultimo, long horaAtual) {
+        LocalDateTime inicio = Granularidade.DIA.inicio(dia);
+        LocalDateTime fim = Granularidade.DIA.inicio(dia + 1);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Object[]> deteccoes = ultimo ? pontoFocoRepository.streamDeteccoesApos(inicio)
+                    : pontoFocoRepository.streamDeteccoesEntre(inicio, fim);
+                 Stream<Object[]> arquivadas = ultimo ? pontoFocoArquivadoRepository.streamDeteccoesApos(inicio)
+                         : pontoFocoArquivadoRepository.streamDeteccoesEntre(inicio, fim)) {
+                Stream.concat(deteccoes, arquivadas).forEach(linha -> parcial.adicionar(linha, horaAtual));
+            }
+        });
+    }
+
+    /**
+     * Mantém as contagens sincronizadas com as alterações confirmadas no banco; receber o mesmo
+     * evento de novo não altera as contagens
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarPontoFoco(PontoFocoEvent evento) {
+        trava.writeLock().lock();
+        try {
+            contagens.aplicar(evento, horaAtual());
+            if (pendentes != null) {
+                pendentes.add(evento);
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Descarta periodicamente os registros dos pontos de foco que saíram da janela de retenção
+     */
+    @Scheduled(fixedDelayString = "${queimadas.serie-deteccoes.intervalo-limpeza-ms:3600000}")
+    public void limparAntigos() {
+        trava.writeLock().lock();
+        try {
+            long diaAtual = Granularidade.DIA.periodoDaHora(horaAtual());
+            contagens.registros.values().removeIf(registro ->
+                    !contagens.dias.naJanela(Granularidade.DIA.periodoDaHora(registro.hora()), diaAtual));
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Lê as contagens dos períodos de uma janela
+     * @param de Data contida no primeiro período
+     * @param ate Data contida no último período
+     * @param regiaoId Região; null para todas
+     * @return Um item por período, inclusive os sem detecções; os períodos fora da retenção ficam zerados
+     */
+    public List<Periodo> consultar(Granularidade granularidade, LocalDateTime de, LocalDateTime ate, Long regiaoId) {
+        long inicial = granularidade.periodo(de);
+        long total = granularidade.periodo(ate) - inicial + 1;
+        trava.readLock().lock();
+        try {
+            Serie serie = granularidade == Granularidade.HORA ? contagens.horas : contagens.dias;
+            Periodo[] periodos = new Periodo[(int) Math.max(0, total)];
+            for (int i = 0; i < periodos.length; i++) {
+                int[] contagens = serie.contagens(inicial + i, regiaoId);
+                periodos[i] = new Periodo(granularidade.inicio(inicial + i),
+                        contagens != null ? contagens.clone() : new int[TOTAL_STATUS]);
+            }
+            return List.of(periodos);
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Início do período mais antigo mantido em uma granularidade
+     */
+    public LocalDateTime inicioRetencao(Granularidade granularidade) {
+        int capacidade = granularidade == Granularidade.HORA ? diasRetencao * 24 : diasRetencao;
+        return granularidade.inicio(granularidade.periodoDaHora(horaAtual()) - capacidade + 1);
+    }
+
+    public int getDiasRetencao() {
+        return diasRetencao;
+    }
+
+    private static int[] adicionar(int[] destino, int[] origem) {
+        for (int i = 0; i < destino.length; i++) {
+            destino[i] += origem[i];
+        }
+        return destino;
+    }
+
+    private static long hora(LocalDateTime data) {
+        return Math.floorDiv(data.toEpochSecond(ZoneOffset.UTC), 3600L);
+    }
+
+    private static long horaAtual() {
+        return hora(LocalDateTime.now());
+    }
+}
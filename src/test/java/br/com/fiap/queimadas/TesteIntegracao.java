@@ -0,0 +1,22 @@
+package br.com.fiap.queimadas;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Base dos testes que sobem o contexto da aplicação sobre um banco H2 em memória vazio (sem o
+ * perfil que carrega os dados iniciais). Os jobs agendados ficam para depois de um dia, para que só
+ * o código testado emita comandos SQL, e a deduplicação é desligada, para que cada detecção
+ * registrada vire um ponto de foco.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:queimadas-teste;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "queimadas.deduplicacao.habilitada=false",
+        "queimadas.recalculo-risco.intervalo-ms=86400000",
+        "queimadas.arquivamento.intervalo-ms=86400000",
+        "queimadas.indice-espacial.intervalo-limpeza-ms=86400000",
+        "queimadas.serie-deteccoes.intervalo-limpeza-ms=86400000"
+})
+public abstract class TesteIntegracao {
+}
@@ -0,0 +1,143 @@
+package br.com.fiap.queimadas.repository;
+
+import br.com.fiap.queimadas.TesteIntegracao;
+import br.com.fiap.queimadas.domain.enums.StatusPontoFoco;
+import br.com.fiap.queimadas.dto.FiltroPontoFocoDTO;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plano do SELECT de IDs do filtro combinado para cada combinação de critérios: o H2 deve ler um
+ * índice cuja primeira coluna é filtrada, e não percorrer a chave primária descartando linhas. Com
+ * retângulo, todas as partes da união devem usar o índice da chave espacial. Os planos são lidos
+ * com a tabela povoada e as estatísticas atualizadas, já que com a tabela vazia os custos empatam.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PlanoFiltroPontoFocoTest extends TesteIntegracao {
+
+    // Faixa de IDs das linhas de teste, longe dos IDs da sequência usados pelos demais testes
+    private static final long PRIMEIRO_ID = 10_000_000L;
+    private static final int LINHAS = 20_000;
+    private static final int TAMANHO_PAGINA = 51;
+
+    // Nome do índice que o H2 escreve no plano, como "/* PUBLIC.IDX_PONTO_FOCO_STATUS_ID: ... */"
+    private static final Pattern INDICE_PLANO = Pattern.compile("/\\* PUBLIC\\.(\\w+)");
+
+    private static final int STATUS = 1;
+    private static final int REGIOES = 1 << 1;
+    private static final int DATA_DETECCAO = 1 << 2;
+    private static final int INTENSIDADE = 1 << 3;
+    private static final int RETANGULO = 1 << 4;
+
+    @Autowired
+    private PontoFocoFiltroRepositoryImpl repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void povoar() {
+        jdbcTemplate.update("""
+                INSERT INTO TB_PONTO_FOCO (id, latitude, longitude, data_deteccao, intensidade, status, data_atualizacao)
+                SELECT ? + x, -10 - MOD(x, 500) * 0.01, -55 + MOD(x, 700) * 0.01,
+                       DATEADD(MINUTE, -x * 7, TIMESTAMP '2024-06-01 00:00:00'), MOD(x, 100),
+                       CASE MOD(x, 7) WHEN 0 THEN 'NOVO' WHEN 1 THEN 'CONFIRMADO' WHEN 2 THEN 'EM_AVALIACAO'
+                           WHEN 3 THEN 'EM_COMBATE' WHEN 4 THEN 'MONITORAMENTO' WHEN 5 THEN 'CONTROLADO'
+                           ELSE 'RESOLVIDO' END,
+                       CURRENT_TIMESTAMP
+                FROM SYSTEM_RANGE(1, ?)""", PRIMEIRO_ID, LINHAS);
+        jdbcTemplate.execute("ANALYZE TABLE TB_PONTO_FOCO");
+    }
+
+    @AfterAll
+    void limpar() {
+        jdbcTemplate.update("DELETE FROM TB_PONTO_FOCO WHERE id > ?", PRIMEIRO_ID);
+        jdbcTemplate.execute("ANALYZE TABLE TB_PONTO_FOCO");
+    }
+
+    static IntStream combinacoes() {
+        return IntStream.range(0, RETANGULO << 1);
+    }
+
+    @ParameterizedTest(name = "critérios {0}")
+    @MethodSource("combinacoes")
+    void selectDeIdsUsaIndiceDosCriterios(int criterios) {
+        // Com o limite da página, como na listagem: com ele o H2 tende a seguir a ordem da chave primária
+        String plano = (String) repository.consultaIds(filtro(criterios), 0L, "EXPLAIN ")
+                .setMaxResults(TAMANHO_PAGINA)
+                .getSingleResult();
+
+        List<String> usados = new ArrayList<>();
+        Matcher matcher = INDICE_PLANO.matcher(plano);
+        while (matcher.find()) {
+            usados.add(matcher.group(1));
+        }
+        assertThat(usados).as(plano).isNotEmpty();
+        if ((criterios & RETANGULO) != 0) {
+            assertThat(usados).as(plano).containsOnly("IDX_PONTO_FOCO_CHAVE_HILBERT");
+        } else if (criterios == 0) {
+            // Só a paginação por ID
+            assertThat(usados).as(plano).allMatch(indice -> indice.startsWith("PRIMARY_KEY"));
+        } else {
+            assertThat(usados).as(plano).hasSize(1);
+            assertThat(indicesEsperados(criterios)).as(plano).contains(usados.get(0));
+        }
+    }
+
+    private static FiltroPontoFocoDTO filtro(int criterios) {
+        FiltroPontoFocoDTO.FiltroPontoFocoDTOBuilder filtro = FiltroPontoFocoDTO.builder();
+        if ((criterios & STATUS) != 0) {
+            filtro.status(Set.of(StatusPontoFoco.NOVO, StatusPontoFoco.EM_COMBATE));
+        }
+        if ((criterios & REGIOES) != 0) {
+            filtro.regiaoIds(Set.of(1L, 2L));
+        }
+        if ((criterios & DATA_DETECCAO) != 0) {
+            filtro.detectadoDe(LocalDateTime.of(2024, 1, 1, 0, 0)).detectadoAte(LocalDateTime.of(2024, 2, 1, 0, 0));
+        }
+        if ((criterios & INTENSIDADE) != 0) {
+            filtro.intensidadeMinima(50.0).intensidadeMaxima(80.0);
+        }
+        if ((criterios & RETANGULO) != 0) {
+            filtro.latitudeMinima(-12.0).longitudeMinima(-56.0).latitudeMaxima(-11.0).longitudeMaxima(-55.0);
+        }
+        return filtro.build();
+    }
+
+    /**
+     * Índices que começam por uma coluna filtrada pelos critérios
+     */
+    private static List<String> indicesEsperados(int criterios) {
+        List<String> indices = new ArrayList<>();
+        if ((criterios & STATUS) != 0) {
+            indices.addAll(List.of("IDX_PONTO_FOCO_STATUS_ID", "IDX_PONTO_FOCO_STATUS_DATA_DETECCAO",
+                    "IDX_PONTO_FOCO_STATUS_INTENSIDADE"));
+        }
+        if ((criterios & REGIOES) != 0) {
+            indices.addAll(List.of("IDX_PONTO_FOCO_REGIAO_ID", "IDX_PONTO_FOCO_REGIAO_STATUS_DATA_DETECCAO",
+                    "IDX_PONTO_FOCO_REGIAO_INTENSIDADE"));
+        }
+        if ((criterios & DATA_DETECCAO) != 0) {
+            indices.add("IDX_PONTO_FOCO_DATA_DETECCAO_ID");
+        }
+        if ((criterios & INTENSIDADE) != 0) {
+            indices.add("IDX_PONTO_FOCO_INTENSIDADE_ID");
+        }
+        return indices;
+    }
+}
@@ -0,0 +1,141 @@
+package br.com.fiap.queimadas.service;
+
+import br.com.fiap.queimadas.TesteIntegracao;
+import br.com.fiap.queimadas.domain.entity.AcaoCombate;
+import br.com.fiap.queimadas.domain.entity.PontoFoco;
+import br.com.fiap.queimadas.domain.entity.Regiao;
+import br.com.fiap.queimadas.domain.enums.StatusPontoFoco;
+import br.com.fiap.queimadas.dto.DeteccaoDTO;
+import br.com.fiap.queimadas.dto.FiltroPontoFocoDTO;
+import br.com.fiap.queimadas.dto.PaginaDTO;
+import br.com.fiap.queimadas.repository.RegiaoRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Quantidade de comandos SQL das listagens paginadas: cada página deve ser lida com um número fixo
+ * de comandos, qualquer que seja o número de itens. Uma consulta N+1 (um SELECT por ponto de foco,
+ * região ou ação da página) faz o teste falhar.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ComandosSqlListagensTest extends TesteIntegracao {
+
+    private static final int PONTOS_POR_REGIAO = 10;
+    private static final int TAMANHO_PAGINA = 50;
+
+    @Autowired
+    private PontoFocoService pontoFocoService;
+
+    @Autowired
+    private AcaoCombateService acaoCombateService;
+
+    @Autowired
+    private RegiaoRepository regiaoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estatisticas;
+    private Long regiaoId;
+    private Long pontoFocoId;
+
+    @BeforeAll
+    void preparar() {
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        List<DeteccaoDTO> deteccoes = new ArrayList<>();
+        for (int r = 0; r < 3; r++) {
+            Regiao regiao = regiaoRepository.save(Regiao.builder()
+                    .nome("Região de teste " + r)
+                    .tipo("Floresta")
+                    .areaMetrosQuadrados(1e9)
+                    .build());
+            regiaoId = regiao.getId();
+            for (int i = 0; i < PONTOS_POR_REGIAO; i++) {
+                deteccoes.add(DeteccaoDTO.builder()
+                        .latitude(-10.0 - r - i * 0.01)
+                        .longitude(-55.0 + i * 0.01)
+                        .intensidade(10.0 + i)
+                        .areaEstimada(1000.0)
+                        .descricao("Foco de teste " + r + "-" + i)
+                        .regiaoId(regiao.getId())
+                        .build());
+            }
+        }
+        List<Long> ids = pontoFocoService.registrarPontosFocoEmLote(deteccoes).getIdsRegistrados();
+        pontoFocoId = ids.get(0);
+
+        // Uma ação por ponto de foco; metade concluída
+        for (int i = 0; i < ids.size(); i++) {
+            AcaoCombate acao = acaoCombateService.iniciarCombateTerrestre(ids.get(i), "Combate de teste", "Brigada")
+                    .orElseThrow();
+            if (i % 2 == 0) {
+                acaoCombateService.concluirAcao(acao.getId(), "Controlado", StatusPontoFoco.MONITORAMENTO);
+            }
+        }
+    }
+
+    @Test
+    void listagensDePontosFocoUsamUmComando() {
+        LocalDateTime ontem = LocalDateTime.now().minusDays(1);
+        assertComandos(1, () -> pontoFocoService.listarTodos(null, TAMANHO_PAGINA));
+        assertComandos(1, () -> pontoFocoService.listarPorStatus(StatusPontoFoco.EM_COMBATE, null, TAMANHO_PAGINA));
+        assertComandos(1, () -> pontoFocoService.listarAtivos(null, TAMANHO_PAGINA));
+        assertComandos(1, () -> pontoFocoService.listarDetectadosApos(ontem, null, TAMANHO_PAGINA));
+        assertComandos(1, () -> pontoFocoService.listarPorRegiao(regiaoId, null, TAMANHO_PAGINA, false));
+        assertComandos(1, () -> pontoFocoService.listarPorIntensidade(0.0, null, TAMANHO_PAGINA));
+        assertComandos(1, () -> pontoFocoService.listarResumo(null, TAMANHO_PAGINA));
+        assertComandos(1, () -> pontoFocoService.listarAtivosResumo(null, TAMANHO_PAGINA));
+    }
+
+    @Test
+    void filtroDePontosFocoUsaDoisComandos() {
+        // Um SELECT para os IDs da página e outro para as entidades com a região
+        FiltroPontoFocoDTO filtro = FiltroPontoFocoDTO.builder()
+                .status(Set.of(StatusPontoFoco.EM_COMBATE, StatusPontoFoco.MONITORAMENTO))
+                .build();
+        assertComandos(2, () -> pontoFocoService.filtrar(filtro, null, TAMANHO_PAGINA, false));
+    }
+
+    @Test
+    void listagensDeAcoesCombateUsamUmComando() {
+        LocalDateTime ontem = LocalDateTime.now().minusDays(1);
+        LocalDateTime amanha = LocalDateTime.now().plusDays(1);
+        assertComandos(1, () -> acaoCombateService.listarTodas(null, TAMANHO_PAGINA));
+        assertComandos(1, () -> acaoCombateService.listarEmAndamento(null, TAMANHO_PAGINA));
+        assertComandos(1, () -> acaoCombateService.listarPorPontoFoco(pontoFocoId, null, TAMANHO_PAGINA, false));
+        assertComandos(1, () -> acaoCombateService.listarPorRegiao(regiaoId, null, TAMANHO_PAGINA));
+        assertComandos(1, () -> acaoCombateService.listarIniciadasApos(ontem, null, TAMANHO_PAGINA));
+        assertComandos(1, () -> acaoCombateService.listarConcluidasNoPeriodo(ontem, amanha, null, TAMANHO_PAGINA));
+        // Os IDs vêm da busca textual em memória; só as entidades são lidas do banco
+        assertComandos(1, () -> acaoCombateService.listarPorTipo("terrestre", null, TAMANHO_PAGINA));
+        assertComandos(1, () -> acaoCombateService.listarResumo(null, TAMANHO_PAGINA));
+        assertComandos(1, () -> acaoCombateService.listarEmAndamentoResumo(null, TAMANHO_PAGINA));
+    }
+
+    /**
+     * Executa a listagem com o cache de segundo nível vazio, para que uma região lida à parte
+     * também conte como comando, e verifica a quantidade de comandos preparados
+     */
+    private void assertComandos(long maximo, Supplier<PaginaDTO<?>> listagem) {
+        entityManagerFactory.getCache().evictAll();
+        estatisticas.clear();
+        PaginaDTO<?> pagina = listagem.get();
+        long comandos = estatisticas.getPrepareStatementCount();
+        assertThat(pagina.getItens()).as("página de teste sem itens").isNotEmpty();
+        assertThat(comandos).as("comandos SQL da listagem").isLessThanOrEqualTo(maximo);
+    }
+}
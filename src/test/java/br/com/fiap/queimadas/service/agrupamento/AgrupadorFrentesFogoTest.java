@@ -0,0 +1,162 @@
+package br.com.fiap.queimadas.service.agrupamento;
+
+import br.com.fiap.queimadas.domain.enums.StatusPontoFoco;
+import br.com.fiap.queimadas.domain.event.PontoFocoEvent;
+import br.com.fiap.queimadas.domain.event.PontoFocoResumo;
+import br.com.fiap.queimadas.dto.FrenteFogoDTO;
+import br.com.fiap.queimadas.service.indice.GeoUtils;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Manutenção incremental das frentes: depois de inserções, remoções, encerramentos e deslocamentos
+ * em ordem aleatória, as frentes devem ser os componentes conexos calculados do zero sobre os pontos
+ * ativos, com os mesmos totais, inclusive para frentes que cruzam o antimeridiano.
+ */
+class AgrupadorFrentesFogoTest {
+
+    private static final double DISTANCIA_KM = 1.5;
+
+    // Focos concentrados em poucas áreas, uma delas sobre o antimeridiano e outra perto do polo
+    private static final double[][] AREAS = {{-10.0, -55.0}, {-16.0, 180.0}, {65.0, -179.99}, {89.9, 30.0}};
+
+    @Test
+    void frentesIncrementaisIgualamOsComponentesConexos() {
+        AgrupadorFrentesFogo agrupador = new AgrupadorFrentesFogo(null, DISTANCIA_KM, 1);
+        Random aleatorio = new Random(2024);
+        Map<Long, PontoFocoResumo> ativos = new HashMap<>();
+        List<Long> ids = new ArrayList<>();
+        long proximoId = 1;
+
+        for (int operacao = 1; operacao <= 3000; operacao++) {
+            int sorteio = aleatorio.nextInt(10);
+            if (ids.isEmpty() || sorteio < 5) {
+                PontoFocoResumo ponto = sortear(proximoId++, aleatorio, StatusPontoFoco.NOVO);
+                enviar(agrupador, PontoFocoEvent.Tipo.REGISTRADO, ponto);
+                ativos.put(ponto.id(), ponto);
+                ids.add(ponto.id());
+            } else {
+                Long id = ids.remove(aleatorio.nextInt(ids.size()));
+                PontoFocoResumo ponto = ativos.remove(id);
+                if (sorteio < 7) {
+                    enviar(agrupador, PontoFocoEvent.Tipo.REMOVIDO, ponto);
+                } else if (sorteio < 8) {
+                    enviar(agrupador, PontoFocoEvent.Tipo.ATUALIZADO, com(ponto, ponto.latitude(), ponto.longitude(),
+                            StatusPontoFoco.RESOLVIDO, ponto.intensidade()));
+                } else {
+                    // Deslocado ou só com a intensidade alterada; continua ativo
+                    PontoFocoResumo atualizado = sorteio < 9
+                            ? sortear(id, aleatorio, StatusPontoFoco.EM_COMBATE)
+                            : com(ponto, ponto.latitude(), ponto.longitude(), ponto.status(), aleatorio.nextDouble() * 100);
+                    enviar(agrupador, PontoFocoEvent.Tipo.ATUALIZADO, atualizado);
+                    ativos.put(id, atualizado);
+                    ids.add(id);
+                }
+            }
+            if (operacao % 250 == 0) {
+                comparar(agrupador, ativos);
+            }
+        }
+    }
+
+    @Test
+    void centroideDeFrenteNoAntimeridianoFicaNoAntimeridiano() {
+        AgrupadorFrentesFogo agrupador = new AgrupadorFrentesFogo(null, DISTANCIA_KM, 2);
+        enviar(agrupador, PontoFocoEvent.Tipo.REGISTRADO, ponto(1, -16.0, 179.995, StatusPontoFoco.NOVO, 10.0));
+        enviar(agrupador, PontoFocoEvent.Tipo.REGISTRADO, ponto(2, -16.0, -179.995, StatusPontoFoco.NOVO, 20.0));
+
+        FrenteFogoDTO frente = agrupador.buscarPorPontoFoco(1L).orElseThrow();
+
+        assertThat(frente.getIdsPontosFoco()).containsExactly(1L, 2L);
+        assertThat(frente.getLatitudeCentroide()).isCloseTo(-16.0, within(1e-6));
+        assertThat(Math.abs(frente.getLongitudeCentroide())).isCloseTo(180.0, within(1e-6));
+    }
+
+    private static void comparar(AgrupadorFrentesFogo agrupador, Map<Long, PontoFocoResumo> ativos) {
+        List<FrenteFogoDTO> frentes = agrupador.listar(Integer.MAX_VALUE);
+        Set<Set<Long>> esperadas = componentesConexos(ativos);
+
+        Set<Set<Long>> obtidas = new HashSet<>();
+        for (FrenteFogoDTO frente : frentes) {
+            obtidas.add(Set.copyOf(frente.getIdsPontosFoco()));
+            List<PontoFocoResumo> membros = frente.getIdsPontosFoco().stream().map(ativos::get).toList();
+            assertThat(frente.getAreaEstimadaTotalMetrosQuadrados())
+                    .isCloseTo(membros.stream().mapToDouble(PontoFocoResumo::areaEstimadaMetrosQuadrados).sum(), within(1e-3));
+            assertThat(frente.getIntensidadeMaxima())
+                    .isEqualTo(membros.stream().mapToDouble(PontoFocoResumo::intensidade).max().orElseThrow());
+            // Numa frente conexa, nenhum membro fica a mais de (n - 1) vezes a distância do centroide
+            PontoFocoResumo primeiro = membros.get(0);
+            assertThat(GeoUtils.distanciaKm(frente.getLatitudeCentroide(), frente.getLongitudeCentroide(),
+                    primeiro.latitude(), primeiro.longitude()))
+                    .isLessThanOrEqualTo(Math.max(1, membros.size() - 1) * DISTANCIA_KM);
+        }
+        assertThat(obtidas).isEqualTo(esperadas);
+    }
+
+    /**
+     * Componentes conexos do grafo de vizinhança, comparando todos os pares
+     */
+    private static Set<Set<Long>> componentesConexos(Map<Long, PontoFocoResumo> ativos) {
+        List<PontoFocoResumo> pontos = new ArrayList<>(ativos.values());
+        int[] pai = new int[pontos.size()];
+        for (int i = 0; i < pai.length; i++) {
+            pai[i] = i;
+        }
+        for (int i = 0; i < pontos.size(); i++) {
+            for (int j = i + 1; j < pontos.size(); j++) {
+                PontoFocoResumo a = pontos.get(i);
+                PontoFocoResumo b = pontos.get(j);
+                if (GeoUtils.distanciaKm(a.latitude(), a.longitude(), b.latitude(), b.longitude()) <= DISTANCIA_KM) {
+                    pai[raiz(pai, i)] = raiz(pai, j);
+                }
+            }
+        }
+        Map<Integer, Set<Long>> componentes = new HashMap<>();
+        for (int i = 0; i < pontos.size(); i++) {
+            componentes.computeIfAbsent(raiz(pai, i), raiz -> new HashSet<>()).add(pontos.get(i).id());
+        }
+        return new HashSet<>(componentes.values());
+    }
+
+    private static int raiz(int[] pai, int i) {
+        while (pai[i] != i) {
+            i = pai[i] = pai[pai[i]];
+        }
+        return i;
+    }
+
+    private static PontoFocoResumo sortear(long id, Random aleatorio, StatusPontoFoco status) {
+        double[] area = AREAS[aleatorio.nextInt(AREAS.length)];
+        // Cerca de 10 km de lado, para formar cadeias de vizinhos
+        double latitude = Math.min(90.0, area[0] + (aleatorio.nextDouble() - 0.5) * 0.09);
+        double longitude = area[1] + (aleatorio.nextDouble() - 0.5) * 0.09 / Math.max(0.05, Math.cos(Math.toRadians(latitude)));
+        longitude = ((longitude + 540.0) % 360.0) - 180.0;
+        return ponto(id, latitude, longitude, status, aleatorio.nextDouble() * 100);
+    }
+
+    private static PontoFocoResumo com(PontoFocoResumo ponto, double latitude, double longitude, StatusPontoFoco status,
+                                       double intensidade) {
+        return new PontoFocoResumo(ponto.id(), latitude, longitude, status, intensidade,
+                ponto.areaEstimadaMetrosQuadrados(), ponto.dataDeteccao(), ponto.regiaoId());
+    }
+
+    private static PontoFocoResumo ponto(long id, double latitude, double longitude, StatusPontoFoco status,
+                                         double intensidade) {
+        return new PontoFocoResumo(id, latitude, longitude, status, intensidade, 1000.0 + id, LocalDateTime.now(), null);
+    }
+
+    private static void enviar(AgrupadorFrentesFogo agrupador, PontoFocoEvent.Tipo tipo, PontoFocoResumo ponto) {
+        agrupador.aoAlterarPontoFoco(new PontoFocoEvent(tipo, ponto, null, null));
+    }
+}
@@ -0,0 +1,153 @@
+package br.com.fiap.queimadas.service.busca;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Filtragem paginada por prefixos: as páginas lidas pelo cursor devem juntar exatamente os IDs que
+ * têm todos os termos da consulta, em ordem crescente e sem repetições. A busca com relevância deve
+ * devolver os mesmos resultados que pontuar todos os documentos.
+ */
+class IndiceInvertidoTest {
+
+    private static final String[] TIPOS = {
+            "Combate terrestre", "Combate aéreo", "Brigada terrestre", "Monitoramento aéreo", "Combate com brigada"
+    };
+
+    @Test
+    void filtrarPaginadoEncontraOsMesmosIdsDaVarreduraCompleta() {
+        IndiceInvertido indice = new IndiceInvertido();
+        List<String> textos = new ArrayList<>();
+        for (int id = 0; id < 500; id++) {
+            String texto = TIPOS[(id * 7) % TIPOS.length] + (id % 3 == 0 ? " combatente" : "");
+            textos.add(texto);
+            // Fora de ordem, para que a ordem das listas não dependa da ordem de indexação
+            indice.indexar(499 - id, texto);
+        }
+
+        for (String consulta : List.of("comb terr", "aér", "brig comb", "combat", "inexistente")) {
+            List<Long> esperados = new ArrayList<>();
+            for (int id = 0; id < textos.size(); id++) {
+                if (temTodosOsPrefixos(textos.get(499 - id), consulta)) {
+                    esperados.add((long) id);
+                }
+            }
+
+            List<Long> lidos = new ArrayList<>();
+            long aposId = 0;
+            List<Long> pagina;
+            do {
+                pagina = indice.filtrar(consulta, aposId, 17);
+                lidos.addAll(pagina);
+                if (!pagina.isEmpty()) {
+                    aposId = pagina.get(pagina.size() - 1);
+                }
+            } while (pagina.size() == 17);
+
+            assertThat(lidos).as(consulta).isEqualTo(esperados.stream().filter(id -> id > 0).toList());
+        }
+    }
+
+    @Test
+    void filtrarIgnoraDocumentosRemovidos() {
+        IndiceInvertido indice = new IndiceInvertido();
+        indice.indexar(1, "Combate terrestre");
+        indice.indexar(2, "Combate terrestre");
+        indice.indexar(3, "Combate aéreo");
+        indice.remover(2);
+        indice.indexar(3, "Combate terrestre noturno");
+
+        assertThat(indice.filtrar("comb ter", 0, 10)).containsExactly(1L, 3L);
+        assertThat(indice.filtrar("comb ter", 1, 10)).containsExactly(3L);
+        assertThat(indice.filtrar("comb ter", 0, 1)).containsExactly(1L);
+    }
+
+    @Test
+    void buscarEncontraOsMesmosResultadosDaPontuacaoCompleta() {
+        Random aleatorio = new Random(42);
+        // Mais de cem termos com o prefixo "t", com frequências bem diferentes entre si
+        List<String> vocabulario = new ArrayList<>(List.of("fogo", "mata", "rio", "serra"));
+        for (int i = 0; i < 120; i++) {
+            vocabulario.add("t" + i);
+        }
+        IndiceInvertido indice = new IndiceInvertido();
+        Map<Long, List<String>> textos = new HashMap<>();
+        for (long id = 1; id <= 2000; id++) {
+            List<String> termos = new ArrayList<>();
+            int quantidade = 1 + aleatorio.nextInt(8);
+            for (int i = 0; i < quantidade; i++) {
+                double sorteio = aleatorio.nextDouble();
+                termos.add(vocabulario.get((int) (sorteio * sorteio * sorteio * vocabulario.size())));
+            }
+            indice.indexar(id, String.join(" ", termos));
+            textos.put(id, termos);
+        }
+        for (long id = 1; id <= 2000; id += 7) {
+            indice.remover(id);
+            textos.remove(id);
+        }
+
+        for (String consulta : List.of("fogo t", "mata rio", "t1", "serra fogo fogo", "t", "rio t11", "inexistente fogo")) {
+            for (int limite : List.of(1, 5, 20, 5000)) {
+                assertThat(indice.buscar(consulta, limite)).as("%s (%d)", consulta, limite)
+                        .isEqualTo(pontuarTodos(textos, consulta, limite));
+            }
+        }
+    }
+
+    /**
+     * BM25 de todos os documentos, termo a termo, como referência para a busca com saltos
+     */
+    private static List<IndiceInvertido.Resultado> pontuarTodos(Map<Long, List<String>> textos, String consulta, int limite) {
+        long somaComprimentos = textos.values().stream().mapToLong(List::size).sum();
+        double comprimentoMedio = (double) somaComprimentos / textos.size();
+        Map<String, Integer> documentosComTermo = new HashMap<>();
+        textos.values().forEach(termos -> termos.stream().distinct()
+                .forEach(termo -> documentosComTermo.merge(termo, 1, Integer::sum)));
+
+        List<String> termosConsulta = TokenizadorTexto.termosConsulta(consulta);
+        List<IndiceInvertido.Resultado> resultados = new ArrayList<>();
+        textos.forEach((id, termos) -> {
+            double normalizacao = 1.2 * (1 - 0.75 + 0.75 * termos.size() / comprimentoMedio);
+            double pontuacao = 0;
+            boolean encontrado = false;
+            for (int i = 0; i < termosConsulta.size(); i++) {
+                String termoConsulta = termosConsulta.get(i);
+                boolean prefixo = i == termosConsulta.size() - 1;
+                double melhor = -1;
+                for (String termo : termos.stream().distinct().toList()) {
+                    if (prefixo ? termo.startsWith(termoConsulta) : termo.equals(termoConsulta)) {
+                        int documentos = documentosComTermo.get(termo);
+                        double idf = Math.log(1 + (textos.size() - documentos + 0.5) / (documentos + 0.5));
+                        long frequencia = termos.stream().filter(termo::equals).count();
+                        melhor = Math.max(melhor, idf * frequencia * (1.2 + 1) / (frequencia + normalizacao));
+                    }
+                }
+                if (melhor >= 0) {
+                    pontuacao += melhor;
+                    encontrado = true;
+                }
+            }
+            if (encontrado) {
+                resultados.add(new IndiceInvertido.Resultado(id, pontuacao));
+            }
+        });
+        resultados.sort(Comparator.comparingDouble(IndiceInvertido.Resultado::pontuacao).reversed()
+                .thenComparingLong(IndiceInvertido.Resultado::id));
+        return resultados.subList(0, Math.min(limite, resultados.size()));
+    }
+
+    private static boolean temTodosOsPrefixos(String texto, String consulta) {
+        List<String> termos = TokenizadorTexto.termos(texto);
+        return TokenizadorTexto.termosConsulta(consulta).stream()
+                .allMatch(prefixo -> termos.stream().anyMatch(termo -> termo.startsWith(prefixo)));
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.fiap.queimadas.service.cache;
+
+import br.com.fiap.queimadas.TesteIntegracao;
+import br.com.fiap.queimadas.domain.entity.Regiao;
+import br.com.fiap.queimadas.dto.DeteccaoDTO;
+import br.com.fiap.queimadas.repository.RegiaoRepository;
+import br.com.fiap.queimadas.service.PontoFocoService;
+import br.com.fiap.queimadas.service.RegiaoService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * O recálculo de risco grava as regiões via JDBC, fora do Hibernate: as regiões gravadas devem sair
+ * do cache de segundo nível, para que a leitura seguinte traga os valores novos, e as demais devem
+ * continuar em cache.
+ */
+class CacheRegiaoTest extends TesteIntegracao {
+
+    private static final int PONTOS = 5;
+
+    @Autowired
+    private RegiaoService regiaoService;
+
+    @Autowired
+    private PontoFocoService pontoFocoService;
+
+    @Autowired
+    private RegiaoRepository regiaoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void recalculoRiscoInvalidaSoRegioesAtualizadas() {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        Long alterada = salvarRegiao("Região alterada pelo recálculo");
+        Long inalterada = salvarRegiao("Região sem pontos de foco");
+        regiaoService.recalcularNivelRiscoTodas();
+
+        assertThat(regiaoService.buscarPorId(alterada)).get()
+                .extracting(Regiao::getTotalPontosFocoAtivos).isEqualTo(0L);
+        regiaoService.buscarPorId(inalterada);
+        assertThat(cache.containsEntity(Regiao.class, alterada)).isTrue();
+        assertThat(cache.containsEntity(Regiao.class, inalterada)).isTrue();
+
+        List<DeteccaoDTO> deteccoes = new ArrayList<>();
+        for (int i = 0; i < PONTOS; i++) {
+            deteccoes.add(DeteccaoDTO.builder()
+                    .latitude(-8.0 - i * 0.01)
+                    .longitude(-60.0)
+                    .intensidade(20.0)
+                    .areaEstimada(1000.0)
+                    .descricao("Foco de teste do cache " + i)
+                    .regiaoId(alterada)
+                    .build());
+        }
+        pontoFocoService.registrarPontosFocoEmLote(deteccoes);
+        regiaoService.recalcularNivelRiscoTodas();
+
+        assertThat(cache.containsEntity(Regiao.class, alterada)).isFalse();
+        assertThat(cache.containsEntity(Regiao.class, inalterada)).isTrue();
+        assertThat(regiaoService.buscarPorId(alterada)).get()
+                .extracting(Regiao::getTotalPontosFocoAtivos).isEqualTo((long) PONTOS);
+    }
+
+    private Long salvarRegiao(String nome) {
+        return regiaoRepository.save(Regiao.builder()
+                .nome(nome)
+                .tipo("Cerrado")
+                .areaMetrosQuadrados(1e9)
+                .build()).getId();
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.fiap.queimadas.service.deduplicacao;
+
+import br.com.fiap.queimadas.domain.enums.StatusPontoFoco;
+import br.com.fiap.queimadas.domain.event.PontoFocoEvent;
+import br.com.fiap.queimadas.domain.event.PontoFocoResumo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Visibilidade dos pontos de foco para a deduplicação: um ponto gravado por um lote é candidato só
+ * dentro do próprio lote até o evento de registro, enviado após o commit.
+ */
+class DeduplicadorDeteccoesTest {
+
+    private final DeduplicadorDeteccoes deduplicador = new DeduplicadorDeteccoes(null, new SimpleMeterRegistry(),
+            true, 30, 1.0, 10_000, 0.01);
+
+    @Test
+    void pontoDoLoteSoEhVistoPeloProprioLoteAteOCommit() {
+        DeduplicadorDeteccoes.Lote lote = deduplicador.novoLote();
+        DeduplicadorDeteccoes.Lote outroLote = deduplicador.novoLote();
+        lote.registrar(1L, -10.0, -55.0);
+
+        assertThat(lote.buscarDuplicada(-10.001, -55.001)).contains(1L);
+        assertThat(outroLote.buscarDuplicada(-10.001, -55.001)).isEmpty();
+        assertThat(deduplicador.buscarDuplicada(-10.001, -55.001)).isEmpty();
+
+        deduplicador.aoAlterarPontoFoco(evento(PontoFocoEvent.Tipo.REGISTRADO, 1L, -10.0, -55.0, StatusPontoFoco.NOVO));
+
+        assertThat(outroLote.buscarDuplicada(-10.001, -55.001)).contains(1L);
+        assertThat(deduplicador.buscarDuplicada(-10.001, -55.001)).contains(1L);
+    }
+
+    @Test
+    void loteEscolheOPontoMaisProximoEntreOLoteEOIndice() {
+        deduplicador.aoAlterarPontoFoco(evento(PontoFocoEvent.Tipo.REGISTRADO, 1L, -10.0, -55.0, StatusPontoFoco.NOVO));
+        DeduplicadorDeteccoes.Lote lote = deduplicador.novoLote();
+        lote.registrar(2L, -10.006, -55.0);
+
+        assertThat(lote.buscarDuplicada(-10.005, -55.0)).contains(2L);
+        assertThat(lote.buscarDuplicada(-10.001, -55.0)).contains(1L);
+        assertThat(lote.buscarDuplicada(-10.5, -55.0)).isEmpty();
+    }
+
+    @Test
+    void pontoEncerradoOuRemovidoDeixaDeSerCandidato() {
+        deduplicador.aoAlterarPontoFoco(evento(PontoFocoEvent.Tipo.REGISTRADO, 1L, -10.0, -55.0, StatusPontoFoco.NOVO));
+        deduplicador.aoAlterarPontoFoco(evento(PontoFocoEvent.Tipo.REGISTRADO, 2L, 5.0, 20.0, StatusPontoFoco.NOVO));
+
+        deduplicador.aoAlterarPontoFoco(evento(PontoFocoEvent.Tipo.ATUALIZADO, 1L, -10.0, -55.0, StatusPontoFoco.RESOLVIDO));
+        deduplicador.aoAlterarPontoFoco(evento(PontoFocoEvent.Tipo.REMOVIDO, 2L, 5.0, 20.0, StatusPontoFoco.NOVO));
+
+        assertThat(deduplicador.buscarDuplicada(-10.0, -55.0)).isEmpty();
+        assertThat(deduplicador.buscarDuplicada(5.0, 20.0)).isEmpty();
+        assertThat(deduplicador.tamanho()).isZero();
+    }
+
+    private static PontoFocoEvent evento(PontoFocoEvent.Tipo tipo, long id, double latitude, double longitude,
+                                         StatusPontoFoco status) {
+        return new PontoFocoEvent(tipo, new PontoFocoResumo(id, latitude, longitude, status, 50.0, 1000.0,
+                LocalDateTime.now(), null), null, null);
+    }
+}
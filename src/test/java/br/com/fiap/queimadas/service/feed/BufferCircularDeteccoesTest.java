@@ -0,0 +1,85 @@
+package br.com.fiap.queimadas.service.feed;
+
+import br.com.fiap.queimadas.domain.enums.StatusPontoFoco;
+import br.com.fiap.queimadas.domain.event.PontoFocoResumo;
+import br.com.fiap.queimadas.dto.DeteccaoRecenteDTO;
+import br.com.fiap.queimadas.dto.FeedDeteccoesDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Leitura do buffer com limite de idade: a primeira leitura pula as detecções anteriores à janela,
+ * e as seguintes continuam da última sequência lida.
+ */
+class BufferCircularDeteccoesTest {
+
+    private static final LocalDateTime AGORA = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    @Test
+    void primeiraLeituraComecaNaPrimeiraDeteccaoDaJanela() {
+        BufferCircularDeteccoes buffer = new BufferCircularDeteccoes(64);
+        // 40 detecções, uma por hora, das 39 horas atrás até agora; uma antiga importada no meio
+        for (int i = 0; i < 40; i++) {
+            buffer.publicar(resumo(i + 1, AGORA.minusHours(39 - i)));
+            if (i == 30) {
+                buffer.publicar(resumo(1000, AGORA.minusDays(10)));
+            }
+        }
+
+        FeedDeteccoesDTO feed = buffer.ler(0, 100, millis(AGORA.minusHours(24)));
+
+        assertThat(feed.getItens()).extracting(DeteccaoRecenteDTO::id)
+                .hasSize(25)
+                .doesNotContain(1000L)
+                .startsWith(16L)
+                .endsWith(40L);
+        assertThat(feed.getUltimaSequencia()).isEqualTo(41);
+        assertThat(feed.getDescartadas()).isZero();
+    }
+
+    @Test
+    void leiturasSeguintesContinuamDaUltimaSequencia() {
+        BufferCircularDeteccoes buffer = new BufferCircularDeteccoes(8);
+        for (int i = 0; i < 6; i++) {
+            buffer.publicar(resumo(i + 1, AGORA.minusHours(30 - i * 5)));
+        }
+        long limite = millis(AGORA.minusHours(24));
+
+        FeedDeteccoesDTO primeira = buffer.ler(0, 2, limite);
+        assertThat(primeira.getItens()).extracting(DeteccaoRecenteDTO::id).containsExactly(3L, 4L);
+
+        // Mais uma volta no buffer: as detecções 5 e 6 e as duas seguintes são sobrescritas
+        for (int i = 6; i < 16; i++) {
+            buffer.publicar(resumo(i + 1, AGORA));
+        }
+        FeedDeteccoesDTO segunda = buffer.ler(primeira.getUltimaSequencia(), 100, limite);
+        assertThat(segunda.getDescartadas()).isEqualTo(4);
+        assertThat(segunda.getItens()).extracting(DeteccaoRecenteDTO::id).containsExactly(9L, 10L, 11L, 12L, 13L, 14L, 15L, 16L);
+    }
+
+    @Test
+    void semLimiteDeIdadeLeTodasAsDeteccoes() {
+        BufferCircularDeteccoes buffer = new BufferCircularDeteccoes(16);
+        for (int i = 0; i < 10; i++) {
+            buffer.publicar(resumo(i + 1, AGORA.minusDays(100 - i)));
+        }
+
+        FeedDeteccoesDTO feed = buffer.ler(0, 100, BufferCircularDeteccoes.SEM_LIMITE_IDADE);
+
+        assertThat(feed.getItens()).hasSize(10);
+        assertThat(buffer.ler(0, 100, millis(AGORA.minusHours(24))).getItens()).isEmpty();
+        assertThat(buffer.ler(0, 100, millis(AGORA.minusHours(24))).getUltimaSequencia()).isEqualTo(10);
+    }
+
+    private static PontoFocoResumo resumo(long id, LocalDateTime dataDeteccao) {
+        return new PontoFocoResumo(id, -10.0, -55.0, StatusPontoFoco.NOVO, 50.0, 1000.0, dataDeteccao, 1L);
+    }
+
+    private static long millis(LocalDateTime data) {
+        return data.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
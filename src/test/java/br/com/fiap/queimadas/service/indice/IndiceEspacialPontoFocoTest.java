@@ -0,0 +1,112 @@
+package br.com.fiap.queimadas.service.indice;
+
+import br.com.fiap.queimadas.domain.enums.StatusPontoFoco;
+import br.com.fiap.queimadas.domain.event.PontoFocoEvent;
+import br.com.fiap.queimadas.domain.event.PontoFocoResumo;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Buscas do índice espacial comparadas com a distância calculada para todos os pontos de foco,
+ * com pontos espalhados pelo globo e concentrados perto dos polos e do antimeridiano.
+ */
+class IndiceEspacialPontoFocoTest {
+
+    private static final StatusPontoFoco[] STATUS = StatusPontoFoco.values();
+
+    private final IndiceEspacialPontoFoco indice = new IndiceEspacialPontoFoco(null, 0.5, 30);
+    private final List<PontoFocoResumo> pontos = new ArrayList<>();
+
+    @Test
+    void buscarPorRaioDevolveOsMaisProximosAteOLimite() {
+        povoar(new Random(7));
+
+        for (double[] centro : centros()) {
+            for (double raioKm : new double[]{10, 300, 2500}) {
+                for (int limite : new int[]{1, 5, 50, 100_000}) {
+                    List<Double> esperadas = pontos.stream()
+                            .map(ponto -> distancia(centro, ponto))
+                            .filter(distancia -> distancia <= raioKm)
+                            .sorted()
+                            .limit(limite)
+                            .toList();
+
+                    assertThat(indice.buscarPorRaio(centro[0], centro[1], raioKm, limite))
+                            .as("centro (%s, %s), raio %s, limite %d", centro[0], centro[1], raioKm, limite)
+                            .extracting(IndiceEspacialPontoFoco.Resultado::distanciaKm)
+                            .isEqualTo(esperadas);
+                }
+            }
+        }
+    }
+
+    @Test
+    void buscarMaisProximosDevolveOsKAtivosMaisProximos() {
+        povoar(new Random(11));
+
+        for (double[] centro : centros()) {
+            for (int k : new int[]{1, 7, 60, 5000}) {
+                for (Double raioMaximoKm : new Double[]{null, 150.0, 4000.0}) {
+                    double limiteKm = raioMaximoKm != null ? raioMaximoKm : Double.MAX_VALUE;
+                    List<Double> esperadas = pontos.stream()
+                            .filter(PontoFocoResumo::isAtivo)
+                            .map(ponto -> distancia(centro, ponto))
+                            .filter(distancia -> distancia <= limiteKm)
+                            .sorted()
+                            .limit(k)
+                            .toList();
+
+                    assertThat(indice.buscarMaisProximos(centro[0], centro[1], k, raioMaximoKm))
+                            .as("centro (%s, %s), k %d, distância máxima %s", centro[0], centro[1], k, raioMaximoKm)
+                            .extracting(IndiceEspacialPontoFoco.Resultado::distanciaKm)
+                            .isEqualTo(esperadas);
+                }
+            }
+        }
+    }
+
+    private void povoar(Random aleatorio) {
+        for (long id = 1; id <= 3000; id++) {
+            double latitude;
+            double longitude;
+            switch ((int) (id % 4)) {
+                case 0 -> { // Perto dos polos
+                    latitude = (aleatorio.nextBoolean() ? 1 : -1) * (85 + aleatorio.nextDouble() * 5);
+                    longitude = aleatorio.nextDouble() * 360 - 180;
+                }
+                case 1 -> { // Dos dois lados do antimeridiano
+                    latitude = aleatorio.nextDouble() * 40 - 20;
+                    longitude = aleatorio.nextBoolean() ? 175 + aleatorio.nextDouble() * 5 : -180 + aleatorio.nextDouble() * 5;
+                }
+                default -> {
+                    latitude = aleatorio.nextDouble() * 180 - 90;
+                    longitude = aleatorio.nextDouble() * 360 - 180;
+                }
+            }
+            PontoFocoResumo resumo = new PontoFocoResumo(id, latitude, longitude, STATUS[(int) (id % STATUS.length)],
+                    50.0, 1000.0, LocalDateTime.now(), null);
+            indice.aoAlterarPontoFoco(new PontoFocoEvent(PontoFocoEvent.Tipo.REGISTRADO, resumo, null, null));
+            pontos.add(resumo);
+        }
+    }
+
+    private static List<double[]> centros() {
+        return List.of(
+                new double[]{-10.0, -55.0},
+                new double[]{0.0, 179.9},
+                new double[]{5.0, -179.95},
+                new double[]{89.9, 10.0},
+                new double[]{-89.5, -170.0},
+                new double[]{-87.0, 180.0});
+    }
+
+    private static double distancia(double[] centro, PontoFocoResumo ponto) {
+        return GeoUtils.distanciaKm(centro[0], centro[1], ponto.latitude(), ponto.longitude());
+    }
+}
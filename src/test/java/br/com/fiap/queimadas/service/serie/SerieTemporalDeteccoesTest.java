@@ -0,0 +1,138 @@
+package br.com.fiap.queimadas.service.serie;
+
+import br.com.fiap.queimadas.TesteIntegracao;
+import br.com.fiap.queimadas.dto.DeteccaoDTO;
+import br.com.fiap.queimadas.service.PontoFocoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A reconstrução a partir do banco deve chegar às mesmas contagens mantidas pelos eventos, somando
+ * corretamente as partes da janela lidas em paralelo.
+ */
+class SerieTemporalDeteccoesTest extends TesteIntegracao {
+
+    private static final int PONTOS = 12;
+
+    // Faixa de IDs das linhas gravadas direto no banco, longe dos IDs da sequência
+    private static final long PRIMEIRO_ID = 20_000_000L;
+    private static final int DIAS = 10;
+
+    @Autowired
+    private SerieTemporalDeteccoes serie;
+
+    @Autowired
+    private PontoFocoService pontoFocoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void reconstruirReproduzAsContagensIncrementais() {
+        LocalDateTime agora = LocalDateTime.now();
+        int antes = totalDoDia(agora);
+
+        List<DeteccaoDTO> deteccoes = new ArrayList<>();
+        for (int i = 0; i < PONTOS; i++) {
+            deteccoes.add(DeteccaoDTO.builder()
+                    .latitude(-5.0 - i * 0.01)
+                    .longitude(-45.0)
+                    .intensidade(30.0)
+                    .descricao("Foco de teste da série " + i)
+                    .build());
+        }
+        List<Long> ids = pontoFocoService.registrarPontosFocoEmLote(deteccoes).getIdsRegistrados();
+        pontoFocoService.removerPontoFoco(ids.get(0));
+        int incremental = totalDoDia(agora);
+
+        int contados = serie.reconstruir();
+
+        assertThat(incremental).isEqualTo(antes + PONTOS - 1);
+        assertThat(totalDoDia(agora)).isEqualTo(incremental);
+        assertThat(contados).isGreaterThanOrEqualTo(PONTOS - 1);
+    }
+
+    @Test
+    void reconstruirSomaOsDiasLidosEmParalelo() {
+        LocalDateTime agora = LocalDateTime.now();
+        LocalDateTime primeiro = agora.minusDays(DIAS - 1);
+        serie.reconstruir();
+        int[] antes = totaisPorDia(primeiro, agora);
+
+        // O dia i, contado a partir do mais antigo, recebe i + 1 detecções ativas e uma arquivada
+        int[] esperados = new int[DIAS];
+        long id = PRIMEIRO_ID;
+        try {
+            for (int dia = 0; dia < DIAS; dia++) {
+                LocalDateTime data = primeiro.plusDays(dia);
+                for (int i = 0; i <= dia; i++) {
+                    inserir("TB_PONTO_FOCO", ++id, data, "NOVO");
+                }
+                inserir("TB_PONTO_FOCO_ARQUIVO", ++id, data, "RESOLVIDO");
+                esperados[dia] = dia + 2;
+            }
+            // Movido para o arquivo entre as leituras de dois dias: lido nas duas partes, contado uma vez
+            inserir("TB_PONTO_FOCO", ++id, primeiro, "NOVO");
+            inserir("TB_PONTO_FOCO_ARQUIVO", id, primeiro.plusDays(DIAS - 1), "RESOLVIDO");
+
+            serie.reconstruir();
+            int[] depois = totaisPorDia(primeiro, agora);
+
+            int soma = 0;
+            for (int dia = 0; dia < DIAS; dia++) {
+                int acrescimo = depois[dia] - antes[dia];
+                soma += acrescimo;
+                if (dia > 0 && dia < DIAS - 1) {
+                    assertThat(acrescimo).as("dia %d", dia).isEqualTo(esperados[dia]);
+                }
+            }
+            // O ponto repetido cai no primeiro ou no último dia, conforme a parte somada por último
+            assertThat(depois[0] - antes[0] + depois[DIAS - 1] - antes[DIAS - 1])
+                    .isEqualTo(esperados[0] + esperados[DIAS - 1] + 1);
+            assertThat(soma).isEqualTo(Arrays.stream(esperados).sum() + 1);
+            assertThat(totalDasHoras(primeiro, agora) - Arrays.stream(antes).sum()).isEqualTo(soma);
+        } finally {
+            jdbcTemplate.update("DELETE FROM TB_PONTO_FOCO WHERE id > ?", PRIMEIRO_ID);
+            jdbcTemplate.update("DELETE FROM TB_PONTO_FOCO_ARQUIVO WHERE id > ?", PRIMEIRO_ID);
+            serie.reconstruir();
+        }
+    }
+
+    private void inserir(String tabela, long id, LocalDateTime dataDeteccao, String status) {
+        if (tabela.equals("TB_PONTO_FOCO")) {
+            jdbcTemplate.update("INSERT INTO TB_PONTO_FOCO (id, latitude, longitude, data_deteccao, status) " +
+                    "VALUES (?, -10, -55, ?, ?)", id, dataDeteccao, status);
+        } else {
+            jdbcTemplate.update("INSERT INTO TB_PONTO_FOCO_ARQUIVO (id, latitude, longitude, data_deteccao, status, " +
+                    "data_arquivamento) VALUES (?, -10, -55, ?, ?, CURRENT_TIMESTAMP)", id, dataDeteccao, status);
+        }
+    }
+
+    private int[] totaisPorDia(LocalDateTime de, LocalDateTime ate) {
+        return serie.consultar(SerieTemporalDeteccoes.Granularidade.DIA, de, ate, null).stream()
+                .mapToInt(periodo -> Arrays.stream(periodo.quantidadePorStatus()).sum())
+                .toArray();
+    }
+
+    private int totalDasHoras(LocalDateTime de, LocalDateTime ate) {
+        return serie.consultar(SerieTemporalDeteccoes.Granularidade.HORA,
+                        SerieTemporalDeteccoes.Granularidade.DIA.inicio(SerieTemporalDeteccoes.Granularidade.DIA.periodo(de)),
+                        ate, null).stream()
+                .mapToInt(periodo -> Arrays.stream(periodo.quantidadePorStatus()).sum())
+                .sum();
+    }
+
+    private int totalDoDia(LocalDateTime data) {
+        return serie.consultar(SerieTemporalDeteccoes.Granularidade.DIA, data, data, null).stream()
+                .mapToInt(periodo -> Arrays.stream(periodo.quantidadePorStatus()).sum())
+                .sum();
+    }
+}